@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.gradle.tooling.BuildAction;
+import org.gradle.tooling.BuildController;
+
+/**
+ * Build action executing a list of build actions in the same Gradle invocation and returning
+ * their results in the same order.
+ */
+public final class BuildActionList implements BuildAction<List<Object>> {
+
+    private static final long serialVersionUID = 1L;
+    private final BuildAction<?>[] actions;
+
+    public BuildActionList(BuildAction<?>[] actions) {
+        this.actions = actions;
+    }
+
+    @Override
+    public List<Object> execute(BuildController controller) {
+        List<Object> result = new ArrayList<>(this.actions.length);
+        for (BuildAction<?> action : this.actions) {
+            result.add(action.execute(controller));
+        }
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.actions);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        BuildActionList other = (BuildActionList) obj;
+        return Arrays.equals(this.actions, other.actions);
+    }
+}
@@ -11,6 +11,7 @@
 package org.eclipse.buildship.core.internal.workspace;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -25,7 +26,7 @@ import org.gradle.tooling.model.gradle.GradleBuild;
  * @param <T> The requested model type
  * @author Donat Csikos
  */
-public final class CompositeModelQuery<T, U> implements BuildAction<Map<String, T>> {
+public class CompositeModelQuery<T, U> implements BuildAction<Map<String, T>> {
 
     private static final long serialVersionUID = 1L;
 
@@ -47,31 +48,54 @@ public final class CompositeModelQuery<T, U> implements BuildAction<Map<String,
 
     @Override
     public Map<String, T> execute(BuildController controller) {
-        Map<String,T> acc = new HashMap<>();
+        Map<String, GradleBuild> builds = new LinkedHashMap<>();
         // ':' represents the root build
-        collectRootModels(controller, controller.getBuildModel(), acc, ":", controller.getBuildModel().getRootProject().getName());
-        return acc;
+        collectBuilds(controller.getBuildModel(), builds, ":", controller.getBuildModel().getRootProject().getName());
+        return queryModels(controller, builds);
     }
 
-    private void collectRootModels(BuildController controller, GradleBuild build, Map<String, T> models, String buildPath, String rootBuildRootProjectName) {
-        if (models.containsKey(buildPath)) {
+    private void collectBuilds(GradleBuild build, Map<String, GradleBuild> builds, String buildPath, String rootBuildRootProjectName) {
+        if (builds.containsKey(buildPath)) {
             return; // can happen when there's a cycle in the included builds
         }
 
-        if (this.parameter != null) {
-            models.put(buildPath, controller.getModel(build.getRootProject(), this.modelType, this.parameterType, this.parameter));
-        } else {
-            models.put(buildPath, controller.getModel(build.getRootProject(), this.modelType));
-        }
+        builds.put(buildPath, build);
 
         for (GradleBuild includedBuild : build.getIncludedBuilds()) {
             String includedBuildRootProjectName = includedBuild.getRootProject().getName();
             if (!includedBuildRootProjectName.equals(rootBuildRootProjectName)) {
-                collectRootModels(controller, includedBuild, models, includedBuildRootProjectName, rootBuildRootProjectName);
+                collectBuilds(includedBuild, builds, includedBuildRootProjectName, rootBuildRootProjectName);
             }
         }
     }
 
+    /**
+     * Queries the model for the root project of each build, one after another.
+     *
+     * @param controller the controller to query the models with
+     * @param builds the builds of the composite mapped by build path
+     * @return the models mapped by build path
+     */
+    Map<String, T> queryModels(BuildController controller, Map<String, GradleBuild> builds) {
+        Map<String, T> result = new HashMap<>();
+        for (Map.Entry<String, GradleBuild> build : builds.entrySet()) {
+            result.put(build.getKey(), queryModel(controller, build.getValue()));
+        }
+        return result;
+    }
+
+    final T queryModel(BuildController controller, GradleBuild build) {
+        if (this.parameter != null) {
+            return controller.getModel(build.getRootProject(), this.modelType, this.parameterType, this.parameter);
+        } else {
+            return controller.getModel(build.getRootProject(), this.modelType);
+        }
+    }
+
+    final Class<T> getModelType() {
+        return this.modelType;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(this.modelType, this.parameter);
@@ -82,10 +106,8 @@ public final class CompositeModelQuery<T, U> implements BuildAction<Map<String,
         if (this == obj) {
             return true;
         }
-        if (obj == null) {
-            return false;
-        }
-        if (getClass() != obj.getClass()) {
+        // the parallel variant returns the same result, so it's interchangeable when caching results
+        if (!(obj instanceof CompositeModelQuery)) {
             return false;
         }
         CompositeModelQuery<?, ?> other = (CompositeModelQuery<?, ?>) obj;
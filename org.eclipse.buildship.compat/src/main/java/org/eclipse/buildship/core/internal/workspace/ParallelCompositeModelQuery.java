@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.gradle.api.Action;
+import org.gradle.tooling.BuildAction;
+import org.gradle.tooling.BuildController;
+import org.gradle.tooling.model.gradle.GradleBuild;
+
+/**
+ * Build action to query a model for all participants in a composite, querying the included builds
+ * at the same time.
+ * <p/>
+ * The models are fetched via {@link BuildController#run(java.util.Collection)} if Gradle can
+ * build the requested model in parallel. Otherwise, the builds are queried one after another. The
+ * action requires Gradle 6.8 or above.
+ *
+ * @param <T> The requested model type
+ */
+public final class ParallelCompositeModelQuery<T, U> extends CompositeModelQuery<T, U> {
+
+    private static final long serialVersionUID = 1L;
+
+    public ParallelCompositeModelQuery(Class<T> modelType) {
+        super(modelType);
+    }
+
+    public ParallelCompositeModelQuery(Class<T> modelType, Class<U> parameterType, Action<? super U> parameter) {
+        super(modelType, parameterType, parameter);
+    }
+
+    @Override
+    Map<String, T> queryModels(BuildController controller, Map<String, GradleBuild> builds) {
+        if (builds.size() < 2 || !controller.getCanQueryProjectModelInParallel(getModelType())) {
+            return super.queryModels(controller, builds);
+        }
+
+        List<String> buildPaths = new ArrayList<>(builds.size());
+        List<BuildAction<T>> queries = new ArrayList<>(builds.size());
+        for (Map.Entry<String, GradleBuild> build : builds.entrySet()) {
+            buildPaths.add(build.getKey());
+            GradleBuild gradleBuild = build.getValue();
+            queries.add(c -> queryModel(c, gradleBuild));
+        }
+
+        List<T> models = controller.run(queries);
+        Map<String, T> result = new HashMap<>();
+        for (int i = 0; i < buildPaths.size(); i++) {
+            result.put(buildPaths.get(i), models.get(i));
+        }
+        return result;
+    }
+}
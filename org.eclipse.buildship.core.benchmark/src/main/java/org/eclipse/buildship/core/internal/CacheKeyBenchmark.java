@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.gradle.tooling.model.eclipse.EclipseProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.eclipse.buildship.core.internal.util.gradle.SyntheticEclipseBuild;
+
+/**
+ * Measures the model cache lookups. The keys contain a task for each project, like the keys of
+ * the builds executing a task in every subproject.
+ */
+@State(Scope.Benchmark)
+public class CacheKeyBenchmark {
+
+    @Param({ "10", "100", "1000", "5000" })
+    public int projectCount;
+
+    private CacheKey key;
+    private CacheKey equalKey;
+
+    @Setup
+    public void setup() {
+        List<String> tasks = new ArrayList<>();
+        for (EclipseProject project : SyntheticEclipseBuild.create(this.projectCount).getAllProjects()) {
+            tasks.add(project.getGradleProject().getPath() + ":eclipse");
+        }
+        this.key = createKey(tasks);
+        this.equalKey = createKey(new ArrayList<>(tasks));
+    }
+
+    private static CacheKey createKey(List<String> tasks) {
+        Map<String, String> environment = new HashMap<>(System.getenv());
+        Map<String, String> systemProperties = new HashMap<>();
+        systemProperties.put("org.gradle.parallel", "true");
+        List<String> arguments = new ArrayList<>();
+        arguments.add("--offline");
+        List<String> jvmArguments = new ArrayList<>();
+        jvmArguments.add("-Xmx2g");
+
+        return CacheKey.builder()
+            .setModelType(EclipseProject.class)
+            .setTasks(tasks)
+            .setEnvironmentVariables(environment)
+            .setJavaHome(new File(System.getProperty("java.home")))
+            .setArguments(arguments)
+            .setJvmArguments(jvmArguments)
+            .withSystemPrperties(systemProperties)
+            .build();
+    }
+
+    @Benchmark
+    public int keyHashCode() {
+        return this.key.hashCode();
+    }
+
+    @Benchmark
+    public boolean keyEquals() {
+        return this.key.equals(this.equalKey);
+    }
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the JMH benchmarks of the synchronization hot paths.
+ * <p/>
+ * The benchmarked code requires a running workspace, therefore the benchmarks are executed inside
+ * the Eclipse instance launched by the {@code eclipseTest} task of this project, without forking
+ * new JVMs. The following system properties customize the run:
+ * <ul>
+ * <li>{@code org.eclipse.buildship.benchmark.includes}: regular expression selecting the
+ * benchmarks, all benchmarks are executed by default.</li>
+ * <li>{@code org.eclipse.buildship.benchmark.projectCounts}: comma-separated list overriding the
+ * size of the synthetic builds.</li>
+ * <li>{@code org.eclipse.buildship.benchmark.warmupIterations} and
+ * {@code org.eclipse.buildship.benchmark.measurementIterations}: number of iterations.</li>
+ * <li>{@code org.eclipse.buildship.benchmark.resultFile} and
+ * {@code org.eclipse.buildship.benchmark.resultFormat}: location and format (JSON, CSV, etc.) of
+ * the machine-readable report.</li>
+ * </ul>
+ */
+public class SynchronizationBenchmarks {
+
+    private static final String PROPERTY_PREFIX = "org.eclipse.buildship.benchmark.";
+
+    @Test
+    public void runBenchmarks() throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .include(System.getProperty(PROPERTY_PREFIX + "includes", "org\\.eclipse\\.buildship\\..*Benchmark\\..*"))
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .forks(0)
+            .threads(1)
+            .warmupIterations(Integer.getInteger(PROPERTY_PREFIX + "warmupIterations", 3))
+            .warmupTime(TimeValue.seconds(1))
+            .measurementIterations(Integer.getInteger(PROPERTY_PREFIX + "measurementIterations", 5))
+            .measurementTime(TimeValue.seconds(1))
+            .shouldFailOnError(true)
+            .resultFormat(ResultFormatType.valueOf(System.getProperty(PROPERTY_PREFIX + "resultFormat", "JSON")))
+            .result(System.getProperty(PROPERTY_PREFIX + "resultFile", "jmh-results.json"));
+
+        String projectCounts = System.getProperty(PROPERTY_PREFIX + "projectCounts");
+        if (projectCounts != null) {
+            options.param("projectCount", projectCounts.split(","));
+        }
+
+        Collection<RunResult> results = new Runner(options.build()).run();
+        assertFalse(results.isEmpty(), "No benchmarks were executed");
+    }
+}
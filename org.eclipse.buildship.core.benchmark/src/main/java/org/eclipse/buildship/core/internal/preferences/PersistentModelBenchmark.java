@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.preferences;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.gradle.tooling.model.eclipse.ClasspathAttribute;
+import org.gradle.tooling.model.eclipse.EclipseExternalDependency;
+import org.gradle.tooling.model.eclipse.EclipseProject;
+import org.gradle.tooling.model.eclipse.EclipseProjectDependency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IAccessRule;
+import org.eclipse.jdt.core.IClasspathAttribute;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.buildship.core.internal.util.gradle.GradleVersion;
+import org.eclipse.buildship.core.internal.util.gradle.SyntheticEclipseBuild;
+
+/**
+ * Measures storing and loading the persistent models of every project of a build. The legacy
+ * properties-based format is only read when migrating the models of an earlier Buildship version.
+ */
+@State(Scope.Benchmark)
+public class PersistentModelBenchmark {
+
+    @Param({ "10", "100", "1000", "5000" })
+    public int projectCount;
+
+    private List<IProject> projects;
+    private List<IJavaProject> javaProjects;
+    private List<List<IClasspathEntry>> classpaths;
+    private List<PersistentModel> models;
+    private List<byte[]> serializedModels;
+    private List<Properties> legacyModels;
+
+    @Setup
+    public void setup() {
+        List<EclipseProject> gradleProjects = SyntheticEclipseBuild.create(this.projectCount).getAllProjects();
+        IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+        this.projects = new ArrayList<>(gradleProjects.size());
+        this.javaProjects = new ArrayList<>(gradleProjects.size());
+        this.classpaths = new ArrayList<>(gradleProjects.size());
+        this.models = new ArrayList<>(gradleProjects.size());
+        this.serializedModels = new ArrayList<>(gradleProjects.size());
+        this.legacyModels = new ArrayList<>(gradleProjects.size());
+
+        GradleVersion gradleVersion = GradleVersion.version("8.9");
+        for (EclipseProject gradleProject : gradleProjects) {
+            IProject project = root.getProject(gradleProject.getName());
+            IJavaProject javaProject = JavaCore.create(project);
+            List<IClasspathEntry> classpath = classpathOf(gradleProject);
+            List<IPath> subprojectPaths = new ArrayList<>();
+            for (EclipseProject child : gradleProject.getChildren()) {
+                subprojectPaths.add(new Path(child.getName()));
+            }
+            PersistentModel model = new DefaultPersistentModel(project, new Path("build"), new Path("build.gradle"), subprojectPaths, classpath,
+                    Collections.singletonList(new Path("build")), Collections.<IPath>emptyList(), Collections.singletonList(JavaCore.NATURE_ID),
+                    Collections.emptyList(), false, gradleVersion);
+
+            this.projects.add(project);
+            this.javaProjects.add(javaProject);
+            this.classpaths.add(classpath);
+            this.models.add(model);
+            this.serializedModels.add(PersistentModelSerializer.serialize(model));
+            this.legacyModels.add(legacyProperties(javaProject, model));
+        }
+    }
+
+    private static List<IClasspathEntry> classpathOf(EclipseProject gradleProject) {
+        List<IClasspathEntry> classpath = new ArrayList<>();
+        for (EclipseProjectDependency dependency : gradleProject.getProjectDependencies()) {
+            classpath.add(JavaCore.newProjectEntry(new Path("/" + dependency.getPath()), new IAccessRule[0], true, attributesOf(dependency.getClasspathAttributes()), false));
+        }
+        for (EclipseExternalDependency dependency : gradleProject.getClasspath()) {
+            classpath.add(JavaCore.newLibraryEntry(Path.fromOSString(dependency.getFile().getAbsolutePath()), Path.fromOSString(dependency.getSource().getAbsolutePath()), null,
+                    new IAccessRule[0], attributesOf(dependency.getClasspathAttributes()), false));
+        }
+        return classpath;
+    }
+
+    private static IClasspathAttribute[] attributesOf(Iterable<? extends ClasspathAttribute> attributes) {
+        List<IClasspathAttribute> result = new ArrayList<>();
+        for (ClasspathAttribute attribute : attributes) {
+            result.add(JavaCore.newClasspathAttribute(attribute.getName(), attribute.getValue()));
+        }
+        return result.toArray(new IClasspathAttribute[0]);
+    }
+
+    private static Properties legacyProperties(IJavaProject javaProject, PersistentModel model) {
+        Properties properties = new Properties();
+        properties.put("buildDir", model.getBuildDir().toPortableString());
+        properties.put("buildScriptPath", model.getbuildScriptPath().toPortableString());
+        properties.put("subprojectPaths", joinPaths(model.getSubprojectPaths()));
+        properties.put("classpath", ClasspathConverter.toXml(javaProject, model.getClasspath()));
+        properties.put("derivedResources", joinPaths(model.getDerivedResources()));
+        properties.put("managedNatures", String.join(File.pathSeparator, model.getManagedNatures()));
+        properties.put("gradleVersion", model.getGradleVersion().getVersion());
+        return properties;
+    }
+
+    private static String joinPaths(Iterable<IPath> paths) {
+        List<String> result = new ArrayList<>();
+        for (IPath path : paths) {
+            result.add(path.toPortableString());
+        }
+        return String.join(File.pathSeparator, result);
+    }
+
+    @Benchmark
+    public void serialize(Blackhole blackhole) {
+        for (PersistentModel model : this.models) {
+            blackhole.consume(PersistentModelSerializer.serialize(model));
+        }
+    }
+
+    @Benchmark
+    public void deserialize(Blackhole blackhole) throws IOException {
+        for (int i = 0; i < this.projects.size(); i++) {
+            blackhole.consume(PersistentModelSerializer.deserialize(this.projects.get(i), this.serializedModels.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void legacyToModel(Blackhole blackhole) {
+        for (int i = 0; i < this.projects.size(); i++) {
+            blackhole.consume(PersistentModelConverter.toModel(this.projects.get(i), this.legacyModels.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void classpathToXml(Blackhole blackhole) {
+        for (int i = 0; i < this.javaProjects.size(); i++) {
+            blackhole.consume(new ClasspathConverter(this.javaProjects.get(i)).toXml(this.classpaths.get(i)));
+        }
+    }
+}
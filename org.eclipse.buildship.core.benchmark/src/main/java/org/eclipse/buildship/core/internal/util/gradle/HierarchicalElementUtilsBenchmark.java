@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.util.gradle;
+
+import java.util.List;
+
+import org.gradle.tooling.model.eclipse.EclipseProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures flattening the project hierarchy, which is done several times per synchronization.
+ */
+@State(Scope.Benchmark)
+public class HierarchicalElementUtilsBenchmark {
+
+    @Param({ "10", "100", "1000", "5000" })
+    public int projectCount;
+
+    private EclipseProject rootProject;
+
+    @Setup
+    public void setup() {
+        this.rootProject = SyntheticEclipseBuild.create(this.projectCount).getRootProject();
+    }
+
+    @Benchmark
+    public List<EclipseProject> getAll() {
+        return HierarchicalElementUtils.getAll(this.rootProject);
+    }
+}
@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.util.gradle;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+
+import org.gradle.tooling.model.DomainObjectSet;
+import org.gradle.tooling.model.GradleProject;
+import org.gradle.tooling.model.eclipse.ClasspathAttribute;
+import org.gradle.tooling.model.eclipse.EclipseExternalDependency;
+import org.gradle.tooling.model.eclipse.EclipseProject;
+import org.gradle.tooling.model.eclipse.EclipseProjectDependency;
+
+/**
+ * A synthetic Gradle build used as benchmark input.
+ * <p/>
+ * The root project has {@code projectCount - 1} subprojects. Each subproject depends on the
+ * preceding {@value #PROJECT_DEPENDENCIES} subprojects and on {@value #EXTERNAL_DEPENDENCIES}
+ * libraries selected from a pool shared by the whole build, which roughly resembles the
+ * dependency graph of a large multi-project build. The model elements are backed by dynamic
+ * proxies, only the properties read by Buildship are defined.
+ */
+public final class SyntheticEclipseBuild {
+
+    public static final int PROJECT_DEPENDENCIES = 5;
+    public static final int EXTERNAL_DEPENDENCIES = 30;
+    private static final int LIBRARY_POOL_SIZE = 500;
+
+    private final File rootDirectory;
+    private final EclipseProject rootProject;
+    private final List<EclipseProject> allProjects;
+
+    private SyntheticEclipseBuild(File rootDirectory, EclipseProject rootProject, List<EclipseProject> allProjects) {
+        this.rootDirectory = rootDirectory;
+        this.rootProject = rootProject;
+        this.allProjects = allProjects;
+    }
+
+    public File getRootDirectory() {
+        return this.rootDirectory;
+    }
+
+    public EclipseProject getRootProject() {
+        return this.rootProject;
+    }
+
+    /**
+     * Returns the root project and the subprojects in creation order.
+     */
+    public List<EclipseProject> getAllProjects() {
+        return this.allProjects;
+    }
+
+    public static SyntheticEclipseBuild create(int projectCount) {
+        return create(new File(System.getProperty("java.io.tmpdir"), "buildship-benchmark"), projectCount);
+    }
+
+    public static SyntheticEclipseBuild create(File rootDirectory, int projectCount) {
+        List<ClasspathAttribute> libraryAttributes = ImmutableList.of(attribute("gradle_scope", "main"), attribute("gradle_used_by_scope", "main,test"));
+        List<ClasspathAttribute> projectAttributes = ImmutableList.of(attribute("without_test_code", "false"), attribute("gradle_used_by_scope", "main,test"));
+        List<EclipseExternalDependency> libraries = new ArrayList<>(LIBRARY_POOL_SIZE);
+        for (int i = 0; i < LIBRARY_POOL_SIZE; i++) {
+            libraries.add(library(rootDirectory, i, libraryAttributes));
+        }
+
+        Map<String, Object> rootProperties = projectProperties("root", ":", rootDirectory);
+        EclipseProject rootProject = stub(EclipseProject.class, rootProperties);
+        List<EclipseProject> allProjects = new ArrayList<>(projectCount);
+        allProjects.add(rootProject);
+
+        List<EclipseProject> children = new ArrayList<>(projectCount);
+        for (int i = 1; i < projectCount; i++) {
+            String name = String.format("sub-%05d", i);
+            Map<String, Object> properties = projectProperties(name, ":" + name, new File(rootDirectory, name));
+            properties.put("getParent", rootProject);
+
+            List<EclipseProjectDependency> projectDependencies = new ArrayList<>(PROJECT_DEPENDENCIES);
+            for (int j = Math.max(1, i - PROJECT_DEPENDENCIES); j < i; j++) {
+                projectDependencies.add(projectDependency(String.format("sub-%05d", j), projectAttributes));
+            }
+            properties.put("getProjectDependencies", ModelUtils.asDomainObjectSet(projectDependencies));
+
+            List<EclipseExternalDependency> externalDependencies = new ArrayList<>(EXTERNAL_DEPENDENCIES);
+            for (int j = 0; j < EXTERNAL_DEPENDENCIES; j++) {
+                externalDependencies.add(libraries.get((i * 7 + j * 13) % LIBRARY_POOL_SIZE));
+            }
+            properties.put("getClasspath", ModelUtils.asDomainObjectSet(externalDependencies));
+
+            EclipseProject child = stub(EclipseProject.class, properties);
+            children.add(child);
+            allProjects.add(child);
+        }
+        rootProperties.put("getChildren", ModelUtils.asDomainObjectSet(children));
+
+        return new SyntheticEclipseBuild(rootDirectory, rootProject, ImmutableList.copyOf(allProjects));
+    }
+
+    private static Map<String, Object> projectProperties(String name, String path, File projectDirectory) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("getName", name);
+        properties.put("getProjectDirectory", projectDirectory);
+        properties.put("getGradleProject", stub(GradleProject.class, properties("getName", name, "getPath", path)));
+        return properties;
+    }
+
+    private static EclipseExternalDependency library(File rootDirectory, int index, List<ClasspathAttribute> attributes) {
+        File libraries = new File(rootDirectory, "libs");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("getFile", new File(libraries, String.format("library-%03d-1.0.jar", index)));
+        properties.put("getSource", new File(libraries, String.format("library-%03d-1.0-sources.jar", index)));
+        properties.put("getClasspathAttributes", ModelUtils.asDomainObjectSet(attributes));
+        return stub(EclipseExternalDependency.class, properties);
+    }
+
+    private static EclipseProjectDependency projectDependency(String name, List<ClasspathAttribute> attributes) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("getPath", name);
+        properties.put("getClasspathAttributes", ModelUtils.asDomainObjectSet(attributes));
+        return stub(EclipseProjectDependency.class, properties);
+    }
+
+    private static ClasspathAttribute attribute(String name, String value) {
+        return stub(ClasspathAttribute.class, properties("getName", name, "getValue", value));
+    }
+
+    private static Map<String, Object> properties(String key1, Object value1, String key2, Object value2) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(key1, value1);
+        properties.put(key2, value2);
+        return properties;
+    }
+
+    private static <T> T stub(Class<T> type, Map<String, Object> properties) {
+        return type.cast(Proxy.newProxyInstance(SyntheticEclipseBuild.class.getClassLoader(), new Class<?>[] { type }, new PropertyHandler(type, properties)));
+    }
+
+    /**
+     * Answers the getter invocations from a map, returns empty collections and default values for
+     * the undefined properties.
+     */
+    private static final class PropertyHandler implements InvocationHandler {
+
+        private final Class<?> type;
+        private final Map<String, Object> properties;
+
+        PropertyHandler(Class<?> type, Map<String, Object> properties) {
+            this.type = type;
+            this.properties = properties;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            String name = method.getName();
+            if (this.properties.containsKey(name)) {
+                return this.properties.get(name);
+            } else if (name.equals("equals")) {
+                return proxy == args[0];
+            } else if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            } else if (name.equals("toString")) {
+                return this.type.getSimpleName() + "[" + this.properties.get("getName") + "]";
+            }
+
+            Class<?> returnType = method.getReturnType();
+            if (DomainObjectSet.class.isAssignableFrom(returnType)) {
+                return ModelUtils.emptyDomainObjectSet();
+            } else if (returnType == boolean.class) {
+                return Boolean.FALSE;
+            } else {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.gradle.tooling.model.eclipse.EclipseProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.buildship.core.internal.util.gradle.SyntheticEclipseBuild;
+
+/**
+ * Measures computing the Gradle classpath container entries of every project of a build, as done
+ * by a synchronization. The Java projects are handles only, they don't exist in the workspace.
+ */
+@State(Scope.Benchmark)
+public class ClasspathContainerBenchmark {
+
+    @Param({ "10", "100", "1000", "5000" })
+    public int projectCount;
+
+    private List<EclipseProject> gradleProjects;
+    private List<IJavaProject> javaProjects;
+
+    @Setup
+    public void setup() {
+        this.gradleProjects = SyntheticEclipseBuild.create(this.projectCount).getAllProjects();
+        this.javaProjects = new ArrayList<>(this.gradleProjects.size());
+        IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+        for (EclipseProject project : this.gradleProjects) {
+            this.javaProjects.add(JavaCore.create(root.getProject(project.getName())));
+        }
+    }
+
+    @Benchmark
+    public void collectClasspathContainerEntries(Blackhole blackhole) {
+        for (int i = 0; i < this.gradleProjects.size(); i++) {
+            blackhole.consume(GradleClasspathContainerUpdater.computeClasspathContainerEntries(this.javaProjects.get(i), this.gradleProjects.get(i)));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+
+import org.gradle.tooling.model.eclipse.EclipseProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
+
+import org.eclipse.buildship.core.internal.util.gradle.SyntheticEclipseBuild;
+
+/**
+ * Measures looking up the workspace project of every Gradle project of a build by location, as
+ * done by a synchronization. The workspace contains one project for each Gradle project.
+ */
+@State(Scope.Benchmark)
+public class WorkspaceOperationsBenchmark {
+
+    @Param({ "10", "100", "1000", "5000" })
+    public int projectCount;
+
+    private File rootDirectory;
+    private List<IProject> projects;
+    private List<File> projectDirectories;
+    private DefaultWorkspaceOperations workspaceOperations;
+
+    @Setup
+    public void setup() throws IOException, CoreException {
+        this.rootDirectory = Files.createTempDirectory("buildship-benchmark").toFile();
+        List<EclipseProject> gradleProjects = SyntheticEclipseBuild.create(this.rootDirectory, this.projectCount).getAllProjects();
+        this.projects = new ArrayList<>(gradleProjects.size());
+        this.projectDirectories = new ArrayList<>(gradleProjects.size());
+        for (EclipseProject gradleProject : gradleProjects) {
+            File directory = gradleProject.getProjectDirectory();
+            directory.mkdirs();
+            this.projectDirectories.add(directory);
+        }
+
+        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        workspace.run(monitor -> {
+            for (int i = 0; i < gradleProjects.size(); i++) {
+                IProjectDescription description = workspace.newProjectDescription(gradleProjects.get(i).getName());
+                description.setLocation(Path.fromOSString(this.projectDirectories.get(i).getAbsolutePath()));
+                IProject project = workspace.getRoot().getProject(description.getName());
+                project.create(description, monitor);
+                project.open(IResource.NONE, monitor);
+                this.projects.add(project);
+            }
+        }, null);
+
+        this.workspaceOperations = new DefaultWorkspaceOperations();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, CoreException {
+        this.workspaceOperations.close();
+        ResourcesPlugin.getWorkspace().run(monitor -> {
+            for (IProject project : this.projects) {
+                project.delete(true, true, monitor);
+            }
+        }, null);
+        if (this.rootDirectory.exists()) {
+            MoreFiles.deleteRecursively(this.rootDirectory.toPath(), RecursiveDeleteOption.ALLOW_INSECURE);
+        }
+    }
+
+    @Benchmark
+    public void findProjectByLocation(Blackhole blackhole) {
+        for (File directory : this.projectDirectories) {
+            blackhole.consume(this.workspaceOperations.findProjectByLocation(directory));
+        }
+    }
+}
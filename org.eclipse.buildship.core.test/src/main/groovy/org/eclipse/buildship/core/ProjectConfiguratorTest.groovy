@@ -9,6 +9,10 @@
  ******************************************************************************/
 package org.eclipse.buildship.core
 
+import org.eclipse.jdt.core.JavaCore
+
+import org.eclipse.buildship.core.internal.TuningOptions
+
 class ProjectConfiguratorTest extends BaseProjectConfiguratorTest {
 
     ProjectConfigurator configurator
@@ -70,4 +74,22 @@ class ProjectConfiguratorTest extends BaseProjectConfiguratorTest {
         1 * configurator.unconfigure({ ProjectContext pc -> pc.project.name == 'sub1' }, _)
         1 * configurator.unconfigure({ ProjectContext pc -> pc.project.name == 'sub2' }, _)
     }
+
+    def "Configurators use the synchronization models even if the model cache evicts them"() {
+        setup:
+        System.setProperty(TuningOptions.MODEL_CACHE_SIZE_KEY, '1')
+        File location = dir('ProjectConfiguratorTest_models') {
+            file 'build.gradle', "apply plugin: 'java'"
+            dir 'src/main/java'
+        }
+
+        when:
+        importAndWait(location)
+
+        then:
+        JavaCore.create(findProject('ProjectConfiguratorTest_models')).rawClasspath.find { it.path.toPortableString() == '/ProjectConfiguratorTest_models/src/main/java' }
+
+        cleanup:
+        System.clearProperty(TuningOptions.MODEL_CACHE_SIZE_KEY)
+    }
 }
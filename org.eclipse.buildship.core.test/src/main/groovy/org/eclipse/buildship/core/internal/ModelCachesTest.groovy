@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal
+
+import com.google.common.cache.Cache
+import spock.lang.Specification
+
+class ModelCachesTest extends Specification {
+
+    def cleanup() {
+        System.clearProperty(TuningOptions.MODEL_CACHE_SIZE_KEY)
+    }
+
+    def "Model cache is bounded"() {
+        setup:
+        System.setProperty(TuningOptions.MODEL_CACHE_SIZE_KEY, '4')
+        Cache<Object, Object> cache = ModelCaches.newCache('ModelCachesTest eviction')
+
+        when:
+        10.times { cache.put(it, it) }
+
+        then:
+        cache.size() <= 4
+        cache.stats().evictionCount() == 10 - cache.size()
+    }
+
+    def "Model cache statistics are recorded"() {
+        setup:
+        Cache<Object, Object> cache = ModelCaches.newCache('ModelCachesTest statistics')
+
+        when:
+        cache.get('a', { 1 })
+        cache.get('a', { 2 })
+        cache.getIfPresent('b')
+
+        then:
+        def stats = ModelCaches.statistics['ModelCachesTest statistics']
+        stats.hitCount() == 1
+        stats.missCount() == 2
+        stats.loadCount() == 1
+        stats.evictionCount() == 0
+    }
+}
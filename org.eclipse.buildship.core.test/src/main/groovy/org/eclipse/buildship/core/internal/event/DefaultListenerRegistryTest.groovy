@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.event
+
+import spock.lang.Specification
+
+import org.eclipse.core.runtime.jobs.Job
+
+import org.eclipse.buildship.core.internal.CorePlugin
+
+class DefaultListenerRegistryTest extends Specification {
+
+    DefaultListenerRegistry registry = new DefaultListenerRegistry()
+
+    def "Listeners are notified about all events by default"() {
+        setup:
+        EventListener listener = Mock(EventListener)
+        registry.addEventListener(listener)
+        Event first = new FirstEvent()
+        Event second = new SecondEvent()
+
+        when:
+        registry.dispatch(first)
+        registry.dispatch(second)
+
+        then:
+        1 * listener.onEvent(first)
+        1 * listener.onEvent(second)
+    }
+
+    def "Listeners are only notified about the subscribed event types"() {
+        setup:
+        EventListener listener = Mock(EventListener)
+        registry.addEventListener(listener, [FirstEvent] as Set)
+        Event first = new FirstEvent()
+
+        when:
+        registry.dispatch(first)
+        registry.dispatch(new SecondEvent())
+
+        then:
+        1 * listener.onEvent(first)
+        0 * listener.onEvent(_)
+    }
+
+    def "Removed listeners are not notified"() {
+        setup:
+        EventListener listener = Mock(EventListener)
+        registry.addEventListener(listener)
+        registry.addEventListener(listener)
+
+        when:
+        registry.removeEventListener(listener)
+        registry.dispatch(new FirstEvent())
+
+        then:
+        0 * listener.onEvent(_)
+    }
+
+    def "Failing listeners do not prevent notifying other listeners"() {
+        setup:
+        EventListener failing = Mock(EventListener)
+        EventListener listener = Mock(EventListener)
+        registry.addEventListener(failing)
+        registry.addEventListener(listener)
+        Event event = new FirstEvent()
+
+        when:
+        registry.dispatch(event)
+
+        then:
+        1 * failing.onEvent(event) >> { throw new RuntimeException() }
+        1 * listener.onEvent(event)
+    }
+
+    def "Asynchronous listeners receive the events in dispatch order on another thread"() {
+        setup:
+        List<Event> received = [].asSynchronized()
+        Set<Thread> threads = ([] as Set).asSynchronized()
+        EventListener listener = { Event e -> threads << Thread.currentThread(); received << e } as EventListener
+        registry.addAsynchronousEventListener(listener, [FirstEvent, SecondEvent] as Set)
+        List<Event> events = (1..100).collect { it % 2 == 0 ? new FirstEvent() : new SecondEvent() }
+
+        when:
+        events.each { registry.dispatch(it) }
+        Job.jobManager.join(CorePlugin.GRADLE_JOB_FAMILY, null)
+
+        then:
+        received == events
+        !threads.contains(Thread.currentThread())
+    }
+
+    static class FirstEvent implements Event {
+    }
+
+    static class SecondEvent implements Event {
+    }
+}
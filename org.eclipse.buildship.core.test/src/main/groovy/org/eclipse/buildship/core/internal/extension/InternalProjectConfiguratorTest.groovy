@@ -9,6 +9,8 @@
  ******************************************************************************/
 package org.eclipse.buildship.core.internal.extension
 
+import org.gradle.tooling.model.eclipse.EclipseProject
+
 import org.eclipse.core.runtime.CoreException
 import org.eclipse.core.runtime.IConfigurationElement
 import org.eclipse.core.runtime.IContributor
@@ -102,16 +104,29 @@ class InternalProjectConfiguratorTest extends WorkspaceSpecification {
         assertOrder(configurators, 'c2', 'c3', 'c1')
     }
 
+    def "Required models are resolved and invalid declarations are ignored"() {
+        setup:
+        ProjectConfiguratorContribution contribution = configurator('id', [], [], ['org.gradle.tooling.model.eclipse.EclipseProject', 'org.example.UnknownModel', 'java.lang.String'])
+
+        when:
+        List<InternalProjectConfigurator> configurators = InternalProjectConfigurator.from([contribution])
+
+        then:
+        contribution.requiredModels == ['org.gradle.tooling.model.eclipse.EclipseProject', 'org.example.UnknownModel', 'java.lang.String']
+        configurators[0].requiredModels == [EclipseProject]
+    }
+
     private void assertOrder(List<InternalProjectConfigurator> configurators, String... ids) {
         assert configurators.collect { it.id } == ids
     }
 
-    private ProjectConfiguratorContribution configurator(id = 'id', runsBefore = [], runsAfter = []) {
+    private ProjectConfiguratorContribution configurator(id = 'id', runsBefore = [], runsAfter = [], requiredModels = []) {
         IConfigurationElement extension = Mock(IConfigurationElement)
         extension.createExecutableExtension('class') >> Mock(ProjectConfigurator)
         extension.getAttribute('id') >> id
         extension.getAttribute('runsBefore') >> runsBefore.join(',')
         extension.getAttribute('runsAfter') >> runsAfter.join(',')
+        extension.getAttribute('requiredModels') >> requiredModels.join(',')
         IContributor contributor = Mock(IContributor)
         contributor.getName() >> 'pluginId'
         extension.getContributor() >> contributor
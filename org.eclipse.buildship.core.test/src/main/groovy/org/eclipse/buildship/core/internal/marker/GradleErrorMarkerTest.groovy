@@ -16,6 +16,7 @@ import org.eclipse.core.runtime.IStatus
 
 import org.eclipse.buildship.core.GradleDistribution
 import org.eclipse.buildship.core.internal.CorePlugin
+import org.eclipse.buildship.core.internal.TuningOptions
 import org.eclipse.buildship.core.internal.configuration.WorkspaceConfiguration
 import org.eclipse.buildship.core.internal.test.fixtures.ProjectSynchronizationSpecification
 
@@ -162,4 +163,79 @@ class GradleErrorMarkerTest extends ProjectSynchronizationSpecification {
         CorePlugin.configurationManager().saveWorkspaceConfiguration(w)
 
     }
+
+    def "Duplicate problem reports are merged and the number of markers is limited"() {
+        setup:
+        System.setProperty(TuningOptions.MAX_PROBLEM_MARKERS_KEY, '2')
+        WorkspaceConfiguration w = CorePlugin.configurationManager().loadWorkspaceConfiguration()
+        configurationManager.saveWorkspaceConfiguration(new WorkspaceConfiguration(w.gradleDistribution, w.gradleUserHome, w.javaHome, w.offline, w.buildScansEnabled, w.autoSync, w.arguments, w.jvmArguments, w.showConsoleView, w.showExecutionsView, w.experimentalModuleSupportEnabled , true))
+        File projectDir = dir('error-marker-test') {
+            file 'build.gradle', '''
+                import org.gradle.api.internal.GradleInternal
+                import org.gradle.api.problems.Problems
+                import org.gradle.api.problems.Severity
+
+                def gradleInternal = gradle as GradleInternal
+                def problems = gradleInternal.services.get(Problems)
+
+                ['first', 'first', 'second', 'third', 'fourth'].each { name ->
+                    problems.forNamespace("buildscript").reporting {
+                        it.id(name, "Problem $name")
+                            .details("Problem details of $name")
+                            .severity(Severity.WARNING)
+                    }
+                }
+            '''
+        }
+
+        when:
+        importAndWait(projectDir)
+
+        then:
+        problemsApiErrorMarkers.size() == 2
+        problemsApiErrorMarkers.collect { it.getAttribute(IMarker.MESSAGE) } as Set == ['Problem details of first', 'Problem details of second'] as Set
+        gradleErrorMarkers.size() == 1
+        (gradleErrorMarkers[0].getAttribute(IMarker.MESSAGE) as String).startsWith('2 more problems were reported by Gradle.')
+
+        cleanup:
+        System.clearProperty(TuningOptions.MAX_PROBLEM_MARKERS_KEY)
+        CorePlugin.configurationManager().saveWorkspaceConfiguration(w)
+    }
+
+    def "Duplicate problem reports beyond the marker limit are not counted as omitted"() {
+        setup:
+        System.setProperty(TuningOptions.MAX_PROBLEM_MARKERS_KEY, '1')
+        WorkspaceConfiguration w = CorePlugin.configurationManager().loadWorkspaceConfiguration()
+        configurationManager.saveWorkspaceConfiguration(new WorkspaceConfiguration(w.gradleDistribution, w.gradleUserHome, w.javaHome, w.offline, w.buildScansEnabled, w.autoSync, w.arguments, w.jvmArguments, w.showConsoleView, w.showExecutionsView, w.experimentalModuleSupportEnabled , true))
+        File projectDir = dir('error-marker-test') {
+            file 'build.gradle', '''
+                import org.gradle.api.internal.GradleInternal
+                import org.gradle.api.problems.Problems
+                import org.gradle.api.problems.Severity
+
+                def gradleInternal = gradle as GradleInternal
+                def problems = gradleInternal.services.get(Problems)
+
+                ['first', 'second', 'second', 'second'].each { name ->
+                    problems.forNamespace("buildscript").reporting {
+                        it.id(name, "Problem $name")
+                            .details("Problem details of $name")
+                            .severity(Severity.WARNING)
+                    }
+                }
+            '''
+        }
+
+        when:
+        importAndWait(projectDir)
+
+        then:
+        problemsApiErrorMarkers.size() == 1
+        gradleErrorMarkers.size() == 1
+        (gradleErrorMarkers[0].getAttribute(IMarker.MESSAGE) as String).startsWith('1 more problems were reported by Gradle.')
+
+        cleanup:
+        System.clearProperty(TuningOptions.MAX_PROBLEM_MARKERS_KEY)
+        CorePlugin.configurationManager().saveWorkspaceConfiguration(w)
+    }
 }
@@ -12,13 +12,17 @@ package org.eclipse.buildship.core.internal.preferences
 import spock.lang.Issue
 
 import org.eclipse.core.resources.IProject
+import org.eclipse.core.runtime.IPath
 import org.eclipse.core.runtime.NullProgressMonitor
 import org.eclipse.core.runtime.Path
+import org.eclipse.jdt.core.IAccessRule
+import org.eclipse.jdt.core.IClasspathAttribute
 import org.eclipse.jdt.core.JavaCore
 
 import org.eclipse.buildship.core.internal.CorePlugin
 import org.eclipse.buildship.core.internal.test.fixtures.WorkspaceSpecification
 import org.eclipse.buildship.core.internal.util.gradle.GradleVersion
+import org.eclipse.buildship.core.internal.workspace.WorkbenchShutdownEvent
 
 class DefaultModelPersistenceTest extends WorkspaceSpecification {
 
@@ -145,10 +149,83 @@ class DefaultModelPersistenceTest extends WorkspaceSpecification {
         persistence.loadModel(project)
 
         when:
-        persistence.persistAllProjectPrefs()
+        persistence.onEvent(new WorkbenchShutdownEvent())
 
         then:
         notThrown RuntimeException
+        !persistence.loadModel(project).present
+    }
+
+    def "Saved model is written to the store immediately"() {
+        setup:
+        def classpath = [
+            JavaCore.newLibraryEntry(new Path('/lib/a.jar'), new Path('/lib/a-sources.jar'), null,
+                [JavaCore.newAccessRule(new Path('com/example/**'), IAccessRule.K_DISCOURAGED)] as IAccessRule[],
+                [JavaCore.newClasspathAttribute('gradle_used_by_scope', 'main,test')] as IClasspathAttribute[], true),
+            JavaCore.newProjectEntry(new Path('/project-path'), [] as IAccessRule[], false,
+                [JavaCore.newClasspathAttribute('gradle_used_by_scope', 'main,test')] as IClasspathAttribute[], false),
+            JavaCore.newSourceEntry(new Path('/sample-project/src'), [new Path('**/*.java')] as IPath[], [] as IPath[], new Path('/sample-project/bin')),
+            JavaCore.newContainerEntry(new Path('org.eclipse.jdt.launching.JRE_CONTAINER'))
+        ]
+        def command = project.description.newCommand()
+        command.setBuilderName('custom-command')
+        command.setArguments([key: 'value'])
+        PersistentModel model = new DefaultPersistentModel(project, new Path('build'), new Path('build.gradle'), [], classpath, [], [], ['custom-nature'], [command], false, GradleVersion.version('8.9'), 'fingerprint')
+
+        when:
+        DefaultModelPersistence persistence = CorePlugin.modelPersistence()
+        persistence.saveModel(model)
+        // a restart clears the in-memory cache and releases the store
+        persistence.onEvent(new WorkbenchShutdownEvent())
+        persistence.modelCache.invalidateAll()
+        model = persistence.loadModel(project)
+
+        then:
+        model.present
+        model.classpath == classpath
+        model.managedNatures == ['custom-nature']
+        model.managedBuilders*.builderName == ['custom-command']
+        model.managedBuilders[0].arguments == [key: 'value']
+        model.gradleVersion.version == '8.9'
+        model.modelFingerprint == 'fingerprint'
+    }
+
+    def "Model without Gradle version can be stored and loaded"() {
+        setup:
+        PersistentModel model = new DefaultPersistentModel(project, new Path('build'), new Path('build.gradle'), [], [], [], [], [], [], false, null, 'fingerprint')
+
+        when:
+        DefaultModelPersistence persistence = CorePlugin.modelPersistence()
+        persistence.saveModel(model)
+        persistence.modelCache.invalidateAll()
+        model = persistence.loadModel(project)
+
+        then:
+        model.present
+        model.gradleVersion == null
+        model.modelFingerprint == 'fingerprint'
+    }
+
+    def "Legacy model is migrated when the project is loaded"() {
+        setup:
+        File legacyDir = CorePlugin.instance.stateLocation.append('project-preferences').toFile()
+        legacyDir.mkdirs()
+        File legacyFile = new File(legacyDir, project.name)
+        legacyFile.text = 'buildDir=custom-build\ngradleVersion=5.6\n'
+        DefaultModelPersistence persistence = CorePlugin.modelPersistence()
+        persistence.modelCache.invalidateAll()
+
+        when:
+        PersistentModel model = persistence.loadModel(project)
+
+        then:
+        model.present
+        model.buildDir == new Path('custom-build')
+        model.gradleVersion.version == '5.6'
+        !legacyFile.exists()
+
+        cleanup:
+        legacyDir.delete()
     }
 
     @Issue('https://github.com/eclipse/buildship/issues/936')
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.preferences
+
+import org.eclipse.buildship.core.internal.test.fixtures.WorkspaceSpecification
+
+class PersistentModelStoreTest extends WorkspaceSpecification {
+
+    File storeFile
+    PersistentModelStore store
+
+    def setup() {
+        storeFile = new File(dir('store'), 'models.bin')
+        store = new PersistentModelStore(storeFile)
+    }
+
+    def cleanup() {
+        store.close()
+    }
+
+    def "Stored models are available after reopening the store"() {
+        when:
+        store.put('a', [1, 2, 3] as byte[])
+        store.put('b', [4, 5] as byte[])
+        store.put('a', [6] as byte[])
+        store.delete('b')
+        store.close()
+
+        then:
+        store.get('a') == [6] as byte[]
+        store.get('b') == null
+        store.get('c') == null
+    }
+
+    def "Partially written record is discarded"() {
+        setup:
+        store.put('a', [1, 2, 3] as byte[])
+        store.put('b', [4, 5, 6] as byte[])
+        store.close()
+
+        when:
+        RandomAccessFile file = new RandomAccessFile(storeFile, 'rw')
+        file.setLength(file.length() - 2)
+        file.close()
+
+        then:
+        store.get('a') == [1, 2, 3] as byte[]
+        store.get('b') == null
+
+        when:
+        store.put('b', [7] as byte[])
+        store.close()
+
+        then:
+        store.get('b') == [7] as byte[]
+    }
+
+    def "Record with invalid checksum is discarded"() {
+        setup:
+        store.put('a', [1, 2, 3] as byte[])
+        store.close()
+
+        when:
+        RandomAccessFile file = new RandomAccessFile(storeFile, 'rw')
+        file.seek(file.length() - 1)
+        file.write(42)
+        file.close()
+
+        then:
+        store.get('a') == null
+    }
+
+    def "Corrupted record is detected when the model is loaded"() {
+        setup:
+        store.put('a', [1, 2, 3] as byte[])
+        store.put('b', [4, 5, 6] as byte[])
+        store.close()
+
+        when:
+        RandomAccessFile file = new RandomAccessFile(storeFile, 'rw')
+        // the last byte of the first record's model
+        file.seek(8 + 8 + 1 + 3 + 2)
+        file.write(42)
+        file.close()
+
+        then:
+        store.get('b') == [4, 5, 6] as byte[]
+
+        when:
+        store.get('a')
+
+        then:
+        thrown(IOException)
+    }
+
+    def "Outdated records are removed by compaction"() {
+        setup:
+        byte[] model = new byte[64 * 1024]
+
+        when:
+        20.times { store.put('a', model) }
+        store.put('b', [1] as byte[])
+
+        then:
+        storeFile.length() < 4 * model.length
+        store.get('a') == model
+        store.get('b') == [1] as byte[]
+    }
+}
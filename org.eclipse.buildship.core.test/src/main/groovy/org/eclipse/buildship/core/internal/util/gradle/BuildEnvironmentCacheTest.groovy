@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.util.gradle
+
+import org.gradle.tooling.model.build.BuildEnvironment
+
+import org.eclipse.buildship.core.internal.test.fixtures.WorkspaceSpecification
+
+class BuildEnvironmentCacheTest extends WorkspaceSpecification {
+
+    def "Build environment is loaded once per connection configuration"() {
+        setup:
+        File rootDir = dir('cached-build-environment')
+        int loadCount = 0
+        def loader = { loadCount++; Mock(BuildEnvironment) }
+
+        when:
+        def first = BuildEnvironmentCache.get(rootDir, null, 'WRAPPER', loader)
+        def second = BuildEnvironmentCache.get(rootDir, null, 'WRAPPER', loader)
+
+        then:
+        loadCount == 1
+        first.is(second)
+
+        when:
+        BuildEnvironmentCache.get(rootDir, null, 'GRADLE_DISTRIBUTION(VERSION(8.9))', loader)
+
+        then:
+        loadCount == 2
+    }
+
+    def "Build environment is reloaded if the wrapper properties change"() {
+        setup:
+        File rootDir = dir('cached-build-environment-wrapper') {
+            dir('gradle/wrapper') {
+                file 'gradle-wrapper.properties', 'distributionUrl=https\\://services.gradle.org/distributions/gradle-8.8-bin.zip'
+            }
+        }
+        int loadCount = 0
+        def loader = { loadCount++; Mock(BuildEnvironment) }
+        BuildEnvironmentCache.get(rootDir, null, 'WRAPPER', loader)
+
+        when:
+        new File(rootDir, 'gradle/wrapper/gradle-wrapper.properties').text = 'distributionUrl=https\\://services.gradle.org/distributions/gradle-8.9-all.zip'
+        BuildEnvironmentCache.get(rootDir, null, 'WRAPPER', loader)
+
+        then:
+        loadCount == 2
+    }
+
+    def "Build environment is reloaded if the Gradle properties are created"() {
+        setup:
+        File rootDir = dir('cached-build-environment-properties')
+        int loadCount = 0
+        def loader = { loadCount++; Mock(BuildEnvironment) }
+        BuildEnvironmentCache.get(rootDir, null, 'WRAPPER', loader)
+
+        when:
+        new File(rootDir, 'gradle.properties').text = 'org.gradle.jvmargs=-Xmx1g'
+        BuildEnvironmentCache.get(rootDir, null, 'WRAPPER', loader)
+
+        then:
+        loadCount == 2
+    }
+
+    def "Build environment is reloaded after the cache entry is invalidated"() {
+        setup:
+        File rootDir = dir('cached-build-environment-invalidated')
+        int loadCount = 0
+        def loader = { loadCount++; Mock(BuildEnvironment) }
+        BuildEnvironmentCache.get(rootDir, null, 'WRAPPER', loader)
+
+        when:
+        BuildEnvironmentCache.invalidate(rootDir)
+        BuildEnvironmentCache.get(rootDir, null, 'WRAPPER', loader)
+        BuildEnvironmentCache.get(rootDir, null, 'WRAPPER', loader)
+
+        then:
+        loadCount == 2
+    }
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.util.progress
+
+import spock.lang.Specification
+
+import org.gradle.tooling.LongRunningOperation
+import org.gradle.tooling.events.OperationDescriptor
+import org.gradle.tooling.events.OperationType
+import org.gradle.tooling.events.ProgressEvent
+import org.gradle.tooling.events.download.FileDownloadOperationDescriptor
+import org.gradle.tooling.events.problems.SingleProblemEvent
+import org.gradle.tooling.events.task.TaskOperationDescriptor
+
+class ProgressEventDispatcherTest extends Specification {
+
+    def "subscribes to the union of the listener operation types"() {
+        setup:
+        LongRunningOperation operation = Mock(LongRunningOperation)
+        ProgressEventDispatcher dispatcher = new ProgressEventDispatcher([listener(OperationType.TASK), listener(OperationType.TASK, OperationType.PROBLEMS)])
+
+        when:
+        dispatcher.applyTo(operation)
+
+        then:
+        1 * operation.addProgressListener(dispatcher, EnumSet.of(OperationType.TASK, OperationType.PROBLEMS))
+    }
+
+    def "does not subscribe without operation types"() {
+        setup:
+        LongRunningOperation operation = Mock(LongRunningOperation)
+
+        when:
+        new ProgressEventDispatcher([]).applyTo(operation)
+
+        then:
+        0 * operation._
+    }
+
+    def "events are only forwarded to the listeners of the event's operation type"() {
+        setup:
+        TypedProgressListener taskListener = listener(OperationType.TASK)
+        TypedProgressListener problemListener = listener(OperationType.PROBLEMS)
+        ProgressEventDispatcher dispatcher = new ProgressEventDispatcher([taskListener, problemListener])
+        ProgressEvent taskEvent = event(Mock(TaskOperationDescriptor))
+        ProgressEvent downloadEvent = event(Mock(FileDownloadOperationDescriptor))
+        ProgressEvent problemEvent = Mock(SingleProblemEvent)
+
+        when:
+        dispatcher.statusChanged(taskEvent)
+        dispatcher.statusChanged(downloadEvent)
+        dispatcher.statusChanged(problemEvent)
+
+        then:
+        1 * taskListener.statusChanged(taskEvent)
+        1 * problemListener.statusChanged(problemEvent)
+        0 * taskListener.statusChanged(_)
+        0 * problemListener.statusChanged(_)
+    }
+
+    def "listeners added after registration extend the subscription"() {
+        setup:
+        LongRunningOperation operation = Mock(LongRunningOperation)
+        ProgressEventDispatcher dispatcher = new ProgressEventDispatcher([listener(OperationType.TASK)])
+        dispatcher.applyTo(operation)
+        TypedProgressListener addedListener = listener(OperationType.TASK, OperationType.TEST)
+        ProgressEvent taskEvent = event(Mock(TaskOperationDescriptor))
+
+        when:
+        dispatcher.addListener(addedListener)
+        dispatcher.statusChanged(taskEvent)
+
+        then:
+        1 * operation.addProgressListener(dispatcher, EnumSet.of(OperationType.TEST))
+        1 * addedListener.statusChanged(taskEvent)
+        dispatcher.operationTypes == EnumSet.of(OperationType.TASK, OperationType.TEST)
+    }
+
+    def "unknown events are treated as generic operations"() {
+        expect:
+        ProgressEventDispatcher.operationTypeOf(event(Mock(OperationDescriptor))) == OperationType.GENERIC
+    }
+
+    private TypedProgressListener listener(OperationType... types) {
+        TypedProgressListener listener = Mock(TypedProgressListener)
+        listener.getOperationTypes() >> EnumSet.copyOf(types as List)
+        listener
+    }
+
+    private ProgressEvent event(OperationDescriptor descriptor) {
+        ProgressEvent event = Mock(ProgressEvent)
+        event.getDescriptor() >> descriptor
+        event
+    }
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace
+
+import org.eclipse.core.resources.IFolder
+import org.eclipse.core.resources.IProject
+import org.eclipse.core.runtime.IPath
+import org.eclipse.core.runtime.NullProgressMonitor
+import org.eclipse.core.runtime.Path
+import org.eclipse.jdt.core.IClasspathEntry
+import org.eclipse.jdt.core.IJavaProject
+import org.eclipse.jdt.core.JavaCore
+
+import org.eclipse.buildship.core.internal.CorePlugin
+import org.eclipse.buildship.core.internal.TuningOptions
+import org.eclipse.buildship.core.internal.preferences.PersistentModel
+import org.eclipse.buildship.core.internal.test.fixtures.ProjectSynchronizationSpecification
+
+class IncrementalSynchronizationTest extends ProjectSynchronizationSpecification {
+
+    File rootDir
+
+    def setup() {
+        rootDir = dir('incremental-sync') {
+            file 'settings.gradle', "include 'a', 'b'"
+            dir('a') {
+                file 'build.gradle', "apply plugin: 'java'"
+                dir 'src/main/java'
+            }
+            dir('b') {
+                file 'build.gradle', "apply plugin: 'java'"
+                dir 'src/main/java'
+            }
+        }
+        importAndWait(rootDir)
+    }
+
+    def cleanup() {
+        System.clearProperty(TuningOptions.INCREMENTAL_SYNCHRONIZATION_KEY)
+    }
+
+    def "Persistent model stores the model fingerprint"() {
+        expect:
+        CorePlugin.modelPersistence().loadModel(findProject('a')).modelFingerprint != null
+        CorePlugin.modelPersistence().loadModel(findProject('a')).javaConfigurationFingerprint != null
+    }
+
+    def "Fingerprint changes only for the modified project"() {
+        setup:
+        String fingerprintA = fingerprint('a')
+        String fingerprintB = fingerprint('b')
+
+        when:
+        new File(rootDir, 'b/build.gradle') << "\ndependencies { implementation project(':a') }"
+        synchronizeAndWait(rootDir)
+
+        then:
+        fingerprint('a') == fingerprintA
+        fingerprint('b') != fingerprintB
+        JavaCore.create(findProject('b')).getResolvedClasspath(true).find { it.path.toPortableString() == '/a' }
+    }
+
+    def "Unchanged project is reconfigured if the Java nature was removed"() {
+        setup:
+        IProject project = findProject('a')
+        CorePlugin.workspaceOperations().removeNature(project, JavaCore.NATURE_ID, new NullProgressMonitor())
+
+        when:
+        synchronizeAndWait(rootDir)
+
+        then:
+        project.hasNature(JavaCore.NATURE_ID)
+    }
+
+    def "Unchanged project is reconfigured if its raw classpath was changed"() {
+        setup:
+        IJavaProject javaProject = JavaCore.create(findProject('a'))
+        javaProject.setRawClasspath(javaProject.rawClasspath.findAll { it.entryKind != IClasspathEntry.CPE_SOURCE } as IClasspathEntry[], new NullProgressMonitor())
+
+        when:
+        synchronizeAndWait(rootDir)
+
+        then:
+        javaProject.rawClasspath.find { it.entryKind == IClasspathEntry.CPE_SOURCE && it.path.toPortableString() == '/a/src/main/java' }
+    }
+
+    def "Unchanged project is reconfigured if its output location was changed"() {
+        setup:
+        IJavaProject javaProject = JavaCore.create(findProject('a'))
+        IPath outputLocation = javaProject.outputLocation
+        javaProject.setOutputLocation(new Path('/a/custom-bin'), new NullProgressMonitor())
+
+        when:
+        synchronizeAndWait(rootDir)
+
+        then:
+        javaProject.outputLocation == outputLocation
+    }
+
+    def "The derived folders of unchanged projects are restored"() {
+        setup:
+        IFolder buildFolder = findProject('a').getFolder('build')
+        buildFolder.create(true, true, new NullProgressMonitor())
+        synchronizeAndWait(rootDir)
+        buildFolder.setDerived(false, new NullProgressMonitor())
+
+        when:
+        synchronizeAndWait(rootDir)
+
+        then:
+        buildFolder.derived
+    }
+
+    def "Unchanged projects are reconfigured if incremental synchronization is disabled"() {
+        setup:
+        System.setProperty(TuningOptions.INCREMENTAL_SYNCHRONIZATION_KEY, 'false')
+        PersistentModel model = CorePlugin.modelPersistence().loadModel(findProject('a'))
+
+        when:
+        synchronizeAndWait(rootDir)
+
+        then:
+        !CorePlugin.modelPersistence().loadModel(findProject('a')).is(model)
+    }
+
+    def "Unchanged projects are not reconfigured"() {
+        setup:
+        PersistentModel model = CorePlugin.modelPersistence().loadModel(findProject('a'))
+
+        when:
+        synchronizeAndWait(rootDir)
+
+        then:
+        CorePlugin.modelPersistence().loadModel(findProject('a')).is(model)
+    }
+
+    private String fingerprint(String projectName) {
+        CorePlugin.modelPersistence().loadModel(findProject(projectName)).modelFingerprint
+    }
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace
+
+import org.gradle.tooling.GradleConnector
+import org.gradle.tooling.model.UnsupportedMethodException
+import org.gradle.tooling.model.eclipse.EclipseProject
+
+import org.eclipse.core.runtime.NullProgressMonitor
+
+import org.eclipse.buildship.core.GradleDistribution
+import org.eclipse.buildship.core.internal.CorePlugin
+import org.eclipse.buildship.core.internal.DefaultGradleBuild
+import org.eclipse.buildship.core.internal.test.fixtures.ProjectSynchronizationSpecification
+import org.eclipse.buildship.core.internal.util.gradle.ModelSnapshot
+
+class ModelSnapshotCacheTest extends ProjectSynchronizationSpecification {
+
+    def "Models are available from the snapshot after restart"() {
+        setup:
+        File rootDir = dir('snapshot') {
+            file 'settings.gradle', "include 'sub'"
+            file 'build.gradle', "task custom { group = 'custom group'; description = 'custom description' }"
+            dir('sub') { file 'build.gradle', "apply plugin: 'java'" }
+        }
+        importAndWait(rootDir)
+
+        when:
+        ModelProvider modelProvider = newModelProvider(rootDir)
+        ModelSnapshot snapshot = modelProvider.fetchModelSnapshot(FetchStrategy.FROM_CACHE_ONLY, GradleConnector.newCancellationTokenSource(), new NullProgressMonitor())
+
+        then:
+        snapshot.buildEnvironment.gradle.gradleVersion
+        EclipseProject root = snapshot.eclipseProjects.values().first()
+        root.name == 'snapshot'
+        root.children*.name == ['sub']
+        root.children[0].gradleProject.path == ':sub'
+        root.children[0].gradleProject.parent.is(root.gradleProject)
+        def task = root.gradleProject.tasks.find { it.name == 'custom' }
+        task.group == 'custom group'
+        task.description == 'custom description'
+        task.path == ':custom'
+        task.project.is(root.gradleProject)
+    }
+
+    def "Snapshot stores strings longer than 64 KB"() {
+        setup:
+        File rootDir = dir('snapshot') {
+            file 'settings.gradle', ''
+            file 'build.gradle', "task custom { description = 'x' * 70000 }"
+        }
+        importAndWait(rootDir)
+
+        when:
+        ModelSnapshot snapshot = newModelProvider(rootDir).fetchModelSnapshot(FetchStrategy.FROM_CACHE_ONLY, GradleConnector.newCancellationTokenSource(), new NullProgressMonitor())
+
+        then:
+        snapshot.eclipseProjects.values().first().gradleProject.tasks.find { it.name == 'custom' }.description == 'x' * 70000
+    }
+
+    def "Snapshot is discarded if a build script changes"() {
+        setup:
+        File rootDir = dir('snapshot') {
+            file 'settings.gradle', "include 'sub'"
+            dir('sub') { file 'build.gradle', "apply plugin: 'java'" }
+        }
+        importAndWait(rootDir)
+
+        when:
+        new File(rootDir, 'sub/build.gradle') << "\ntask another"
+        ModelProvider modelProvider = newModelProvider(rootDir)
+
+        then:
+        modelProvider.fetchModelSnapshot(FetchStrategy.FROM_CACHE_ONLY, GradleConnector.newCancellationTokenSource(), new NullProgressMonitor()) == null
+    }
+
+    def "Snapshot is discarded if the build configuration changes"() {
+        setup:
+        File rootDir = dir('snapshot') {
+            file 'settings.gradle', ''
+        }
+        importAndWait(rootDir)
+
+        when:
+        def buildConfig = createOverridingBuildConfiguration(rootDir, GradleDistribution.fromBuild(), false, false, false, null, null, ['--info'])
+        ModelProvider modelProvider = new DefaultGradleBuild(buildConfig).modelProvider
+
+        then:
+        modelProvider.fetchModelSnapshot(FetchStrategy.FROM_CACHE_ONLY, GradleConnector.newCancellationTokenSource(), new NullProgressMonitor()) == null
+    }
+
+    def "Cached models are reduced to the snapshot elements after synchronization"() {
+        setup:
+        File rootDir = dir('snapshot') {
+            file 'settings.gradle', "include 'sub'"
+            dir('sub') { file 'build.gradle', "apply plugin: 'java'" }
+        }
+        importAndWait(rootDir)
+
+        when:
+        ModelProvider modelProvider = CorePlugin.internalGradleWorkspace().getBuild(findProject('sub')).get().modelProvider
+        ModelSnapshot snapshot = modelProvider.fetchModelSnapshot(FetchStrategy.FROM_CACHE_ONLY, GradleConnector.newCancellationTokenSource(), new NullProgressMonitor())
+        EclipseProject sub = snapshot.eclipseProjects.values().first().children[0]
+
+        then:
+        sub.gradleProject.path == ':sub'
+        sub.gradleProject.tasks.find { it.name == 'compileJava' }
+
+        when:
+        sub.classpath
+
+        then:
+        thrown(UnsupportedMethodException)
+    }
+
+    def "Snapshot is not returned when the complete models are requested"() {
+        setup:
+        File rootDir = dir('snapshot') {
+            file 'settings.gradle', "include 'sub'"
+            dir('sub') { file 'build.gradle', "apply plugin: 'java'" }
+        }
+        importAndWait(rootDir)
+
+        when:
+        ModelProvider modelProvider = CorePlugin.internalGradleWorkspace().getBuild(findProject('sub')).get().modelProvider
+
+        then:
+        modelProvider.fetchModels(EclipseProject, FetchStrategy.FROM_CACHE_ONLY, GradleConnector.newCancellationTokenSource(), new NullProgressMonitor()) == null
+        newModelProvider(rootDir).fetchModels(EclipseProject, FetchStrategy.FROM_CACHE_ONLY, GradleConnector.newCancellationTokenSource(), new NullProgressMonitor()) == null
+
+        when:
+        Map<String, EclipseProject> models = modelProvider.fetchModels(EclipseProject, FetchStrategy.LOAD_IF_NOT_CACHED, GradleConnector.newCancellationTokenSource(), new NullProgressMonitor())
+
+        then:
+        models.values().first().children[0].classpath != null
+    }
+
+    private ModelProvider newModelProvider(File rootDir) {
+        // a new build instance has an empty in-memory cache, like after a workbench restart
+        new DefaultGradleBuild(createInheritingBuildConfiguration(rootDir)).modelProvider
+    }
+}
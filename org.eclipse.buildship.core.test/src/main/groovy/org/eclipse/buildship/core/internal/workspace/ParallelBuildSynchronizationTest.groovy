@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace
+
+import org.gradle.tooling.GradleConnector
+
+import org.eclipse.core.runtime.IStatus
+import org.eclipse.core.runtime.NullProgressMonitor
+
+import org.eclipse.buildship.core.GradleBuild
+import org.eclipse.buildship.core.SynchronizationResult
+import org.eclipse.buildship.core.internal.TuningOptions
+import org.eclipse.buildship.core.internal.test.fixtures.ProjectSynchronizationSpecification
+
+class ParallelBuildSynchronizationTest extends ProjectSynchronizationSpecification {
+
+    def cleanup() {
+        System.clearProperty(TuningOptions.BUILD_SYNCHRONIZATION_THREADS_KEY)
+    }
+
+    def "Builds with nested root directories are grouped"() {
+        setup:
+        File outerDir = dir('outer') {
+            file 'settings.gradle', ''
+            dir('nested') {
+                file 'settings.gradle', ''
+            }
+        }
+        File otherDir = dir('other') {
+            file 'settings.gradle', ''
+        }
+        GradleBuild outer = gradleBuildFor(outerDir)
+        GradleBuild nested = gradleBuildFor(new File(outerDir, 'nested'))
+        GradleBuild other = gradleBuildFor(otherDir)
+
+        expect:
+        ParallelBuildSynchronization.groupDependentBuilds([outer, other, nested]) == [[outer, nested], [other]]
+        ParallelBuildSynchronization.groupDependentBuilds([nested, other, outer]) == [[nested, outer], [other]]
+    }
+
+    def "Independent builds are synchronized in a single job"() {
+        setup:
+        System.setProperty(TuningOptions.BUILD_SYNCHRONIZATION_THREADS_KEY, '2')
+        File firstDir = dir('first') {
+            file 'settings.gradle', ''
+        }
+        File secondDir = dir('second') {
+            file 'settings.gradle', ''
+        }
+
+        when:
+        new SynchronizationJob(NewProjectHandler.IMPORT_AND_MERGE, [gradleBuildFor(firstDir), gradleBuildFor(secondDir)]).schedule()
+        waitForGradleJobsToFinish()
+
+        then:
+        findProject('first')
+        findProject('second')
+    }
+
+    def "A failing build doesn't stop the synchronization of the other builds"() {
+        setup:
+        System.setProperty(TuningOptions.BUILD_SYNCHRONIZATION_THREADS_KEY, '2')
+        File brokenDir = dir('broken') {
+            file 'settings.gradle', ''
+            file 'build.gradle', 'error'
+        }
+        File validDir = dir('valid') {
+            file 'settings.gradle', ''
+        }
+        GradleBuild broken = gradleBuildFor(brokenDir)
+        GradleBuild valid = gradleBuildFor(validDir)
+
+        when:
+        Map<GradleBuild, SynchronizationResult> results = new ParallelBuildSynchronization(NewProjectHandler.IMPORT_AND_MERGE, [broken, valid]).run(GradleConnector.newCancellationTokenSource(), new NullProgressMonitor())
+        waitForGradleJobsToFinish()
+
+        then:
+        results.keySet() as List == [broken, valid]
+        results[broken].status.severity == IStatus.ERROR
+        results[valid].status.OK
+        findProject('valid')
+    }
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace
+
+import org.gradle.tooling.BuildController
+import org.gradle.tooling.model.DomainObjectSet
+import org.gradle.tooling.model.gradle.BasicGradleProject
+import org.gradle.tooling.model.gradle.GradleBuild
+import org.gradle.tooling.model.eclipse.EclipseProject
+import spock.lang.Specification
+
+class ParallelCompositeModelQueryTest extends Specification {
+
+    BuildController controller = Mock(BuildController)
+    Map<String, EclipseProject> models = [:]
+
+    def setup() {
+        GradleBuild included1 = build('included1')
+        GradleBuild included2 = build('included2')
+        GradleBuild root = build('root', included1, included2)
+        controller.getBuildModel() >> root
+        controller.getModel(_ as BasicGradleProject, EclipseProject) >> { BasicGradleProject project, Class type -> models[project.name] }
+    }
+
+    def "Included builds are queried in parallel if Gradle supports it"() {
+        setup:
+        controller.getCanQueryProjectModelInParallel(EclipseProject) >> true
+
+        when:
+        Map<String, EclipseProject> result = new ParallelCompositeModelQuery(EclipseProject).execute(controller)
+
+        then:
+        1 * controller.run({ it.size() == 3 }) >> { args -> args[0].collect { it.execute(controller) } }
+        result == [':' : models['root'], 'included1' : models['included1'], 'included2' : models['included2']]
+    }
+
+    def "Included builds are queried one after another if Gradle cannot build the model in parallel"() {
+        setup:
+        controller.getCanQueryProjectModelInParallel(EclipseProject) >> false
+
+        when:
+        Map<String, EclipseProject> result = new ParallelCompositeModelQuery(EclipseProject).execute(controller)
+
+        then:
+        0 * controller.run(_)
+        result == [':' : models['root'], 'included1' : models['included1'], 'included2' : models['included2']]
+    }
+
+    def "Parallel and sequential queries are interchangeable for caching"() {
+        expect:
+        new ParallelCompositeModelQuery(EclipseProject) == new CompositeModelQuery(EclipseProject)
+        new CompositeModelQuery(EclipseProject) == new ParallelCompositeModelQuery(EclipseProject)
+        new ParallelCompositeModelQuery(EclipseProject).hashCode() == new CompositeModelQuery(EclipseProject).hashCode()
+    }
+
+    private GradleBuild build(String name, GradleBuild... includedBuilds) {
+        models[name] = Mock(EclipseProject)
+        BasicGradleProject rootProject = Mock(BasicGradleProject)
+        rootProject.getName() >> name
+        DomainObjectSet<GradleBuild> included = Mock(DomainObjectSet)
+        included.iterator() >> { includedBuilds.iterator() }
+        GradleBuild build = Mock(GradleBuild)
+        build.getRootProject() >> rootProject
+        build.getIncludedBuilds() >> included
+        build
+    }
+}
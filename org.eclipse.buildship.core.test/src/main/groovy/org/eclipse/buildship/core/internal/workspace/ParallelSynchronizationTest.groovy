@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace
+
+import org.eclipse.jdt.core.IClasspathEntry
+import org.eclipse.jdt.core.IJavaProject
+import org.eclipse.jdt.core.JavaCore
+
+import org.eclipse.buildship.core.internal.TuningOptions
+import org.eclipse.buildship.core.internal.configuration.GradleProjectNature
+import org.eclipse.buildship.core.internal.test.fixtures.ProjectSynchronizationSpecification
+
+class ParallelSynchronizationTest extends ProjectSynchronizationSpecification {
+
+    def setup() {
+        System.setProperty(TuningOptions.PARALLEL_SYNCHRONIZATION_KEY, 'true')
+        System.setProperty(TuningOptions.SYNCHRONIZATION_THREADS_KEY, '3')
+    }
+
+    def cleanup() {
+        System.clearProperty(TuningOptions.PARALLEL_SYNCHRONIZATION_KEY)
+        System.clearProperty(TuningOptions.SYNCHRONIZATION_THREADS_KEY)
+    }
+
+    def "All projects are configured when parallel synchronization is enabled"() {
+        setup:
+        File rootDir = dir('parallel-sync') {
+            file 'settings.gradle', "include 'a', 'b', 'c', 'd', 'e'"
+            ['a', 'b', 'c', 'd', 'e'].each { name ->
+                dir(name) {
+                    file 'build.gradle', "apply plugin: 'java'"
+                    dir 'src/main/java'
+                }
+            }
+            file 'build.gradle', "project(':b') { dependencies { implementation project(':a') } }"
+        }
+
+        when:
+        importAndWait(rootDir)
+
+        then:
+        ['parallel-sync', 'a', 'b', 'c', 'd', 'e'].every { GradleProjectNature.isPresentOn(findProject(it)) }
+        ['a', 'b', 'c', 'd', 'e'].every { findProject(it).hasNature(JavaCore.NATURE_ID) }
+        IJavaProject b = JavaCore.create(findProject('b'))
+        b.getResolvedClasspath(true).find { it.path.toPortableString() == '/a' }
+    }
+
+    def "The classpath of Java projects is updated when parallel synchronization is enabled"() {
+        setup:
+        File rootDir = dir('parallel-sync') {
+            file 'settings.gradle', "include 'a', 'b', 'c', 'd'"
+            ['a', 'b', 'c'].each { name ->
+                dir(name) {
+                    file 'build.gradle', "apply plugin: 'java'"
+                    dir 'src/main/java'
+                    dir 'src/test/java'
+                }
+            }
+            dir('d') { file 'build.gradle', '' }
+        }
+
+        when:
+        importAndWait(rootDir)
+        ['a', 'b', 'c'].each { new File(rootDir, "$it/src/main/resources").mkdirs() }
+        synchronizeAndWait(rootDir)
+
+        then:
+        ['a', 'b', 'c'].every { name ->
+            IJavaProject project = JavaCore.create(findProject(name))
+            def sourceFolders = project.rawClasspath.findAll { it.entryKind == IClasspathEntry.CPE_SOURCE }.collect { it.path.toPortableString() }
+            sourceFolders.containsAll(["/$name/src/main/java", "/$name/src/test/java", "/$name/src/main/resources"]*.toString())
+        }
+        !findProject('d').hasNature(JavaCore.NATURE_ID)
+    }
+
+    def "Removed projects are uncoupled when parallel synchronization is enabled"() {
+        setup:
+        File rootDir = dir('parallel-sync') {
+            file 'settings.gradle', "include 'a', 'b'"
+            dir('a') { file 'build.gradle', "apply plugin: 'java'" }
+            dir('b') { file 'build.gradle', "apply plugin: 'java'" }
+        }
+        importAndWait(rootDir)
+
+        when:
+        new File(rootDir, 'settings.gradle').text = "include 'a'"
+        synchronizeAndWait(rootDir)
+
+        then:
+        GradleProjectNature.isPresentOn(findProject('a'))
+        !GradleProjectNature.isPresentOn(findProject('b'))
+    }
+}
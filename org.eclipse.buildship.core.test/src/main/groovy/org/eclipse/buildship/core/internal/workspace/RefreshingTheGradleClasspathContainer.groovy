@@ -30,6 +30,19 @@ class RefreshingTheGradleClasspathContainer extends ProjectSynchronizationSpecif
         hasLocalGroovyDependencyDefinedInClasspathContainer(project)
     }
 
+    def "Unchanged classpath container is not replaced"() {
+        setup:
+        importNewSimpleProject('simpleproject')
+        IJavaProject project = findJavaProject('simpleproject')
+        IClasspathContainer container = JavaCore.getClasspathContainer(GradleClasspathContainer.CONTAINER_PATH, project)
+
+        when:
+        synchronizeAndWait(project.project)
+
+        then:
+        JavaCore.getClasspathContainer(GradleClasspathContainer.CONTAINER_PATH, project).is(container)
+    }
+
     def "Update with unresolved dependencies creates error markers"(){
         setup:
         File location = importNewSimpleProject('simpleproject')
@@ -234,6 +234,31 @@ class RuntimeClasspathTest extends ProjectSynchronizationSpecification {
         !classpath.find { it.type == IRuntimeClasspathEntry.ARCHIVE && it.path.toPortableString() == '/a/bin/test' }
     }
 
+    def "Cached runtime classpath is updated when the project dependencies change"() {
+        setup:
+        buildFile << """
+            project(':a') {
+                dependencies {
+                    implementation 'log4j:log4j:1.2.17'
+                }
+            }
+        """
+        importAndWait(location)
+        IJavaProject javaProject = JavaCore.create(findProject('a'))
+
+        expect:
+        projectRuntimeClasspath(javaProject).find { it.path.lastSegment() == 'log4j-1.2.17.jar' }
+
+        when:
+        buildFile.text = buildFile.text.replace('log4j:log4j:1.2.17', 'log4j:log4j:1.2.16')
+        synchronizeAndWait(location)
+        IRuntimeClasspathEntry[] classpath = projectRuntimeClasspath(javaProject)
+
+        then:
+        classpath.find { it.path.lastSegment() == 'log4j-1.2.16.jar' }
+        !classpath.find { it.path.lastSegment() == 'log4j-1.2.17.jar' }
+    }
+
     private IRuntimeClasspathEntry[] projectRuntimeClasspath(IJavaProject project) {
         IRuntimeClasspathEntry projectEntry = JavaRuntime.computeUnresolvedRuntimeClasspath(project).find { it.path == project.project.fullPath }
         JavaRuntime.resolveRuntimeClasspathEntry(projectEntry, project)
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace
+
+import groovy.json.JsonSlurper
+
+import org.eclipse.buildship.core.internal.TuningOptions
+import org.eclipse.buildship.core.internal.test.fixtures.ProjectSynchronizationSpecification
+
+class SynchronizationMetricsTest extends ProjectSynchronizationSpecification {
+
+    def setup() {
+        SynchronizationMetrics.reportFolder.deleteDir()
+    }
+
+    def cleanup() {
+        System.clearProperty(TuningOptions.SYNCHRONIZATION_REPORTS_KEY)
+    }
+
+    def "Synchronization writes a timing report"() {
+        setup:
+        File rootDir = dir('sync-metrics') {
+            file 'settings.gradle', "include 'a', 'b'"
+            dir('a') {
+                file 'build.gradle', "apply plugin: 'java'"
+                dir 'src/main/java'
+            }
+            dir('b') {
+                file 'build.gradle', "apply plugin: 'java'; dependencies { implementation project(':a') }"
+                dir 'src/main/java'
+            }
+        }
+
+        when:
+        importAndWait(rootDir)
+
+        then:
+        def report = new JsonSlurper().parse(latestReport())
+        report.build == 'sync-metrics'
+        report.successful
+        report.model.projects == 3
+        report.model.projectDependencies == 1
+        report.workspaceOperations > 0
+        report.classpathUpdates > 0
+        report.peakUsedHeapBytes > 0
+        report.spans*.name == ['Import root project', 'Load build environment', 'Load Eclipse model', 'Validate project locations', 'Run on-import tasks', 'Synchronize workspace']
+
+        def configureProjects = report.spans.find { it.name == 'Synchronize workspace' }.children.find { it.name == 'Configure projects' }
+        def projects = configureProjects.children.find { it.name == 'Projects' }
+        projects.count == 3
+        def baseConfigurator = projects.children.find { it.name.startsWith('Configurator') && it.children?.find { it.name == 'SourceFolderUpdater' } }
+        baseConfigurator.children.find { it.name == 'GradleClasspathContainerUpdater' }.count == 2
+    }
+
+    def "Report contains the number of reconfigured and up-to-date projects"() {
+        setup:
+        File rootDir = dir('sync-metrics') {
+            file 'settings.gradle', "include 'a', 'b'"
+            dir('a') {
+                file 'build.gradle', "apply plugin: 'java'"
+            }
+            dir('b') {
+                file 'build.gradle', "apply plugin: 'java'"
+            }
+        }
+        importAndWait(rootDir)
+
+        when:
+        new File(rootDir, 'b/build.gradle') << "\ndependencies { implementation project(':a') }"
+        synchronizeAndWait(rootDir)
+
+        then:
+        def report = new JsonSlurper().parse(latestReport())
+        report.reconfiguredProjects == 1
+        report.upToDateProjects == 2
+    }
+
+    def "Only the configured number of reports is kept"() {
+        setup:
+        System.setProperty(TuningOptions.SYNCHRONIZATION_REPORTS_KEY, '2')
+        File rootDir = dir('sync-metrics') {
+            file 'build.gradle', "apply plugin: 'java'"
+        }
+
+        when:
+        importAndWait(rootDir)
+        3.times { synchronizeAndWait(rootDir) }
+
+        then:
+        SynchronizationMetrics.reportFolder.listFiles().length == 2
+    }
+
+    def "Reports can be disabled"() {
+        setup:
+        System.setProperty(TuningOptions.SYNCHRONIZATION_REPORTS_KEY, '0')
+        File rootDir = dir('sync-metrics') {
+            file 'build.gradle', "apply plugin: 'java'"
+        }
+
+        when:
+        importAndWait(rootDir)
+
+        then:
+        !SynchronizationMetrics.reportFolder.exists()
+    }
+
+    def "Spans are not recorded outside of a synchronization"() {
+        when:
+        def scope = SynchronizationMetrics.span('Outside')
+        scope.close()
+        SynchronizationMetrics.workspaceOperation()
+        SynchronizationMetrics.classpathUpdate()
+
+        then:
+        noExceptionThrown()
+        !SynchronizationMetrics.reportFolder.exists()
+    }
+
+    private File latestReport() {
+        SynchronizationMetrics.reportFolder.listFiles().sort { it.name }.last()
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace
+
+import java.util.function.Supplier
+
+import org.eclipse.core.resources.IProject
+import org.eclipse.core.resources.IWorkspaceRunnable
+import org.eclipse.core.resources.ResourcesPlugin
+import org.eclipse.core.runtime.NullProgressMonitor
+import org.eclipse.core.runtime.jobs.ISchedulingRule
+import org.eclipse.core.runtime.jobs.Job
+import org.eclipse.jdt.core.IClasspathEntry
+import org.eclipse.jdt.core.IJavaProject
+import org.eclipse.jdt.core.JavaCore
+
+import org.eclipse.buildship.core.internal.test.fixtures.ProjectSynchronizationSpecification
+
+class SynchronizationRulesTest extends ProjectSynchronizationSpecification {
+
+    def "Existing project can become a Java project"() {
+        setup:
+        File rootDir = dir('rules') {
+            file 'settings.gradle', "include 'a'"
+            dir('a') {
+                file 'build.gradle', ''
+                dir 'src/main/java'
+            }
+        }
+        importAndWait(rootDir)
+
+        expect:
+        !findProject('a').hasNature(JavaCore.NATURE_ID)
+
+        when:
+        new File(rootDir, 'a/build.gradle').text = "apply plugin: 'java'"
+        synchronizeAndWait(rootDir)
+
+        then:
+        findProject('a').hasNature(JavaCore.NATURE_ID)
+        IJavaProject project = JavaCore.create(findProject('a'))
+        project.rawClasspath.find { it.entryKind == IClasspathEntry.CPE_SOURCE && it.path.toPortableString() == '/a/src/main/java' }
+    }
+
+    def "Rule of Java projects does not contain the workspace root"() {
+        setup:
+        IProject project = newJavaProject('java-project').project
+        IProject other = newProject('other-project')
+
+        when:
+        ISchedulingRule rule = SynchronizationRules.forProjects([project])
+
+        then:
+        rule.contains(SynchronizationRules.forJavaProject(project))
+        !rule.contains(other)
+        !rule.contains(ResourcesPlugin.workspace.root)
+    }
+
+    def "Operation is executed with the workspace root if the rule changes while it is acquired"() {
+        setup:
+        IProject project = newProject('project')
+        List<ISchedulingRule> rules = [project, ResourcesPlugin.workspace.root]
+        int executions = 0
+        ISchedulingRule executionRule = null
+
+        when:
+        SynchronizationRules.run('test', { monitor ->
+            executions++
+            executionRule = Job.jobManager.currentRule()
+        } as IWorkspaceRunnable, { rules.size() > 1 ? rules.remove(0) : rules[0] } as Supplier, new NullProgressMonitor())
+
+        then:
+        executions == 1
+        executionRule.contains(ResourcesPlugin.workspace.root)
+    }
+}
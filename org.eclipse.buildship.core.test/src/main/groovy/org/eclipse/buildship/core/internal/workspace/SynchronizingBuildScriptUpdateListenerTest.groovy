@@ -11,6 +11,9 @@ package org.eclipse.buildship.core.internal.workspace
 
 import org.eclipse.core.resources.IProject
 import org.eclipse.core.runtime.NullProgressMonitor
+import org.eclipse.core.runtime.jobs.IJobChangeEvent
+import org.eclipse.core.runtime.jobs.Job
+import org.eclipse.core.runtime.jobs.JobChangeAdapter
 import org.eclipse.jdt.core.JavaCore
 
 import org.eclipse.buildship.core.internal.configuration.BuildConfiguration
@@ -140,6 +143,57 @@ class SynchronizingBuildScriptUpdateListenerTest extends ProjectSynchronizationS
         waitFor { JavaCore.create(project).getResolvedClasspath(false).find { it.path.toPortableString().endsWith('spring-beans-1.2.8.jar') } }
     }
 
+    def "Execute project synchronization when settings.gradle file changes"() {
+        setup:
+        File projectDir = dir('auto-sync-test-project') {
+            dir('src/main/java')
+            file 'custom.gradle', 'apply plugin: "java"'
+            file 'settings.gradle', ''
+        }
+        importAndWait(projectDir)
+        IProject project = findProject('auto-sync-test-project')
+        enableProjectAutoSync(project)
+
+        expect:
+        !JavaCore.create(project).exists()
+
+        when:
+        String settingsScript = "rootProject.buildFileName = 'custom.gradle'"
+        project.getFile('settings.gradle').setContents(new ByteArrayInputStream(settingsScript.bytes), 0, new NullProgressMonitor())
+        waitForResourceChangeEvents()
+        waitForGradleJobsToFinish()
+
+        then:
+        waitFor { JavaCore.create(project).exists() }
+    }
+
+    def "Multiple build script changes are synchronized once"() {
+        setup:
+        File projectDir = dir('auto-sync-test-project') {
+            dir('src/main/java')
+            file 'build.gradle', ''
+            file 'settings.gradle', ''
+        }
+        importAndWait(projectDir)
+        IProject project = findProject('auto-sync-test-project')
+        enableProjectAutoSync(project)
+        SynchronizationJobCounter counter = new SynchronizationJobCounter()
+        Job.jobManager.addJobChangeListener(counter)
+
+        when:
+        5.times {
+            project.getFile('build.gradle').setContents(new ByteArrayInputStream("// change $it".bytes), 0, new NullProgressMonitor())
+            waitForResourceChangeEvents()
+        }
+        waitForGradleJobsToFinish()
+
+        then:
+        counter.count == 1
+
+        cleanup:
+        Job.jobManager.removeJobChangeListener(counter)
+    }
+
     def "Synchronization can be disabled for the entire workspace"() {
         setup:
         File projectDir = dir('auto-sync-test-project') {
@@ -258,4 +312,16 @@ class SynchronizingBuildScriptUpdateListenerTest extends ProjectSynchronizationS
             currentConfig.showExecutionsView)
         configurationManager.saveBuildConfiguration(updatedConfig)
     }
+
+    static class SynchronizationJobCounter extends JobChangeAdapter {
+
+        int count = 0
+
+        @Override
+        public void scheduled(IJobChangeEvent event) {
+            if (event.job instanceof SynchronizationJob) {
+                count++
+            }
+        }
+    }
 }
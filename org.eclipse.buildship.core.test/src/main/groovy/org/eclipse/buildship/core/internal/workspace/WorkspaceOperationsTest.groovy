@@ -10,6 +10,7 @@
 package org.eclipse.buildship.core.internal.workspace
 
 import org.eclipse.core.resources.IProject
+import org.eclipse.core.resources.IWorkspaceRunnable
 import org.eclipse.core.runtime.NullProgressMonitor
 import org.eclipse.jdt.core.JavaCore
 
@@ -419,6 +420,112 @@ class WorkspaceOperationsTest extends WorkspaceSpecification {
         thrown(GradlePluginsRuntimeException)
     }
 
+    def "Projects can be found by name and location"() {
+        setup:
+        IProject project = newProject('project-a')
+
+        expect:
+        workspaceOperations.findProjectByName('project-a').get() == project
+        workspaceOperations.findProjectByLocation(project.location.toFile()).get() == project
+        !workspaceOperations.findProjectByName('project-b').isPresent()
+        !workspaceOperations.findProjectByLocation(dir('other-location')).isPresent()
+    }
+
+    def "Project lookup reflects workspace changes"() {
+        setup:
+        IProject project = newProject('project-a')
+        File location = project.location.toFile()
+
+        expect:
+        workspaceOperations.findProjectByName('project-a').isPresent()
+
+        when:
+        IProject renamedProject = workspaceOperations.renameProject(project, 'project-b', new NullProgressMonitor())
+
+        then:
+        !workspaceOperations.findProjectByName('project-a').isPresent()
+        workspaceOperations.findProjectByName('project-b').get() == renamedProject
+        workspaceOperations.findProjectByLocation(location).get() == renamedProject
+
+        when:
+        renamedProject.delete(false, true, new NullProgressMonitor())
+
+        then:
+        !workspaceOperations.findProjectByName('project-b').isPresent()
+        !workspaceOperations.findProjectByLocation(location).isPresent()
+    }
+
+    def "Projects created by the workspace operations in a running workspace operation can be found"() {
+        setup:
+        workspaceOperations.findProjectByName('unrelated')
+        File location = dir('project-c')
+        boolean foundByName = false
+        boolean foundByLocation = false
+
+        when:
+        workspace.run({ monitor ->
+            workspaceOperations.createProject('project-c', location, [], new NullProgressMonitor())
+            foundByName = workspaceOperations.findProjectByName('project-c').isPresent()
+            foundByLocation = workspaceOperations.findProjectByLocation(location).isPresent()
+        } as IWorkspaceRunnable, new NullProgressMonitor())
+
+        then:
+        foundByName
+        foundByLocation
+    }
+
+    def "Projects created by other clients in a running workspace operation are found once the operation completes"() {
+        setup:
+        workspaceOperations.findProjectByName('unrelated')
+        File location = null
+        boolean foundInOperation = true
+
+        when:
+        workspace.run({ monitor ->
+            location = newProject('project-e').location.toFile()
+            foundInOperation = workspaceOperations.findProjectByLocation(location).isPresent()
+        } as IWorkspaceRunnable, new NullProgressMonitor())
+
+        then:
+        !foundInOperation
+        workspaceOperations.findProjectByName('project-e').isPresent()
+        workspaceOperations.findProjectByLocation(location).isPresent()
+    }
+
+    def "Projects deleted in a running workspace operation are not found"() {
+        setup:
+        IProject project = newProject('project-f')
+        File location = project.location.toFile()
+        workspaceOperations.findProjectByName('project-f')
+        boolean foundByName = true
+        boolean foundByLocation = true
+
+        when:
+        workspace.run({ monitor ->
+            project.delete(false, true, new NullProgressMonitor())
+            foundByName = workspaceOperations.findProjectByName('project-f').isPresent()
+            foundByLocation = workspaceOperations.findProjectByLocation(location).isPresent()
+        } as IWorkspaceRunnable, new NullProgressMonitor())
+
+        then:
+        !foundByName
+        !foundByLocation
+    }
+
+    def "Project lookup reflects closed and reopened projects"() {
+        setup:
+        IProject project = newProject('project-d')
+        File location = project.location.toFile()
+
+        when:
+        project.close(new NullProgressMonitor())
+        project.open(new NullProgressMonitor())
+
+        then:
+        workspaceOperations.findProjectByName('project-d').get() == project
+        workspaceOperations.findProjectByLocation(location).get() == project
+    }
+
     private IProject createSampleProject() {
         newProject("sample-project")
     }
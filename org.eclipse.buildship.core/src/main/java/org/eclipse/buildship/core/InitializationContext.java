@@ -9,6 +9,8 @@
  ******************************************************************************/
 package org.eclipse.buildship.core;
 
+import java.util.Map;
+
 /**
  * Describes a Gradle build being synchronized.
  *
@@ -22,4 +24,19 @@ public interface InitializationContext extends SynchronizationContext {
      * @return the current Gradle build being synchronized
      */
     GradleBuild getGradleBuild();
+
+    /**
+     * Returns a Tooling API model for all builds participating in the synchronization.
+     * <p/>
+     * The models have to be declared in the {@code requiredModels} attribute of the project
+     * configurator extension. All declared models are fetched in the same Gradle invocation that
+     * loads the {@code EclipseProject} model, so configurators don't have to connect to Gradle
+     * to access them.
+     *
+     * @param modelType the model type declared by the configurator
+     * @return the models mapped by build path, or an empty map if the model was not declared or not
+     *         available
+     * @since 3.2
+     */
+    <T> Map<String, T> getModels(Class<T> modelType);
 }
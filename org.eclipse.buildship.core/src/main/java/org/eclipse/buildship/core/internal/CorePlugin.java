@@ -52,6 +52,7 @@ import org.eclipse.buildship.core.internal.util.gradle.PublishedGradleVersionsWr
 import org.eclipse.buildship.core.internal.util.logging.EclipseLogger;
 import org.eclipse.buildship.core.internal.workspace.DefaultGradleWorkspace;
 import org.eclipse.buildship.core.internal.workspace.DefaultWorkspaceOperations;
+import org.eclipse.buildship.core.internal.workspace.GradleClasspathContainerRuntimeClasspathEntryResolver;
 import org.eclipse.buildship.core.internal.workspace.InternalGradleBuild;
 import org.eclipse.buildship.core.internal.workspace.InternalGradleWorkspace;
 import org.eclipse.buildship.core.internal.workspace.ProjectChangeListener;
@@ -102,6 +103,7 @@ public final class CorePlugin extends Plugin {
     private ServiceTracker gradleLaunchConfigurationServiceTracker;
     private ServiceTracker listenerRegistryServiceTracker;
 
+    private DefaultWorkspaceOperations defaultWorkspaceOperations;
     private DefaultModelPersistence modelPersistence;
     private ProjectChangeListener projectChangeListener;
     private SynchronizingBuildScriptUpdateListener buildScriptUpdateListener;
@@ -191,7 +193,8 @@ public final class CorePlugin extends Plugin {
     }
 
     private WorkspaceOperations createWorkspaceOperations() {
-        return new DefaultWorkspaceOperations();
+        this.defaultWorkspaceOperations = new DefaultWorkspaceOperations();
+        return this.defaultWorkspaceOperations;
     }
 
     private InternalGradleWorkspace createGradleWorkspace() {
@@ -242,6 +245,8 @@ public final class CorePlugin extends Plugin {
         this.processStreamsProviderService.unregister();
         this.internalGradleWorkspaceService.unregister();
         this.workspaceOperationsService.unregister();
+        this.defaultWorkspaceOperations.close();
+        GradleClasspathContainerRuntimeClasspathEntryResolver.clearCache();
         this.publishedGradleVersionsService.unregister();
         this.loggerService.unregister();
 
@@ -14,8 +14,11 @@ package org.eclipse.buildship.core.internal;
  */
 public enum CoreTraceScopes implements TraceScope {
     CLASSPATH("classpath"),
+    MODEL_CACHE("modelCache"),
     PREFERENCES("preferences"),
-    PROJECT_CONFIGURATORS("projectConfigurators");
+    PROJECT_CONFIGURATORS("projectConfigurators"),
+    SYNCHRONIZATION("synchronization"),
+    SYNCHRONIZATION_TIMINGS("synchronizationTimings");
 
     private final String scopeKey;
 
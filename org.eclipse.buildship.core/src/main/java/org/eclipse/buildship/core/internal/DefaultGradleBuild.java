@@ -12,9 +12,7 @@ package org.eclipse.buildship.core.internal;
 import java.io.File;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
@@ -28,10 +26,7 @@ import org.gradle.tooling.model.eclipse.EclipseProject;
 
 import com.google.common.base.Preconditions;
 import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.collect.ImmutableSet;
 
-import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -50,10 +45,10 @@ import org.eclipse.buildship.core.internal.marker.GradleErrorMarker;
 import org.eclipse.buildship.core.internal.marker.GradleMarkerManager;
 import org.eclipse.buildship.core.internal.operation.BaseToolingApiOperation;
 import org.eclipse.buildship.core.internal.operation.ToolingApiStatus;
-import org.eclipse.buildship.core.internal.util.gradle.HierarchicalElementUtils;
 import org.eclipse.buildship.core.internal.util.gradle.IdeAttachedProjectConnection;
 import org.eclipse.buildship.core.internal.workspace.ConnectionAwareLauncherProxy;
 import org.eclipse.buildship.core.internal.workspace.DefaultModelProvider;
+import org.eclipse.buildship.core.internal.workspace.EclipseProjectIndex;
 import org.eclipse.buildship.core.internal.workspace.FetchStrategy;
 import org.eclipse.buildship.core.internal.workspace.ImportRootProjectOperation;
 import org.eclipse.buildship.core.internal.workspace.InternalGradleBuild;
@@ -61,6 +56,8 @@ import org.eclipse.buildship.core.internal.workspace.ModelProvider;
 import org.eclipse.buildship.core.internal.workspace.NewProjectHandler;
 import org.eclipse.buildship.core.internal.workspace.ProjectConfigurators;
 import org.eclipse.buildship.core.internal.workspace.RunOnImportTasksOperation;
+import org.eclipse.buildship.core.internal.workspace.SynchronizationMetrics;
+import org.eclipse.buildship.core.internal.workspace.SynchronizationMetrics.Scope;
 import org.eclipse.buildship.core.internal.workspace.SynchronizationProblem;
 import org.eclipse.buildship.core.internal.workspace.SynchronizeGradleBuildOperation;
 import org.eclipse.buildship.core.internal.workspace.ValidateProjectLocationOperation;
@@ -78,7 +75,7 @@ public final class DefaultGradleBuild implements InternalGradleBuild {
     public DefaultGradleBuild(org.eclipse.buildship.core.internal.configuration.BuildConfiguration buildConfiguration) {
         this.buildConfig = buildConfiguration;
         this.modelProvider = new DefaultModelProvider(this);
-        this.projectConnectionCache = CacheBuilder.newBuilder().build();
+        this.projectConnectionCache = ModelCaches.newCache("Synchronization of " + buildConfiguration.getRootProjectDirectory());
     }
 
     @Override
@@ -211,6 +208,7 @@ public final class DefaultGradleBuild implements InternalGradleBuild {
                 result = DefaultSynchronizationResult.from(e.getStatus());
             }
 
+            GradleMarkerManager.flush(this.gradleBuild);
             if (result.status.matches(IStatus.WARNING | IStatus.ERROR)) {
                 CorePlugin.getInstance().getLog().log(result.status);
             }
@@ -224,26 +222,52 @@ public final class DefaultGradleBuild implements InternalGradleBuild {
 
         @Override
         public void runInToolingApi(CancellationTokenSource tokenSource, IProgressMonitor monitor) throws Exception {
+            SynchronizationMetrics metrics = SynchronizationMetrics.start(this.gradleBuild.getBuildConfig().getRootProjectDirectory().getName());
             try {
                 SubMonitor progress = SubMonitor.convert(monitor, 6);
                 progress.setTaskName((String.format("Synchronizing Gradle build at %s with workspace", this.gradleBuild.getBuildConfig().getRootProjectDirectory())));
-                new ImportRootProjectOperation(this.gradleBuild.getBuildConfig(), this.newProjectHandler).run(progress.newChild(1));
-                // Force caching the result
-                // Note, that this is a TAPI client-side operation and does not trigger configuration
-                this.gradleBuild.modelProvider.fetchModel(BuildEnvironment.class, FetchStrategy.FORCE_RELOAD, tokenSource, progress.newChild(1));
-                Set<EclipseProject> allProjects = collectAll(this.gradleBuild.modelProvider.fetchEclipseProjectAndRunSyncTasks(tokenSource, progress.newChild(1)));
-                new ValidateProjectLocationOperation(allProjects).run(progress.newChild(1));
-                new RunOnImportTasksOperation(allProjects, this.gradleBuild.getBuildConfig()).run(progress.newChild(1), tokenSource);
-                this.failures = new SynchronizeGradleBuildOperation(allProjects, this.gradleBuild, this.newProjectHandler,
-                        ProjectConfigurators.create(this.gradleBuild, CorePlugin.extensionManager().loadConfigurators())).run(progress.newChild(1));
+                try (Scope scope = SynchronizationMetrics.span("Import root project")) {
+                    new ImportRootProjectOperation(this.gradleBuild.getBuildConfig(), this.newProjectHandler).run(progress.newChild(1));
+                }
+                try (Scope scope = SynchronizationMetrics.span("Load build environment")) {
+                    // Force caching the result
+                    // Note, that this is a TAPI client-side operation and does not trigger configuration
+                    this.gradleBuild.modelProvider.fetchModel(BuildEnvironment.class, FetchStrategy.FORCE_RELOAD, tokenSource, progress.newChild(1));
+                }
+                ProjectConfigurators configurators = ProjectConfigurators.create(this.gradleBuild, CorePlugin.extensionManager().loadConfigurators());
+                EclipseProjectIndex projectIndex;
+                try (Scope scope = SynchronizationMetrics.span("Load Eclipse model")) {
+                    Map<Class<?>, Map<String, ?>> models = this.gradleBuild.modelProvider.fetchEclipseProjectAndRunSyncTasks(configurators.getRequiredModels(), tokenSource, progress.newChild(1));
+                    @SuppressWarnings("unchecked")
+                    Map<String, EclipseProject> eclipseProjects = (Map<String, EclipseProject>) models.get(EclipseProject.class);
+                    projectIndex = EclipseProjectIndex.from(eclipseProjects.values());
+                    // the cached models can be evicted at any time, the configurators use the fetched ones
+                    configurators = configurators.withModels(models);
+                }
+                SynchronizationMetrics.modelLoaded(projectIndex.getAll());
+                try (Scope scope = SynchronizationMetrics.span("Validate project locations")) {
+                    new ValidateProjectLocationOperation(projectIndex.getAll()).run(progress.newChild(1));
+                }
+                try (Scope scope = SynchronizationMetrics.span("Run on-import tasks")) {
+                    new RunOnImportTasksOperation(projectIndex.getAll(), this.gradleBuild.getBuildConfig()).run(progress.newChild(1), tokenSource);
+                }
+                try (Scope scope = SynchronizationMetrics.span("Synchronize workspace")) {
+                    this.failures = new SynchronizeGradleBuildOperation(projectIndex, this.gradleBuild, this.newProjectHandler, configurators).run(progress.newChild(1));
+                }
+                metrics.succeeded();
             } finally {
+                metrics.finish();
+                // the full models are only needed during the synchronization
+                this.gradleBuild.modelProvider.releaseSynchronizationModels();
+                ModelCaches.traceStatistics();
                 this.gradleBuild.projectConnectionCache.invalidateAll();
             }
         }
 
         @Override
         public ISchedulingRule getRule() {
-            return ResourcesPlugin.getWorkspace().getRoot();
+            // fetching the models doesn't need a lock, the steps changing the workspace acquire the rules they need themselves
+            return null;
         }
 
         @Override
@@ -267,14 +291,6 @@ public final class DefaultGradleBuild implements InternalGradleBuild {
         }
     }
 
-    private static Set<EclipseProject> collectAll(Map<String, EclipseProject> models) {
-        ImmutableSet.Builder<EclipseProject> result = ImmutableSet.builder();
-        for (Entry<String, EclipseProject> model : models.entrySet()) {
-            result.addAll(HierarchicalElementUtils.getAll(model.getValue()));
-        }
-        return result.build();
-    }
-
     private static class DefaultSynchronizationResult implements SynchronizationResult {
 
         private final IStatus status;
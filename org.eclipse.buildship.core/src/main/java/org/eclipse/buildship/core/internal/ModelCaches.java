@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.MapMaker;
+
+/**
+ * Creates the caches holding Tooling API models and keeps track of their statistics.
+ * <p/>
+ * The caches are bounded by {@link TuningOptions#getModelCacheSize()} entries and evict the least
+ * recently used entries first. If {@link TuningOptions#isSoftModelCacheEnabled()} is set, the
+ * cached models are also released when the heap runs low. Evictions and the per-cache statistics
+ * are reported in the {@link CoreTraceScopes#MODEL_CACHE} trace scope.
+ */
+public final class ModelCaches {
+
+    // caches are removed from the registry when their owner is garbage collected
+    private static final ConcurrentMap<Cache<?, ?>, String> CACHES = new MapMaker().weakKeys().makeMap();
+
+    private ModelCaches() {
+    }
+
+    /**
+     * Creates a new model cache.
+     *
+     * @param description the name of the cache in the statistics, e.g. the owning build
+     * @return the new cache
+     */
+    public static Cache<Object, Object> newCache(String description) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                .maximumSize(TuningOptions.getModelCacheSize())
+                .recordStats()
+                .removalListener((RemovalNotification<Object, Object> notification) -> traceEviction(description, notification));
+        if (TuningOptions.isSoftModelCacheEnabled()) {
+            builder.softValues();
+        }
+        Cache<Object, Object> cache = builder.build();
+        CACHES.put(cache, description);
+        return cache;
+    }
+
+    /**
+     * Returns the statistics of all live model caches.
+     *
+     * @return the statistics mapped by cache description
+     */
+    public static Map<String, CacheStats> getStatistics() {
+        Map<String, CacheStats> result = new TreeMap<>();
+        CACHES.forEach((cache, description) -> result.merge(description, cache.stats(), CacheStats::plus));
+        return result;
+    }
+
+    /**
+     * Writes the size and the statistics of all live model caches to the trace output.
+     */
+    public static void traceStatistics() {
+        Logger logger = CorePlugin.logger();
+        if (!logger.isScopeEnabled(CoreTraceScopes.MODEL_CACHE)) {
+            return;
+        }
+
+        Map<String, Long> sizes = new TreeMap<>();
+        CACHES.forEach((cache, description) -> sizes.merge(description, cache.size(), Long::sum));
+        getStatistics().forEach((description, stats) -> logger.trace(CoreTraceScopes.MODEL_CACHE,
+                String.format("%s: %d entries, %d hits, %d misses, %d evictions, %d ms average load time",
+                        description, sizes.getOrDefault(description, 0L), stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                        TimeUnit.NANOSECONDS.toMillis((long) stats.averageLoadPenalty()))));
+    }
+
+    private static void traceEviction(String description, RemovalNotification<Object, Object> notification) {
+        Logger logger = CorePlugin.logger();
+        if (notification.wasEvicted() && logger.isScopeEnabled(CoreTraceScopes.MODEL_CACHE)) {
+            logger.trace(CoreTraceScopes.MODEL_CACHE, String.format("%s: evicted %s (%s)", description, notification.getKey(), notification.getCause()));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal;
+
+/**
+ * Performance-related options that can be set via system properties, e.g. in the
+ * {@code eclipse.ini} file.
+ * <p/>
+ * The options are meant for large builds and are not exposed in the preferences UI. The values are
+ * read on each access so that they can be changed without restarting the workbench.
+ */
+public final class TuningOptions {
+
+    public static final String PARALLEL_SYNCHRONIZATION_KEY = "org.eclipse.buildship.core.parallelSynchronization";
+    public static final String SYNCHRONIZATION_THREADS_KEY = "org.eclipse.buildship.core.synchronizationThreads";
+    public static final String INCREMENTAL_SYNCHRONIZATION_KEY = "org.eclipse.buildship.core.incrementalSynchronization";
+    public static final String MODEL_SNAPSHOT_KEY = "org.eclipse.buildship.core.modelSnapshot";
+    public static final String MODEL_CACHE_SIZE_KEY = "org.eclipse.buildship.core.modelCacheSize";
+    public static final String SOFT_MODEL_CACHE_KEY = "org.eclipse.buildship.core.softModelCache";
+    public static final String AUTO_SYNC_QUIET_PERIOD_KEY = "org.eclipse.buildship.core.autoSyncQuietPeriod";
+    public static final String BUILD_SYNCHRONIZATION_THREADS_KEY = "org.eclipse.buildship.core.buildSynchronizationThreads";
+    public static final String MAX_PROBLEM_MARKERS_KEY = "org.eclipse.buildship.core.maxProblemMarkers";
+    public static final String SYNCHRONIZATION_REPORTS_KEY = "org.eclipse.buildship.core.synchronizationReports";
+
+    private static final int DEFAULT_MAX_SYNCHRONIZATION_THREADS = 4;
+    private static final int DEFAULT_MODEL_CACHE_SIZE = 64;
+    private static final int DEFAULT_AUTO_SYNC_QUIET_PERIOD = 500;
+    private static final int DEFAULT_MAX_PROBLEM_MARKERS = 1000;
+    private static final int DEFAULT_SYNCHRONIZATION_REPORTS = 20;
+
+    private TuningOptions() {
+    }
+
+    /**
+     * Returns {@code true} if the projects of a Gradle build should be configured concurrently
+     * during the synchronization. Disabled by default.
+     */
+    public static boolean isParallelSynchronizationEnabled() {
+        return Boolean.getBoolean(PARALLEL_SYNCHRONIZATION_KEY);
+    }
+
+    /**
+     * Returns the maximum number of projects configured concurrently when parallel synchronization
+     * is enabled.
+     */
+    public static int getSynchronizationThreads() {
+        int defaultValue = Math.min(Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_SYNCHRONIZATION_THREADS);
+        return positiveInteger(SYNCHRONIZATION_THREADS_KEY, defaultValue);
+    }
+
+    /**
+     * Returns {@code true} if the synchronization should skip the projects whose Gradle model did
+     * not change since the last synchronization. Enabled by default.
+     */
+    public static boolean isIncrementalSynchronizationEnabled() {
+        return !"false".equals(System.getProperty(INCREMENTAL_SYNCHRONIZATION_KEY));
+    }
+
+    /**
+     * Returns {@code true} if the fetched Gradle models should be stored on disk and reused after a
+     * workbench restart. Enabled by default.
+     */
+    public static boolean isModelSnapshotEnabled() {
+        return !"false".equals(System.getProperty(MODEL_SNAPSHOT_KEY));
+    }
+
+    /**
+     * Returns the maximum number of entries in each in-memory model cache of a Gradle build.
+     */
+    public static int getModelCacheSize() {
+        return positiveInteger(MODEL_CACHE_SIZE_KEY, DEFAULT_MODEL_CACHE_SIZE);
+    }
+
+    /**
+     * Returns {@code true} if the cached Gradle models should be released when the heap runs low.
+     * Disabled by default.
+     */
+    public static boolean isSoftModelCacheEnabled() {
+        return Boolean.getBoolean(SOFT_MODEL_CACHE_KEY);
+    }
+
+    /**
+     * Returns the number of milliseconds without further build configuration changes after which
+     * the automatic synchronization starts.
+     */
+    public static int getAutoSyncQuietPeriod() {
+        Integer value = Integer.getInteger(AUTO_SYNC_QUIET_PERIOD_KEY);
+        return value != null && value >= 0 ? value : DEFAULT_AUTO_SYNC_QUIET_PERIOD;
+    }
+
+    /**
+     * Returns the maximum number of independent Gradle builds synchronized concurrently by a
+     * single synchronization job. Defaults to the number of available processors, but at most 4.
+     * Setting the value to 1 synchronizes the builds one after another.
+     */
+    public static int getBuildSynchronizationThreads() {
+        int defaultValue = Math.min(Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_SYNCHRONIZATION_THREADS);
+        return positiveInteger(BUILD_SYNCHRONIZATION_THREADS_KEY, defaultValue);
+    }
+
+    /**
+     * Returns the maximum number of problem markers created for the problems reported by a single
+     * Gradle invocation. The remaining problems are summarized in one additional marker.
+     */
+    public static int getMaxProblemMarkers() {
+        return positiveInteger(MAX_PROBLEM_MARKERS_KEY, DEFAULT_MAX_PROBLEM_MARKERS);
+    }
+
+    /**
+     * Returns the number of synchronization timing reports kept in the plug-in state location.
+     * Setting the value to 0 disables the reports.
+     */
+    public static int getSynchronizationReportCount() {
+        Integer value = Integer.getInteger(SYNCHRONIZATION_REPORTS_KEY);
+        return value != null && value >= 0 ? value : DEFAULT_SYNCHRONIZATION_REPORTS;
+    }
+
+    private static int positiveInteger(String key, int defaultValue) {
+        Integer value = Integer.getInteger(key);
+        return value != null && value > 0 ? value : defaultValue;
+    }
+}
@@ -19,6 +19,7 @@ import java.util.List;
 
 import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.LongRunningOperation;
+import org.gradle.tooling.ProjectConnection;
 import org.gradle.tooling.model.build.BuildEnvironment;
 import org.gradle.tooling.model.build.GradleEnvironment;
 import org.gradle.tooling.model.build.JavaEnvironment;
@@ -36,6 +37,7 @@ import org.eclipse.buildship.core.internal.gradle.GradleProgressAttributes;
 import org.eclipse.buildship.core.internal.i18n.CoreMessages;
 import org.eclipse.buildship.core.internal.util.collections.CollectionsUtils;
 import org.eclipse.buildship.core.internal.util.file.FileUtils;
+import org.eclipse.buildship.core.internal.util.gradle.BuildEnvironmentCache;
 import org.eclipse.buildship.core.internal.util.gradle.GradleVersion;
 
 /**
@@ -106,6 +108,25 @@ public final class GradleArguments {
         this.gradleDistribution.apply(connector);
     }
 
+    /**
+     * Returns the build environment of the target build. The result is shared between all
+     * connections with the same configuration, see {@link BuildEnvironmentCache}.
+     * <p/>
+     * The returned instance doesn't reflect the Java home and JVM arguments applied by
+     * {@link #applyTo(LongRunningOperation, BuildEnvironment)}.
+     */
+    public BuildEnvironment getBuildEnvironment(ProjectConnection connection) {
+        return BuildEnvironmentCache.get(this.rootDir, this.gradleUserHome, this.gradleDistribution.toString(), () -> connection.getModel(BuildEnvironment.class));
+    }
+
+    /**
+     * Returns {@code true} if the operations configured by this instance use a different Java
+     * environment than the one reported by {@link #getBuildEnvironment(ProjectConnection)}.
+     */
+    public boolean overridesJavaEnvironment() {
+        return this.javaHome != null || !this.jvmArguments.isEmpty();
+    }
+
     public void applyTo(LongRunningOperation operation, BuildEnvironment environment) {
         operation.withArguments(collectArguments(this.arguments,
                  this.buildScansEnabled, this.offlineMode, environment));
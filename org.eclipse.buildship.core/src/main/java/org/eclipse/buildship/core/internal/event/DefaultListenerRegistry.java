@@ -9,48 +9,190 @@
  ******************************************************************************/
 package org.eclipse.buildship.core.internal.event;
 
-import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
-import org.eclipse.buildship.core.internal.CorePlugin;
+import com.google.common.base.Preconditions;
 
-import java.util.LinkedHashSet;
-import java.util.List;
-import java.util.Set;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.buildship.core.internal.CorePlugin;
 
 /**
  * Default implementation of {@link ListenerRegistry}.
+ * <p/>
+ * The registrations are stored in a copy-on-write array, hence dispatching an event neither
+ * acquires a lock nor allocates memory for the synchronous listeners.
  */
 public final class DefaultListenerRegistry implements ListenerRegistry {
 
+    private static final Registration[] NO_REGISTRATIONS = new Registration[0];
+
     private final Object LOCK = new Object();
-    private final Set<EventListener> listeners = new LinkedHashSet<>();
+    private volatile Registration[] registrations = NO_REGISTRATIONS;
 
     @Override
     public void addEventListener(EventListener listener) {
+        register(new Registration(listener, null, false));
+    }
+
+    @Override
+    public void addEventListener(EventListener listener, Set<Class<? extends Event>> eventTypes) {
+        register(new Registration(listener, eventTypes, false));
+    }
+
+    @Override
+    public void addAsynchronousEventListener(EventListener listener, Set<Class<? extends Event>> eventTypes) {
+        register(new Registration(listener, eventTypes, true));
+    }
+
+    private void register(Registration registration) {
         synchronized (this.LOCK) {
-            this.listeners.add(listener);
+            Registration[] current = this.registrations;
+            int index = indexOf(current, registration.listener);
+            Registration[] updated;
+            if (index >= 0) {
+                // a listener is registered at most once, the latest registration replaces the previous one
+                current[index].dispose();
+                updated = current.clone();
+                updated[index] = registration;
+            } else {
+                updated = Arrays.copyOf(current, current.length + 1);
+                updated[current.length] = registration;
+            }
+            this.registrations = updated;
         }
     }
 
     @Override
     public void removeEventListener(EventListener listener) {
         synchronized (this.LOCK) {
-            this.listeners.remove(listener);
+            Registration[] current = this.registrations;
+            int index = indexOf(current, listener);
+            if (index < 0) {
+                return;
+            }
+
+            current[index].dispose();
+            Registration[] updated = new Registration[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            this.registrations = updated;
         }
     }
 
     @Override
     public void dispatch(Event event) {
-        List<EventListener> listeners;
-        synchronized (this.LOCK) {
-            listeners = ImmutableList.copyOf(this.listeners);
+        for (Registration registration : this.registrations) {
+            if (registration.accepts(event)) {
+                registration.deliver(event);
+            }
         }
-        for (EventListener listener : listeners) {
-            try {
-                listener.onEvent(event);
-            } catch (Exception e) {
-                CorePlugin.logger().warn("Listener " + listener.getClass().getName() + " failed to handle " + event.getClass().getName(), e);
+    }
+
+    private static int indexOf(Registration[] registrations, EventListener listener) {
+        for (int i = 0; i < registrations.length; i++) {
+            if (registrations[i].listener.equals(listener)) {
+                return i;
             }
         }
+        return -1;
+    }
+
+    private static void notifyListener(EventListener listener, Event event) {
+        try {
+            listener.onEvent(event);
+        } catch (Exception e) {
+            CorePlugin.logger().warn("Listener " + listener.getClass().getName() + " failed to handle " + event.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * A registered listener together with the event types it handles.
+     */
+    private static final class Registration {
+
+        private final EventListener listener;
+        private final Class<?>[] eventTypes;
+        private final AsynchronousDeliveryJob deliveryJob;
+        private volatile boolean disposed;
+
+        Registration(EventListener listener, Set<Class<? extends Event>> eventTypes, boolean asynchronous) {
+            this.listener = Preconditions.checkNotNull(listener);
+            this.eventTypes = eventTypes == null ? null : eventTypes.toArray(new Class<?>[0]);
+            this.deliveryJob = asynchronous ? new AsynchronousDeliveryJob(this) : null;
+        }
+
+        boolean accepts(Event event) {
+            if (this.eventTypes == null) {
+                return true;
+            }
+            for (Class<?> eventType : this.eventTypes) {
+                if (eventType.isInstance(event)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void deliver(Event event) {
+            if (this.deliveryJob == null) {
+                notifyListener(this.listener, event);
+            } else {
+                this.deliveryJob.enqueue(event);
+            }
+        }
+
+        void dispose() {
+            this.disposed = true;
+            if (this.deliveryJob != null) {
+                this.deliveryJob.cancel();
+            }
+        }
+    }
+
+    /**
+     * Notifies an asynchronous listener about the queued events. As a job never runs concurrently
+     * with itself, the listener receives the events one at a time in dispatch order.
+     */
+    private static final class AsynchronousDeliveryJob extends Job {
+
+        private final Registration registration;
+        private final Queue<Event> events = new ConcurrentLinkedQueue<>();
+
+        AsynchronousDeliveryJob(Registration registration) {
+            super("Notify " + registration.listener.getClass().getSimpleName());
+            this.registration = registration;
+            setSystem(true);
+        }
+
+        void enqueue(Event event) {
+            this.events.add(event);
+            // a waiting job processes the new event, a running one is rescheduled after it finishes
+            schedule();
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            Event event;
+            while ((event = this.events.poll()) != null) {
+                if (this.registration.disposed || monitor.isCanceled()) {
+                    this.events.clear();
+                    return Status.CANCEL_STATUS;
+                }
+                notifyListener(this.registration.listener, event);
+            }
+            return Status.OK_STATUS;
+        }
+
+        @Override
+        public boolean belongsTo(Object family) {
+            return CorePlugin.GRADLE_JOB_FAMILY.equals(family);
+        }
     }
 }
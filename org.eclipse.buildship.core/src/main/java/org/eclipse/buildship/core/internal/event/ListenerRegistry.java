@@ -9,6 +9,8 @@
  ******************************************************************************/
 package org.eclipse.buildship.core.internal.event;
 
+import java.util.Set;
+
 /**
  * Dispatches {@link Event} instances to all registered {@link EventListener} instances.
  */
@@ -21,6 +23,28 @@ public interface ListenerRegistry {
      */
     void addEventListener(EventListener listener);
 
+    /**
+     * Registers the given event listener for the given event types. The listener is only notified
+     * about the events that are instances of at least one of the types.
+     *
+     * @param listener the listener to register
+     * @param eventTypes the event types the listener handles
+     */
+    void addEventListener(EventListener listener, Set<Class<? extends Event>> eventTypes);
+
+    /**
+     * Registers the given event listener for the given event types and notifies it in a
+     * background job instead of the thread dispatching the event. The listener receives the
+     * events one at a time in the order they were dispatched.
+     * <p/>
+     * Meant for listeners doing slow work, as events are often dispatched while the workspace is
+     * locked, e.g. during resource change notifications.
+     *
+     * @param listener the listener to register
+     * @param eventTypes the event types the listener handles
+     */
+    void addAsynchronousEventListener(EventListener listener, Set<Class<? extends Event>> eventTypes);
+
     /**
      * Unregisters the given event listener.
      *
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.extension;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.buildship.core.ProjectConfigurator;
+import org.eclipse.buildship.core.ProjectContext;
+
+/**
+ * Internal extension of {@link ProjectConfigurator} for configurators that split the configuration
+ * of a project into a part changing only the project's resources and a part changing the Java
+ * model.
+ * <p/>
+ * JDT locks its external folders project on classpath changes, hence the Java model changes of
+ * different projects can't be applied concurrently. The parallel synchronization therefore calls
+ * {@link #configureResources(ProjectContext, IProgressMonitor)} for all projects concurrently and
+ * {@link #configureJavaModel(ProjectContext, IProgressMonitor)} for one project after the other.
+ * Calling {@link #configure(ProjectContext, IProgressMonitor)} must be equivalent to calling both
+ * methods in this order.
+ */
+public interface ConcurrentProjectConfigurator extends FinishingProjectConfigurator {
+
+    /**
+     * Configures the resources of the project without changing its Java model. May be called
+     * concurrently for different projects; the caller only holds the project's scheduling rule.
+     *
+     * @param context describes the project to configure
+     * @param monitor the monitor to report progress on
+     */
+    void configureResources(ProjectContext context, IProgressMonitor monitor);
+
+    /**
+     * Completes the configuration of the project after
+     * {@link #configureResources(ProjectContext, IProgressMonitor)} was called for it. Called for
+     * one project at a time; the caller holds the scheduling rule JDT requires for classpath
+     * changes.
+     *
+     * @param context describes the project to configure
+     * @param monitor the monitor to report progress on
+     */
+    void configureJavaModel(ProjectContext context, IProgressMonitor monitor);
+}
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.extension;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.buildship.core.InitializationContext;
+import org.eclipse.buildship.core.ProjectConfigurator;
+
+/**
+ * Internal extension of {@link ProjectConfigurator} for configurators that defer some of their
+ * work until all workspace projects are configured.
+ *
+ * @author Donat Csikos
+ */
+public interface FinishingProjectConfigurator extends ProjectConfigurator {
+
+    /**
+     * Called once after all workspace projects of the synchronized build are configured.
+     *
+     * @param context describes the build being synchronized
+     * @param monitor the monitor to report progress on
+     */
+    void finish(InitializationContext context, IProgressMonitor monitor);
+}
@@ -40,11 +40,13 @@ public final class InternalProjectConfigurator implements ProjectConfigurator, C
 
     private final ProjectConfigurator configurator;
     private final ProjectConfiguratorContribution contribution;
+    private final List<Class<?>> requiredModels;
     private static final Logger LOGGER = CorePlugin.logger();
 
     private InternalProjectConfigurator(ProjectConfiguratorContribution contribution) {
         this.configurator = createConfigurator(contribution);
         this.contribution = contribution;
+        this.requiredModels = loadRequiredModels(contribution, this.configurator);
     }
 
     private static ProjectConfigurator createConfigurator(ProjectConfiguratorContribution contribution) {
@@ -56,6 +58,25 @@ public final class InternalProjectConfigurator implements ProjectConfigurator, C
         }
     }
 
+    private static List<Class<?>> loadRequiredModels(ProjectConfiguratorContribution contribution, ProjectConfigurator configurator) {
+        // model types are resolved via the configurator's class loader which sees the contributor's imports
+        ClassLoader classLoader = configurator.getClass().getClassLoader();
+        List<Class<?>> result = new ArrayList<>(contribution.getRequiredModels().size());
+        for (String modelName : contribution.getRequiredModels()) {
+            try {
+                Class<?> model = classLoader.loadClass(modelName);
+                if (model.isInterface()) {
+                    result.add(model);
+                } else {
+                    LOGGER.trace(CoreTraceScopes.PROJECT_CONFIGURATORS, "Required model " + modelName + " of " + contribution.getId() + " was ignored because it is not an interface");
+                }
+            } catch (ClassNotFoundException e) {
+                LOGGER.trace(CoreTraceScopes.PROJECT_CONFIGURATORS, "Required model " + modelName + " of " + contribution.getId() + " was ignored because it cannot be loaded", e);
+            }
+        }
+        return result;
+    }
+
     @Override
     public void init(InitializationContext context, IProgressMonitor monitor) {
         this.configurator.init(context, monitor);
@@ -71,6 +92,34 @@ public final class InternalProjectConfigurator implements ProjectConfigurator, C
         this.configurator.unconfigure(context, monitor);
     }
 
+    public void finish(InitializationContext context, IProgressMonitor monitor) {
+        if (this.configurator instanceof FinishingProjectConfigurator) {
+            ((FinishingProjectConfigurator) this.configurator).finish(context, monitor);
+        }
+    }
+
+    /**
+     * Executes the part of the project configuration that can run concurrently for different
+     * projects. Does nothing if the configurator is not a {@link ConcurrentProjectConfigurator}.
+     */
+    public void configureConcurrently(ProjectContext context, IProgressMonitor monitor) {
+        if (this.configurator instanceof ConcurrentProjectConfigurator) {
+            ((ConcurrentProjectConfigurator) this.configurator).configureResources(context, monitor);
+        }
+    }
+
+    /**
+     * Executes the part of the project configuration that has to run serially, i.e. the complete
+     * configuration if the configurator is not a {@link ConcurrentProjectConfigurator}.
+     */
+    public void configureSerially(ProjectContext context, IProgressMonitor monitor) {
+        if (this.configurator instanceof ConcurrentProjectConfigurator) {
+            ((ConcurrentProjectConfigurator) this.configurator).configureJavaModel(context, monitor);
+        } else {
+            this.configurator.configure(context, monitor);
+        }
+    }
+
     public String getContributorPluginId() {
         return this.contribution.getContributorPluginId();
     }
@@ -79,6 +128,10 @@ public final class InternalProjectConfigurator implements ProjectConfigurator, C
         return this.contribution.getId();
     }
 
+    public List<Class<?>> getRequiredModels() {
+        return this.requiredModels;
+    }
+
     public static List<InternalProjectConfigurator> from(List<ProjectConfiguratorContribution> configurators) {
         if (LOGGER.isScopeEnabled(CoreTraceScopes.PROJECT_CONFIGURATORS)) {
             LOGGER.trace(CoreTraceScopes.PROJECT_CONFIGURATORS, "Contributed configurators: " +
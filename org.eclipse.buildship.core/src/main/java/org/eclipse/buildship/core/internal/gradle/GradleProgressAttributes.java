@@ -11,13 +11,11 @@ package org.eclipse.buildship.core.internal.gradle;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.EnumSet;
 import java.util.List;
 import org.gradle.tooling.CancellationToken;
 import org.gradle.tooling.CancellationTokenSource;
 import org.gradle.tooling.LongRunningOperation;
 import org.gradle.tooling.ProgressListener;
-import org.gradle.tooling.events.OperationType;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.StandardSystemProperty;
@@ -34,6 +32,8 @@ import org.eclipse.buildship.core.internal.console.ProcessStreamsProvider;
 import org.eclipse.buildship.core.internal.util.progress.CancellationForwardingListener;
 import org.eclipse.buildship.core.internal.util.progress.DelegatingProgressListener;
 import org.eclipse.buildship.core.internal.util.progress.ProblemsReportingProgressListener;
+import org.eclipse.buildship.core.internal.util.progress.ProgressEventDispatcher;
+import org.eclipse.buildship.core.internal.util.progress.TypedProgressListener;
 import org.eclipse.buildship.core.internal.workspace.InternalGradleBuild;
 
 /**
@@ -46,15 +46,15 @@ public final class GradleProgressAttributes {
     private final ProcessStreams streams;
     private final CancellationToken cancellationToken;
     private final ImmutableList<ProgressListener> progressListeners;
-    private final ImmutableList<org.gradle.tooling.events.ProgressListener> progressEventListeners;
+    private final ProgressEventDispatcher progressEventDispatcher;
     private final boolean isInteractive;
 
     private GradleProgressAttributes(ProcessStreams streams, CancellationToken cancellationToken, List<ProgressListener> progressListeners,
-            List<org.gradle.tooling.events.ProgressListener> progressEventListeners, boolean isInteractive) {
+            List<TypedProgressListener> progressEventListeners, boolean isInteractive) {
         this.streams = Preconditions.checkNotNull(streams);
         this.cancellationToken = Preconditions.checkNotNull(cancellationToken);
         this.progressListeners = ImmutableList.copyOf(progressListeners);
-        this.progressEventListeners = ImmutableList.copyOf(progressEventListeners);
+        this.progressEventDispatcher = new ProgressEventDispatcher(progressEventListeners);
         this.isInteractive = isInteractive;
     }
 
@@ -72,17 +72,21 @@ public final class GradleProgressAttributes {
         for (ProgressListener listener : this.progressListeners) {
             operation.addProgressListener(listener);
         }
-        for (org.gradle.tooling.events.ProgressListener listener : this.progressEventListeners) {
-            if (CorePlugin.configurationManager().loadWorkspaceConfiguration().isProblemsApiSupportEnabled()) {
-                operation.addProgressListener(listener);
-            } else {
-                operation.addProgressListener(listener, EnumSet.complementOf(EnumSet.of(OperationType.PROBLEMS)));
-            }
-
-        }
+        this.progressEventDispatcher.applyTo(operation);
         operation.withCancellationToken(this.cancellationToken);
     }
 
+    /**
+     * Adds a listener for the progress events of the operations configured by this instance. The
+     * listener is notified by the same dispatcher as the other listeners. Must be called before the
+     * operations are executed.
+     *
+     * @param listener the listener to add
+     */
+    public void addProgressEventListener(TypedProgressListener listener) {
+        this.progressEventDispatcher.addListener(listener);
+    }
+
     /**
      * Displays the argument in the configuration stream.
      *
@@ -162,7 +166,7 @@ public final class GradleProgressAttributes {
                     : streamsProvider.createProcessStreams(this.processDescription);
 
             Builder<ProgressListener> progressListeners = ImmutableList.builder();
-            Builder<org.gradle.tooling.events.ProgressListener> progressEventListeners = ImmutableList.builder();
+            Builder<TypedProgressListener> progressEventListeners = ImmutableList.builder();
             progressListeners.add(this.delegatingListener);
 
             CancellationForwardingListener cancellationListener = new CancellationForwardingListener(this.monitor, this.tokenSource);
@@ -62,10 +62,14 @@ public abstract class BaseLaunchRequestJob<T extends LongRunningOperation> exten
         GradleMarkerManager.clear(gradleBuild);
         writeExtraConfigInfo(attributes);
 
-        Event event = new DefaultExecuteLaunchRequestEvent(processDescription, launcher);
+        Event event = new DefaultExecuteLaunchRequestEvent(processDescription, launcher, attributes);
         CorePlugin.listenerRegistry().dispatch(event);
 
-        executeLaunch(launcher);
+        try {
+            executeLaunch(launcher);
+        } finally {
+            GradleMarkerManager.flush(gradleBuild);
+        }
     }
 
     /**
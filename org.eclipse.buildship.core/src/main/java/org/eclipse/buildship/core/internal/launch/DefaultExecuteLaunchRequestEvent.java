@@ -14,6 +14,8 @@ import org.gradle.tooling.LongRunningOperation;
 import com.google.common.base.Preconditions;
 
 import org.eclipse.buildship.core.internal.console.ProcessDescription;
+import org.eclipse.buildship.core.internal.gradle.GradleProgressAttributes;
+import org.eclipse.buildship.core.internal.util.progress.TypedProgressListener;
 
 /**
  * Default implementation of {@link ExecuteLaunchRequestEvent}.
@@ -21,10 +23,12 @@ import org.eclipse.buildship.core.internal.console.ProcessDescription;
 final class DefaultExecuteLaunchRequestEvent implements ExecuteLaunchRequestEvent {
     private final ProcessDescription processDescription;
     private final LongRunningOperation operation;
+    private final GradleProgressAttributes progressAttributes;
 
-    public DefaultExecuteLaunchRequestEvent(ProcessDescription processDescription, LongRunningOperation operation) {
+    public DefaultExecuteLaunchRequestEvent(ProcessDescription processDescription, LongRunningOperation operation, GradleProgressAttributes progressAttributes) {
         this.processDescription =  Preconditions.checkNotNull(processDescription);
         this.operation = Preconditions.checkNotNull(operation);
+        this.progressAttributes = Preconditions.checkNotNull(progressAttributes);
     }
 
     @Override
@@ -37,4 +41,9 @@ final class DefaultExecuteLaunchRequestEvent implements ExecuteLaunchRequestEven
         return this.operation;
     }
 
+    @Override
+    public void addProgressListener(TypedProgressListener listener) {
+        this.progressAttributes.addProgressEventListener(listener);
+    }
+
 }
@@ -13,6 +13,7 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
@@ -56,7 +57,9 @@ public final class DefaultExternalLaunchConfigurationManager implements External
     public static DefaultExternalLaunchConfigurationManager createAndRegister() {
         DefaultExternalLaunchConfigurationManager manager = new DefaultExternalLaunchConfigurationManager();
         DebugPlugin.getDefault().getLaunchManager().addLaunchConfigurationListener(manager.launchConfigurationListener);
-        CorePlugin.listenerRegistry().addEventListener(manager.launchConfigurationListener);
+        // updating the launch configurations writes files, hence the listener is not notified during resource change notifications
+        CorePlugin.listenerRegistry().addAsynchronousEventListener(manager.launchConfigurationListener, ImmutableSet.of(GradleProjectNatureConfiguredEvent.class,
+                GradleProjectNatureDeconfiguredEvent.class, ProjectCreatedEvent.class, ProjectDeletedEvent.class));
         return manager;
     }
 
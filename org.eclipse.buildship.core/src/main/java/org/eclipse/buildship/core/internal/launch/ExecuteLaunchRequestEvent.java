@@ -13,6 +13,7 @@ import org.gradle.tooling.LongRunningOperation;
 
 import org.eclipse.buildship.core.internal.console.ProcessDescription;
 import org.eclipse.buildship.core.internal.event.Event;
+import org.eclipse.buildship.core.internal.util.progress.TypedProgressListener;
 
 /**
  * Event informing that a launch request is about to be executed. The request can still be modified
@@ -24,4 +25,12 @@ public interface ExecuteLaunchRequestEvent extends Event {
 
     LongRunningOperation getOperation();
 
+    /**
+     * Adds a listener for the progress events of the launched operation. Unlike a listener added
+     * directly to the operation, the listener shares the progress event subscription of the launch.
+     *
+     * @param listener the listener to add
+     */
+    void addProgressListener(TypedProgressListener listener);
+
 }
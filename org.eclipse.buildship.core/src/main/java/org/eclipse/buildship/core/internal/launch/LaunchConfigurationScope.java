@@ -9,6 +9,7 @@
  ******************************************************************************/
 package org.eclipse.buildship.core.internal.launch;
 
+import java.util.Objects;
 import java.util.Set;
 
 import java.util.Optional;
@@ -105,5 +106,21 @@ public abstract class LaunchConfigurationScope {
 
             return !Sets.intersection(this.scopes, entryUsedByScopes.get()).isEmpty();
         }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            return Objects.equals(this.scopes, ((FilteringLaunchConfigurationScope) obj).scopes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.scopes);
+        }
     }
 }
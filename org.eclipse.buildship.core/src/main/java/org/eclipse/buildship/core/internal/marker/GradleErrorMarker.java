@@ -10,6 +10,8 @@
 package org.eclipse.buildship.core.internal.marker;
 
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import com.google.common.base.Throwables;
@@ -102,8 +104,42 @@ public class GradleErrorMarker {
         }
     }
 
-    public static void createProblemMarker(int severity, IResource resource, InternalGradleBuild gradleBuild, String message, String exception, Consumer<IMarker> problemPosition, Consumer<IMarker> problemDetails) {
-        createMarker(resource, severity, gradleBuild, message, exception, problemPosition.andThen(problemDetails));
+    /**
+     * Returns the common attributes of a marker displaying a problem reported by Gradle.
+     *
+     * @param severity the marker severity
+     * @param gradleBuild the build reporting the problem
+     * @param message the marker message
+     * @param exception the stacktrace to attach to the marker, can be null
+     * @return the mutable map of marker attributes
+     */
+    public static Map<String, Object> problemMarkerAttributes(int severity, InternalGradleBuild gradleBuild, String message, String exception) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(IMarker.PRIORITY, IMarker.PRIORITY_HIGH);
+        attributes.put(IMarker.SEVERITY, severity);
+        attributes.put(ATTRIBUTE_ROOT_DIR, gradleBuild.getBuildConfig().getRootProjectDirectory().getAbsolutePath());
+        attributes.put(IMarker.MESSAGE, trimMarkerProperty(message));
+        if (exception != null) {
+            attributes.put(ATTRIBUTE_STACKTRACE, trimMarkerProperty(exception));
+        }
+        return attributes;
+    }
+
+    /**
+     * Creates a Gradle error marker with all attributes set at once.
+     * <p/>
+     * Callers creating multiple markers should do so inside a single workspace operation so that
+     * only one resource change event is fired.
+     *
+     * @param resource the resource to attach the marker to
+     * @param attributes the marker attributes
+     * @return the new marker
+     * @throws CoreException if the marker cannot be created
+     */
+    public static IMarker createProblemMarker(IResource resource, Map<String, Object> attributes) throws CoreException {
+        IMarker marker = resource.createMarker(GradleErrorMarker.ID);
+        marker.setAttributes(attributes);
+        return marker;
     }
 
     /*
@@ -23,6 +23,7 @@ import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.buildship.core.internal.CorePlugin;
 import org.eclipse.buildship.core.internal.operation.ToolingApiStatus;
+import org.eclipse.buildship.core.internal.util.progress.ProblemsReportingProgressListener;
 import org.eclipse.buildship.core.internal.util.string.StringUtils;
 import org.eclipse.buildship.core.internal.workspace.InternalGradleBuild;
 
@@ -40,10 +41,13 @@ public class GradleMarkerManager {
 
     /**
      * Clears all Gradle error markers from all projects that belong to the target Gradle build.
+     * <p/>
+     * The problem markers still pending from previous Gradle invocations are discarded.
      *
      * @param gradleBuild the target build
      */
     public static void clear(InternalGradleBuild gradleBuild) {
+        ProblemsReportingProgressListener.discardMarkers(gradleBuild);
         try {
             for (IMarker marker : ResourcesPlugin.getWorkspace().getRoot().findMarkers(GradleErrorMarker.ID, false, IResource.DEPTH_INFINITE)) {
                 if (GradleErrorMarker.belongsToBuild(marker, gradleBuild)) {
@@ -55,6 +59,16 @@ public class GradleMarkerManager {
         }
     }
 
+    /**
+     * Creates the problem markers reported by the finished Gradle invocations of the target build
+     * without further delay.
+     *
+     * @param gradleBuild the target build
+     */
+    public static void flush(InternalGradleBuild gradleBuild) {
+        ProblemsReportingProgressListener.flushMarkers(gradleBuild);
+    }
+
     /**
      * Creates a new Gradle error marker displaying the target Tooling API status.
      * <p/>
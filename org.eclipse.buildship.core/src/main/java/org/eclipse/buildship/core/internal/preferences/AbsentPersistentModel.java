@@ -93,4 +93,14 @@ final class AbsentPersistentModel implements PersistentModel {
     public GradleVersion getGradleVersion() {
         throw new IllegalStateException("Absent persistent model");
     }
+
+    @Override
+    public String getModelFingerprint() {
+        throw new IllegalStateException("Absent persistent model");
+    }
+
+    @Override
+    public String getJavaConfigurationFingerprint() {
+        throw new IllegalStateException("Absent persistent model");
+    }
 }
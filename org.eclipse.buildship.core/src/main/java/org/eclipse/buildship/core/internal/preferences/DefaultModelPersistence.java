@@ -9,36 +9,23 @@
  ******************************************************************************/
 package org.eclipse.buildship.core.internal.preferences;
 
-import static com.google.common.base.Optional.absent;
-
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.io.Reader;
-import java.io.Writer;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Properties;
-import java.util.concurrent.ExecutionException;
 
 import com.google.common.base.Charsets;
-import com.google.common.base.Optional;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
-import com.google.common.io.Files;
+import com.google.common.collect.ImmutableSet;
 
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.buildship.core.internal.CorePlugin;
-import org.eclipse.buildship.core.internal.configuration.GradleProjectNature;
 import org.eclipse.buildship.core.internal.event.Event;
 import org.eclipse.buildship.core.internal.event.EventListener;
 import org.eclipse.buildship.core.internal.workspace.ProjectDeletedEvent;
@@ -47,6 +34,13 @@ import org.eclipse.buildship.core.internal.workspace.WorkbenchShutdownEvent;
 
 /**
  * Default implementation for {@link ModelPersistence}.
+ * <p/>
+ * The models are stored in a single {@link PersistentModelStore}. Each saved model is written to
+ * the store immediately, so the models survive a crash of the workbench. The models are not
+ * prefetched at startup: opening the store only indexes its records, and the model of a project is
+ * read and deserialized when it is first requested. Models stored in the legacy, properties-based
+ * format are migrated when the store is first accessed. The legacy models of projects which are
+ * not accessible at that time are kept and migrated when they are loaded.
  *
  * @author Donat Csikos
  */
@@ -54,6 +48,7 @@ public final class DefaultModelPersistence implements ModelPersistence, EventLis
 
     private final LoadingCache<IProject, PersistentModel> modelCache;
     private final Object lock = new Object();
+    private PersistentModelStore store;
 
     private DefaultModelPersistence() {
         this.modelCache = CacheBuilder.newBuilder().build(new CacheLoader<IProject, PersistentModel>() {
@@ -73,11 +68,21 @@ public final class DefaultModelPersistence implements ModelPersistence, EventLis
     @Override
     public void saveModel(PersistentModel model) {
         this.modelCache.put(model.getProject(), model);
+        try {
+            getStore().put(model.getProject().getName(), PersistentModelSerializer.serialize(model));
+        } catch (IOException e) {
+            CorePlugin.logger().warn("Can't save persistent model for project " + model.getProject().getName(), e);
+        }
     }
 
     @Override
     public void deleteModel(IProject project) {
-        preferencesFile(project).delete();
+        try {
+            getStore().delete(project.getName());
+            legacyModelFile(project.getName()).delete();
+        } catch (IOException e) {
+            CorePlugin.logger().warn("Can't delete persistent model for project " + project.getName(), e);
+        }
         this.modelCache.invalidate(project);
     }
 
@@ -85,18 +90,18 @@ public final class DefaultModelPersistence implements ModelPersistence, EventLis
     public void onEvent(Event event) {
         try {
             if (event instanceof ProjectMovedEvent) {
-                movePreferencesFile((ProjectMovedEvent) event);
+                moveModel((ProjectMovedEvent) event);
             } else if (event instanceof ProjectDeletedEvent) {
                 deleteProjectPreferences((ProjectDeletedEvent) event);
             } else if (event instanceof WorkbenchShutdownEvent) {
-                persistAllProjectPrefs();
+                closeStore();
             }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private void movePreferencesFile(ProjectMovedEvent event) throws IOException {
+    private void moveModel(ProjectMovedEvent event) throws IOException {
         String previousName = event.getPreviousName();
         for (IProject cached : this.modelCache.asMap().keySet()) {
             if (cached.getName().equals(previousName)) {
@@ -110,9 +115,12 @@ public final class DefaultModelPersistence implements ModelPersistence, EventLis
             }
         }
 
-        File preferencesFile = preferencesFile(event.getPreviousName());
-        if (preferencesFile.exists()) {
-            Files.move(preferencesFile, preferencesFile(event.getProject().getName()));
+        // the serialized model doesn't contain the project name, so it can be stored as is
+        PersistentModelStore store = getStore();
+        byte[] model = store.get(previousName);
+        if (model != null) {
+            store.put(event.getProject().getName(), model);
+            store.delete(previousName);
         }
     }
 
@@ -120,95 +128,104 @@ public final class DefaultModelPersistence implements ModelPersistence, EventLis
         deleteModel(event.getProject());
     }
 
-    private Optional<Properties> loadPreferencesForProject(IProject project) throws IOException {
-        synchronized (DefaultModelPersistence.this.lock) {
-            File preferencesFile = preferencesFile(project.getName());
-            if (preferencesFile.exists()) {
-                try (Reader reader = new InputStreamReader(new FileInputStream(preferencesFile), Charsets.UTF_8)) {
-                    Properties props = new Properties();
-                    props.load(reader);
-                    return Optional.of(props);
-                }
+    private PersistentModel doLoadModel(IProject project) {
+        try {
+            byte[] model = getStore().get(project.getName());
+            if (model != null) {
+                return PersistentModelSerializer.deserialize(project, model);
             }
-            return absent();
-        }
-    }
-
-    private PersistentModel doLoadModel(IProject project) throws IOException {
-        return loadPreferencesForProject(project).transform(props -> PersistentModelConverter.toModel(project, props)).or(() -> new AbsentPersistentModel(project));
 
+            File legacyFile = legacyModelFile(project.getName());
+            if (legacyFile.exists() && project.isAccessible()) {
+                return migrateLegacyModel(getStore(), project, legacyFile);
+            }
+        } catch (IOException | RuntimeException e) {
+            CorePlugin.logger().warn("Can't load persistent model for project " + project.getName(), e);
+        }
+        return new AbsentPersistentModel(project);
     }
 
-    private void persistAllProjectPrefs() {
-        Map<IProject, PersistentModel> modelCacheMap = this.modelCache.asMap();
-        for (Entry<IProject, PersistentModel> entry : modelCacheMap.entrySet()) {
-            PersistentModel model = entry.getValue();
-            if (model.isPresent()) {
-                persistPrefs(entry.getKey(), model);
+    private PersistentModelStore getStore() {
+        synchronized (this.lock) {
+            if (this.store == null) {
+                File storeFile = CorePlugin.getInstance().getStateLocation().append("persistent-models.bin").toFile();
+                boolean migrateLegacyModels = !storeFile.exists();
+                this.store = new PersistentModelStore(storeFile);
+                if (migrateLegacyModels) {
+                    migrateLegacyModels(this.store);
+                }
             }
+            return this.store;
         }
     }
 
-    private static void persistPrefs(IProject project, PersistentModel model) {
-        try {
-            persistPrefsChecked(project, model);
-        } catch (IOException e) {
-            CorePlugin.logger().warn("Can't save persistent model for project " + project.getName(), e);
+    private void closeStore() throws IOException {
+        synchronized (this.lock) {
+            if (this.store != null) {
+                this.store.close();
+            }
         }
     }
 
-    private static void persistPrefsChecked(IProject project, PersistentModel model) throws IOException {
-        File preferencesFile = preferencesFile(project);
-
-        if (!preferencesFile.exists()) {
-            Files.createParentDirs(preferencesFile);
-            Files.touch(preferencesFile);
+    private static void migrateLegacyModels(PersistentModelStore store) {
+        File[] legacyFiles = legacyModelDirectory().listFiles();
+        if (legacyFiles == null) {
+            return;
         }
 
-        Properties props = PersistentModelConverter.toProperties(model);
+        for (File legacyFile : legacyFiles) {
+            IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(legacyFile.getName());
+            // loading the legacy model requires the project description, the other models are migrated when they are loaded
+            if (project.isAccessible()) {
+                try {
+                    migrateLegacyModel(store, project, legacyFile);
+                } catch (Exception e) {
+                    CorePlugin.logger().warn("Can't migrate persistent model for project " + project.getName(), e);
+                }
+            }
+        }
+        // only succeeds if all models were migrated
+        legacyModelDirectory().delete();
+    }
 
-        try (Writer writer = new OutputStreamWriter(new FileOutputStream(preferencesFile), Charsets.UTF_8)) {
-            props.store(writer, "");
+    private static PersistentModel migrateLegacyModel(PersistentModelStore store, IProject project, File legacyFile) throws IOException {
+        PersistentModel model = loadLegacyModel(project, legacyFile);
+        if (model.isPresent()) {
+            store.put(project.getName(), PersistentModelSerializer.serialize(model));
         }
+        legacyFile.delete();
+        return model;
     }
 
-    private static File preferencesFile(IProject project) {
-        return preferencesFile(project.getName());
+    private static File legacyModelDirectory() {
+        return CorePlugin.getInstance().getStateLocation().append("project-preferences").toFile();
     }
 
-    private static File preferencesFile(String projectName) {
-        return CorePlugin.getInstance().getStateLocation().append("project-preferences").append(projectName).toFile();
+    private static File legacyModelFile(String projectName) {
+        return new File(legacyModelDirectory(), projectName);
+    }
+
+    private static PersistentModel loadLegacyModel(IProject project, File legacyFile) throws IOException {
+        try (Reader reader = new InputStreamReader(new FileInputStream(legacyFile), Charsets.UTF_8)) {
+            Properties props = new Properties();
+            props.load(reader);
+            return PersistentModelConverter.toModel(project, props);
+        }
     }
 
     public static DefaultModelPersistence createAndRegister() {
         DefaultModelPersistence persistence = new DefaultModelPersistence();
-        CorePlugin.listenerRegistry().addEventListener(persistence);
-        persistence.prefetchCacheAsync();
+        // the model must be moved before the next synchronization loads it, hence the listener is notified synchronously
+        CorePlugin.listenerRegistry().addEventListener(persistence, ImmutableSet.of(ProjectMovedEvent.class, ProjectDeletedEvent.class, WorkbenchShutdownEvent.class));
         return persistence;
     }
 
-    private void prefetchCacheAsync() {
-        Job job = new Job("Load persistent model for all projects") {
-
-            @Override
-            protected IStatus run(IProgressMonitor monitor) {
-                for (IProject project : CorePlugin.workspaceOperations().getAllProjects()) {
-                    if (GradleProjectNature.isPresentOn(project)) {
-                        try {
-                            DefaultModelPersistence.this.modelCache.get(project);
-                        } catch (ExecutionException e) {
-                            CorePlugin.logger().warn("Can't load persistent model for project " + project.getName(), e);
-                        }
-                    }
-                }
-                return Status.OK_STATUS;
-            }
-        };
-        job.setSystem(true);
-        job.schedule();
-    }
-
     public void close() {
         CorePlugin.listenerRegistry().removeEventListener(this);
+        try {
+            closeStore();
+        } catch (IOException e) {
+            CorePlugin.logger().warn("Can't close persistent model store", e);
+        }
     }
 }
@@ -41,12 +41,31 @@ public final class DefaultPersistentModel implements PersistentModel {
     private final List<ICommand> managedBuilders;
     private final boolean hasAutoBuildTasks;
     private final GradleVersion gradleVersion;
+    private final String modelFingerprint;
+    private final String javaConfigurationFingerprint;
 
     public DefaultPersistentModel(IProject project, IPath buildDir, IPath buildScriptPath,
                                   Collection<IPath> subprojectPaths, List<IClasspathEntry> classpath,
                                   Collection<IPath> derivedResources, Collection<IPath> linkedResources,
                                   Collection<String> managedNatures, Collection<ICommand> managedBuilders,
                                   boolean hasAutoBuildTasks, GradleVersion gradleVersion) {
+        this(project, buildDir, buildScriptPath, subprojectPaths, classpath, derivedResources, linkedResources, managedNatures, managedBuilders, hasAutoBuildTasks, gradleVersion, null);
+    }
+
+    public DefaultPersistentModel(IProject project, IPath buildDir, IPath buildScriptPath,
+                                  Collection<IPath> subprojectPaths, List<IClasspathEntry> classpath,
+                                  Collection<IPath> derivedResources, Collection<IPath> linkedResources,
+                                  Collection<String> managedNatures, Collection<ICommand> managedBuilders,
+                                  boolean hasAutoBuildTasks, GradleVersion gradleVersion, String modelFingerprint) {
+        this(project, buildDir, buildScriptPath, subprojectPaths, classpath, derivedResources, linkedResources, managedNatures, managedBuilders, hasAutoBuildTasks, gradleVersion, modelFingerprint, null);
+    }
+
+    public DefaultPersistentModel(IProject project, IPath buildDir, IPath buildScriptPath,
+                                  Collection<IPath> subprojectPaths, List<IClasspathEntry> classpath,
+                                  Collection<IPath> derivedResources, Collection<IPath> linkedResources,
+                                  Collection<String> managedNatures, Collection<ICommand> managedBuilders,
+                                  boolean hasAutoBuildTasks, GradleVersion gradleVersion, String modelFingerprint,
+                                  String javaConfigurationFingerprint) {
         this.project = Preconditions.checkNotNull(project);
         this.buildDir = Preconditions.checkNotNull(buildDir);
         this.buildScriptPath = Preconditions.checkNotNull(buildScriptPath);
@@ -58,6 +77,8 @@ public final class DefaultPersistentModel implements PersistentModel {
         this.managedBuilders = ImmutableList.copyOf(managedBuilders);
         this.hasAutoBuildTasks = hasAutoBuildTasks;
         this.gradleVersion = gradleVersion;
+        this.modelFingerprint = modelFingerprint;
+        this.javaConfigurationFingerprint = javaConfigurationFingerprint;
     }
 
     @Override
@@ -120,6 +141,16 @@ public final class DefaultPersistentModel implements PersistentModel {
         return this.gradleVersion;
     }
 
+    @Override
+    public String getModelFingerprint() {
+        return this.modelFingerprint;
+    }
+
+    @Override
+    public String getJavaConfigurationFingerprint() {
+        return this.javaConfigurationFingerprint;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (!(obj instanceof DefaultPersistentModel)) {
@@ -128,6 +159,7 @@ public final class DefaultPersistentModel implements PersistentModel {
         DefaultPersistentModel that = (DefaultPersistentModel) obj;
         return Objects.equal(this.project, that.project)
                 && Objects.equal(this.buildDir, that.buildDir)
+                && Objects.equal(this.buildScriptPath, that.buildScriptPath)
                 && Objects.equal(this.subprojectPaths, that.subprojectPaths)
                 && Objects.equal(this.classpath, that.classpath)
                 && Objects.equal(this.derivedResources, that.derivedResources)
@@ -135,12 +167,14 @@ public final class DefaultPersistentModel implements PersistentModel {
                 && Objects.equal(this.managedNatures, that.managedNatures)
                 && Objects.equal(this.managedBuilders, that.managedBuilders)
                 && Objects.equal(this.hasAutoBuildTasks, that.hasAutoBuildTasks)
-                && Objects.equal(this.gradleVersion, that.gradleVersion);
+                && Objects.equal(this.gradleVersion, that.gradleVersion)
+                && Objects.equal(this.modelFingerprint, that.modelFingerprint)
+                && Objects.equal(this.javaConfigurationFingerprint, that.javaConfigurationFingerprint);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(this.project, this.buildDir, this.subprojectPaths, this.classpath, this.derivedResources, this.linkedResources, this.managedNatures, this.managedBuilders, this.hasAutoBuildTasks, this.gradleVersion);
+        return Objects.hashCode(this.project, this.buildDir, this.buildScriptPath, this.subprojectPaths, this.classpath, this.derivedResources, this.linkedResources, this.managedNatures, this.managedBuilders, this.hasAutoBuildTasks, this.gradleVersion, this.modelFingerprint, this.javaConfigurationFingerprint);
     }
 
 }
@@ -48,4 +48,16 @@ public interface PersistentModel {
     boolean hasAutoBuildTasks();
 
     GradleVersion getGradleVersion();
+
+    /**
+     * @return the fingerprint of the Gradle model the persistent model was created from, or
+     *         {@code null} if unknown
+     */
+    String getModelFingerprint();
+
+    /**
+     * @return the fingerprint of the raw classpath and the output location the Java project had
+     *         after its last configuration, or {@code null} if unknown or not a Java project
+     */
+    String getJavaConfigurationFingerprint();
 }
@@ -16,7 +16,6 @@ import java.util.Properties;
 
 import com.google.common.base.Function;
 import com.google.common.base.Functions;
-import com.google.common.base.Joiner;
 import com.google.common.base.Predicates;
 import com.google.common.base.Splitter;
 import com.google.common.collect.FluentIterable;
@@ -33,7 +32,8 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.buildship.core.internal.util.gradle.GradleVersion;
 
 /**
- * Contains helper methods for the {@link PersistentModel} <-> {@link Properties} conversion.
+ * Reads {@link PersistentModel} instances from the {@link Properties} format used before the
+ * {@link PersistentModelStore} was introduced. Only used to migrate existing models.
  */
 final class PersistentModelConverter {
 
@@ -47,82 +47,7 @@ final class PersistentModelConverter {
     private static final String PROPERTY_MANAGED_BUILDERS = "managedBuilders";
     private static final String PROPERTY_HAS_AUTOBUILD_TASKS = "hasAutoBuildTasks";
     private static final String PROPERTY_GRADLE_VERSION = "gradleVersion";
-
-    public static Properties toProperties(final PersistentModel model) {
-        Properties properties = new Properties();
-
-        storeValue(properties, PROPERTY_BUILD_DIR, model.getBuildDir(), new Function<IPath, String>() {
-
-            @Override
-            public String apply(IPath path) {
-                return path.toPortableString();
-            }
-        });
-        storeValue(properties, PROPERTY_BUILD_SCRIPT_PATH, model.getbuildScriptPath(), new Function<IPath, String>() {
-
-            @Override
-            public String apply(IPath path) {
-                return path.toPortableString();
-            }
-        });
-        storeList(properties, PROPERTY_SUBPROJECTS, model.getSubprojectPaths(), new Function<IPath, String>() {
-
-            @Override
-            public String apply(IPath path) {
-                return path.toPortableString();
-            }
-        });
-        storeValue(properties, PROPERTY_CLASSPATH, model.getClasspath(), new Function<List<IClasspathEntry>, String>() {
-
-            @Override
-            public String apply(List<IClasspathEntry> classpath) {
-                IJavaProject javaProject = JavaCore.create(model.getProject());
-                return ClasspathConverter.toXml(javaProject, classpath);
-            }
-        });
-        storeList(properties, PROPERTY_DERIVED_RESOURCES, model.getDerivedResources(), new Function<IPath, String>() {
-
-            @Override
-            public String apply(IPath path) {
-                return path.toPortableString();
-            }
-        });
-
-        storeList(properties, PROPERTY_LINKED_RESOURCES, model.getLinkedResources(), new Function<IPath, String>() {
-
-            @Override
-            public String apply(IPath linkedResource) {
-                return linkedResource.toPortableString();
-            }
-        });
-
-        storeList(properties, PROPERTY_MANAGED_NATURES, model.getManagedNatures(), Functions.<String>identity());
-
-        storeValue(properties, PROPERTY_MANAGED_BUILDERS, model.getManagedBuilders(), new Function<List<ICommand>, String>(){
-
-            @Override
-            public String apply(List<ICommand> commands) {
-                return BuildCommandConverter.toXml(model.getProject(), commands);
-            }
-        });
-
-        storeValue(properties, PROPERTY_HAS_AUTOBUILD_TASKS, model.hasAutoBuildTasks(), new Function<Boolean, String>() {
-
-            @Override
-            public String apply(Boolean hasAutoBuildTasks) {
-                return hasAutoBuildTasks.toString();
-            }
-        });
-
-        storeValue(properties, PROPERTY_GRADLE_VERSION, model.getGradleVersion(), new Function<GradleVersion, String>(){
-            @Override
-            public String apply(GradleVersion gradleVersion) {
-                return gradleVersion.getVersion();
-            }
-        });
-
-        return properties;
-    }
+    private static final String PROPERTY_MODEL_FINGERPRINT = "modelFingerprint";
 
     public static PersistentModel toModel(final IProject project, Properties properties) {
         IPath buildDir = loadValue(properties, PROPERTY_BUILD_DIR, new Path("build"), new Function<String, IPath>() {
@@ -192,10 +117,11 @@ final class PersistentModelConverter {
                 return GradleVersion.version(version);
             }
         });
+        String modelFingerprint = loadValue(properties, PROPERTY_MODEL_FINGERPRINT, null, Functions.<String>identity());
         if (gradleVersion == null) {
             return new AbsentPersistentModel(project);
         } else {
-            return new DefaultPersistentModel(project, buildDir, buildScriptPath, subprojects, classpath, derivedResources, linkedResources, managedNatures, managedBuilders, hasAutoBuildTasks, gradleVersion);
+            return new DefaultPersistentModel(project, buildDir, buildScriptPath, subprojects, classpath, derivedResources, linkedResources, managedNatures, managedBuilders, hasAutoBuildTasks, gradleVersion, modelFingerprint);
         }
     }
 
@@ -217,13 +143,4 @@ final class PersistentModelConverter {
             return FluentIterable.from(collection).transform(conversion).filter(Predicates.notNull()).toList();
         }
     }
-
-    private static <T> void storeValue(Properties properties, String key, T value, Function<T, String> conversion) {
-        properties.put(key, conversion.apply(value));
-    }
-
-    private static <T> void storeList(Properties properties, String key, Collection<T> values, Function<T, String> conversion) {
-        List<String> stringList = FluentIterable.from(values).transform(conversion).filter(Predicates.notNull()).toList();
-        properties.put(key, Joiner.on(File.pathSeparator).join(stringList));
-    }
 }
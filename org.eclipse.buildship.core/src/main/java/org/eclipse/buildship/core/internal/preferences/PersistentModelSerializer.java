@@ -0,0 +1,318 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.preferences;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+
+import org.eclipse.core.resources.ICommand;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IAccessRule;
+import org.eclipse.jdt.core.IClasspathAttribute;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.util.gradle.GradleVersion;
+
+/**
+ * Converts {@link PersistentModel} instances to a compact binary representation and back.
+ * <p/>
+ * The classpath entries and the build commands are stored field by field instead of the XML
+ * representation used by JDT, so that reading a model does not require an XML parser. Strings
+ * repeated within a model (e.g. classpath attribute names and values) are stored only once.
+ */
+final class PersistentModelSerializer {
+
+    private static final int FORMAT_VERSION = 2;
+
+    private static final int NO_STRING = -1;
+    private static final int NEW_STRING = -2;
+
+    private PersistentModelSerializer() {
+    }
+
+    static byte[] serialize(PersistentModel model) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            new Writer(new DataOutputStream(bytes)).writeModel(model);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // ByteArrayOutputStream doesn't throw IOExceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static PersistentModel deserialize(IProject project, byte[] data) throws IOException {
+        return new Reader(new DataInputStream(new ByteArrayInputStream(data))).readModel(project);
+    }
+
+    /**
+     * Writes model elements, replacing strings with an index into the string table after their
+     * first occurrence.
+     */
+    private static final class Writer {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeModel(PersistentModel model) throws IOException {
+            this.out.writeInt(FORMAT_VERSION);
+            writePath(model.getBuildDir());
+            writePath(model.getbuildScriptPath());
+            writePaths(model.getSubprojectPaths());
+            this.out.writeInt(model.getClasspath().size());
+            for (IClasspathEntry entry : model.getClasspath()) {
+                writeClasspathEntry(entry);
+            }
+            writePaths(model.getDerivedResources());
+            writePaths(model.getLinkedResources());
+            this.out.writeInt(model.getManagedNatures().size());
+            for (String nature : model.getManagedNatures()) {
+                writeString(nature);
+            }
+            this.out.writeInt(model.getManagedBuilders().size());
+            for (ICommand command : model.getManagedBuilders()) {
+                writeCommand(command);
+            }
+            this.out.writeBoolean(model.hasAutoBuildTasks());
+            GradleVersion gradleVersion = model.getGradleVersion();
+            writeString(gradleVersion != null ? gradleVersion.getVersion() : null);
+            writeString(model.getModelFingerprint());
+            writeString(model.getJavaConfigurationFingerprint());
+        }
+
+        private void writeClasspathEntry(IClasspathEntry entry) throws IOException {
+            this.out.writeInt(entry.getEntryKind());
+            writePath(entry.getPath());
+            this.out.writeBoolean(entry.isExported());
+            writePath(entry.getSourceAttachmentPath());
+            writePath(entry.getSourceAttachmentRootPath());
+            writePath(entry.getOutputLocation());
+            writePaths(toList(entry.getInclusionPatterns()));
+            writePaths(toList(entry.getExclusionPatterns()));
+            this.out.writeBoolean(entry.combineAccessRules());
+            IAccessRule[] accessRules = entry.getAccessRules();
+            this.out.writeInt(accessRules.length);
+            for (IAccessRule rule : accessRules) {
+                this.out.writeInt(rule.getKind() | (rule.ignoreIfBetter() ? IAccessRule.IGNORE_IF_BETTER : 0));
+                writePath(rule.getPattern());
+            }
+            IClasspathAttribute[] attributes = entry.getExtraAttributes();
+            this.out.writeInt(attributes.length);
+            for (IClasspathAttribute attribute : attributes) {
+                writeString(attribute.getName());
+                writeString(attribute.getValue());
+            }
+        }
+
+        private void writeCommand(ICommand command) throws IOException {
+            writeString(command.getBuilderName());
+            Map<String, String> arguments = command.getArguments();
+            this.out.writeInt(arguments.size());
+            for (Map.Entry<String, String> argument : arguments.entrySet()) {
+                writeString(argument.getKey());
+                writeString(argument.getValue());
+            }
+        }
+
+        private void writePaths(Collection<IPath> paths) throws IOException {
+            this.out.writeInt(paths.size());
+            for (IPath path : paths) {
+                writePath(path);
+            }
+        }
+
+        private void writePath(IPath path) throws IOException {
+            writeString(path == null ? null : path.toPortableString());
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                this.out.writeInt(NO_STRING);
+                return;
+            }
+
+            Integer index = this.strings.get(value);
+            if (index != null) {
+                this.out.writeInt(index);
+            } else {
+                this.strings.put(value, this.strings.size());
+                this.out.writeInt(NEW_STRING);
+                this.out.writeUTF(value);
+            }
+        }
+
+        private static List<IPath> toList(IPath[] paths) {
+            return paths == null ? ImmutableList.of() : ImmutableList.copyOf(paths);
+        }
+    }
+
+    /**
+     * Reads model elements written by the {@link Writer}.
+     */
+    private static final class Reader {
+
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        PersistentModel readModel(IProject project) throws IOException {
+            int version = this.in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported persistent model version: " + version);
+            }
+
+            IPath buildDir = readPath();
+            IPath buildScriptPath = readPath();
+            List<IPath> subprojectPaths = readPaths();
+            int classpathSize = this.in.readInt();
+            List<IClasspathEntry> classpath = new ArrayList<>(classpathSize);
+            for (int i = 0; i < classpathSize; i++) {
+                classpath.add(readClasspathEntry());
+            }
+            List<IPath> derivedResources = readPaths();
+            List<IPath> linkedResources = readPaths();
+            int natureCount = this.in.readInt();
+            List<String> managedNatures = new ArrayList<>(natureCount);
+            for (int i = 0; i < natureCount; i++) {
+                managedNatures.add(readString());
+            }
+            int commandCount = this.in.readInt();
+            List<String> builderNames = new ArrayList<>(commandCount);
+            List<Map<String, String>> builderArguments = new ArrayList<>(commandCount);
+            for (int i = 0; i < commandCount; i++) {
+                builderNames.add(readString());
+                int argumentCount = this.in.readInt();
+                Map<String, String> arguments = new LinkedHashMap<>();
+                for (int j = 0; j < argumentCount; j++) {
+                    arguments.put(readString(), readString());
+                }
+                builderArguments.add(arguments);
+            }
+            boolean hasAutoBuildTasks = this.in.readBoolean();
+            String version = readString();
+            GradleVersion gradleVersion = version != null ? GradleVersion.version(version) : null;
+            String modelFingerprint = readString();
+            String javaConfigurationFingerprint = readString();
+
+            List<ICommand> managedBuilders = createCommands(project, builderNames, builderArguments);
+            return new DefaultPersistentModel(project, buildDir, buildScriptPath, subprojectPaths, classpath, derivedResources, linkedResources, managedNatures, managedBuilders, hasAutoBuildTasks, gradleVersion, modelFingerprint, javaConfigurationFingerprint);
+        }
+
+        private IClasspathEntry readClasspathEntry() throws IOException {
+            int kind = this.in.readInt();
+            IPath path = readPath();
+            boolean exported = this.in.readBoolean();
+            IPath sourceAttachmentPath = readPath();
+            IPath sourceAttachmentRootPath = readPath();
+            IPath outputLocation = readPath();
+            IPath[] inclusionPatterns = readPaths().toArray(new IPath[0]);
+            IPath[] exclusionPatterns = readPaths().toArray(new IPath[0]);
+            boolean combineAccessRules = this.in.readBoolean();
+            int ruleCount = this.in.readInt();
+            IAccessRule[] accessRules = new IAccessRule[ruleCount];
+            for (int i = 0; i < ruleCount; i++) {
+                int ruleKind = this.in.readInt();
+                accessRules[i] = JavaCore.newAccessRule(readPath(), ruleKind);
+            }
+            int attributeCount = this.in.readInt();
+            IClasspathAttribute[] attributes = new IClasspathAttribute[attributeCount];
+            for (int i = 0; i < attributeCount; i++) {
+                attributes[i] = JavaCore.newClasspathAttribute(readString(), readString());
+            }
+
+            switch (kind) {
+                case IClasspathEntry.CPE_LIBRARY:
+                    return JavaCore.newLibraryEntry(path, sourceAttachmentPath, sourceAttachmentRootPath, accessRules, attributes, exported);
+                case IClasspathEntry.CPE_PROJECT:
+                    return JavaCore.newProjectEntry(path, accessRules, combineAccessRules, attributes, exported);
+                case IClasspathEntry.CPE_SOURCE:
+                    return JavaCore.newSourceEntry(path, inclusionPatterns, exclusionPatterns, outputLocation, attributes);
+                case IClasspathEntry.CPE_VARIABLE:
+                    return JavaCore.newVariableEntry(path, sourceAttachmentPath, sourceAttachmentRootPath, accessRules, attributes, exported);
+                case IClasspathEntry.CPE_CONTAINER:
+                    return JavaCore.newContainerEntry(path, accessRules, attributes, exported);
+                default:
+                    throw new IOException("Unknown classpath entry kind: " + kind);
+            }
+        }
+
+        private List<IPath> readPaths() throws IOException {
+            int size = this.in.readInt();
+            List<IPath> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(readPath());
+            }
+            return result;
+        }
+
+        private IPath readPath() throws IOException {
+            String path = readString();
+            return path == null ? null : new Path(path);
+        }
+
+        private String readString() throws IOException {
+            int index = this.in.readInt();
+            if (index == NO_STRING) {
+                return null;
+            } else if (index == NEW_STRING) {
+                String value = this.in.readUTF();
+                this.strings.add(value);
+                return value;
+            } else if (index >= 0 && index < this.strings.size()) {
+                return this.strings.get(index);
+            } else {
+                throw new IOException("Invalid string reference: " + index);
+            }
+        }
+
+        private static List<ICommand> createCommands(IProject project, List<String> builderNames, List<Map<String, String>> builderArguments) {
+            if (builderNames.isEmpty()) {
+                return ImmutableList.of();
+            }
+
+            try {
+                List<ICommand> result = new ArrayList<>(builderNames.size());
+                for (int i = 0; i < builderNames.size(); i++) {
+                    ICommand command = project.getDescription().newCommand();
+                    command.setBuilderName(builderNames.get(i));
+                    command.setArguments(builderArguments.get(i));
+                    result.add(command);
+                }
+                return result;
+            } catch (CoreException e) {
+                CorePlugin.logger().warn("Cannot load build commands", e);
+                return ImmutableList.of();
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.preferences;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.eclipse.buildship.core.internal.CorePlugin;
+
+/**
+ * Append-only binary file storing the serialized persistent models of all projects.
+ * <p/>
+ * Each change is appended to the end of the file as a separate record, so saving a model doesn't
+ * rewrite the models of the other projects. A record consists of the payload length, the CRC32
+ * checksum of the payload and the payload itself: the record type, the project name and, for
+ * updates, the serialized model. When the file is opened, only the record headers are read to
+ * index the latest record of each project; the models themselves are read and their checksums
+ * verified on request. Only the last record can be partially written before a crash, hence it is
+ * validated when the file is opened and discarded along with any trailing bytes if it is invalid.
+ * <p/>
+ * If more than half of the file is occupied by outdated records, the file is compacted by copying
+ * the latest record of each project to a new file.
+ * <p/>
+ * Instances are thread-safe.
+ */
+final class PersistentModelStore {
+
+    private static final int MAGIC = 0x4253_504D; // 'BSPM'
+    private static final int FORMAT_VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private static final byte TYPE_UPDATE = 1;
+    private static final byte TYPE_DELETE = 2;
+
+    private static final long MIN_COMPACTION_SIZE = 256 * 1024;
+
+    private final File file;
+    private final Map<String, Record> index = new HashMap<>();
+    private RandomAccessFile content;
+    private long liveBytes;
+
+    PersistentModelStore(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the serialized model of the target project or {@code null} if the store doesn't
+     * contain it.
+     *
+     * @throws IOException if the record can't be read or its checksum doesn't match
+     */
+    synchronized byte[] get(String projectName) throws IOException {
+        open();
+        Record record = this.index.get(projectName);
+        if (record == null) {
+            return null;
+        }
+
+        byte[] payload = new byte[record.payloadLength()];
+        this.content.seek(record.position + RECORD_HEADER_SIZE);
+        this.content.readFully(payload);
+        if (checksum(payload) != record.checksum) {
+            throw new IOException("Invalid checksum of the persistent model of project " + projectName + " in " + this.file);
+        }
+        return Arrays.copyOfRange(payload, payload.length - record.dataLength, payload.length);
+    }
+
+    synchronized void put(String projectName, byte[] model) throws IOException {
+        open();
+        append(TYPE_UPDATE, projectName, model);
+        compactIfNecessary();
+    }
+
+    synchronized void delete(String projectName) throws IOException {
+        open();
+        if (this.index.containsKey(projectName)) {
+            append(TYPE_DELETE, projectName, new byte[0]);
+            compactIfNecessary();
+        }
+    }
+
+    /**
+     * Releases the file handle. The file is reopened on the next access.
+     */
+    synchronized void close() throws IOException {
+        if (this.content != null) {
+            this.content.close();
+            this.content = null;
+            this.index.clear();
+            this.liveBytes = 0;
+        }
+    }
+
+    private void open() throws IOException {
+        if (this.content != null) {
+            return;
+        }
+
+        Files.createDirectories(this.file.getParentFile().toPath());
+        this.content = new RandomAccessFile(this.file, "rw");
+        if (this.content.length() >= FILE_HEADER_SIZE && this.content.readInt() == MAGIC && this.content.readInt() == FORMAT_VERSION) {
+            readIndex();
+        } else {
+            if (this.content.length() > 0) {
+                CorePlugin.logger().warn("Discarding persistent model store with unknown format: " + this.file);
+            }
+            this.content.setLength(0);
+            this.content.writeInt(MAGIC);
+            this.content.writeInt(FORMAT_VERSION);
+        }
+        compactIfNecessary();
+    }
+
+    private void readIndex() throws IOException {
+        long fileLength = this.content.length();
+        long position = FILE_HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= fileLength) {
+            this.content.seek(position);
+            int payloadLength = this.content.readInt();
+            int checksum = this.content.readInt();
+            long end = position + RECORD_HEADER_SIZE + payloadLength;
+            if (payloadLength <= 0 || end > fileLength) {
+                break;
+            }
+
+            if (end == fileLength) {
+                byte[] payload = new byte[payloadLength];
+                this.content.readFully(payload);
+                if (checksum(payload) != checksum) {
+                    break;
+                }
+                this.content.seek(position + RECORD_HEADER_SIZE);
+            }
+
+            byte type;
+            String projectName;
+            try {
+                type = this.content.readByte();
+                projectName = this.content.readUTF();
+            } catch (IOException e) {
+                break;
+            }
+            long dataOffset = this.content.getFilePointer();
+            if (dataOffset > end) {
+                break;
+            }
+            updateIndex(type, projectName, new Record(position, end - position, checksum, (int) (end - dataOffset)));
+            position = end;
+        }
+
+        if (position != fileLength) {
+            CorePlugin.logger().warn("Discarding invalid records at the end of the persistent model store " + this.file);
+            this.content.setLength(position);
+        }
+    }
+
+    private void append(byte type, String projectName, byte[] model) throws IOException {
+        ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(model.length + projectName.length() + 8);
+        DataOutputStream payloadOut = new DataOutputStream(payloadBytes);
+        payloadOut.writeByte(type);
+        payloadOut.writeUTF(projectName);
+        payloadOut.write(model);
+        byte[] payload = payloadBytes.toByteArray();
+
+        int checksum = checksum(payload);
+
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(payload.length + RECORD_HEADER_SIZE);
+        DataOutputStream recordOut = new DataOutputStream(recordBytes);
+        recordOut.writeInt(payload.length);
+        recordOut.writeInt(checksum);
+        recordOut.write(payload);
+
+        long position = this.content.length();
+        this.content.seek(position);
+        this.content.write(recordBytes.toByteArray());
+        updateIndex(type, projectName, new Record(position, recordBytes.size(), checksum, model.length));
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private void updateIndex(byte type, String projectName, Record record) {
+        Record previous = type == TYPE_UPDATE ? this.index.put(projectName, record) : this.index.remove(projectName);
+        if (previous != null) {
+            this.liveBytes -= previous.length;
+        }
+        if (type == TYPE_UPDATE) {
+            this.liveBytes += record.length;
+        }
+    }
+
+    private void compactIfNecessary() throws IOException {
+        long fileLength = this.content.length();
+        if (fileLength < MIN_COMPACTION_SIZE || fileLength < 2 * (this.liveBytes + FILE_HEADER_SIZE)) {
+            return;
+        }
+
+        File compacted = new File(this.file.getPath() + ".tmp");
+        try (RandomAccessFile out = new RandomAccessFile(compacted, "rw")) {
+            out.setLength(0);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            for (Record record : this.index.values()) {
+                byte[] bytes = new byte[(int) record.length];
+                this.content.seek(record.position);
+                this.content.readFully(bytes);
+                out.write(bytes);
+            }
+        }
+
+        close();
+        Files.move(compacted.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        open();
+    }
+
+    /**
+     * Location of the latest record of a project.
+     */
+    private static final class Record {
+
+        private final long position;
+        private final long length;
+        private final int checksum;
+        private final int dataLength;
+
+        Record(long position, long length, int checksum, int dataLength) {
+            this.position = position;
+            this.length = length;
+            this.checksum = checksum;
+            this.dataLength = dataLength;
+        }
+
+        int payloadLength() {
+            return (int) (this.length - RECORD_HEADER_SIZE);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.util.gradle;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.gradle.tooling.model.build.BuildEnvironment;
+
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+
+import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.CoreTraceScopes;
+import org.eclipse.buildship.core.internal.Logger;
+
+/**
+ * Memoizes the {@link BuildEnvironment} model per Gradle connection configuration.
+ * <p/>
+ * Configuring a Tooling API operation requires the build environment, so without caching each
+ * model query, build action and launch costs an additional daemon round trip. The build
+ * environment is determined by the connection configuration and a few files (wrapper properties,
+ * Gradle properties, daemon JVM criteria); a cached value is discarded if any of these files
+ * change, or if a client explicitly reloads the model, see {@link #invalidate(File)}.
+ */
+public final class BuildEnvironmentCache {
+
+    private static final Cache<Key, Entry> CACHE = CacheBuilder.newBuilder().maximumSize(100).build();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    private BuildEnvironmentCache() {
+    }
+
+    /**
+     * Returns the cached build environment for the target connection configuration, or loads and
+     * caches it with the given loader.
+     */
+    public static BuildEnvironment get(File rootDir, File gradleUserHome, String gradleDistribution, Supplier<BuildEnvironment> loader) {
+        Key key = new Key(rootDir, gradleUserHome, gradleDistribution);
+        List<FileStamp> fileStamps = fileStamps(rootDir, gradleUserHome);
+        Entry entry = CACHE.getIfPresent(key);
+        if (entry != null && entry.fileStamps.equals(fileStamps)) {
+            trace(rootDir, HITS.incrementAndGet(), MISSES.get());
+            return entry.buildEnvironment;
+        }
+
+        BuildEnvironment buildEnvironment = loader.get();
+        CACHE.put(key, new Entry(buildEnvironment, fileStamps));
+        trace(rootDir, HITS.get(), MISSES.incrementAndGet());
+        return buildEnvironment;
+    }
+
+    /**
+     * Discards the cached build environments of the target build, so the next request loads it from
+     * Gradle.
+     *
+     * @param rootDir the root directory of the build
+     */
+    public static void invalidate(File rootDir) {
+        CACHE.asMap().keySet().removeIf(key -> key.rootDir.equals(rootDir));
+    }
+
+    private static void trace(File rootDir, long hitCount, long missCount) {
+        Logger logger = CorePlugin.logger();
+        if (logger.isScopeEnabled(CoreTraceScopes.MODEL_CACHE)) {
+            logger.trace(CoreTraceScopes.MODEL_CACHE, String.format("Build environment of %s: %d daemon round trip(s) saved, %d performed", rootDir, hitCount, missCount));
+        }
+    }
+
+    private static List<FileStamp> fileStamps(File rootDir, File gradleUserHome) {
+        File userHome = gradleUserHome != null ? gradleUserHome : defaultGradleUserHome();
+        return ImmutableList.of(
+                new FileStamp(new File(rootDir, "gradle/wrapper/gradle-wrapper.properties")),
+                new FileStamp(new File(rootDir, "gradle/gradle-daemon-jvm.properties")),
+                new FileStamp(new File(rootDir, "gradle.properties")),
+                new FileStamp(new File(userHome, "gradle.properties")));
+    }
+
+    private static File defaultGradleUserHome() {
+        String gradleUserHome = System.getenv("GRADLE_USER_HOME");
+        return gradleUserHome != null ? new File(gradleUserHome) : new File(System.getProperty("user.home"), ".gradle");
+    }
+
+    /**
+     * Connection configuration determining the build environment.
+     */
+    private static final class Key {
+
+        private final File rootDir;
+        private final File gradleUserHome;
+        private final String gradleDistribution;
+
+        Key(File rootDir, File gradleUserHome, String gradleDistribution) {
+            this.rootDir = rootDir;
+            this.gradleUserHome = gradleUserHome;
+            this.gradleDistribution = gradleDistribution;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return Objects.equal(this.rootDir, other.rootDir)
+                    && Objects.equal(this.gradleUserHome, other.gradleUserHome)
+                    && Objects.equal(this.gradleDistribution, other.gradleDistribution);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.rootDir, this.gradleUserHome, this.gradleDistribution);
+        }
+    }
+
+    /**
+     * Cached build environment along with the state of the files it was computed from.
+     */
+    private static final class Entry {
+
+        private final BuildEnvironment buildEnvironment;
+        private final List<FileStamp> fileStamps;
+
+        Entry(BuildEnvironment buildEnvironment, List<FileStamp> fileStamps) {
+            this.buildEnvironment = buildEnvironment;
+            this.fileStamps = fileStamps;
+        }
+    }
+
+    /**
+     * Modification time and size of a file, or -1 for both if the file doesn't exist.
+     */
+    private static final class FileStamp {
+
+        private final File file;
+        private final long lastModified;
+        private final long length;
+
+        FileStamp(File file) {
+            this.file = file;
+            boolean exists = file.isFile();
+            this.lastModified = exists ? file.lastModified() : -1;
+            this.length = exists ? file.length() : -1;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            FileStamp other = (FileStamp) obj;
+            return this.file.equals(other.file) && this.lastModified == other.lastModified && this.length == other.length;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.file, this.lastModified, this.length);
+        }
+    }
+}
@@ -266,6 +266,10 @@ public final class GradleVersion implements Comparable<GradleVersion> {
         return getBaseVersion().compareTo(GradleVersion.version("6.8")) >= 0;
     }
 
+    public boolean supportsParallelModelQueries() {
+        return getBaseVersion().compareTo(GradleVersion.version("6.8")) >= 0;
+    }
+
     /**
      * Utility class to compare snapshot/milesone/rc releases.
      */
@@ -66,7 +66,7 @@ public final class IdeAttachedProjectConnection implements ProjectConnection {
     }
 
     private <T extends LongRunningOperation> T configureOperation(T operation) {
-        BuildEnvironment buildEnvironment = this.delegate.getModel(BuildEnvironment.class);
+        BuildEnvironment buildEnvironment = this.gradleArguments.getBuildEnvironment(this.delegate);
         this.gradleArguments.applyTo(operation, buildEnvironment);
         this.progressAttributes.applyTo(operation);
         return operation;
@@ -84,6 +84,9 @@ public final class IdeAttachedProjectConnection implements ProjectConnection {
 
     @Override
     public <T> T getModel(Class<T> modelType) throws GradleConnectionException, IllegalStateException {
+        if (modelType == BuildEnvironment.class && !this.gradleArguments.overridesJavaEnvironment()) {
+            return modelType.cast(this.gradleArguments.getBuildEnvironment(this.delegate));
+        }
         return model(modelType).get();
     }
 
@@ -15,6 +15,7 @@ import java.lang.reflect.Parameter;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 import org.gradle.api.Action;
@@ -25,7 +26,9 @@ import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.Platform;
 
 import org.eclipse.buildship.core.internal.GradlePluginsRuntimeException;
+import org.eclipse.buildship.core.internal.workspace.BuildActionList;
 import org.eclipse.buildship.core.internal.workspace.CompositeModelQuery;
+import org.eclipse.buildship.core.internal.workspace.ParallelCompositeModelQuery;
 import org.eclipse.buildship.core.internal.workspace.TellGradleToRunAutoSyncTasks;
 
 /**
@@ -52,6 +55,35 @@ public class IdeFriendlyClassLoading {
         return (BuildAction<Map<String, T>>) loadClass(CompositeModelQuery.class, model );
     }
 
+    /**
+     * Loads a composite model query that fetches the models of the included builds in parallel if
+     * the target Gradle version supports it.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, U> BuildAction<Map<String, T>> loadCompositeModelQuery(Class<T> model, Class<U> parameterType, Action<? super U> parameter, GradleVersion gradleVersion) {
+        if (!gradleVersion.supportsParallelModelQueries()) {
+            return loadCompositeModelQuery(model, parameterType, parameter);
+        }
+        return (BuildAction<Map<String, T>>) loadClass(ParallelCompositeModelQuery.class, new Object[] { model, parameterType, parameter });
+    }
+
+    /**
+     * Loads a composite model query that fetches the models of the included builds in parallel if
+     * the target Gradle version supports it.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> BuildAction<Map<String, T>> loadCompositeModelQuery(Class<T> model, GradleVersion gradleVersion) {
+        if (!gradleVersion.supportsParallelModelQueries()) {
+            return loadCompositeModelQuery(model);
+        }
+        return (BuildAction<Map<String, T>>) loadClass(ParallelCompositeModelQuery.class, model);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static BuildAction<List<Object>> loadBuildActionList(BuildAction<?>[] actions) {
+        return (BuildAction<List<Object>>) loadClass(BuildActionList.class, new Object[] { actions });
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> T loadClass(Class<T> cls) {
         try {
@@ -0,0 +1,719 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.util.gradle;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.gradle.tooling.model.BuildIdentifier;
+import org.gradle.tooling.model.DomainObjectSet;
+import org.gradle.tooling.model.GradleProject;
+import org.gradle.tooling.model.GradleTask;
+import org.gradle.tooling.model.ProjectIdentifier;
+import org.gradle.tooling.model.UnsupportedMethodException;
+import org.gradle.tooling.model.build.BuildEnvironment;
+import org.gradle.tooling.model.build.GradleEnvironment;
+import org.gradle.tooling.model.build.JavaEnvironment;
+import org.gradle.tooling.model.eclipse.EclipseBuildCommand;
+import org.gradle.tooling.model.eclipse.EclipseClasspathContainer;
+import org.gradle.tooling.model.eclipse.EclipseExternalDependency;
+import org.gradle.tooling.model.eclipse.EclipseJavaSourceSettings;
+import org.gradle.tooling.model.eclipse.EclipseLinkedResource;
+import org.gradle.tooling.model.eclipse.EclipseOutputLocation;
+import org.gradle.tooling.model.eclipse.EclipseProject;
+import org.gradle.tooling.model.eclipse.EclipseProjectDependency;
+import org.gradle.tooling.model.eclipse.EclipseProjectNature;
+import org.gradle.tooling.model.eclipse.EclipseSourceDirectory;
+import org.gradle.tooling.model.gradle.GradleScript;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Compact binary representation of the {@link BuildEnvironment} and the composite
+ * {@link EclipseProject} models of a Gradle build.
+ * <p/>
+ * The snapshot contains the project hierarchy, the Gradle projects and their tasks, i.e. the
+ * elements needed to present a build without connecting to Gradle. The models restored from a
+ * snapshot throw {@link UnsupportedMethodException} for all other elements, just like models
+ * fetched from Gradle versions not supporting them.
+ * <p/>
+ * Repeated strings (task names, groups, paths) are stored only once, as length-prefixed UTF-8 bytes
+ * so that there's no limit on their length. The format starts with a version number; snapshots with
+ * a different version are rejected.
+ */
+public final class ModelSnapshot {
+
+    public static final int FORMAT_VERSION = 2;
+
+    private static final int MAGIC = 0x4253_4D53; // 'BSMS'
+
+    private final BuildEnvironment buildEnvironment;
+    private final Map<String, EclipseProject> eclipseProjects;
+
+    private ModelSnapshot(BuildEnvironment buildEnvironment, Map<String, EclipseProject> eclipseProjects) {
+        this.buildEnvironment = buildEnvironment;
+        this.eclipseProjects = eclipseProjects;
+    }
+
+    public BuildEnvironment getBuildEnvironment() {
+        return this.buildEnvironment;
+    }
+
+    /**
+     * @return the root Eclipse project of each build in the composite, keyed by build name
+     */
+    public Map<String, EclipseProject> getEclipseProjects() {
+        return this.eclipseProjects;
+    }
+
+    /**
+     * Creates a snapshot from the given models. The models are not projected, callers should use
+     * {@link #compact(Map)} to drop the elements not contained in a snapshot.
+     *
+     * @param buildEnvironment the build environment
+     * @param eclipseProjects the root Eclipse project of each build in the composite, keyed by build name
+     * @return the new snapshot
+     */
+    public static ModelSnapshot of(BuildEnvironment buildEnvironment, Map<String, EclipseProject> eclipseProjects) {
+        return new ModelSnapshot(buildEnvironment, eclipseProjects);
+    }
+
+    public static void write(BuildEnvironment buildEnvironment, Map<String, EclipseProject> eclipseProjects, DataOutputStream out) throws IOException {
+        Writer writer = new Writer(out);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        writer.writeBuildEnvironment(buildEnvironment);
+        out.writeInt(eclipseProjects.size());
+        for (Entry<String, EclipseProject> entry : eclipseProjects.entrySet()) {
+            writer.writeString(entry.getKey());
+            writer.writeEclipseProject(entry.getValue());
+        }
+    }
+
+    public static ModelSnapshot read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a model snapshot");
+        }
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported model snapshot version: " + version);
+        }
+
+        Reader reader = new Reader(in);
+        BuildEnvironment buildEnvironment = reader.readBuildEnvironment();
+        int buildCount = in.readInt();
+        Map<String, EclipseProject> eclipseProjects = new LinkedHashMap<>();
+        for (int i = 0; i < buildCount; i++) {
+            String buildName = reader.readString();
+            eclipseProjects.put(buildName, reader.readEclipseProject(null, null));
+        }
+        return new ModelSnapshot(buildEnvironment, ImmutableMap.copyOf(eclipseProjects));
+    }
+
+    /**
+     * Returns the projection of the given models to the elements contained in a snapshot. The
+     * projection is used to keep the models in memory once the elements needed only by the
+     * synchronization are no longer used.
+     *
+     * @param eclipseProjects the root Eclipse project of each build in the composite, keyed by build name
+     * @return the projected models
+     */
+    public static Map<String, EclipseProject> compact(Map<String, EclipseProject> eclipseProjects) {
+        Projection projection = new Projection();
+        Map<String, EclipseProject> result = new LinkedHashMap<>();
+        for (Entry<String, EclipseProject> entry : eclipseProjects.entrySet()) {
+            result.put(entry.getKey(), projection.projectEclipseProject(entry.getValue(), null, null));
+        }
+        return ImmutableMap.copyOf(result);
+    }
+
+    /**
+     * Serializes model elements. Strings are replaced with an index into the string table after
+     * their first occurrence.
+     */
+    private static final class Writer {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeBuildEnvironment(BuildEnvironment buildEnvironment) throws IOException {
+            writeFile(buildEnvironment.getBuildIdentifier().getRootDir());
+            writeFile(buildEnvironment.getGradle().getGradleUserHome());
+            writeString(buildEnvironment.getGradle().getGradleVersion());
+            writeFile(buildEnvironment.getJava().getJavaHome());
+            List<String> jvmArguments = buildEnvironment.getJava().getJvmArguments();
+            this.out.writeInt(jvmArguments.size());
+            for (String argument : jvmArguments) {
+                writeString(argument);
+            }
+        }
+
+        void writeEclipseProject(EclipseProject project) throws IOException {
+            writeString(project.getName());
+            writeString(project.getDescription());
+            writeFile(project.getProjectDirectory());
+            writeGradleProject(project.getGradleProject());
+            this.out.writeInt(project.getChildren().size());
+            for (EclipseProject child : project.getChildren()) {
+                writeEclipseProject(child);
+            }
+        }
+
+        private void writeGradleProject(GradleProject project) throws IOException {
+            writeString(project.getName());
+            writeString(project.getDescription());
+            writeString(project.getPath());
+            writeFile(project.getProjectIdentifier().getBuildIdentifier().getRootDir());
+            writeFile(project.getProjectDirectory());
+            writeFile(project.getBuildDirectory());
+            GradleScript buildScript = project.getBuildScript();
+            writeFile(buildScript == null ? null : buildScript.getSourceFile());
+            this.out.writeInt(project.getTasks().size());
+            for (GradleTask task : project.getTasks()) {
+                writeString(task.getName());
+                writeString(task.getPath());
+                writeString(buildTreePath(task));
+                writeString(task.getDescription());
+                writeString(task.getDisplayName());
+                writeString(task.getGroup());
+                this.out.writeBoolean(task.isPublic());
+            }
+        }
+
+        private static String buildTreePath(GradleTask task) {
+            try {
+                return task.getBuildTreePath();
+            } catch (Exception ignore) {
+                // not available for Gradle versions < 8.3
+                return null;
+            }
+        }
+
+        private void writeFile(File file) throws IOException {
+            writeString(file == null ? null : file.getPath());
+        }
+
+        void writeString(String value) throws IOException {
+            if (value == null) {
+                this.out.writeInt(-1);
+                return;
+            }
+
+            Integer index = this.strings.get(value);
+            if (index != null) {
+                this.out.writeInt(index);
+            } else {
+                this.strings.put(value, this.strings.size());
+                // DataOutput.writeUTF() is limited to 64 KB, which task descriptions may exceed
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                this.out.writeInt(-2);
+                this.out.writeInt(bytes.length);
+                this.out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Deserializes model elements written by the {@link Writer}.
+     */
+    private static final class Reader {
+
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        BuildEnvironment readBuildEnvironment() throws IOException {
+            File rootDir = readFile();
+            File gradleUserHome = readFile();
+            String gradleVersion = readString();
+            File javaHome = readFile();
+            int jvmArgumentCount = this.in.readInt();
+            ImmutableList.Builder<String> jvmArguments = ImmutableList.builder();
+            for (int i = 0; i < jvmArgumentCount; i++) {
+                jvmArguments.add(readString());
+            }
+            return new SnapshotBuildEnvironment(rootDir, gradleUserHome, gradleVersion, javaHome, jvmArguments.build());
+        }
+
+        EclipseProject readEclipseProject(SnapshotEclipseProject parent, SnapshotGradleProject gradleParent) throws IOException {
+            String name = readString();
+            String description = readString();
+            File projectDirectory = readFile();
+            SnapshotGradleProject gradleProject = readGradleProject(gradleParent);
+            SnapshotEclipseProject project = new SnapshotEclipseProject(parent, name, description, projectDirectory, gradleProject);
+            int childCount = this.in.readInt();
+            for (int i = 0; i < childCount; i++) {
+                project.children.add(readEclipseProject(project, gradleProject));
+            }
+            return project;
+        }
+
+        private SnapshotGradleProject readGradleProject(SnapshotGradleProject parent) throws IOException {
+            String name = readString();
+            String description = readString();
+            String path = readString();
+            File rootDir = readFile();
+            File projectDirectory = readFile();
+            File buildDirectory = readFile();
+            File buildScript = readFile();
+            SnapshotGradleProject project = new SnapshotGradleProject(parent, name, description, path, new SnapshotProjectIdentifier(path, rootDir), projectDirectory, buildDirectory, buildScript);
+            if (parent != null) {
+                parent.children.add(project);
+            }
+            int taskCount = this.in.readInt();
+            for (int i = 0; i < taskCount; i++) {
+                String taskName = readString();
+                String taskPath = readString();
+                String buildTreePath = readString();
+                String taskDescription = readString();
+                String displayName = readString();
+                String group = readString();
+                boolean isPublic = this.in.readBoolean();
+                project.tasks.add(new SnapshotGradleTask(project, taskName, taskPath, buildTreePath, taskDescription, displayName, group, isPublic));
+            }
+            return project;
+        }
+
+        private File readFile() throws IOException {
+            String path = readString();
+            return path == null ? null : new File(path);
+        }
+
+        String readString() throws IOException {
+            int index = this.in.readInt();
+            if (index == -1) {
+                return null;
+            } else if (index == -2) {
+                int length = this.in.readInt();
+                if (length < 0) {
+                    throw new IOException("Corrupt model snapshot: invalid string length " + length);
+                }
+                byte[] bytes = new byte[length];
+                this.in.readFully(bytes);
+                String value = new String(bytes, StandardCharsets.UTF_8);
+                this.strings.add(value);
+                return value;
+            } else if (index >= 0 && index < this.strings.size()) {
+                return this.strings.get(index);
+            } else {
+                throw new IOException("Corrupt model snapshot: invalid string reference " + index);
+            }
+        }
+    }
+
+    /**
+     * Copies model elements into the snapshot representation without serializing them. Like the
+     * {@link Reader}, it shares one instance of the repeated strings.
+     */
+    private static final class Projection {
+
+        private final Map<String, String> strings = new HashMap<>();
+
+        EclipseProject projectEclipseProject(EclipseProject source, SnapshotEclipseProject parent, SnapshotGradleProject gradleParent) {
+            SnapshotGradleProject gradleProject = projectGradleProject(source.getGradleProject(), gradleParent);
+            SnapshotEclipseProject project = new SnapshotEclipseProject(parent, string(source.getName()), string(source.getDescription()), source.getProjectDirectory(), gradleProject);
+            for (EclipseProject child : source.getChildren()) {
+                project.children.add(projectEclipseProject(child, project, gradleProject));
+            }
+            return project;
+        }
+
+        private SnapshotGradleProject projectGradleProject(GradleProject source, SnapshotGradleProject parent) {
+            String path = string(source.getPath());
+            File rootDir = source.getProjectIdentifier().getBuildIdentifier().getRootDir();
+            GradleScript buildScript = source.getBuildScript();
+            SnapshotGradleProject project = new SnapshotGradleProject(parent, string(source.getName()), string(source.getDescription()), path, new SnapshotProjectIdentifier(path, rootDir),
+                    source.getProjectDirectory(), source.getBuildDirectory(), buildScript == null ? null : buildScript.getSourceFile());
+            if (parent != null) {
+                parent.children.add(project);
+            }
+            for (GradleTask task : source.getTasks()) {
+                project.tasks.add(new SnapshotGradleTask(project, string(task.getName()), string(task.getPath()), string(Writer.buildTreePath(task)), string(task.getDescription()),
+                        string(task.getDisplayName()), string(task.getGroup()), task.isPublic()));
+            }
+            return project;
+        }
+
+        private String string(String value) {
+            return value == null ? null : this.strings.computeIfAbsent(value, v -> v);
+        }
+    }
+
+    private static UnsupportedMethodException unsupported(String method) {
+        return new UnsupportedMethodException(method + " is not available in the cached model");
+    }
+
+    /**
+     * {@link EclipseProject} restored from a snapshot.
+     */
+    private static final class SnapshotEclipseProject implements EclipseProject {
+
+        private final EclipseProject parent;
+        private final String name;
+        private final String description;
+        private final File projectDirectory;
+        private final GradleProject gradleProject;
+        private final List<EclipseProject> children = new ArrayList<>();
+
+        SnapshotEclipseProject(EclipseProject parent, String name, String description, File projectDirectory, GradleProject gradleProject) {
+            this.parent = parent;
+            this.name = name;
+            this.description = description;
+            this.projectDirectory = projectDirectory;
+            this.gradleProject = gradleProject;
+        }
+
+        @Override
+        public EclipseProject getParent() {
+            return this.parent;
+        }
+
+        @Override
+        public DomainObjectSet<? extends EclipseProject> getChildren() {
+            return ModelUtils.asDomainObjectSet(this.children);
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public String getDescription() {
+            return this.description;
+        }
+
+        @Override
+        public File getProjectDirectory() {
+            return this.projectDirectory;
+        }
+
+        @Override
+        public GradleProject getGradleProject() {
+            return this.gradleProject;
+        }
+
+        @Override
+        public ProjectIdentifier getProjectIdentifier() {
+            return this.gradleProject.getProjectIdentifier();
+        }
+
+        @Override
+        public EclipseJavaSourceSettings getJavaSourceSettings() {
+            throw unsupported("getJavaSourceSettings()");
+        }
+
+        @Override
+        public DomainObjectSet<? extends EclipseExternalDependency> getClasspath() {
+            throw unsupported("getClasspath()");
+        }
+
+        @Override
+        public DomainObjectSet<? extends EclipseProjectNature> getProjectNatures() {
+            throw unsupported("getProjectNatures()");
+        }
+
+        @Override
+        public DomainObjectSet<? extends EclipseBuildCommand> getBuildCommands() {
+            throw unsupported("getBuildCommands()");
+        }
+
+        @Override
+        public DomainObjectSet<? extends EclipseClasspathContainer> getClasspathContainers() {
+            throw unsupported("getClasspathContainers()");
+        }
+
+        @Override
+        public EclipseOutputLocation getOutputLocation() {
+            throw unsupported("getOutputLocation()");
+        }
+
+        @Override
+        public boolean hasAutoBuildTasks() {
+            throw unsupported("hasAutoBuildTasks()");
+        }
+
+        @Override
+        public DomainObjectSet<? extends EclipseProjectDependency> getProjectDependencies() {
+            throw unsupported("getProjectDependencies()");
+        }
+
+        @Override
+        public DomainObjectSet<? extends EclipseSourceDirectory> getSourceDirectories() {
+            throw unsupported("getSourceDirectories()");
+        }
+
+        @Override
+        public DomainObjectSet<? extends EclipseLinkedResource> getLinkedResources() {
+            throw unsupported("getLinkedResources()");
+        }
+    }
+
+    /**
+     * {@link GradleProject} restored from a snapshot.
+     */
+    private static final class SnapshotGradleProject implements GradleProject {
+
+        private final GradleProject parent;
+        private final String name;
+        private final String description;
+        private final String path;
+        private final ProjectIdentifier projectIdentifier;
+        private final File projectDirectory;
+        private final File buildDirectory;
+        private final File buildScript;
+        private final List<GradleProject> children = new ArrayList<>();
+        private final List<GradleTask> tasks = new ArrayList<>();
+
+        SnapshotGradleProject(GradleProject parent, String name, String description, String path, ProjectIdentifier projectIdentifier, File projectDirectory, File buildDirectory, File buildScript) {
+            this.parent = parent;
+            this.name = name;
+            this.description = description;
+            this.path = path;
+            this.projectIdentifier = projectIdentifier;
+            this.projectDirectory = projectDirectory;
+            this.buildDirectory = buildDirectory;
+            this.buildScript = buildScript;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public String getDescription() {
+            return this.description;
+        }
+
+        @Override
+        public ProjectIdentifier getProjectIdentifier() {
+            return this.projectIdentifier;
+        }
+
+        @Override
+        public DomainObjectSet<? extends GradleTask> getTasks() {
+            return ModelUtils.asDomainObjectSet(this.tasks);
+        }
+
+        @Override
+        public GradleProject getParent() {
+            return this.parent;
+        }
+
+        @Override
+        public DomainObjectSet<? extends GradleProject> getChildren() {
+            return ModelUtils.asDomainObjectSet(this.children);
+        }
+
+        @Override
+        public String getPath() {
+            return this.path;
+        }
+
+        @Override
+        public GradleProject findByPath(String path) {
+            if (this.path.equals(path)) {
+                return this;
+            }
+            for (GradleProject child : this.children) {
+                GradleProject result = child.findByPath(path);
+                if (result != null) {
+                    return result;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public GradleScript getBuildScript() {
+            File sourceFile = this.buildScript;
+            return sourceFile == null ? null : () -> sourceFile;
+        }
+
+        @Override
+        public File getBuildDirectory() {
+            return this.buildDirectory;
+        }
+
+        @Override
+        public File getProjectDirectory() {
+            return this.projectDirectory;
+        }
+    }
+
+    /**
+     * {@link GradleTask} restored from a snapshot.
+     */
+    private static final class SnapshotGradleTask implements GradleTask {
+
+        private final GradleProject project;
+        private final String name;
+        private final String path;
+        private final String buildTreePath;
+        private final String description;
+        private final String displayName;
+        private final String group;
+        private final boolean isPublic;
+
+        SnapshotGradleTask(GradleProject project, String name, String path, String buildTreePath, String description, String displayName, String group, boolean isPublic) {
+            this.project = project;
+            this.name = name;
+            this.path = path;
+            this.buildTreePath = buildTreePath;
+            this.description = description;
+            this.displayName = displayName;
+            this.group = group;
+            this.isPublic = isPublic;
+        }
+
+        @Override
+        public GradleProject getProject() {
+            return this.project;
+        }
+
+        @Override
+        public String getPath() {
+            return this.path;
+        }
+
+        @Override
+        public String getBuildTreePath() {
+            if (this.buildTreePath == null) {
+                throw unsupported("getBuildTreePath()");
+            }
+            return this.buildTreePath;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public String getDescription() {
+            return this.description;
+        }
+
+        @Override
+        public String getGroup() {
+            return this.group;
+        }
+
+        @Override
+        public ProjectIdentifier getProjectIdentifier() {
+            return this.project.getProjectIdentifier();
+        }
+
+        @Override
+        public String getDisplayName() {
+            return this.displayName;
+        }
+
+        @Override
+        public boolean isPublic() {
+            return this.isPublic;
+        }
+    }
+
+    /**
+     * {@link ProjectIdentifier} restored from a snapshot.
+     */
+    private static final class SnapshotProjectIdentifier implements ProjectIdentifier {
+
+        private final String projectPath;
+        private final BuildIdentifier buildIdentifier;
+
+        SnapshotProjectIdentifier(String projectPath, File rootDir) {
+            this.projectPath = projectPath;
+            this.buildIdentifier = () -> rootDir;
+        }
+
+        @Override
+        public String getProjectPath() {
+            return this.projectPath;
+        }
+
+        @Override
+        public BuildIdentifier getBuildIdentifier() {
+            return this.buildIdentifier;
+        }
+    }
+
+    /**
+     * {@link BuildEnvironment} restored from a snapshot.
+     */
+    private static final class SnapshotBuildEnvironment implements BuildEnvironment {
+
+        private final BuildIdentifier buildIdentifier;
+        private final GradleEnvironment gradle;
+        private final JavaEnvironment java;
+
+        SnapshotBuildEnvironment(File rootDir, File gradleUserHome, String gradleVersion, File javaHome, List<String> jvmArguments) {
+            this.buildIdentifier = () -> rootDir;
+            this.gradle = new GradleEnvironment() {
+
+                @Override
+                public String getGradleVersion() {
+                    return gradleVersion;
+                }
+
+                @Override
+                public File getGradleUserHome() {
+                    return gradleUserHome;
+                }
+            };
+            this.java = new JavaEnvironment() {
+
+                @Override
+                public List<String> getJvmArguments() {
+                    return jvmArguments;
+                }
+
+                @Override
+                public File getJavaHome() {
+                    return javaHome;
+                }
+            };
+        }
+
+        @Override
+        public BuildIdentifier getBuildIdentifier() {
+            return this.buildIdentifier;
+        }
+
+        @Override
+        public GradleEnvironment getGradle() {
+            return this.gradle;
+        }
+
+        @Override
+        public JavaEnvironment getJava() {
+            return this.java;
+        }
+    }
+}
@@ -9,16 +9,25 @@
  ******************************************************************************/
 package org.eclipse.buildship.core.internal.util.progress;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import org.gradle.tooling.CancellationTokenSource;
 import org.gradle.tooling.ProgressListener;
+import org.gradle.tooling.events.OperationType;
 import org.gradle.tooling.events.ProgressEvent;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
 /**
  * Progress listener canceling the build if the progress monitor is cancelled.
+ * <p/>
+ * The cancellation is checked whenever an event arrives, hence the listener only subscribes to the
+ * coarse-grained operation types which are reported throughout the whole build.
  */
-public class CancellationForwardingListener implements ProgressListener, org.gradle.tooling.events.ProgressListener {
+public class CancellationForwardingListener implements ProgressListener, TypedProgressListener {
+
+    private static final Set<OperationType> OPERATION_TYPES = EnumSet.of(OperationType.GENERIC, OperationType.BUILD_PHASE, OperationType.TASK);
 
     private final IProgressMonitor monitor;
     private final CancellationTokenSource tokenSource;
@@ -29,6 +38,11 @@ public class CancellationForwardingListener implements ProgressListener, org.gra
         this.tokenSource = tokenSource;
     }
 
+    @Override
+    public Set<OperationType> getOperationTypes() {
+        return OPERATION_TYPES;
+    }
+
     @Override
     public void statusChanged(ProgressEvent ignore) {
         forwardCancellation();
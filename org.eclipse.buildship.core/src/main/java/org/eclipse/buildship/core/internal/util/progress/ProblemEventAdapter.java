@@ -22,18 +22,15 @@ import org.gradle.tooling.events.problems.ProblemId;
 import org.gradle.tooling.events.problems.SingleProblemEvent;
 import org.gradle.tooling.events.problems.Solution;
 
-import org.eclipse.core.resources.IMarker;
-import org.eclipse.core.runtime.CoreException;
-
 import org.eclipse.buildship.core.internal.marker.GradleErrorMarker;
 
-public abstract class ProblemEventAdapter implements Consumer<IMarker> {
+public abstract class ProblemEventAdapter implements Consumer<Map<String, Object>> {
 
-    public static Consumer<IMarker> adapterFor(SingleProblemEvent event) {
+    public static Consumer<Map<String, Object>> adapterFor(SingleProblemEvent event) {
         return new SingleProblemEventAdapter(event);
     }
 
-    public static Consumer<IMarker> adapterFor(ProblemDefinition definition, ProblemContext context) {
+    public static Consumer<Map<String, Object>> adapterFor(ProblemDefinition definition, ProblemContext context) {
         return new AggregationProblemEventAdapter(definition, context);
     }
 
@@ -51,26 +48,25 @@ public abstract class ProblemEventAdapter implements Consumer<IMarker> {
     protected abstract String getDocumentationUrl();
 
     @Override
-    public final void accept(IMarker marker) {
-        try {
-            marker.setAttribute(GradleErrorMarker.ATTRIBUTE_ID_DISPLAY_NAME, getId().getDisplayName());
-            marker.setAttribute(GradleErrorMarker.ATTRIBUTE_FQID, fqid(getId()));
-            marker.setAttribute(GradleErrorMarker.ATTRIBUTE_LABEL, getContextualLabel());
-            marker.setAttribute(GradleErrorMarker.ATTRIBUTE_DETAILS, getDetails());
-            List<Solution> solutions = getSolutions();
-            if (solutions != null) {
-                String solutionsString = solutions.stream().map(Solution::getSolution).collect(Collectors.joining(System.getProperty("line.separator")));
-                marker.setAttribute(GradleErrorMarker.ATTRIBUTE_SOLUTIONS, solutionsString);
-            }
-            marker.setAttribute(GradleErrorMarker.ATTRIBUTE_ADDITIONAL_DATA, getAdditionalData());
-            String documentationLink = getDocumentationUrl();
-            if (documentationLink != null) {
-                marker.setAttribute(GradleErrorMarker.ATTRIBUTE_DOCUMENTATION_LINK, documentationLink);
-            }
-        } catch (CoreException e) {
-            throw new RuntimeException(e);
-        }
+    public final void accept(Map<String, Object> markerAttributes) {
+        putIfNotNull(markerAttributes, GradleErrorMarker.ATTRIBUTE_ID_DISPLAY_NAME, getId().getDisplayName());
+        putIfNotNull(markerAttributes, GradleErrorMarker.ATTRIBUTE_FQID, fqid(getId()));
+        putIfNotNull(markerAttributes, GradleErrorMarker.ATTRIBUTE_LABEL, getContextualLabel());
+        putIfNotNull(markerAttributes, GradleErrorMarker.ATTRIBUTE_DETAILS, getDetails());
+        List<Solution> solutions = getSolutions();
+        if (solutions != null) {
+            String solutionsString = solutions.stream().map(Solution::getSolution).collect(Collectors.joining(System.getProperty("line.separator")));
+            markerAttributes.put(GradleErrorMarker.ATTRIBUTE_SOLUTIONS, solutionsString);
+        }
+        putIfNotNull(markerAttributes, GradleErrorMarker.ATTRIBUTE_ADDITIONAL_DATA, getAdditionalData());
+        putIfNotNull(markerAttributes, GradleErrorMarker.ATTRIBUTE_DOCUMENTATION_LINK, getDocumentationUrl());
+    }
 
+    private static void putIfNotNull(Map<String, Object> markerAttributes, String key, String value) {
+        // a null value is equivalent to an absent marker attribute
+        if (value != null) {
+            markerAttributes.put(key, value);
+        }
     }
 
     private static String fqid(ProblemId problemId) {
@@ -9,12 +9,18 @@
  ******************************************************************************/
 package org.eclipse.buildship.core.internal.util.progress;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import org.gradle.tooling.Failure;
+import org.gradle.tooling.events.OperationType;
 import org.gradle.tooling.events.ProgressEvent;
-import org.gradle.tooling.events.ProgressListener;
 import org.gradle.tooling.events.problems.FileLocation;
 import org.gradle.tooling.events.problems.LineInFileLocation;
 import org.gradle.tooling.events.problems.Location;
@@ -26,27 +32,67 @@ import org.gradle.tooling.events.problems.ProblemDefinition;
 import org.gradle.tooling.events.problems.ProblemEvent;
 import org.gradle.tooling.events.problems.SingleProblemEvent;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Strings;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.TuningOptions;
 import org.eclipse.buildship.core.internal.marker.GradleErrorMarker;
 import org.eclipse.buildship.core.internal.workspace.InternalGradleBuild;
 
-public class ProblemsReportingProgressListener implements ProgressListener {
+/**
+ * Converts the problems reported via the Problems API to Gradle error markers.
+ * <p/>
+ * Creating markers one by one fires a resource change event and a Problems view refresh for each
+ * of them. Instead, the problems are buffered and deduplicated, and a background job creates the
+ * markers shortly after the problems arrived, in bounded batches within a single workspace
+ * operation each. At most {@link TuningOptions#getMaxProblemMarkers()} distinct markers are
+ * created per Gradle invocation, the remaining problems are counted in a single summary marker.
+ * <p/>
+ * Callers create the pending markers without delay via {@link #flushMarkers(InternalGradleBuild)}
+ * when the Gradle invocation finishes and discard them via
+ * {@link #discardMarkers(InternalGradleBuild)} before the markers of the build are cleared.
+ */
+public class ProblemsReportingProgressListener implements TypedProgressListener {
+
+    private static final Set<OperationType> OPERATION_TYPES = EnumSet.of(OperationType.PROBLEMS);
+    private static final long FLUSH_DELAY_MILLIS = 250;
+    private static final int BATCH_SIZE = 500;
 
     private InternalGradleBuild gradleBuild;
+    private final int maxMarkers;
+    private final Set<PendingMarker> reportedMarkers;
+    private final List<PendingMarker> pendingMarkers;
+    private int omittedProblems;
+    private final FlushMarkersJob flushJob;
 
     public ProblemsReportingProgressListener(InternalGradleBuild gradleBuild) {
         this.gradleBuild = gradleBuild;
+        this.maxMarkers = TuningOptions.getMaxProblemMarkers();
+        this.reportedMarkers = new HashSet<>();
+        this.pendingMarkers = new ArrayList<>();
+        this.omittedProblems = 0;
+        this.flushJob = new FlushMarkersJob();
+    }
+
+    @Override
+    public Set<OperationType> getOperationTypes() {
+        return OPERATION_TYPES;
     }
 
     @Override
@@ -67,15 +113,15 @@ public class ProblemsReportingProgressListener implements ProgressListener {
 
     private void reportProblem(SingleProblemEvent event) {
         List<Location> locations = event.getLocations();
-        GradleErrorMarker.createProblemMarker(
+        Map<String, Object> attributes = GradleErrorMarker.problemMarkerAttributes(
             toMarkerSeverity(event.getDefinition().getSeverity()),
-            findMarkerResource(locations),
             this.gradleBuild,
             markerMessage(event),
-            stacktraceStringFor(event.getFailure().getFailure()),
-            markerPositionConfiguration(locations),
-            ProblemEventAdapter.adapterFor(event)
+            stacktraceStringFor(event.getFailure().getFailure())
         );
+        addPositionAttributes(attributes, locations);
+        ProblemEventAdapter.adapterFor(event).accept(attributes);
+        addMarker(new PendingMarker(findMarkerResource(locations), attributes));
     }
 
     private void reportProblem(ProblemAggregationEvent event) {
@@ -84,15 +130,66 @@ public class ProblemsReportingProgressListener implements ProgressListener {
         List<ProblemContext> contexts = aggregation.getProblemContext();
         for (ProblemContext context : contexts) {
             List<Location> locations = context.getLocations();
-            GradleErrorMarker.createProblemMarker(
+            Map<String, Object> attributes = GradleErrorMarker.problemMarkerAttributes(
                 toMarkerSeverity(definition.getSeverity()),
-                findMarkerResource(locations),
                 this.gradleBuild,
                 markerMessage(context.getDetails().getDetails(), context.getDetails().getDetails(), definition.getId().getDisplayName()),
-                stacktraceStringFor(context.getFailure().getFailure()),
-                markerPositionConfiguration(locations),
-                ProblemEventAdapter.adapterFor(definition, context)
+                stacktraceStringFor(context.getFailure().getFailure())
             );
+            addPositionAttributes(attributes, locations);
+            ProblemEventAdapter.adapterFor(definition, context).accept(attributes);
+            addMarker(new PendingMarker(findMarkerResource(locations), attributes));
+        }
+    }
+
+    /**
+     * Creates the markers pending for the target build without further delay and waits until
+     * they are created.
+     *
+     * @param gradleBuild the target build
+     */
+    public static void flushMarkers(InternalGradleBuild gradleBuild) {
+        MarkerJobFamily family = new MarkerJobFamily(gradleBuild);
+        Job.getJobManager().wakeUp(family);
+        join(family);
+    }
+
+    /**
+     * Discards the markers pending for the target build and waits until the marker creation in
+     * progress stops.
+     *
+     * @param gradleBuild the target build
+     */
+    public static void discardMarkers(InternalGradleBuild gradleBuild) {
+        MarkerJobFamily family = new MarkerJobFamily(gradleBuild);
+        Job.getJobManager().cancel(family);
+        join(family);
+    }
+
+    private static void join(MarkerJobFamily family) {
+        try {
+            Job.getJobManager().join(family, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void addMarker(PendingMarker marker) {
+        synchronized (this.pendingMarkers) {
+            if (!this.reportedMarkers.add(marker)) {
+                // the same problem was already reported, e.g. by multiple tasks
+                return;
+            } else if (this.reportedMarkers.size() > this.maxMarkers) {
+                this.omittedProblems++;
+            } else {
+                this.pendingMarkers.add(marker);
+            }
+        }
+
+        // a waiting job picks up the new marker, otherwise the job runs (once more) after the delay
+        int state = this.flushJob.getState();
+        if (state != Job.WAITING && state != Job.SLEEPING) {
+            this.flushJob.schedule(FLUSH_DELAY_MILLIS);
         }
     }
 
@@ -111,35 +208,23 @@ public class ProblemsReportingProgressListener implements ProgressListener {
         return ProblemsReportingProgressListener.this.gradleBuild.getBuildConfig().getRootProjectDirectory().getAbsolutePath();
     }
 
-    private Consumer<IMarker> markerPositionConfiguration(List<Location> locations) {
+    private static void addPositionAttributes(Map<String, Object> attributes, List<Location> locations) {
         for (Location location : locations) {
             if (location instanceof OffsetInFileLocation) {
-                return  marker -> {
-                    OffsetInFileLocation offsetLocation = ((OffsetInFileLocation) location);
-                    int startOffset = offsetLocation.getOffset();
-                    int endOffset =  offsetLocation.getLength();
-                    try {
-                        marker.setAttribute(IMarker.CHAR_START, startOffset);
-                        marker.setAttribute(IMarker.CHAR_END, startOffset + endOffset);
-                    } catch (CoreException e) {
-                        throw new RuntimeException(e);
-                    }
-                };
+                OffsetInFileLocation offsetLocation = ((OffsetInFileLocation) location);
+                int startOffset = offsetLocation.getOffset();
+                int endOffset = offsetLocation.getLength();
+                attributes.put(IMarker.CHAR_START, startOffset);
+                attributes.put(IMarker.CHAR_END, startOffset + endOffset);
+                return;
             } else if (location instanceof LineInFileLocation) {
-                return marker -> {
-
-                    Integer lineNumber = lineNumberOf((FileLocation) location);
-                    if (lineNumber >= 0) {
-                        try {
-                            marker.setAttribute(IMarker.LINE_NUMBER, lineNumber);
-                        } catch (CoreException e) {
-                            throw new RuntimeException(e);
-                        }
-                    }
-                };
+                Integer lineNumber = lineNumberOf((FileLocation) location);
+                if (lineNumber >= 0) {
+                    attributes.put(IMarker.LINE_NUMBER, lineNumber);
+                }
+                return;
             }
         }
-         return notUsed -> {};
     }
 
     private static String markerMessage(SingleProblemEvent problem) {
@@ -201,4 +286,144 @@ public class ProblemsReportingProgressListener implements ProgressListener {
             return IMarker.SEVERITY_WARNING;
         }
     }
+
+    /**
+     * A marker to be created, identified by its resource and attributes.
+     */
+    private static final class PendingMarker {
+
+        private final IResource resource;
+        private final Map<String, Object> attributes;
+
+        PendingMarker(IResource resource, Map<String, Object> attributes) {
+            this.resource = resource;
+            this.attributes = attributes;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            PendingMarker other = (PendingMarker) obj;
+            return Objects.equals(this.resource, other.resource) && Objects.equals(this.attributes, other.attributes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.resource, this.attributes);
+        }
+    }
+
+    /**
+     * Job family of the marker creation of a build, identified by the build's root directory.
+     */
+    private static final class MarkerJobFamily {
+
+        private final File rootDir;
+
+        MarkerJobFamily(InternalGradleBuild gradleBuild) {
+            this.rootDir = gradleBuild.getBuildConfig().getRootProjectDirectory();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof MarkerJobFamily && this.rootDir.equals(((MarkerJobFamily) obj).rootDir);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.rootDir.hashCode();
+        }
+    }
+
+    /**
+     * Creates the pending markers in batches, each batch in a single workspace operation.
+     */
+    private final class FlushMarkersJob extends Job {
+
+        private final MarkerJobFamily family;
+        private IMarker summaryMarker;
+        private int summarizedProblems;
+
+        FlushMarkersJob() {
+            super("Create Gradle problem markers");
+            this.family = new MarkerJobFamily(ProblemsReportingProgressListener.this.gradleBuild);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            IWorkspace workspace = ResourcesPlugin.getWorkspace();
+            while (true) {
+                List<PendingMarker> batch;
+                int omitted;
+                synchronized (ProblemsReportingProgressListener.this.pendingMarkers) {
+                    List<PendingMarker> pending = ProblemsReportingProgressListener.this.pendingMarkers;
+                    if (monitor.isCanceled()) {
+                        pending.clear();
+                        return Status.CANCEL_STATUS;
+                    }
+                    batch = new ArrayList<>(pending.subList(0, Math.min(BATCH_SIZE, pending.size())));
+                    pending.subList(0, batch.size()).clear();
+                    omitted = ProblemsReportingProgressListener.this.omittedProblems;
+                }
+                if (batch.isEmpty() && omitted == this.summarizedProblems) {
+                    return Status.OK_STATUS;
+                }
+
+                try {
+                    workspace.run(m -> {
+                        for (PendingMarker marker : batch) {
+                            createMarker(marker.resource, marker.attributes);
+                        }
+                        if (omitted != this.summarizedProblems) {
+                            updateSummaryMarker(omitted);
+                        }
+                    }, null, IWorkspace.AVOID_UPDATE, monitor);
+                } catch (CoreException e) {
+                    CorePlugin.logger().warn("Cannot create Gradle error markers", e);
+                    return Status.OK_STATUS;
+                }
+            }
+        }
+
+        private void updateSummaryMarker(int omitted) {
+            String message = String.format("%d more problems were reported by Gradle. Set the %s system property to display more than %d problems.",
+                    omitted, TuningOptions.MAX_PROBLEM_MARKERS_KEY, ProblemsReportingProgressListener.this.maxMarkers);
+            this.summarizedProblems = omitted;
+            try {
+                if (this.summaryMarker != null && this.summaryMarker.exists()) {
+                    this.summaryMarker.setAttribute(IMarker.MESSAGE, message);
+                } else {
+                    Map<String, Object> attributes = GradleErrorMarker.problemMarkerAttributes(IMarker.SEVERITY_WARNING, ProblemsReportingProgressListener.this.gradleBuild, message, null);
+                    this.summaryMarker = GradleErrorMarker.createProblemMarker(summaryMarkerResource(), attributes);
+                }
+            } catch (CoreException e) {
+                CorePlugin.logger().warn("Cannot create Gradle error marker", e);
+            }
+        }
+
+        private IResource summaryMarkerResource() {
+            File rootDir = ProblemsReportingProgressListener.this.gradleBuild.getBuildConfig().getRootProjectDirectory();
+            Optional<IProject> rootProject = CorePlugin.workspaceOperations().findProjectByLocation(rootDir);
+            return rootProject.isPresent() ? rootProject.get() : ResourcesPlugin.getWorkspace().getRoot();
+        }
+
+        private void createMarker(IResource resource, Map<String, Object> attributes) {
+            try {
+                GradleErrorMarker.createProblemMarker(resource, attributes);
+            } catch (Exception e) {
+                CorePlugin.logger().warn("Cannot create Gradle error marker", e);
+            }
+        }
+
+        @Override
+        public boolean belongsTo(Object family) {
+            return CorePlugin.GRADLE_JOB_FAMILY.equals(family) || this.family.equals(family);
+        }
+    }
 }
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.util.progress;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.gradle.tooling.LongRunningOperation;
+import org.gradle.tooling.events.OperationDescriptor;
+import org.gradle.tooling.events.OperationType;
+import org.gradle.tooling.events.ProgressEvent;
+import org.gradle.tooling.events.ProgressListener;
+import org.gradle.tooling.events.configuration.ProjectConfigurationOperationDescriptor;
+import org.gradle.tooling.events.download.FileDownloadOperationDescriptor;
+import org.gradle.tooling.events.lifecycle.BuildPhaseOperationDescriptor;
+import org.gradle.tooling.events.problems.ProblemEvent;
+import org.gradle.tooling.events.task.TaskOperationDescriptor;
+import org.gradle.tooling.events.test.TestOperationDescriptor;
+import org.gradle.tooling.events.test.TestOutputDescriptor;
+import org.gradle.tooling.events.transform.TransformOperationDescriptor;
+import org.gradle.tooling.events.work.WorkItemOperationDescriptor;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Progress listener forwarding each event only to the {@link TypedProgressListener} instances
+ * subscribed to the event's operation type.
+ * <p/>
+ * The dispatcher is registered once per operation for the union of the operation types of its
+ * listeners. Events of types which no listener requested are not even sent by the Gradle daemon.
+ * Listeners added after the dispatcher was registered, see
+ * {@link #addListener(TypedProgressListener)}, extend the subscription of the operations.
+ */
+public final class ProgressEventDispatcher implements ProgressListener {
+
+    private final Set<OperationType> operationTypes;
+    private final List<LongRunningOperation> operations = new CopyOnWriteArrayList<>();
+    // replaced as a whole when a listener is added, the events are dispatched without locking
+    private volatile Map<OperationType, List<TypedProgressListener>> listenersByType;
+
+    public ProgressEventDispatcher(List<? extends TypedProgressListener> listeners) {
+        this.operationTypes = EnumSet.noneOf(OperationType.class);
+        Map<OperationType, List<TypedProgressListener>> listenersByType = new EnumMap<>(OperationType.class);
+        for (TypedProgressListener listener : listeners) {
+            for (OperationType type : listener.getOperationTypes()) {
+                this.operationTypes.add(type);
+                listenersByType.computeIfAbsent(type, t -> new ArrayList<>()).add(listener);
+            }
+        }
+        listenersByType.replaceAll((type, typeListeners) -> ImmutableList.copyOf(typeListeners));
+        this.listenersByType = listenersByType;
+    }
+
+    /**
+     * Returns the union of the operation types of all listeners.
+     *
+     * @return the operation types to subscribe to
+     */
+    public synchronized Set<OperationType> getOperationTypes() {
+        return Collections.unmodifiableSet(EnumSet.copyOf(this.operationTypes));
+    }
+
+    /**
+     * Registers this dispatcher on the target operation, unless no listener requested any events.
+     *
+     * @param operation the operation to register the dispatcher on
+     */
+    public synchronized void applyTo(LongRunningOperation operation) {
+        this.operations.add(operation);
+        if (!this.operationTypes.isEmpty()) {
+            operation.addProgressListener(this, EnumSet.copyOf(this.operationTypes));
+        }
+    }
+
+    /**
+     * Adds a listener to this dispatcher. The operations the dispatcher is already registered on
+     * are subscribed to the operation types that no other listener requested. Must be called before
+     * the operations are executed.
+     *
+     * @param listener the listener to add
+     */
+    public synchronized void addListener(TypedProgressListener listener) {
+        Set<OperationType> newTypes = EnumSet.noneOf(OperationType.class);
+        Map<OperationType, List<TypedProgressListener>> listenersByType = new EnumMap<>(OperationType.class);
+        listenersByType.putAll(this.listenersByType);
+        for (OperationType type : listener.getOperationTypes()) {
+            if (this.operationTypes.add(type)) {
+                newTypes.add(type);
+            }
+            List<TypedProgressListener> typeListeners = listenersByType.get(type);
+            listenersByType.put(type, typeListeners == null ? ImmutableList.of(listener)
+                    : ImmutableList.<TypedProgressListener>builder().addAll(typeListeners).add(listener).build());
+        }
+        this.listenersByType = listenersByType;
+
+        if (!newTypes.isEmpty()) {
+            for (LongRunningOperation operation : this.operations) {
+                operation.addProgressListener(this, newTypes);
+            }
+        }
+    }
+
+    @Override
+    public void statusChanged(ProgressEvent event) {
+        List<TypedProgressListener> listeners = this.listenersByType.get(operationTypeOf(event));
+        if (listeners != null) {
+            for (TypedProgressListener listener : listeners) {
+                listener.statusChanged(event);
+            }
+        }
+    }
+
+    /**
+     * Determines the operation type of the given event.
+     *
+     * @param event the event to classify
+     * @return the operation type, {@link OperationType#GENERIC} for unknown events
+     */
+    static OperationType operationTypeOf(ProgressEvent event) {
+        if (event instanceof ProblemEvent) {
+            return OperationType.PROBLEMS;
+        }
+
+        OperationDescriptor descriptor = event.getDescriptor();
+        if (descriptor instanceof TaskOperationDescriptor) {
+            return OperationType.TASK;
+        } else if (descriptor instanceof TestOutputDescriptor) {
+            return OperationType.TEST_OUTPUT;
+        } else if (descriptor instanceof TestOperationDescriptor) {
+            return OperationType.TEST;
+        } else if (descriptor instanceof WorkItemOperationDescriptor) {
+            return OperationType.WORK_ITEM;
+        } else if (descriptor instanceof ProjectConfigurationOperationDescriptor) {
+            return OperationType.PROJECT_CONFIGURATION;
+        } else if (descriptor instanceof TransformOperationDescriptor) {
+            return OperationType.TRANSFORM;
+        } else if (descriptor instanceof FileDownloadOperationDescriptor) {
+            return OperationType.FILE_DOWNLOAD;
+        } else if (descriptor instanceof BuildPhaseOperationDescriptor) {
+            return OperationType.BUILD_PHASE;
+        } else {
+            return OperationType.GENERIC;
+        }
+    }
+}
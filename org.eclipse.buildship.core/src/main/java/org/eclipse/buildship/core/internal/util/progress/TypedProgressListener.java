@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.util.progress;
+
+import java.util.Set;
+
+import org.gradle.tooling.events.OperationType;
+import org.gradle.tooling.events.ProgressListener;
+
+/**
+ * Progress listener declaring the operation types it is interested in.
+ * <p/>
+ * The Tooling API only serializes and sends the events of the subscribed operation types, hence
+ * listeners should request as few types as possible.
+ */
+public interface TypedProgressListener extends ProgressListener {
+
+    /**
+     * Returns the operation types whose events this listener should receive.
+     *
+     * @return the operation types, never null
+     */
+    Set<OperationType> getOperationTypes();
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.buildship.core.GradleBuild;
+import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.TuningOptions;
+import org.eclipse.buildship.core.internal.operation.ToolingApiJobResultHandler;
+import org.eclipse.buildship.core.internal.operation.ToolingApiStatus;
+
+/**
+ * Collects the builds to synchronize after build configuration changes and synchronizes them once
+ * no further change arrived for {@link TuningOptions#getAutoSyncQuietPeriod()} milliseconds.
+ * <p/>
+ * Operations touching many build files at once, e.g. switching branches, fire a series of resource
+ * change events. Each build is synchronized only once after such a burst, with one
+ * {@link SynchronizationJob} per root build.
+ */
+final class AutoSyncScheduler extends Job {
+
+    private final Set<GradleBuild> pendingBuilds = new LinkedHashSet<>();
+
+    AutoSyncScheduler() {
+        super("Schedule Gradle project synchronization");
+        setSystem(true);
+    }
+
+    void requestSynchronization(GradleBuild gradleBuild) {
+        synchronized (this.pendingBuilds) {
+            this.pendingBuilds.add(gradleBuild);
+        }
+        // restart the quiet period; if the job is already running, it is scheduled once more afterwards
+        cancel();
+        schedule(TuningOptions.getAutoSyncQuietPeriod());
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        List<GradleBuild> builds;
+        synchronized (this.pendingBuilds) {
+            builds = new ArrayList<>(this.pendingBuilds);
+            this.pendingBuilds.clear();
+        }
+
+        for (GradleBuild gradleBuild : builds) {
+            SynchronizationJob job = new SynchronizationJob(gradleBuild);
+            job.setResultHandler(new ResultHander());
+            job.schedule();
+        }
+        return Status.OK_STATUS;
+    }
+
+    @Override
+    public boolean belongsTo(Object family) {
+        return CorePlugin.GRADLE_JOB_FAMILY.equals(family);
+    }
+
+    /**
+     * Custom result handler that only logs the failure.
+     */
+    private static final class ResultHander implements ToolingApiJobResultHandler<Void> {
+
+        @Override
+        public void onSuccess(Void result) {
+        }
+
+        @Override
+        public void onFailure(ToolingApiStatus status) {
+            CorePlugin.getInstance().getLog().log(status);
+        }
+    }
+}
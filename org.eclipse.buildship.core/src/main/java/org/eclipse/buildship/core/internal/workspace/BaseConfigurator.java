@@ -9,15 +9,22 @@
  ******************************************************************************/
 package org.eclipse.buildship.core.internal.workspace;
 
-import java.io.File;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.model.build.BuildEnvironment;
 import org.gradle.tooling.model.eclipse.EclipseProject;
 
+import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspaceRunnable;
@@ -32,28 +39,47 @@ import org.eclipse.jdt.core.JavaModelException;
 
 import org.eclipse.buildship.core.GradleBuild;
 import org.eclipse.buildship.core.InitializationContext;
-import org.eclipse.buildship.core.ProjectConfigurator;
 import org.eclipse.buildship.core.ProjectContext;
 import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.CoreTraceScopes;
+import org.eclipse.buildship.core.internal.Logger;
+import org.eclipse.buildship.core.internal.TuningOptions;
+import org.eclipse.buildship.core.internal.extension.ConcurrentProjectConfigurator;
+import org.eclipse.buildship.core.internal.preferences.PersistentModel;
 import org.eclipse.buildship.core.internal.util.gradle.GradleVersion;
-import org.eclipse.buildship.core.internal.util.gradle.HierarchicalElementUtils;
-public class BaseConfigurator implements ProjectConfigurator {
+import org.eclipse.buildship.core.internal.workspace.SynchronizationMetrics.Scope;
 
-    private Map<File, EclipseProject> locationToProject;
+/**
+ * Configures the workspace projects from their Gradle models.
+ * <p/>
+ * The Gradle classpath containers are collected in a {@link GradleClasspathContainerBatch} and
+ * assigned to the projects in {@link #finish(InitializationContext, IProgressMonitor)}. Until then,
+ * the configurators running after this one see the Gradle classpath container of the previous
+ * synchronization. The persistent models are only saved after the containers were assigned, so
+ * that the persisted classpath always matches the container. They also record the raw classpath
+ * and the output location the other configurators left, so that the next synchronization can tell
+ * whether the Java configuration was changed outside of Buildship.
+ * <p/>
+ * The configuration of a project is split into a resource phase, which may run concurrently for
+ * different projects, and a Java model phase. The state between the two phases is kept per project.
+ */
+public class BaseConfigurator implements ConcurrentProjectConfigurator {
+
+    private final GradleClasspathContainerBatch classpathContainers = new GradleClasspathContainerBatch();
+    private final Map<IProject, PendingConfiguration> pendingConfigurations = new ConcurrentHashMap<>();
+    private final Map<IProject, PersistentModelBuilder> pendingModels = new LinkedHashMap<>();
+    private final AtomicInteger configuredProjects = new AtomicInteger();
+    private final AtomicInteger skippedProjects = new AtomicInteger();
+    private EclipseProjectIndex projectIndex;
     private GradleVersion gradleVersion;
 
     @Override
     public void init(InitializationContext context, IProgressMonitor monitor) {
-        // TODO (donat) add required model declarations to the project configurator extension point
         GradleBuild gradleBuild = context.getGradleBuild();
         try {
-            Collection<EclipseProject> rootModels = gradleBuild.withConnection(connection -> {
-                this.gradleVersion = GradleVersion.version(connection.getModel(BuildEnvironment.class).getGradle().getGradleVersion());
-                return EclipseModelUtils.queryModels(connection).values();
-            }, monitor);
-            this.locationToProject = rootModels.stream()
-                .flatMap(p -> HierarchicalElementUtils.getAll(p).stream())
-                .collect(Collectors.toMap(p -> p.getProjectDirectory(), p -> p));
+            this.projectIndex = EclipseProjectIndex.from(context, monitor);
+            BuildEnvironment buildEnvironment = ((InternalGradleBuild) gradleBuild).getModelProvider().fetchModel(BuildEnvironment.class, FetchStrategy.LOAD_IF_NOT_CACHED, GradleConnector.newCancellationTokenSource(), monitor);
+            this.gradleVersion = GradleVersion.version(buildEnvironment.getGradle().getGradleVersion());
         } catch (Exception e) {
             context.error("Cannot Query Eclipse model", e);
         }
@@ -61,50 +87,140 @@ public class BaseConfigurator implements ProjectConfigurator {
 
     @Override
     public void configure(ProjectContext context, IProgressMonitor monitor) {
+        SubMonitor progress = SubMonitor.convert(monitor, 2);
+        configureResources(context, progress.newChild(1));
+        configureJavaModel(context, progress.newChild(1));
+    }
+
+    @Override
+    public void configureResources(ProjectContext context, IProgressMonitor monitor) {
+        IProject project = context.getProject();
+        try {
+            this.pendingConfigurations.put(project, configureResources(project, monitor));
+        } catch (CoreException e) {
+            context.error("Failed to configure project " + project.getName(), e);
+        }
+    }
+
+    @Override
+    public void configureJavaModel(ProjectContext context, IProgressMonitor monitor) {
         IProject project = context.getProject();
+        PendingConfiguration configuration = this.pendingConfigurations.remove(project);
+        if (configuration == null) {
+            // the resource configuration failed and was already reported
+            return;
+        }
+
         try {
-            configure(context, project, monitor);
+            configureJavaModel(context, project, configuration, monitor);
         } catch (CoreException e) {
             context.error("Failed to configure project " + project.getName(), e);
         }
     }
 
-    private void configure(ProjectContext context, IProject project, IProgressMonitor monitor) throws CoreException {
+    private PendingConfiguration configureResources(IProject project, IProgressMonitor monitor) throws CoreException {
         SubMonitor progress = SubMonitor.convert(monitor);
-        progress.setWorkRemaining(4);
+        progress.setWorkRemaining(6);
 
         PersistentModelBuilder persistentModel = new PersistentModelBuilder(CorePlugin.modelPersistence().loadModel(project));
         EclipseProject model = lookupEclipseModel(project);
         progress.worked(1);
 
-        persistentModel.gradleVersion(this.gradleVersion);
+        String modelFingerprint;
+        try (Scope scope = SynchronizationMetrics.span("Model fingerprint")) {
+            modelFingerprint = EclipseProjectFingerprint.of(model);
+        }
 
-        BuildScriptLocationUpdater.update(model, persistentModel, progress.newChild(1));
+        // the updaters below restore the workspace state changed by the user, hence they run even if the model didn't change
+        try (Scope scope = SynchronizationMetrics.span("BuildScriptLocationUpdater")) {
+            BuildScriptLocationUpdater.update(model, persistentModel, progress.newChild(1));
+        }
+        try (Scope scope = SynchronizationMetrics.span("LinkedResourcesUpdater")) {
+            LinkedResourcesUpdater.update(project, ImmutableList.copyOf(model.getLinkedResources()), persistentModel, progress.newChild(1));
+        }
+        try (Scope scope = SynchronizationMetrics.span("GradleFolderUpdater")) {
+            GradleFolderUpdater.update(project, model, persistentModel, progress.newChild(1));
+        }
+        try (Scope scope = SynchronizationMetrics.span("ProjectNatureUpdater")) {
+            ProjectNatureUpdater.update(project,  ImmutableList.copyOf(model.getProjectNatures()), persistentModel, progress.newChild(1));
+        }
+        try (Scope scope = SynchronizationMetrics.span("BuildCommandUpdater")) {
+            BuildCommandUpdater.update(project, ImmutableList.copyOf(model.getBuildCommands()), persistentModel, progress.newChild(1));
+        }
+        return new PendingConfiguration(model, modelFingerprint, persistentModel);
+    }
 
-        LinkedResourcesUpdater.update(project, ImmutableList.copyOf(model.getLinkedResources()), persistentModel, progress.newChild(1));
-        GradleFolderUpdater.update(project, model, persistentModel, progress.newChild(1));
-        ProjectNatureUpdater.update(project,  ImmutableList.copyOf(model.getProjectNatures()), persistentModel, progress.newChild(1));
-        BuildCommandUpdater.update(project, ImmutableList.copyOf(model.getBuildCommands()), persistentModel, progress.newChild(1));
+    private void configureJavaModel(ProjectContext context, IProject project, PendingConfiguration configuration, IProgressMonitor monitor) throws CoreException {
+        SubMonitor progress = SubMonitor.convert(monitor);
+        EclipseProject model = configuration.model;
+        PersistentModelBuilder persistentModel = configuration.persistentModel;
 
-        // TODO (donat) extract Java synchronization to external configurator
-        if (isJavaProject(model)) {
-            synchronizeJavaProject(context, model, project, persistentModel, progress);
+        // the Java configuration is the expensive part, it is skipped if it can't have changed
+        boolean upToDate;
+        try (Scope scope = SynchronizationMetrics.span("Up-to-date check")) {
+            upToDate = isUpToDate(project, model, persistentModel.getPrevious(), configuration.modelFingerprint);
+        }
+        if (upToDate) {
+            this.skippedProjects.incrementAndGet();
+            SynchronizationMetrics.projectUpToDate();
+            persistentModel.hasAutoBuildTasks(persistentModel.getPrevious().hasAutoBuildTasks());
         } else {
-            persistentModel.classpath(ImmutableList.<IClasspathEntry>of());
+            this.configuredProjects.incrementAndGet();
+            SynchronizationMetrics.projectReconfigured();
+            persistentModel.gradleVersion(this.gradleVersion);
+            persistentModel.modelFingerprint(configuration.modelFingerprint);
+
+            // TODO (donat) extract Java synchronization to external configurator
+            if (isJavaProject(model)) {
+                synchronizeJavaProject(context, model, project, persistentModel, progress);
+            } else {
+                persistentModel.classpath(ImmutableList.<IClasspathEntry>of());
+            }
+        }
+
+        // the persisted classpath must not be ahead of the assigned container
+        synchronized (this.pendingModels) {
+            this.pendingModels.put(project, persistentModel);
         }
+    }
 
-        CorePlugin.modelPersistence().saveModel(persistentModel.build());
-        CorePlugin.externalLaunchConfigurationManager().updateClasspathProviders(project); // classpath provider depends on persistent model
+    private static void saveModel(PersistentModelBuilder persistentModel) throws CoreException {
+        try (Scope scope = SynchronizationMetrics.span("Save persistent model")) {
+            IProject project = persistentModel.getPrevious().getProject();
+            persistentModel.javaConfigurationFingerprint(javaConfigurationFingerprint(project));
+            PersistentModel model = persistentModel.build();
+            if (!model.equals(persistentModel.getPrevious())) {
+                CorePlugin.modelPersistence().saveModel(model);
+                CorePlugin.externalLaunchConfigurationManager().updateClasspathProviders(project); // classpath provider depends on persistent model
+            }
+        }
+    }
+
+    private static String javaConfigurationFingerprint(IProject project) throws CoreException {
+        if (!project.isAccessible() || !project.hasNature(JavaCore.NATURE_ID)) {
+            return null;
+        }
+
+        IJavaProject javaProject = JavaCore.create(project);
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        // the string representation covers the path, the kind, the access rules and the attributes of the entries
+        for (IClasspathEntry entry : javaProject.getRawClasspath()) {
+            hasher.putString(entry.toString(), Charsets.UTF_8);
+        }
+        hasher.putString(javaProject.getOutputLocation().toPortableString(), Charsets.UTF_8);
+        return hasher.hash().toString();
     }
 
     private void synchronizeJavaProject(final ProjectContext context, final EclipseProject model, final IProject project, final PersistentModelBuilder persistentModel, SubMonitor progress) throws CoreException {
+        // only lock the configured project and the external folders project JDT requires for classpath changes
+        SynchronizationMetrics.workspaceOperation();
         JavaCore.run(new IWorkspaceRunnable() {
             @Override
             public void run(IProgressMonitor monitor) throws CoreException {
                 SubMonitor progress = SubMonitor.convert(monitor);
                 synchronizeJavaProjectInTransaction(context, model, project, persistentModel, progress);
             }
-        }, progress.newChild(1));
+        }, SynchronizationRules.forJavaProject(project), progress.newChild(1));
     }
 
     private void synchronizeJavaProjectInTransaction(final ProjectContext context, final EclipseProject model, final IProject project, PersistentModelBuilder persistentModel, SubMonitor progress) throws JavaModelException, CoreException {
@@ -112,15 +228,53 @@ public class BaseConfigurator implements ProjectConfigurator {
         //old Gradle versions did not expose natures, so we need to add the Java nature explicitly
         CorePlugin.workspaceOperations().addNature(project, JavaCore.NATURE_ID, progress.newChild(1));
         IJavaProject javaProject = JavaCore.create(project);
-        OutputLocationUpdater.update(context, javaProject, model, progress.newChild(1));
-        SourceFolderUpdater.update(javaProject, ImmutableList.copyOf(model.getSourceDirectories()), progress.newChild(1));
-        LibraryFilter.update(javaProject, model, progress.newChild(1));
-        ClasspathContainerUpdater.update(javaProject, model, progress.newChild(1));
-        JavaSourceSettingsUpdater.update(javaProject, model, progress.newChild(1));
-        GradleClasspathContainerUpdater.updateFromModel(javaProject, model, this.locationToProject.values(), persistentModel, progress.newChild(1), context);
+        try (Scope scope = SynchronizationMetrics.span("OutputLocationUpdater")) {
+            OutputLocationUpdater.update(context, javaProject, model, progress.newChild(1));
+        }
+        try (Scope scope = SynchronizationMetrics.span("SourceFolderUpdater")) {
+            SourceFolderUpdater.update(javaProject, ImmutableList.copyOf(model.getSourceDirectories()), progress.newChild(1));
+        }
+        try (Scope scope = SynchronizationMetrics.span("LibraryFilter")) {
+            LibraryFilter.update(javaProject, model, progress.newChild(1));
+        }
+        try (Scope scope = SynchronizationMetrics.span("ClasspathContainerUpdater")) {
+            ClasspathContainerUpdater.update(javaProject, model, progress.newChild(1));
+        }
+        try (Scope scope = SynchronizationMetrics.span("JavaSourceSettingsUpdater")) {
+            JavaSourceSettingsUpdater.update(javaProject, model, progress.newChild(1));
+        }
+        try (Scope scope = SynchronizationMetrics.span("GradleClasspathContainerUpdater")) {
+            GradleClasspathContainerUpdater.updateFromModel(javaProject, model, persistentModel, this.classpathContainers, context);
+        }
+        progress.worked(1);
         persistentModel.hasAutoBuildTasks(model.hasAutoBuildTasks());
     }
 
+    /**
+     * Returns {@code true} if the Java configuration of the project was done from the same model
+     * and with the same Gradle version during the last synchronization and the raw classpath and
+     * the output location of the workspace project didn't change since. Projects for which the
+     * configuration reports problems are never up-to-date as the problem markers are recreated on
+     * each synchronization.
+     */
+    private boolean isUpToDate(IProject project, EclipseProject model, PersistentModel previous, String modelFingerprint) throws CoreException {
+        if (!TuningOptions.isIncrementalSynchronizationEnabled()
+                || !previous.isPresent()
+                || !modelFingerprint.equals(previous.getModelFingerprint())
+                || !Objects.equals(this.gradleVersion, previous.getGradleVersion())
+                || GradleClasspathContainerUpdater.hasUnresolvedDependencies(model)
+                || OutputLocationUpdater.hasNestedOutputLocation(model)) {
+            return false;
+        }
+
+        if (isJavaProject(model)) {
+            // the raw classpath and the output location are compared with the result of the last configuration
+            return previous.getJavaConfigurationFingerprint() != null && previous.getJavaConfigurationFingerprint().equals(javaConfigurationFingerprint(project));
+        } else {
+            return !project.hasNature(JavaCore.NATURE_ID);
+        }
+    }
+
     private boolean isJavaProject(EclipseProject model) {
         return model.getJavaSourceSettings() != null;
     }
@@ -130,11 +284,66 @@ public class BaseConfigurator implements ProjectConfigurator {
         if (path == null) {
             return null;
         }
-        return this.locationToProject.get(path.toFile());
+        return this.projectIndex.findByLocation(path.toFile());
+    }
+
+    @Override
+    public void finish(InitializationContext context, IProgressMonitor monitor) {
+        // left over if the synchronization was interrupted between the two configuration phases
+        this.pendingConfigurations.clear();
+
+        List<PersistentModelBuilder> models;
+        synchronized (this.pendingModels) {
+            models = new ArrayList<>(this.pendingModels.values());
+            this.pendingModels.clear();
+        }
+
+        boolean containersApplied = false;
+        try {
+            try (Scope scope = SynchronizationMetrics.span("Apply Gradle classpath containers")) {
+                this.classpathContainers.apply(monitor);
+            }
+            containersApplied = true;
+        } catch (JavaModelException e) {
+            // the previous persistent models still describe the containers, the projects are reconfigured by the next synchronization
+            context.error("Failed to update Gradle classpath containers", e);
+        }
+
+        if (containersApplied) {
+            for (PersistentModelBuilder model : models) {
+                try {
+                    saveModel(model);
+                } catch (CoreException e) {
+                    context.error("Failed to save the persistent model of project " + model.getPrevious().getProject().getName(), e);
+                }
+            }
+        }
+
+        Logger logger = CorePlugin.logger();
+        if (logger.isScopeEnabled(CoreTraceScopes.SYNCHRONIZATION)) {
+            logger.trace(CoreTraceScopes.SYNCHRONIZATION, String.format("Synchronized %s: Java configuration of %d project(s) updated, %d project(s) skipped as up-to-date",
+                    ((InternalGradleBuild) context.getGradleBuild()).getBuildConfig().getRootProjectDirectory(), this.configuredProjects.get(), this.skippedProjects.get()));
+        }
     }
 
     @Override
     public void unconfigure(ProjectContext context, IProgressMonitor monitor) {
         CorePlugin.modelPersistence().deleteModel(context.getProject());
     }
+
+    /**
+     * The state of a project configuration between the resource and the Java model phase.
+     */
+    private static final class PendingConfiguration {
+
+        private final EclipseProject model;
+        private final String modelFingerprint;
+        private final PersistentModelBuilder persistentModel;
+
+        PendingConfiguration(EclipseProject model, String modelFingerprint, PersistentModelBuilder persistentModel) {
+            this.model = model;
+            this.modelFingerprint = modelFingerprint;
+            this.persistentModel = persistentModel;
+        }
+    }
 }
@@ -76,6 +76,7 @@ final class ClasspathContainerUpdater {
     private void updateContainers(IProgressMonitor monitor) throws CoreException {
         List<IClasspathEntry> classpath = Lists.newArrayList(this.project.getRawClasspath());
         updateContainers(classpath);
+        SynchronizationMetrics.classpathUpdate();
         this.project.setRawClasspath(classpath.toArray(new IClasspathEntry[classpath.size()]), monitor);
     }
 
@@ -50,7 +50,7 @@ public final class ConnectionAwareLauncherProxy implements InvocationHandler {
 
     public static BuildLauncher newBuildLauncher(GradleArguments gradleArguments, GradleProgressAttributes progressAttributes) {
         ProjectConnection connection = openConnection(gradleArguments);
-        BuildEnvironment buildEnvironment = connection.getModel(BuildEnvironment.class);
+        BuildEnvironment buildEnvironment = gradleArguments.getBuildEnvironment(connection);
         BuildLauncher launcher = connection.newBuild();
         describeAndApplyConfiguration(launcher, gradleArguments, buildEnvironment, progressAttributes);
         return (BuildLauncher) newProxyInstance(connection, launcher);
@@ -58,7 +58,7 @@ public final class ConnectionAwareLauncherProxy implements InvocationHandler {
 
     public static TestLauncher newTestLauncher(GradleArguments gradleArguments, GradleProgressAttributes progressAttributes) {
         ProjectConnection connection = openConnection(gradleArguments);
-        BuildEnvironment buildEnvironment = connection.getModel(BuildEnvironment.class);
+        BuildEnvironment buildEnvironment = gradleArguments.getBuildEnvironment(connection);
         TestLauncher launcher = connection.newTestLauncher();
         describeAndApplyConfiguration(launcher, gradleArguments, buildEnvironment, progressAttributes);
         return (TestLauncher) newProxyInstance(connection, launcher);
@@ -35,7 +35,8 @@ import org.eclipse.buildship.core.internal.configuration.ProjectConfiguration;
  */
 public final class DefaultGradleWorkspace implements InternalGradleWorkspace {
 
-    private final LoadingCache<BuildConfiguration, InternalGradleBuild> cache = CacheBuilder.newBuilder().build(new CacheLoader<BuildConfiguration, InternalGradleBuild>() {
+    // builds which are not referenced elsewhere are released along with their model caches if the heap runs low
+    private final LoadingCache<BuildConfiguration, InternalGradleBuild> cache = CacheBuilder.newBuilder().softValues().build(new CacheLoader<BuildConfiguration, InternalGradleBuild>() {
 
         @Override
         public InternalGradleBuild load(BuildConfiguration buildConfiguration) {
@@ -9,8 +9,13 @@
  ******************************************************************************/
 package org.eclipse.buildship.core.internal.workspace;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.gradle.tooling.BuildAction;
 import org.gradle.tooling.CancellationTokenSource;
@@ -19,61 +24,175 @@ import org.gradle.tooling.model.build.BuildEnvironment;
 import org.gradle.tooling.model.eclipse.EclipseProject;
 
 import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
 import org.eclipse.buildship.core.internal.GradlePluginsRuntimeException;
+import org.eclipse.buildship.core.internal.ModelCaches;
+import org.eclipse.buildship.core.internal.TuningOptions;
+import org.eclipse.buildship.core.internal.util.gradle.BuildEnvironmentCache;
 import org.eclipse.buildship.core.internal.util.gradle.GradleVersion;
 import org.eclipse.buildship.core.internal.util.gradle.IdeFriendlyClassLoading;
+import org.eclipse.buildship.core.internal.util.gradle.ModelSnapshot;
 
 /**
  * Default implementation of {@link ModelProvider}.
+ * <p/>
+ * The {@link BuildEnvironment} and the composite {@link EclipseProject} models are also stored in a
+ * {@link ModelSnapshotCache} once per synchronization, when the synchronization releases its models.
+ * The snapshot is only served by
+ * {@link #fetchModelSnapshot(FetchStrategy, CancellationTokenSource, IProgressMonitor)}: if the
+ * models are not yet loaded in memory (e.g. right after a workbench restart), then the request is
+ * answered from the snapshot without connecting to Gradle. The other methods only return complete
+ * models.
+ * <p/>
+ * After a synchronization the cached {@link EclipseProject} models are reduced to the same
+ * projection, see {@link #releaseSynchronizationModels()}.
  *
  * @author Stefan Oehme
  */
 public final class DefaultModelProvider implements ModelProvider {
 
     private final InternalGradleBuild gradleBuild;
-    private final Cache<Object, Object> cache = CacheBuilder.newBuilder().build();
+    private final Cache<Object, Object> cache;
+    private final ModelSnapshotCache snapshotCache;
+    private final Set<Class<?>> synchronizationModels = ConcurrentHashMap.newKeySet();
+    private volatile boolean snapshotRestoreAttempted;
 
     public DefaultModelProvider(InternalGradleBuild gradleBuild) {
         this.gradleBuild = gradleBuild;
+        this.cache = ModelCaches.newCache("Models of " + gradleBuild.getBuildConfig().getRootProjectDirectory());
+        this.snapshotCache = ModelSnapshotCache.forBuild(gradleBuild.getBuildConfig());
     }
 
     @Override
     public <T> T fetchModel(final Class<T> model, FetchStrategy strategy, CancellationTokenSource tokenSource, IProgressMonitor monitor) {
-        return executeOperation(() ->
-            DefaultModelProvider.this.gradleBuild.withConnection(connection -> {
+        if (model == BuildEnvironment.class && strategy == FetchStrategy.FORCE_RELOAD) {
+            // the connections answer the build environment from a cache shared across builds
+            BuildEnvironmentCache.invalidate(this.gradleBuild.getBuildConfig().getRootProjectDirectory());
+        }
+        return executeOperation(() -> {
+            T result = DefaultModelProvider.this.gradleBuild.withConnection(connection -> {
                 return queryModel(model, connection);
-            }, tokenSource, monitor),
-        strategy, model);
+            }, tokenSource, monitor);
+            return result;
+        }, strategy, model);
     }
 
     @Override
     public <T>  Map<String, T> fetchModels(Class<T> model, FetchStrategy strategy, CancellationTokenSource tokenSource, IProgressMonitor monitor) {
-        return executeOperation(() ->
-            DefaultModelProvider.this.gradleBuild.withConnection(connection -> {
+        return executeOperation(() -> {
+            Map<String, T> result = DefaultModelProvider.this.gradleBuild.withConnection(connection -> {
                 BuildEnvironment buildEnvironment = connection.getModel(BuildEnvironment.class);
                 GradleVersion gradleVersion = GradleVersion.version(buildEnvironment.getGradle().getGradleVersion());
                 if (gradleVersion.supportsCompositeBuilds()) {
-                    return queryCompositeModel(model, connection);
+                    return queryCompositeModel(model, connection, gradleVersion);
                 } else {
                     return ImmutableMap.of(":", queryModel(model, connection));
                 }
-            }, tokenSource, monitor),
-        strategy, model);
+            }, tokenSource, monitor);
+            if (model == EclipseProject.class) {
+                // the complete models supersede the compact ones
+                this.cache.invalidate(ModelSnapshot.class);
+            }
+            return result;
+        }, strategy, model);
+    }
+
+    @Override
+    public ModelSnapshot fetchModelSnapshot(FetchStrategy strategy, CancellationTokenSource tokenSource, IProgressMonitor monitor) {
+        if (strategy != FetchStrategy.FORCE_RELOAD) {
+            BuildEnvironment buildEnvironment = (BuildEnvironment) this.cache.getIfPresent(BuildEnvironment.class);
+            @SuppressWarnings("unchecked")
+            Map<String, EclipseProject> eclipseProjects = (Map<String, EclipseProject>) this.cache.getIfPresent(EclipseProject.class);
+            if (buildEnvironment != null && eclipseProjects != null) {
+                return ModelSnapshot.of(buildEnvironment, eclipseProjects);
+            }
+
+            restoreSnapshotIfMissing();
+            ModelSnapshot snapshot = (ModelSnapshot) this.cache.getIfPresent(ModelSnapshot.class);
+            if (snapshot != null || strategy == FetchStrategy.FROM_CACHE_ONLY) {
+                return snapshot;
+            }
+        }
+
+        BuildEnvironment buildEnvironment = fetchModel(BuildEnvironment.class, strategy, tokenSource, monitor);
+        Map<String, EclipseProject> eclipseProjects = fetchModels(EclipseProject.class, strategy, tokenSource, monitor);
+        return ModelSnapshot.of(buildEnvironment, eclipseProjects);
+    }
+
+    @Override
+    public Map<Class<?>, Map<String, ?>> fetchEclipseProjectAndRunSyncTasks(final Collection<Class<?>> additionalModels, final CancellationTokenSource tokenSource, final IProgressMonitor monitor) {
+        Map<Class<?>, Map<String, ?>> result = new LinkedHashMap<>();
+        Map<String, EclipseProject> eclipseProjects = executeOperation(() -> {
+            Map<Class<?>, Map<String, ?>> models = DefaultModelProvider.this.gradleBuild.withConnection(connection -> EclipseModelUtils.runTasksAndQueryModels(connection, additionalModels), tokenSource, monitor);
+            models.forEach((modelType, model) -> {
+                if (modelType != EclipseProject.class) {
+                    this.cache.put(modelType, model);
+                    this.synchronizationModels.add(modelType);
+                    result.put(modelType, model);
+                }
+            });
+            @SuppressWarnings("unchecked")
+            Map<String, EclipseProject> projects = (Map<String, EclipseProject>) models.get(EclipseProject.class);
+            this.cache.invalidate(ModelSnapshot.class);
+            return projects;
+        }, FetchStrategy.FORCE_RELOAD, EclipseProject.class);
+        result.put(EclipseProject.class, eclipseProjects);
+        return result;
     }
 
     @Override
-    public  Map<String, EclipseProject> fetchEclipseProjectAndRunSyncTasks(final CancellationTokenSource tokenSource, final IProgressMonitor monitor) {
-        return executeOperation(() ->
-            // TODO (donat) Right now, project configurators can only get cached model query results if they invoke the same exact actions
-            // used below. We should fix this by letting configurators declare their required models.
-            DefaultModelProvider.this.gradleBuild.withConnection(connection -> EclipseModelUtils.runTasksAndQueryModels(connection), tokenSource, monitor),
-        FetchStrategy.FORCE_RELOAD, EclipseProject.class);
+    public void releaseSynchronizationModels() {
+        this.cache.invalidateAll(this.synchronizationModels);
+        this.synchronizationModels.clear();
+
+        BuildEnvironment buildEnvironment = (BuildEnvironment) this.cache.getIfPresent(BuildEnvironment.class);
+        @SuppressWarnings("unchecked")
+        Map<String, EclipseProject> eclipseProjects = (Map<String, EclipseProject>) this.cache.getIfPresent(EclipseProject.class);
+        if (eclipseProjects != null && buildEnvironment != null) {
+            // written once per synchronization instead of on every model load
+            storeSnapshot(buildEnvironment, eclipseProjects);
+        }
+        if (eclipseProjects != null) {
+            // a concurrent reload replaces the entry, in which case the new models are kept
+            if (this.cache.asMap().remove(EclipseProject.class, eclipseProjects) && buildEnvironment != null) {
+                this.cache.put(ModelSnapshot.class, ModelSnapshot.of(buildEnvironment, ModelSnapshot.compact(eclipseProjects)));
+            }
+        }
+    }
+
+    private void restoreSnapshotIfMissing() {
+        // the snapshot is read at most once: afterwards the in-memory cache is at least as recent
+        if (this.snapshotRestoreAttempted || !TuningOptions.isModelSnapshotEnabled()) {
+            return;
+        }
+
+        synchronized (this.snapshotCache) {
+            if (this.snapshotRestoreAttempted) {
+                return;
+            }
+            this.snapshotRestoreAttempted = true;
+            if (this.cache.getIfPresent(ModelSnapshot.class) == null && this.cache.getIfPresent(EclipseProject.class) == null) {
+                Optional<ModelSnapshot> snapshot = this.snapshotCache.load();
+                if (snapshot.isPresent()) {
+                    this.cache.asMap().putIfAbsent(ModelSnapshot.class, snapshot.get());
+                }
+            }
+        }
+    }
+
+    private void storeSnapshot(BuildEnvironment buildEnvironment, Map<String, EclipseProject> eclipseProjects) {
+        if (!TuningOptions.isModelSnapshotEnabled()) {
+            return;
+        }
+
+        synchronized (this.snapshotCache) {
+            this.snapshotRestoreAttempted = true;
+            this.snapshotCache.store(buildEnvironment, eclipseProjects);
+        }
     }
 
     private <T> T executeOperation(final Callable<T> operation, FetchStrategy fetchStrategy, Class<?> cacheKey) {
@@ -106,8 +225,8 @@ public final class DefaultModelProvider implements ModelProvider {
         }
     }
 
-    private static <T> Map<String, T> queryCompositeModel(Class<T> model, ProjectConnection connection) {
-        BuildAction<Map<String, T>> query = IdeFriendlyClassLoading.loadCompositeModelQuery(model);
+    private static <T> Map<String, T> queryCompositeModel(Class<T> model, ProjectConnection connection, GradleVersion gradleVersion) {
+        BuildAction<Map<String, T>> query = IdeFriendlyClassLoading.loadCompositeModelQuery(model, gradleVersion);
         return connection.action(query).run();
     }
 
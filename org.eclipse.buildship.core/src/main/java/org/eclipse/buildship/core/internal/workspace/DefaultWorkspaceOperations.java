@@ -45,35 +45,21 @@ import org.eclipse.buildship.core.internal.configuration.GradleProjectNature;
  */
 public final class DefaultWorkspaceOperations implements WorkspaceOperations {
 
+    private final WorkspaceProjectIndex projectIndex = new WorkspaceProjectIndex();
+
     @Override
     public ImmutableList<IProject> getAllProjects() {
         return ImmutableList.copyOf(ResourcesPlugin.getWorkspace().getRoot().getProjects());
     }
 
     @Override
-    public Optional<IProject> findProjectByName(final String name) {
-        return FluentIterable.from(getAllProjects()).firstMatch(new Predicate<IProject>() {
-
-            @Override
-            public boolean apply(IProject project) {
-                return project.getName().equals(name);
-            }
-        });
+    public Optional<IProject> findProjectByName(String name) {
+        return this.projectIndex.findByName(name);
     }
 
     @Override
-    public Optional<IProject> findProjectByLocation(final File directory) {
-        return FluentIterable.from(getAllProjects()).firstMatch(new Predicate<IProject>() {
-
-            @Override
-            public boolean apply(IProject project) {
-                IPath location = project.getLocation();
-                // since Eclipse 3.4 projects can be non-local and they could return null locations
-                // for Buildship this is not the case, Gradle projects are always available on the
-                // local file system
-                return location != null && location.toFile().equals(directory);
-            }
-        });
+    public Optional<IProject> findProjectByLocation(File directory) {
+        return this.projectIndex.findByLocation(directory);
     }
 
     @Override
@@ -111,6 +97,7 @@ public final class DefaultWorkspaceOperations implements WorkspaceOperations {
             projectDescription.setComment(String.format("Project %s created by Buildship.", name));
             IProject project = workspace.getRoot().getProject(name);
             project.create(projectDescription, progress.newChild(1));
+            this.projectIndex.add(project);
 
             // open the project
             project.open(IResource.NONE, progress.newChild(1));
@@ -143,6 +130,7 @@ public final class DefaultWorkspaceOperations implements WorkspaceOperations {
             IWorkspace workspace = ResourcesPlugin.getWorkspace();
             IProject project = workspace.getRoot().getProject(projectName);
             project.create(projectDescription, progress.newChild(1));
+            this.projectIndex.add(project);
 
             // open the project
             project.open(IResource.NONE, progress.newChild(1));
@@ -360,7 +348,10 @@ public final class DefaultWorkspaceOperations implements WorkspaceOperations {
         } catch (CoreException e) {
             throw new GradlePluginsRuntimeException(e);
         }
-        return findProjectByName(newName).get();
+        IProject renamedProject = ResourcesPlugin.getWorkspace().getRoot().getProject(newName);
+        this.projectIndex.remove(project);
+        this.projectIndex.add(renamedProject);
+        return renamedProject;
     }
 
     @Override
@@ -368,4 +359,11 @@ public final class DefaultWorkspaceOperations implements WorkspaceOperations {
         return Platform.getBundle("org.eclipse.wst.common.core") != null;
     }
 
+    /**
+     * Unregisters the resource change listener maintaining the project index.
+     */
+    public void close() {
+        this.projectIndex.close();
+    }
+
 }
@@ -9,6 +9,8 @@
  ******************************************************************************/
 package org.eclipse.buildship.core.internal.workspace;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -53,17 +55,29 @@ public final class EclipseModelUtils {
         }
     }
 
-    public static Map<String, EclipseProject> runTasksAndQueryModels(ProjectConnection connection) {
+    /**
+     * Runs the synchronization tasks and queries the {@link EclipseProject} model along with the
+     * additional models for all builds of the composite. If the Gradle version allows, everything
+     * is fetched in a single build action.
+     *
+     * @return the models per build path, keyed by model type
+     */
+    public static Map<Class<?>, Map<String, ?>> runTasksAndQueryModels(ProjectConnection connection, Collection<Class<?>> additionalModels) {
+        List<Class<?>> models = additionalModels.stream().filter(m -> m != EclipseProject.class).distinct().collect(Collectors.toList());
         BuildEnvironment buildEnvironment = connection.getModel(BuildEnvironment.class);
         GradleVersion gradleVersion = GradleVersion.version(buildEnvironment.getGradle().getGradleVersion());
         if (gradleVersion.supportsSendingReservedProjects()) {
-            return runTasksAndQueryCompositeModelWithRuntimInfo(connection, gradleVersion);
+            return runTasksAndQueryCompositeModelWithRuntimInfo(connection, gradleVersion, models);
         } else if (gradleVersion.supportsSyncTasksInEclipsePluginConfig()) {
-            return runTasksAndQueryCompositeModel(connection, gradleVersion);
+            return runTasksAndQueryCompositeModel(connection, gradleVersion, models);
         } else if (gradleVersion.supportsCompositeBuilds()) {
-            return queryCompositeModel(EclipseProject.class, connection);
+            BuildAction<List<Object>> query = newModelQueries(IdeFriendlyClassLoading.loadCompositeModelQuery(EclipseProject.class), models, gradleVersion);
+            return collectModels(models, connection.action(query).run());
         } else {
-            return ImmutableMap.of(":", queryModel(EclipseProject.class, connection));
+            ImmutableMap.Builder<Class<?>, Map<String, ?>> result = ImmutableMap.builder();
+            result.put(EclipseProject.class, ImmutableMap.of(":", queryModel(EclipseProject.class, connection)));
+            models.forEach(m -> result.put(m, ImmutableMap.of(":", queryModel(m, connection))));
+            return result.build();
         }
     }
 
@@ -75,7 +89,7 @@ public final class EclipseModelUtils {
     }
 
 
-    private static Map<String, EclipseProject> runTasksAndQueryCompositeModelWithRuntimInfo(ProjectConnection connection, GradleVersion gradleVersion) {
+    private static Map<Class<?>, Map<String, ?>> runTasksAndQueryCompositeModelWithRuntimInfo(ProjectConnection connection, GradleVersion gradleVersion, List<Class<?>> additionalModels) {
         EclipseRuntimeConfigurer buildEclipseRuntimeConfigurer = buildEclipseRuntimeConfigurer();
         try {
             BuildAction<Void> runSyncTasksAction = IdeFriendlyClassLoading.loadClass(TellGradleToRunSynchronizationTasks.class);
@@ -84,10 +98,10 @@ public final class EclipseModelUtils {
                 BuildAction<?> runClosedProjectTasksAction = new CompositeModelQuery<>(RunClosedProjectBuildDependencies.class, EclipseRuntime.class, buildEclipseRuntimeConfigurer);
                 BuildActionSequence projectsLoadedAction = new BuildActionSequence(runSyncTasksAction, runClosedProjectTasksAction);
                 return runPhasedModelQuery(connection, gradleVersion, projectsLoadedAction, IdeFriendlyClassLoading
-                        .loadCompositeModelQuery(EclipseProject.class, EclipseRuntime.class,buildEclipseRuntimeConfigurer));
+                        .loadCompositeModelQuery(EclipseProject.class, EclipseRuntime.class,buildEclipseRuntimeConfigurer, gradleVersion), additionalModels);
             }
             return runPhasedModelQuery(connection, gradleVersion, runSyncTasksAction, IdeFriendlyClassLoading
-                    .loadCompositeModelQuery(EclipseProject.class, EclipseRuntime.class, buildEclipseRuntimeConfigurer));
+                    .loadCompositeModelQuery(EclipseProject.class, EclipseRuntime.class, buildEclipseRuntimeConfigurer, gradleVersion), additionalModels);
         } catch (BuildActionFailureException e) {
             // For gradle >= 5.5 project name deduplication happens in gradle. In case gradle can't deduplicate then create an UnsupportedConfigurationException
             // to match the behaviour with previous gradle versions.
@@ -101,19 +115,44 @@ public final class EclipseModelUtils {
         }
     }
 
-    private static Map<String, EclipseProject> runTasksAndQueryCompositeModel(ProjectConnection connection, GradleVersion gradleVersion) {
-        return runPhasedModelQuery(connection, gradleVersion, IdeFriendlyClassLoading.loadClass(TellGradleToRunSynchronizationTasks.class), IdeFriendlyClassLoading.loadCompositeModelQuery(EclipseProject.class));
+    private static Map<Class<?>, Map<String, ?>> runTasksAndQueryCompositeModel(ProjectConnection connection, GradleVersion gradleVersion, List<Class<?>> additionalModels) {
+        return runPhasedModelQuery(connection, gradleVersion, IdeFriendlyClassLoading.loadClass(TellGradleToRunSynchronizationTasks.class), IdeFriendlyClassLoading.loadCompositeModelQuery(EclipseProject.class), additionalModels);
     }
 
-    private static Map<String, EclipseProject> runPhasedModelQuery(ProjectConnection connection, GradleVersion gradleVersion,
-            BuildAction<Void> projectsLoadedAction, BuildAction<Map<String, EclipseProject>> query) {
-        SimpleIntermediateResultHandler<Map<String, EclipseProject>> resultHandler = new SimpleIntermediateResultHandler<>();
+    private static Map<Class<?>, Map<String, ?>> runPhasedModelQuery(ProjectConnection connection, GradleVersion gradleVersion,
+            BuildAction<Void> projectsLoadedAction, BuildAction<Map<String, EclipseProject>> eclipseProjectQuery, List<Class<?>> additionalModels) {
+        if (additionalModels.isEmpty()) {
+            // run the plain query so that configurators executing the same build action get a cache hit
+            SimpleIntermediateResultHandler<Map<String, EclipseProject>> resultHandler = new SimpleIntermediateResultHandler<>();
+            connection.action().projectsLoaded(projectsLoadedAction, new SimpleIntermediateResultHandler<Void>()).buildFinished(eclipseProjectQuery, resultHandler).build().forTasks().run();
+            return ImmutableMap.of(EclipseProject.class, resultHandler.getValue());
+        }
+
+        SimpleIntermediateResultHandler<List<Object>> resultHandler = new SimpleIntermediateResultHandler<>();
+        BuildAction<List<Object>> query = newModelQueries(eclipseProjectQuery, additionalModels, gradleVersion);
         connection.action().projectsLoaded(projectsLoadedAction, new SimpleIntermediateResultHandler<Void>()).buildFinished(query, resultHandler).build().forTasks().run();
-        return resultHandler.getValue();
+        return collectModels(additionalModels, resultHandler.getValue());
+    }
+
+    private static BuildAction<List<Object>> newModelQueries(BuildAction<Map<String, EclipseProject>> eclipseProjectQuery, List<Class<?>> additionalModels, GradleVersion gradleVersion) {
+        List<BuildAction<?>> queries = new ArrayList<>(additionalModels.size() + 1);
+        queries.add(eclipseProjectQuery);
+        additionalModels.forEach(m -> queries.add(IdeFriendlyClassLoading.loadCompositeModelQuery(m, gradleVersion)));
+        return IdeFriendlyClassLoading.loadBuildActionList(queries.toArray(new BuildAction<?>[0]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Class<?>, Map<String, ?>> collectModels(List<Class<?>> additionalModels, List<Object> queryResults) {
+        ImmutableMap.Builder<Class<?>, Map<String, ?>> result = ImmutableMap.builder();
+        result.put(EclipseProject.class, (Map<String, ?>) queryResults.get(0));
+        for (int i = 0; i < additionalModels.size(); i++) {
+            result.put(additionalModels.get(i), (Map<String, ?>) queryResults.get(i + 1));
+        }
+        return result.build();
     }
 
     private static Map<String, EclipseProject> queryCompositeModelWithRuntimInfo(ProjectConnection connection, GradleVersion gradleVersion) {
-        BuildAction<Map<String, EclipseProject>> query = IdeFriendlyClassLoading.loadCompositeModelQuery(EclipseProject.class, EclipseRuntime.class, buildEclipseRuntimeConfigurer());
+        BuildAction<Map<String, EclipseProject>> query = IdeFriendlyClassLoading.loadCompositeModelQuery(EclipseProject.class, EclipseRuntime.class, buildEclipseRuntimeConfigurer(), gradleVersion);
         return connection.action(query).run();
     }
 
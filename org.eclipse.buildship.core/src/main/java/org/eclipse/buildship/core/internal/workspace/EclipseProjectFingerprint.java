@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.io.File;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.gradle.tooling.model.GradleProject;
+import org.gradle.tooling.model.GradleScript;
+import org.gradle.tooling.model.eclipse.AccessRule;
+import org.gradle.tooling.model.eclipse.ClasspathAttribute;
+import org.gradle.tooling.model.eclipse.EclipseBuildCommand;
+import org.gradle.tooling.model.eclipse.EclipseClasspathContainer;
+import org.gradle.tooling.model.eclipse.EclipseClasspathEntry;
+import org.gradle.tooling.model.eclipse.EclipseExternalDependency;
+import org.gradle.tooling.model.eclipse.EclipseJavaSourceSettings;
+import org.gradle.tooling.model.eclipse.EclipseLinkedResource;
+import org.gradle.tooling.model.eclipse.EclipseProject;
+import org.gradle.tooling.model.eclipse.EclipseProjectDependency;
+import org.gradle.tooling.model.eclipse.EclipseProjectNature;
+import org.gradle.tooling.model.eclipse.EclipseSourceDirectory;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Computes a stable fingerprint of the {@link EclipseProject} model elements used by the
+ * {@link BaseConfigurator} to configure a workspace project.
+ * <p/>
+ * If two models have the same fingerprint then the configuration produces the same result, hence
+ * the configuration can be skipped. The fingerprint also covers the existence of the external
+ * dependencies as the classpath container depends on it.
+ */
+final class EclipseProjectFingerprint {
+
+    // increment if the set of hashed model elements changes
+    private static final int VERSION = 1;
+
+    private final Hasher hasher;
+
+    private EclipseProjectFingerprint() {
+        this.hasher = Hashing.murmur3_128().newHasher();
+        this.hasher.putInt(VERSION);
+    }
+
+    static String of(EclipseProject project) {
+        EclipseProjectFingerprint fingerprint = new EclipseProjectFingerprint();
+        fingerprint.putProject(project);
+        return fingerprint.hasher.hash().toString();
+    }
+
+    private void putProject(EclipseProject project) {
+        putString(project.getName());
+        putFile(project.getProjectDirectory());
+        putGradleProject(project.getGradleProject());
+
+        this.hasher.putInt(project.getChildren().size());
+        for (EclipseProject child : project.getChildren()) {
+            putFile(child.getProjectDirectory());
+        }
+
+        this.hasher.putInt(project.getLinkedResources().size());
+        for (EclipseLinkedResource linkedResource : project.getLinkedResources()) {
+            putString(linkedResource.getName());
+            putString(linkedResource.getType());
+            putString(linkedResource.getLocation());
+            putString(linkedResource.getLocationUri());
+        }
+
+        this.hasher.putInt(project.getProjectNatures().size());
+        for (EclipseProjectNature nature : project.getProjectNatures()) {
+            putString(nature.getId());
+        }
+
+        this.hasher.putInt(project.getBuildCommands().size());
+        for (EclipseBuildCommand buildCommand : project.getBuildCommands()) {
+            putString(buildCommand.getName());
+            putMap(buildCommand.getArguments());
+        }
+
+        putJavaSourceSettings(project.getJavaSourceSettings());
+        putString(project.getOutputLocation().getPath());
+
+        this.hasher.putInt(project.getSourceDirectories().size());
+        for (EclipseSourceDirectory sourceDirectory : project.getSourceDirectories()) {
+            putString(sourceDirectory.getPath());
+            putString(sourceDirectory.getOutput());
+            this.hasher.putInt(sourceDirectory.getIncludes().size());
+            sourceDirectory.getIncludes().forEach(this::putString);
+            this.hasher.putInt(sourceDirectory.getExcludes().size());
+            sourceDirectory.getExcludes().forEach(this::putString);
+            putClasspathEntry(sourceDirectory);
+        }
+
+        this.hasher.putInt(project.getClasspath().size());
+        for (EclipseExternalDependency dependency : project.getClasspath()) {
+            putFile(dependency.getFile());
+            this.hasher.putBoolean(dependency.getFile() != null && dependency.getFile().exists());
+            putFile(dependency.getSource());
+            putFile(dependency.getJavadoc());
+            this.hasher.putBoolean(dependency.isExported());
+            putClasspathEntry(dependency);
+        }
+
+        this.hasher.putInt(project.getProjectDependencies().size());
+        for (EclipseProjectDependency dependency : project.getProjectDependencies()) {
+            putString(dependency.getPath());
+            this.hasher.putBoolean(dependency.isExported());
+            putClasspathEntry(dependency);
+        }
+
+        this.hasher.putInt(project.getClasspathContainers().size());
+        for (EclipseClasspathContainer container : project.getClasspathContainers()) {
+            putString(container.getPath());
+            this.hasher.putBoolean(container.isExported());
+            putClasspathEntry(container);
+        }
+
+        this.hasher.putBoolean(project.hasAutoBuildTasks());
+    }
+
+    private void putGradleProject(GradleProject gradleProject) {
+        putFile(gradleProject.getBuildDirectory());
+        GradleScript buildScript = gradleProject.getBuildScript();
+        putFile(buildScript == null ? null : buildScript.getSourceFile());
+    }
+
+    private void putJavaSourceSettings(EclipseJavaSourceSettings sourceSettings) {
+        if (sourceSettings == null) {
+            this.hasher.putBoolean(false);
+        } else {
+            this.hasher.putBoolean(true);
+            putString(String.valueOf(sourceSettings.getSourceLanguageLevel()));
+            putString(String.valueOf(sourceSettings.getTargetBytecodeVersion()));
+            putString(String.valueOf(sourceSettings.getJdk().getJavaVersion()));
+            putFile(sourceSettings.getJdk().getJavaHome());
+        }
+    }
+
+    private void putClasspathEntry(EclipseClasspathEntry entry) {
+        this.hasher.putInt(entry.getClasspathAttributes().size());
+        for (ClasspathAttribute attribute : entry.getClasspathAttributes()) {
+            putString(attribute.getName());
+            putString(attribute.getValue());
+        }
+        this.hasher.putInt(entry.getAccessRules().size());
+        for (AccessRule accessRule : entry.getAccessRules()) {
+            this.hasher.putInt(accessRule.getKind());
+            putString(accessRule.getPattern());
+        }
+    }
+
+    private void putMap(Map<String, String> map) {
+        Map<String, String> sorted = new TreeMap<>(map);
+        this.hasher.putInt(sorted.size());
+        for (Map.Entry<String, String> entry : sorted.entrySet()) {
+            putString(entry.getKey());
+            putString(entry.getValue());
+        }
+    }
+
+    private void putFile(File file) {
+        putString(file == null ? null : file.getAbsolutePath());
+    }
+
+    private void putString(String value) {
+        // the length prefix makes the hash input unambiguous, -1 marks null values
+        if (value == null) {
+            this.hasher.putInt(-1);
+        } else {
+            this.hasher.putInt(value.length());
+            this.hasher.putString(value, Charsets.UTF_8);
+        }
+    }
+}
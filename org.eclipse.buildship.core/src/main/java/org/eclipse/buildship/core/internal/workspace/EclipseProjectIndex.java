@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.gradle.tooling.model.eclipse.EclipseProject;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.buildship.core.GradleBuild;
+import org.eclipse.buildship.core.InitializationContext;
+import org.eclipse.buildship.core.internal.util.gradle.HierarchicalElementUtils;
+
+/**
+ * Read-only index of all {@link EclipseProject} models of a synchronized Gradle build, including
+ * the projects of the included builds.
+ * <p/>
+ * The synchronization creates one index from the fetched models and shares it with all steps and
+ * project configurators, so the model hierarchy is traversed only once. The index is not retained
+ * after the synchronization: afterwards the model cache only keeps the compact projection of the
+ * models, see {@link ModelProvider#releaseSynchronizationModels()}.
+ */
+public final class EclipseProjectIndex {
+
+    private final ImmutableSet<EclipseProject> projects;
+    private final ImmutableMap<File, EclipseProject> projectsByLocation;
+
+    private EclipseProjectIndex(ImmutableSet<EclipseProject> projects) {
+        this.projects = projects;
+        Map<File, EclipseProject> projectsByLocation = new LinkedHashMap<>(projects.size() * 2);
+        for (EclipseProject project : projects) {
+            // projects with the same location are reported by ValidateProjectLocationOperation
+            projectsByLocation.putIfAbsent(project.getProjectDirectory(), project);
+        }
+        this.projectsByLocation = ImmutableMap.copyOf(projectsByLocation);
+    }
+
+    /**
+     * Returns all projects, parents preceding their children.
+     *
+     * @return the projects
+     */
+    public ImmutableSet<EclipseProject> getAll() {
+        return this.projects;
+    }
+
+    /**
+     * Returns the project located in the given directory.
+     *
+     * @param location the project directory
+     * @return the project or {@code null} if no project is located in the directory
+     */
+    public EclipseProject findByLocation(File location) {
+        return this.projectsByLocation.get(location);
+    }
+
+    /**
+     * Creates a new index.
+     *
+     * @param rootProjects the root projects of the builds
+     * @return the new index
+     */
+    public static EclipseProjectIndex from(Collection<? extends EclipseProject> rootProjects) {
+        ImmutableSet.Builder<EclipseProject> projects = ImmutableSet.builder();
+        for (EclipseProject rootProject : rootProjects) {
+            projects.addAll(HierarchicalElementUtils.getAll(rootProject));
+        }
+        return new EclipseProjectIndex(projects.build());
+    }
+
+    /**
+     * Returns the index shared by the synchronization with the project configurators. If the
+     * configurator is not executed by a synchronization, then the index is created from the models
+     * available in the context or, as a last resort, from a new model query.
+     *
+     * @param context the context passed to the project configurator
+     * @param monitor the monitor to report the progress on
+     * @return the index
+     * @throws Exception if the models cannot be queried
+     */
+    static EclipseProjectIndex from(InitializationContext context, IProgressMonitor monitor) throws Exception {
+        EclipseProjectIndex index = ProjectConfigurators.getProjectIndex(context);
+        if (index != null) {
+            return index;
+        }
+
+        // the model is declared in plugin.xml and fetched by the synchronization; after the
+        // synchronization it is no longer cached
+        Collection<EclipseProject> rootModels = context.getModels(EclipseProject.class).values();
+        if (rootModels.isEmpty()) {
+            GradleBuild gradleBuild = context.getGradleBuild();
+            rootModels = gradleBuild.withConnection(connection -> EclipseModelUtils.queryModels(connection).values(), monitor);
+        }
+        return from(rootModels);
+    }
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IClasspathContainer;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Collects Gradle classpath containers computed during a synchronization and assigns them to their
+ * projects with a single {@link JavaCore#setClasspathContainer} call.
+ * <p/>
+ * Setting the containers one by one fires a separate Java model delta, index update and
+ * reconciliation for each project. Setting them at once lets JDT process all changes together.
+ * Until the batch is applied, the projects keep their previous container.
+ * <p/>
+ * Instances are thread-safe.
+ */
+final class GradleClasspathContainerBatch {
+
+    private final Map<IJavaProject, IClasspathContainer> containers = new LinkedHashMap<>();
+
+    /**
+     * Registers the classpath container entries of the target project. If the same project is added
+     * multiple times, the last entries are applied.
+     */
+    synchronized void add(IJavaProject project, List<IClasspathEntry> classpathEntries) {
+        this.containers.put(project, GradleClasspathContainer.newInstance(classpathEntries));
+    }
+
+    /**
+     * Returns {@code true} if a classpath container is registered for the target project and not
+     * yet applied.
+     */
+    synchronized boolean contains(IJavaProject project) {
+        return this.containers.containsKey(project);
+    }
+
+    /**
+     * Assigns all registered classpath containers to their projects and clears the batch.
+     */
+    void apply(IProgressMonitor monitor) throws JavaModelException {
+        IJavaProject[] projects;
+        IClasspathContainer[] classpathContainers;
+        synchronized (this) {
+            if (this.containers.isEmpty()) {
+                return;
+            }
+            projects = this.containers.keySet().toArray(new IJavaProject[0]);
+            classpathContainers = this.containers.values().toArray(new IClasspathContainer[0]);
+            this.containers.clear();
+        }
+        SynchronizationMetrics.classpathUpdate();
+        JavaCore.setClasspathContainer(GradleClasspathContainer.CONTAINER_PATH, projects, classpathContainers, monitor);
+    }
+}
@@ -43,11 +43,15 @@ import org.eclipse.buildship.core.internal.util.eclipse.PlatformUtils;
 /**
  * {@link IRuntimeClasspathEntryResolver} implementation to resolve Gradle classpath container
  * entries.
+ * <p/>
+ * The resolved entries are cached until the classpath of a Java project changes.
  *
  * @author Donat Csikos
  */
 public final class GradleClasspathContainerRuntimeClasspathEntryResolver implements IRuntimeClasspathEntryResolver {
 
+    private static final RuntimeClasspathCache CACHE = new RuntimeClasspathCache();
+
     @Override
     public IRuntimeClasspathEntry[] resolveRuntimeClasspathEntry(IRuntimeClasspathEntry entry, ILaunchConfiguration configuration) throws CoreException {
         if (entry == null || entry.getJavaProject() == null) {
@@ -84,14 +88,24 @@ public final class GradleClasspathContainerRuntimeClasspathEntryResolver impleme
         }
 
         // Eclipse 4.3 (Kepler) doesn't support test attributes, so for that case we fall back to custom scope attributes
-        IRuntimeClasspathEntry[] result;
         if (model.getGradleVersion().supportsTestAttributes() && PlatformUtils.supportsTestAttributes()) {
-            result = runtimeClasspathWithTestSources(project, excludeTestCode, moduleSupport);
+            return CACHE.get(project, LaunchConfigurationScope.INCLUDE_ALL, excludeTestCode, moduleSupport,
+                    () -> distinct(runtimeClasspathWithTestSources(project, excludeTestCode, moduleSupport)));
         } else {
-            result = runtimeClasspathWithGradleScopes(project, configurationScopes, excludeTestCode, moduleSupport);
+            return CACHE.get(project, configurationScopes, excludeTestCode, moduleSupport,
+                    () -> distinct(runtimeClasspathWithGradleScopes(project, configurationScopes, excludeTestCode, moduleSupport)));
         }
+    }
+
+    private static IRuntimeClasspathEntry[] distinct(IRuntimeClasspathEntry[] entries) {
+        return Arrays.stream(entries).distinct().toArray(IRuntimeClasspathEntry[]::new);
+    }
 
-        return Arrays.stream(result).distinct().toArray(IRuntimeClasspathEntry[]::new);
+    /**
+     * Discards the cached runtime classpaths and stops tracking the classpath changes.
+     */
+    public static void clearCache() {
+        CACHE.close();
     }
 
     private IRuntimeClasspathEntry[] runtimeClasspathWithGradleScopes(IJavaProject project, LaunchConfigurationScope configurationScopes, boolean excludeTestCode, boolean modular)
@@ -116,12 +130,12 @@ public final class GradleClasspathContainerRuntimeClasspathEntryResolver impleme
         for (final IClasspathEntry cpe : container.getClasspathEntries()) {
             if (!includeExportedEntriesOnly || cpe.isExported()) {
                 if (cpe.getEntryKind() == IClasspathEntry.CPE_LIBRARY && configurationScopes.isEntryIncluded(cpe)) {
-                    result.add(getRuntimeClasspathEntry(cpe.getPath(), modular, "Archive", JavaRuntime::newArchiveRuntimeClasspathEntry, IPath.class, cpe));
+                    result.add(getRuntimeClasspathEntry(cpe.getPath(), modular, JavaRuntimeApi.NEW_ARCHIVE_ENTRY, JavaRuntime::newArchiveRuntimeClasspathEntry, cpe));
                 } else if (cpe.getEntryKind() == IClasspathEntry.CPE_PROJECT) {
                     Optional<IProject> candidate = findAccessibleJavaProject(cpe.getPath().segment(0));
                     if (candidate.isPresent()) {
                         IJavaProject dependencyProject = JavaCore.create(candidate.get());
-                        IRuntimeClasspathEntry projectRuntimeEntry = getRuntimeClasspathEntry(dependencyProject, modular, "Project", JavaRuntime::newProjectRuntimeClasspathEntry, IJavaProject.class, cpe);
+                        IRuntimeClasspathEntry projectRuntimeEntry = getRuntimeClasspathEntry(dependencyProject, modular, JavaRuntimeApi.NEW_PROJECT_ENTRY, JavaRuntime::newProjectRuntimeClasspathEntry, cpe);
                         // add the project entry itself so that the source lookup can find the
                         // classes. See https://github.com/eclipse/buildship/issues/383
                         result.add(projectRuntimeEntry);
@@ -143,12 +157,12 @@ public final class GradleClasspathContainerRuntimeClasspathEntryResolver impleme
 
         for (final IClasspathEntry cpe : container.getClasspathEntries()) {
             if (cpe.getEntryKind() == IClasspathEntry.CPE_LIBRARY && !(excludeTestCode && hasTestAttribute(cpe))) {
-                result.add(getRuntimeClasspathEntry(cpe.getPath(), moduleSuppport, "Archive", JavaRuntime::newArchiveRuntimeClasspathEntry, IPath.class, cpe));
+                result.add(getRuntimeClasspathEntry(cpe.getPath(), moduleSuppport, JavaRuntimeApi.NEW_ARCHIVE_ENTRY, JavaRuntime::newArchiveRuntimeClasspathEntry, cpe));
             } else if (cpe.getEntryKind() == IClasspathEntry.CPE_PROJECT) {
                 Optional<IProject> candidate = findAccessibleJavaProject(cpe.getPath().segment(0));
                 if (candidate.isPresent()) {
                     IJavaProject dependencyProject = JavaCore.create(candidate.get());
-                    IRuntimeClasspathEntry projectRuntimeEntry = getRuntimeClasspathEntry(dependencyProject, moduleSuppport, "Project", JavaRuntime::newProjectRuntimeClasspathEntry, IJavaProject.class, cpe);
+                    IRuntimeClasspathEntry projectRuntimeEntry = getRuntimeClasspathEntry(dependencyProject, moduleSuppport, JavaRuntimeApi.NEW_PROJECT_ENTRY, JavaRuntime::newProjectRuntimeClasspathEntry, cpe);
                     // add the project entry itself so that the source lookup can find the classes
                     // see https://github.com/eclipse/buildship/issues/383
                     result.add(projectRuntimeEntry);
@@ -159,15 +173,11 @@ public final class GradleClasspathContainerRuntimeClasspathEntryResolver impleme
         return result.toArray(new IRuntimeClasspathEntry[result.size()]);
     }
 
-    private <T> IRuntimeClasspathEntry getRuntimeClasspathEntry(final T parameter, boolean moduleSupport, String type, Function<T, IRuntimeClasspathEntry> old, Class<T> parameterType, IClasspathEntry cpe) {
-        if (moduleSupport) {
+    private <T> IRuntimeClasspathEntry getRuntimeClasspathEntry(final T parameter, boolean moduleSupport, Method modularFactory, Function<T, IRuntimeClasspathEntry> old, IClasspathEntry cpe) {
+        if (moduleSupport && modularFactory != null && JavaRuntimeApi.MODULE_PATH != null && JavaRuntimeApi.CLASS_PATH != null) {
             try {
-                Method m = JavaRuntime.class.getMethod(String.format("new%sRuntimeClasspathEntry", type), parameterType, int.class);
-                int modulePathAttribute = IRuntimeClasspathEntry.class.getField("MODULE_PATH").getInt(null);
-                int classPathAttribute = IRuntimeClasspathEntry.class.getField("CLASS_PATH").getInt(null);
-                return (IRuntimeClasspathEntry) m.invoke(null, parameter, hasModuleAttribute(cpe) ? modulePathAttribute : classPathAttribute);
+                return (IRuntimeClasspathEntry) modularFactory.invoke(null, parameter, hasModuleAttribute(cpe) ? JavaRuntimeApi.MODULE_PATH : JavaRuntimeApi.CLASS_PATH);
             } catch (Exception e) {
-                // Method does not exist yet in this version of eclipse.
                 // Revert to old behavior
                 return old.apply(parameter);
             }
@@ -179,8 +189,7 @@ public final class GradleClasspathContainerRuntimeClasspathEntryResolver impleme
     private static IRuntimeClasspathEntry[] invokeJavaRuntimeResolveRuntimeClasspathEntry(IRuntimeClasspathEntry projectRuntimeEntry, IJavaProject dependencyProject, boolean excludeTestCode) throws CoreException{
         // JavaRuntime.resolveRuntimeClasspathEntry is available since Eclipse 4.8
         try {
-            Method method = JavaRuntime.class.getMethod("resolveRuntimeClasspathEntry", IRuntimeClasspathEntry.class, IJavaProject.class, boolean.class);
-            return (IRuntimeClasspathEntry[]) method.invoke(null, projectRuntimeEntry, dependencyProject, excludeTestCode);
+            return (IRuntimeClasspathEntry[]) JavaRuntimeApi.RESOLVE_RUNTIME_CLASSPATH_ENTRY.invoke(null, projectRuntimeEntry, dependencyProject, excludeTestCode);
         } catch (Exception e) {
             throw new GradlePluginsRuntimeException("JavaRuntime.resolveRuntimeClasspathEntry() should not be called when Buildship is installed for Eclipse 4.8", e);
         }
@@ -229,4 +238,34 @@ public final class GradleClasspathContainerRuntimeClasspathEntryResolver impleme
         return null;
     }
 
+    /**
+     * Handles to the {@link JavaRuntime} API not available in all supported Eclipse versions. The
+     * handles are looked up once, the fields are {@code null} if the API is not available.
+     */
+    private static final class JavaRuntimeApi {
+
+        private static final Method NEW_ARCHIVE_ENTRY = findMethod(JavaRuntime.class, "newArchiveRuntimeClasspathEntry", IPath.class, int.class);
+        private static final Method NEW_PROJECT_ENTRY = findMethod(JavaRuntime.class, "newProjectRuntimeClasspathEntry", IJavaProject.class, int.class);
+        private static final Method RESOLVE_RUNTIME_CLASSPATH_ENTRY = findMethod(JavaRuntime.class, "resolveRuntimeClasspathEntry", IRuntimeClasspathEntry.class, IJavaProject.class,
+                boolean.class);
+        private static final Integer MODULE_PATH = findConstant(IRuntimeClasspathEntry.class, "MODULE_PATH");
+        private static final Integer CLASS_PATH = findConstant(IRuntimeClasspathEntry.class, "CLASS_PATH");
+
+        private static Method findMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+            try {
+                return type.getMethod(name, parameterTypes);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        private static Integer findConstant(Class<?> type, String name) {
+            try {
+                return type.getField(name).getInt(null);
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    }
+
 }
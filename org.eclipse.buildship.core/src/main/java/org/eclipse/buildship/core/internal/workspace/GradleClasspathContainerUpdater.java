@@ -11,8 +11,6 @@ package org.eclipse.buildship.core.internal.workspace;
 
 import java.io.File;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,7 +21,6 @@ import org.gradle.tooling.model.eclipse.EclipseProjectDependency;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
-import com.google.common.collect.Maps;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IPath;
@@ -48,7 +45,7 @@ import org.eclipse.buildship.core.internal.util.classpath.ClasspathUtils;
  * Updates the classpath container of the target project.
  * <p/>
  * The update is triggered via
- * {@link #updateFromModel(IJavaProject, EclipseProject, Set, IProgressMonitor, ProjectContext)}.
+ * {@link #updateFromModel(IJavaProject, EclipseProject, PersistentModelBuilder, IProgressMonitor, ProjectContext)}.
  * The method executes synchronously and unprotected, without thread synchronization or job
  * scheduling.
  * <p/>
@@ -68,18 +65,12 @@ final class GradleClasspathContainerUpdater {
 
     private final IJavaProject eclipseProject;
     private final EclipseProject gradleProject;
-    private final Map<File, EclipseProject> projectDirToProject;
     private final ProjectContext projectContext;
 
-    private GradleClasspathContainerUpdater(IJavaProject eclipseProject, EclipseProject gradleProject, Iterable<EclipseProject> allGradleProjects, ProjectContext projectContext) {
+    private GradleClasspathContainerUpdater(IJavaProject eclipseProject, EclipseProject gradleProject, ProjectContext projectContext) {
         this.projectContext = projectContext;
         this.eclipseProject = Preconditions.checkNotNull(eclipseProject);
         this.gradleProject = Preconditions.checkNotNull(gradleProject);
-        this.projectDirToProject = Maps.newHashMap();
-
-        for (EclipseProject project : allGradleProjects) {
-            this.projectDirToProject.put(project.getProjectDirectory(), project);
-        }
     }
 
     private void updateClasspathContainer(PersistentModelBuilder persistentModel, IProgressMonitor monitor) throws JavaModelException {
@@ -88,6 +79,17 @@ final class GradleClasspathContainerUpdater {
         persistentModel.classpath(containerEntries);
     }
 
+    private void updateClasspathContainer(PersistentModelBuilder persistentModel, GradleClasspathContainerBatch batch) {
+        ImmutableList<IClasspathEntry> containerEntries = collectClasspathContainerEntries();
+        // if the entries didn't change then the container is either set already or it will be initialized from the persistent model
+        PersistentModel previousModel = CorePlugin.modelPersistence().loadModel(this.eclipseProject.getProject());
+        if (!previousModel.isPresent() || !containerEntries.equals(previousModel.getClasspath())) {
+            traceClasspathEntries(this.eclipseProject, containerEntries);
+            batch.add(this.eclipseProject, containerEntries);
+        }
+        persistentModel.classpath(containerEntries);
+    }
+
     private ImmutableList<IClasspathEntry> collectClasspathContainerEntries() {
         List<IClasspathEntry> externalDependencies = collectExternalDependencies();
         List<IClasspathEntry> projectDependencies = collectProjectDependencies();
@@ -175,12 +177,44 @@ final class GradleClasspathContainerUpdater {
      * container will be persisted so it does not have to be reloaded after the workbench is
      * restarted.
      */
-    public static void updateFromModel(IJavaProject eclipseProject, EclipseProject gradleProject, Iterable<EclipseProject> allGradleProjects,
-            PersistentModelBuilder persistentModel, IProgressMonitor monitor, ProjectContext context) throws JavaModelException {
-        GradleClasspathContainerUpdater updater = new GradleClasspathContainerUpdater(eclipseProject, gradleProject, allGradleProjects, context);
+    public static void updateFromModel(IJavaProject eclipseProject, EclipseProject gradleProject, PersistentModelBuilder persistentModel, IProgressMonitor monitor,
+            ProjectContext context) throws JavaModelException {
+        GradleClasspathContainerUpdater updater = new GradleClasspathContainerUpdater(eclipseProject, gradleProject, context);
         updater.updateClasspathContainer(persistentModel, monitor);
     }
 
+    /**
+     * Computes the classpath container of the target project based on the given Gradle model and
+     * registers it in the batch if it differs from the persisted one. The container is assigned to
+     * the project when the batch is applied.
+     */
+    public static void updateFromModel(IJavaProject eclipseProject, EclipseProject gradleProject, PersistentModelBuilder persistentModel, GradleClasspathContainerBatch batch,
+            ProjectContext context) {
+        GradleClasspathContainerUpdater updater = new GradleClasspathContainerUpdater(eclipseProject, gradleProject, context);
+        updater.updateClasspathContainer(persistentModel, batch);
+    }
+
+    /**
+     * Computes the classpath container entries of the target project without assigning them to
+     * the project.
+     */
+    static ImmutableList<IClasspathEntry> computeClasspathContainerEntries(IJavaProject eclipseProject, EclipseProject gradleProject) {
+        return new GradleClasspathContainerUpdater(eclipseProject, gradleProject, null).collectClasspathContainerEntries();
+    }
+
+    /**
+     * Returns {@code true} if the model contains dependencies that Gradle failed to resolve.
+     */
+    static boolean hasUnresolvedDependencies(EclipseProject gradleProject) {
+        for (EclipseExternalDependency dependency : gradleProject.getClasspath()) {
+            File dependencyFile = dependency.getFile();
+            if (!dependencyFile.exists() && dependencyFile.getName().startsWith(UNRESOLVED_DEPENDENCY_NAME_PREFIX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Updates the classpath container from the state stored by the last call to
      * {@link #updateFromModel(IJavaProject, EclipseProject, IProgressMonitor, ProjectContext)}.
@@ -205,6 +239,7 @@ final class GradleClasspathContainerUpdater {
     private static void setClasspathContainer(IJavaProject eclipseProject, List<IClasspathEntry> classpathEntries, IProgressMonitor monitor) throws JavaModelException {
         traceClasspathEntries(eclipseProject, classpathEntries);
         IClasspathContainer classpathContainer = GradleClasspathContainer.newInstance(classpathEntries);
+        SynchronizationMetrics.classpathUpdate();
         JavaCore.setClasspathContainer(GradleClasspathContainer.CONTAINER_PATH, new IJavaProject[] { eclipseProject }, new IClasspathContainer[] { classpathContainer }, monitor);
     }
 
@@ -23,6 +23,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 
 import org.eclipse.buildship.core.internal.CorePlugin;
 import org.eclipse.buildship.core.internal.ImportRootProjectException;
@@ -55,7 +56,8 @@ public final class ImportRootProjectOperation {
     }
 
     private void runInWorkspace(IProgressMonitor monitor) throws CoreException {
-        ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
+        File rootDirectory = this.buildConfiguration.getRootProjectDirectory();
+        SynchronizationRules.run("Import root project " + rootDirectory.getName(), new IWorkspaceRunnable() {
 
             @Override
             public void run(IProgressMonitor monitor) throws CoreException {
@@ -68,7 +70,13 @@ public final class ImportRootProjectOperation {
                 importRootProject(rootDir, progress.newChild(1));
                 saveProjectConfiguration(ImportRootProjectOperation.this.buildConfiguration, rootDir, progress.newChild(1));
             }
-        }, monitor);
+        }, () -> getSchedulingRule(rootDirectory), monitor);
+    }
+
+    private static ISchedulingRule getSchedulingRule(File rootDir) {
+        // creating the root project changes the workspace structure
+        Optional<IProject> rootProject = CorePlugin.workspaceOperations().findProjectByLocation(rootDir);
+        return rootProject.isPresent() ? SynchronizationRules.forProjects(rootProject.asSet()) : ResourcesPlugin.getWorkspace().getRoot();
     }
 
     private void verifyNoWorkspaceRootIsImported(File rootDir, IProgressMonitor monitor) {
@@ -36,6 +36,7 @@ final class LibraryFilter {
     public static void update(IJavaProject eclipseProject, EclipseProject modelProject, IProgressMonitor monitor) throws JavaModelException {
         if (supportsClasspathCustomization(modelProject)) {
             IClasspathEntry[] newClasspath = filterLibraries(eclipseProject.getRawClasspath());
+            SynchronizationMetrics.classpathUpdate();
             eclipseProject.setRawClasspath(newClasspath, monitor);
         }
     }
@@ -9,6 +9,7 @@
  ******************************************************************************/
 package org.eclipse.buildship.core.internal.workspace;
 
+import java.util.Collection;
 import java.util.Map;
 
 import org.gradle.tooling.CancellationTokenSource;
@@ -16,6 +17,8 @@ import org.gradle.tooling.model.eclipse.EclipseProject;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
+import org.eclipse.buildship.core.internal.util.gradle.ModelSnapshot;
+
 /**
  * Provides models in the scope of the build.
  *
@@ -45,10 +48,44 @@ public interface ModelProvider {
      */
     <T>  Map<String, T> fetchModels(Class<T> model, FetchStrategy strategy, CancellationTokenSource tokenSource, IProgressMonitor monitor);
 
+    /**
+     * Queries the structure of this build and of all included builds, i.e. the project hierarchy,
+     * the Gradle projects and their tasks.
+     * <p/>
+     * Unlike the other methods, the request can be answered from the compact models kept after a
+     * synchronization or from the snapshot stored before a workbench restart. Callers must only
+     * use the elements contained in a {@link ModelSnapshot}.
+     *
+     * @param strategy the fetch strategy
+     * @param tokenSource the cancellation token source
+     * @param monitor the monitor to report the progress on
+     * @return the snapshot or {@code null} if the strategy is {@link FetchStrategy#FROM_CACHE_ONLY} and no models are available
+     */
+    ModelSnapshot fetchModelSnapshot(FetchStrategy strategy, CancellationTokenSource tokenSource, IProgressMonitor monitor);
+
     /**
      * Queries the {@link EclipseProject} model and executes the synchronization tasks in the same Tooling API query.
+     * <p/>
+     * The additional models are queried for all included builds in the same Tooling API query. The
+     * results replace the cached values, so subsequent {@link #fetchModels(Class, FetchStrategy, CancellationTokenSource, IProgressMonitor)}
+     * calls for these model types don't connect to Gradle. As the cache may evict the models at any
+     * time, the synchronization uses the returned models instead.
      *
-     * @return the returned models
+     * @param additionalModels the model types to query along with the {@link EclipseProject} model
+     * @return the returned models mapped by model type, including the {@link EclipseProject} model
+     */
+    Map<Class<?>, Map<String, ?>> fetchEclipseProjectAndRunSyncTasks(Collection<Class<?>> additionalModels, CancellationTokenSource tokenSource, IProgressMonitor monitor);
+
+    /**
+     * Releases the models which are only needed while the build is synchronized.
+     * <p/>
+     * The cached {@link EclipseProject} models are replaced with their compact projection
+     * containing the project hierarchy, the Gradle projects and their tasks. The projection is
+     * only returned by {@link #fetchModelSnapshot(FetchStrategy, CancellationTokenSource, IProgressMonitor)},
+     * the other methods load the complete models again if requested. The additional models
+     * cached by {@link #fetchEclipseProjectAndRunSyncTasks(Collection, CancellationTokenSource, IProgressMonitor)}
+     * are removed from the cache. The snapshot of the models is persisted at this point, so it is
+     * written once per synchronization.
      */
-    Map<String, EclipseProject> fetchEclipseProjectAndRunSyncTasks(CancellationTokenSource tokenSource, IProgressMonitor monitor);
+    void releaseSynchronizationModels();
 }
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.gradle.tooling.model.GradleProject;
+import org.gradle.tooling.model.build.BuildEnvironment;
+import org.gradle.tooling.model.eclipse.EclipseProject;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.configuration.BuildConfiguration;
+import org.eclipse.buildship.core.internal.util.gradle.ModelSnapshot;
+
+/**
+ * Stores the {@link ModelSnapshot} of a Gradle build in the plugin state location so that the
+ * models can be presented after a workbench restart without starting a Gradle daemon.
+ * <p/>
+ * A snapshot is only returned if the build configuration did not change and the settings files,
+ * the build scripts and the other files influencing the build structure were not modified since
+ * the snapshot was written. The files are compared by their size and modification time, so storing
+ * a snapshot doesn't read their content.
+ */
+final class ModelSnapshotCache {
+
+    private static final String[] BUILD_ROOT_FILES = {
+            "settings.gradle",
+            "settings.gradle.kts",
+            "build.gradle",
+            "build.gradle.kts",
+            "gradle.properties",
+            "gradle/libs.versions.toml",
+            "gradle/wrapper/gradle-wrapper.properties"
+    };
+
+    private final BuildConfiguration buildConfiguration;
+    private final File snapshotFile;
+
+    ModelSnapshotCache(BuildConfiguration buildConfiguration, File cacheDirectory) {
+        this.buildConfiguration = buildConfiguration;
+        String rootPath = buildConfiguration.getRootProjectDirectory().getAbsolutePath();
+        this.snapshotFile = new File(cacheDirectory, Hashing.murmur3_128().hashString(rootPath, Charsets.UTF_8) + ".bin");
+    }
+
+    static ModelSnapshotCache forBuild(BuildConfiguration buildConfiguration) {
+        return new ModelSnapshotCache(buildConfiguration, CorePlugin.getInstance().getStateLocation().append("model-cache").toFile());
+    }
+
+    /**
+     * Returns the stored snapshot if it is still up-to-date.
+     */
+    Optional<ModelSnapshot> load() {
+        if (!this.snapshotFile.isFile()) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.snapshotFile.toPath())))) {
+            if (!in.readUTF().equals(configurationHash())) {
+                return Optional.empty();
+            }
+            int fileCount = in.readInt();
+            for (int i = 0; i < fileCount; i++) {
+                File file = new File(in.readUTF());
+                long length = in.readLong();
+                long lastModified = in.readLong();
+                if (length != length(file) || lastModified != file.lastModified()) {
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(ModelSnapshot.read(in));
+        } catch (IOException | RuntimeException e) {
+            CorePlugin.logger().warn("Cannot read model snapshot " + this.snapshotFile, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Replaces the stored snapshot with the given models.
+     */
+    void store(BuildEnvironment buildEnvironment, Map<String, EclipseProject> eclipseProjects) {
+        File tempFile = new File(this.snapshotFile.getPath() + ".tmp");
+        try {
+            Files.createDirectories(this.snapshotFile.getParentFile().toPath());
+            Collection<File> trackedFiles = collectTrackedFiles(eclipseProjects.values());
+            try (OutputStream fileOut = Files.newOutputStream(tempFile.toPath());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+                out.writeUTF(configurationHash());
+                out.writeInt(trackedFiles.size());
+                for (File file : trackedFiles) {
+                    out.writeUTF(file.getPath());
+                    out.writeLong(length(file));
+                    out.writeLong(file.lastModified());
+                }
+                ModelSnapshot.write(buildEnvironment, eclipseProjects, out);
+            }
+            Files.move(tempFile.toPath(), this.snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            tempFile.delete();
+            CorePlugin.logger().warn("Cannot write model snapshot " + this.snapshotFile, e);
+        }
+    }
+
+    private static Collection<File> collectTrackedFiles(Collection<EclipseProject> rootProjects) {
+        Set<File> result = new LinkedHashSet<>();
+        for (EclipseProject rootProject : rootProjects) {
+            File buildRoot = rootProject.getGradleProject().getProjectIdentifier().getBuildIdentifier().getRootDir();
+            for (String path : BUILD_ROOT_FILES) {
+                result.add(new File(buildRoot, path));
+            }
+            collectBuildScripts(rootProject.getGradleProject(), result);
+        }
+        return result;
+    }
+
+    private static void collectBuildScripts(GradleProject project, Set<File> result) {
+        if (project.getBuildScript() != null && project.getBuildScript().getSourceFile() != null) {
+            result.add(project.getBuildScript().getSourceFile());
+        }
+        for (GradleProject child : project.getChildren()) {
+            collectBuildScripts(child, result);
+        }
+    }
+
+    private static long length(File file) {
+        return file.isFile() ? file.length() : -1;
+    }
+
+    private String configurationHash() {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        hasher.putInt(ModelSnapshot.FORMAT_VERSION);
+        putString(hasher, configurationKey());
+        return hasher.hash().toString();
+    }
+
+    private String configurationKey() {
+        BuildConfiguration config = this.buildConfiguration;
+        return String.join("\n",
+                config.getRootProjectDirectory().getAbsolutePath(),
+                String.valueOf(config.getGradleDistribution()),
+                String.valueOf(config.getGradleUserHome()),
+                String.valueOf(config.getJavaHome()),
+                String.valueOf(config.isOfflineMode()),
+                String.valueOf(config.isBuildScansEnabled()),
+                String.valueOf(config.getArguments()),
+                String.valueOf(config.getJvmArguments()));
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        hasher.putInt(value.length());
+        hasher.putString(value, Charsets.UTF_8);
+    }
+}
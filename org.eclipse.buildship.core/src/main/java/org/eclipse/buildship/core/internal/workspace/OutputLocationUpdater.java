@@ -37,6 +37,10 @@ final class OutputLocationUpdater {
         project.setOutputLocation(project.getPath().append(outputLocation), monitor);
     }
 
+    static boolean hasNestedOutputLocation(EclipseProject eclipseProject) {
+        return sourceDirHasNestedOutputLocation(eclipseProject.getSourceDirectories(), eclipseProject.getOutputLocation().getPath());
+    }
+
     private static boolean sourceDirHasNestedOutputLocation(Iterable<? extends EclipseSourceDirectory> sourceDirs, String outputLocation) {
         IPath outputPath = new Path(outputLocation);
         for (EclipseSourceDirectory sourceDir : sourceDirs) {
@@ -0,0 +1,333 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.gradle.tooling.CancellationTokenSource;
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.model.eclipse.EclipseProject;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.buildship.core.GradleBuild;
+import org.eclipse.buildship.core.SynchronizationResult;
+import org.eclipse.buildship.core.internal.DefaultGradleBuild;
+import org.eclipse.buildship.core.internal.GradlePluginsRuntimeException;
+import org.eclipse.buildship.core.internal.TuningOptions;
+import org.eclipse.buildship.core.internal.util.gradle.HierarchicalElementUtils;
+import org.eclipse.buildship.core.internal.util.gradle.ModelSnapshot;
+
+/**
+ * Synchronizes multiple Gradle builds concurrently on a bounded thread pool.
+ * <p/>
+ * Builds sharing project directories, e.g. because one includes the other or their root
+ * directories are nested, are synchronized one after another on the same thread. The project
+ * directories are taken from the cached models, so builds which were never synchronized before are
+ * only grouped by their root directories. The steps changing the workspace acquire their
+ * scheduling rules, which serializes them if they conflict.
+ * <p/>
+ * A failing build doesn't stop the others. The failures are reported together once all builds
+ * finished.
+ */
+final class ParallelBuildSynchronization {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+    private static final int TICKS_PER_BUILD = 100;
+
+    private final NewProjectHandler newProjectHandler;
+    private final List<List<GradleBuild>> buildGroups;
+
+    ParallelBuildSynchronization(NewProjectHandler newProjectHandler, Collection<GradleBuild> gradleBuilds) {
+        this.newProjectHandler = Preconditions.checkNotNull(newProjectHandler);
+        this.buildGroups = groupDependentBuilds(gradleBuilds);
+    }
+
+    Map<GradleBuild, SynchronizationResult> run(CancellationTokenSource tokenSource, IProgressMonitor monitor) {
+        int buildCount = this.buildGroups.stream().mapToInt(List::size).sum();
+        SubMonitor progress = SubMonitor.convert(monitor, buildCount * TICKS_PER_BUILD);
+
+        int threads = Math.min(TuningOptions.getBuildSynchronizationThreads(), this.buildGroups.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("Gradle build synchronization %d").setDaemon(true).build());
+        try {
+            List<WorkerProgressMonitor> monitors = new ArrayList<>(this.buildGroups.size());
+            List<Future<Map<GradleBuild, SynchronizationResult>>> futures = new ArrayList<>(this.buildGroups.size());
+            for (List<GradleBuild> group : this.buildGroups) {
+                WorkerProgressMonitor groupMonitor = new WorkerProgressMonitor(group.size() * TICKS_PER_BUILD);
+                monitors.add(groupMonitor);
+                futures.add(executor.submit(() -> synchronize(group, tokenSource, groupMonitor)));
+            }
+
+            // wait for all builds, so that a failing build neither interrupts nor hides the others
+            Map<GradleBuild, SynchronizationResult> results = new LinkedHashMap<>();
+            List<Throwable> failures = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.putAll(await(futures.get(i), monitors, progress));
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            forwardProgress(monitors, progress);
+
+            if (progress.isCanceled()) {
+                throw new OperationCanceledException();
+            } else if (!failures.isEmpty()) {
+                throw toRuntimeException(failures);
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Map<GradleBuild, SynchronizationResult> synchronize(List<GradleBuild> group, CancellationTokenSource tokenSource, IProgressMonitor monitor) {
+        SubMonitor progress = SubMonitor.convert(monitor, group.size());
+        try {
+            Map<GradleBuild, SynchronizationResult> results = new LinkedHashMap<>();
+            for (GradleBuild build : group) {
+                if (progress.isCanceled()) {
+                    throw new OperationCanceledException();
+                }
+                results.put(build, ((DefaultGradleBuild) build).synchronize(this.newProjectHandler, tokenSource, progress.newChild(1)));
+            }
+            return results;
+        } finally {
+            monitor.done();
+        }
+    }
+
+    private static Map<GradleBuild, SynchronizationResult> await(Future<Map<GradleBuild, SynchronizationResult>> result, List<WorkerProgressMonitor> monitors, SubMonitor progress) throws ExecutionException {
+        while (true) {
+            if (progress.isCanceled()) {
+                // the builds stop at their next cancellation check, wait for them to release the workspace
+                monitors.forEach(m -> m.setCanceled(true));
+            }
+            forwardProgress(monitors, progress);
+
+            try {
+                return result.get(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // forward the progress and wait again
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                monitors.forEach(m -> m.setCanceled(true));
+                throw new OperationCanceledException();
+            }
+        }
+    }
+
+    private static void forwardProgress(List<WorkerProgressMonitor> monitors, SubMonitor progress) {
+        String taskName = null;
+        for (WorkerProgressMonitor monitor : monitors) {
+            progress.worked(monitor.takeWorkedTicks());
+            if (taskName == null && !monitor.isDone()) {
+                taskName = monitor.getTaskName();
+            }
+        }
+        if (taskName != null) {
+            progress.subTask(taskName);
+        }
+    }
+
+    private static RuntimeException toRuntimeException(List<Throwable> failures) {
+        Throwable first = failures.get(0);
+        RuntimeException result = first instanceof RuntimeException ? (RuntimeException) first : new GradlePluginsRuntimeException(first);
+        for (Throwable failure : failures.subList(1, failures.size())) {
+            result.addSuppressed(failure);
+        }
+        return result;
+    }
+
+    /**
+     * Groups the builds sharing project directories. The groups and the builds within a group keep
+     * the order of the given builds.
+     *
+     * @param gradleBuilds the builds to group
+     * @return the groups of dependent builds
+     */
+    static List<List<GradleBuild>> groupDependentBuilds(Collection<GradleBuild> gradleBuilds) {
+        List<BuildGroup> groups = new ArrayList<>();
+        for (GradleBuild build : gradleBuilds) {
+            BuildGroup group = new BuildGroup((DefaultGradleBuild) build);
+
+            // merge all groups overlapping with the build into a single one
+            for (Iterator<BuildGroup> iterator = groups.iterator(); iterator.hasNext();) {
+                BuildGroup other = iterator.next();
+                if (other.overlaps(group)) {
+                    group.merge(other);
+                    iterator.remove();
+                }
+            }
+            groups.add(group);
+        }
+
+        List<GradleBuild> order = new ArrayList<>(gradleBuilds);
+        Comparator<GradleBuild> byOrder = Comparator.comparingInt(order::indexOf);
+        groups.forEach(g -> g.builds.sort(byOrder));
+        groups.sort(Comparator.comparing(g -> g.builds.get(0), byOrder));
+        return groups.stream().map(g -> g.builds).collect(Collectors.toList());
+    }
+
+    /**
+     * Progress monitor of a worker thread.
+     * <p/>
+     * The progress monitor of the caller is not thread-safe. The worker reports its progress on
+     * this monitor, and the thread of the caller forwards it to its own monitor while it waits for
+     * the builds. The work is scaled to the ticks the caller allocated for the worker.
+     */
+    private static final class WorkerProgressMonitor implements IProgressMonitor {
+
+        private final int ticks;
+        private double totalWork;
+        private double worked;
+        private int forwardedTicks;
+        private boolean done;
+        private volatile String taskName;
+        private volatile boolean canceled;
+
+        WorkerProgressMonitor(int ticks) {
+            this.ticks = ticks;
+        }
+
+        @Override
+        public synchronized void beginTask(String name, int totalWork) {
+            this.totalWork = totalWork;
+            setTaskName(name);
+        }
+
+        @Override
+        public synchronized void done() {
+            this.done = true;
+        }
+
+        @Override
+        public synchronized void internalWorked(double work) {
+            this.worked += work;
+        }
+
+        @Override
+        public void worked(int work) {
+            internalWorked(work);
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return this.canceled;
+        }
+
+        @Override
+        public void setCanceled(boolean canceled) {
+            this.canceled = canceled;
+        }
+
+        @Override
+        public void setTaskName(String name) {
+            if (name != null && !name.isEmpty()) {
+                this.taskName = name;
+            }
+        }
+
+        @Override
+        public void subTask(String name) {
+            setTaskName(name);
+        }
+
+        String getTaskName() {
+            return this.taskName;
+        }
+
+        synchronized boolean isDone() {
+            return this.done;
+        }
+
+        /**
+         * Returns the number of ticks worked since the last invocation.
+         */
+        synchronized int takeWorkedTicks() {
+            int workedTicks;
+            if (this.done) {
+                workedTicks = this.ticks;
+            } else if (this.totalWork > 0) {
+                workedTicks = (int) (this.ticks * Math.min(1.0, this.worked / this.totalWork));
+            } else {
+                workedTicks = 0;
+            }
+            int result = Math.max(0, workedTicks - this.forwardedTicks);
+            this.forwardedTicks += result;
+            return result;
+        }
+    }
+
+    /**
+     * A set of builds together with the project directories they synchronize.
+     */
+    private static final class BuildGroup {
+
+        private final List<GradleBuild> builds = new ArrayList<>();
+        private final List<Path> rootDirectories = new ArrayList<>();
+        private final Set<File> projectDirectories = new HashSet<>();
+
+        BuildGroup(DefaultGradleBuild build) {
+            File rootDirectory = build.getBuildConfig().getRootProjectDirectory();
+            this.builds.add(build);
+            this.rootDirectories.add(rootDirectory.toPath());
+            this.projectDirectories.add(rootDirectory);
+
+            ModelSnapshot snapshot = build.getModelProvider().fetchModelSnapshot(FetchStrategy.FROM_CACHE_ONLY, GradleConnector.newCancellationTokenSource(), new NullProgressMonitor());
+            if (snapshot != null) {
+                for (EclipseProject model : snapshot.getEclipseProjects().values()) {
+                    HierarchicalElementUtils.getAll(model).forEach(p -> this.projectDirectories.add(p.getProjectDirectory()));
+                }
+            }
+        }
+
+        boolean overlaps(BuildGroup other) {
+            for (Path root : this.rootDirectories) {
+                for (Path otherRoot : other.rootDirectories) {
+                    if (root.startsWith(otherRoot) || otherRoot.startsWith(root)) {
+                        return true;
+                    }
+                }
+            }
+            return !Collections.disjoint(this.projectDirectories, other.projectDirectories);
+        }
+
+        void merge(BuildGroup other) {
+            this.builds.addAll(other.builds);
+            this.rootDirectories.addAll(other.rootDirectories);
+            this.projectDirectories.addAll(other.projectDirectories);
+        }
+    }
+}
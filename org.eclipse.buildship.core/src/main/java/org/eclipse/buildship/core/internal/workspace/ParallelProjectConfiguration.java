@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+
+import org.eclipse.buildship.core.internal.GradlePluginsRuntimeException;
+import org.eclipse.buildship.core.internal.TuningOptions;
+import org.eclipse.buildship.core.internal.workspace.SynchronizationMetrics.Scope;
+
+/**
+ * Executes the concurrent part of the project configurators for a set of workspace projects on a
+ * bounded thread pool. The caller completes the configuration by executing the serial part, see
+ * {@link ProjectConfigurators#configureConfiguratorsSerially(IProject, IProgressMonitor)}.
+ * <p/>
+ * Each project is configured in a separate workspace operation holding the rule returned by
+ * {@link SynchronizationRules#forProjectConfiguration(IProject)}. Consequently, the caller must
+ * not hold a scheduling rule conflicting with the configured projects, otherwise the worker threads
+ * would wait for the caller forever.
+ * <p/>
+ * The reported synchronization problems are collected in the order of the projects, regardless of
+ * the order in which the configurations finish.
+ */
+final class ParallelProjectConfiguration {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final ProjectConfigurators configurators;
+    private final List<IProject> projects;
+
+    ParallelProjectConfiguration(ProjectConfigurators configurators, List<IProject> projects) {
+        this.configurators = Preconditions.checkNotNull(configurators);
+        this.projects = new ArrayList<>(projects);
+    }
+
+    void run(List<SynchronizationProblem> failures, IProgressMonitor monitor) throws CoreException {
+        SubMonitor progress = SubMonitor.convert(monitor, this.projects.size());
+        if (this.projects.isEmpty()) {
+            return;
+        }
+
+        int threads = Math.min(TuningOptions.getSynchronizationThreads(), this.projects.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("Gradle project configuration %d").setDaemon(true).build());
+        try {
+            List<Future<List<SynchronizationProblem>>> results = new ArrayList<>(this.projects.size());
+            for (IProject project : this.projects) {
+                results.add(executor.submit(SynchronizationMetrics.propagate(() -> configure(project))));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                progress.subTask(String.format("Configure project %s", this.projects.get(i).getName()));
+                failures.addAll(await(results.get(i), progress));
+                progress.worked(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<SynchronizationProblem> configure(IProject project) throws CoreException {
+        List<SynchronizationProblem> result = new ArrayList<>();
+        try (Scope scope = SynchronizationMetrics.projectSpan(project.getName())) {
+            SynchronizationMetrics.workspaceOperation();
+            // the progress monitor of the caller is not thread-safe, hence the configurators don't report progress
+            ISchedulingRule rule = SynchronizationRules.forProjectConfiguration(project);
+            ResourcesPlugin.getWorkspace().run(monitor -> result.addAll(this.configurators.configureConfiguratorsConcurrently(project, monitor)), rule, IWorkspace.AVOID_UPDATE, new NullProgressMonitor());
+        }
+        return result;
+    }
+
+    private static List<SynchronizationProblem> await(Future<List<SynchronizationProblem>> result, SubMonitor progress) throws CoreException {
+        while (true) {
+            if (progress.isCanceled()) {
+                throw new OperationCanceledException();
+            }
+
+            try {
+                return result.get(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // check cancellation and wait again
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OperationCanceledException();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof CoreException) {
+                    throw (CoreException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else {
+                    throw new GradlePluginsRuntimeException(cause);
+                }
+            }
+        }
+    }
+}
@@ -41,6 +41,8 @@ public final class PersistentModelBuilder {
     private Collection<ICommand> managedBuilders;
     private boolean hasAutoBuildTasks;
     private GradleVersion gradleVersion;
+    private String modelFingerprint;
+    private String javaConfigurationFingerprint;
 
     public PersistentModelBuilder(PersistentModel previous) {
         this.previous = Preconditions.checkNotNull(previous);
@@ -54,6 +56,8 @@ public final class PersistentModelBuilder {
             this.managedNatures = previous.getManagedNatures();
             this.managedBuilders = previous.getManagedBuilders();
             this.gradleVersion = previous.getGradleVersion();
+            this.modelFingerprint = previous.getModelFingerprint();
+            this.javaConfigurationFingerprint = previous.getJavaConfigurationFingerprint();
         }
     }
 
@@ -107,11 +111,21 @@ public final class PersistentModelBuilder {
         return this;
     }
 
+    public PersistentModelBuilder modelFingerprint(String modelFingerprint) {
+        this.modelFingerprint = modelFingerprint;
+        return this;
+    }
+
+    public PersistentModelBuilder javaConfigurationFingerprint(String javaConfigurationFingerprint) {
+        this.javaConfigurationFingerprint = javaConfigurationFingerprint;
+        return this;
+    }
+
     public PersistentModel getPrevious() {
         return this.previous;
     }
 
     public PersistentModel build() {
-        return new DefaultPersistentModel(this.previous.getProject(), this.buildDir, this.buildScriptPath, this.subprojectPaths, this.classpath, this.derivedResources, this.linkedResources, this.managedNatures, this.managedBuilders, this.hasAutoBuildTasks, this.gradleVersion);
+        return new DefaultPersistentModel(this.previous.getProject(), this.buildDir, this.buildScriptPath, this.subprojectPaths, this.classpath, this.derivedResources, this.linkedResources, this.managedNatures, this.managedBuilders, this.hasAutoBuildTasks, this.gradleVersion, this.modelFingerprint, this.javaConfigurationFingerprint);
     }
 }
@@ -10,9 +10,15 @@
 package org.eclipse.buildship.core.internal.workspace;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -29,25 +35,50 @@ import org.eclipse.buildship.core.internal.extension.InternalProjectConfigurator
 import org.eclipse.buildship.core.internal.extension.ProjectConfiguratorContribution;
 import org.eclipse.buildship.core.internal.preferences.PersistentModel;
 import org.eclipse.buildship.core.internal.util.gradle.Pair;
+import org.eclipse.buildship.core.internal.workspace.SynchronizationMetrics.Scope;
 
 public final class ProjectConfigurators {
 
     private final InternalGradleBuild gradleBuild;
     private final List<InternalProjectConfigurator> contributions;
+    private final Set<Class<?>> requiredModels;
+    private final Map<Class<?>, Map<String, ?>> models;
 
-    private ProjectConfigurators(InternalGradleBuild gradleBuild, List<InternalProjectConfigurator> contributions) {
+    private ProjectConfigurators(InternalGradleBuild gradleBuild, List<InternalProjectConfigurator> contributions, Map<Class<?>, Map<String, ?>> models) {
         this.gradleBuild = gradleBuild;
         this.contributions = contributions;
+        this.requiredModels = contributions.stream().flatMap(c -> c.getRequiredModels().stream()).collect(Collectors.toCollection(LinkedHashSet::new));
+        this.models = models;
     }
 
-    List<SynchronizationProblem> initConfigurators(IProgressMonitor monitor) {
+    /**
+     * Returns the models declared by all configurators. The synchronization fetches them along
+     * with the {@code EclipseProject} model, before the configurators are initialized.
+     */
+    public Set<Class<?>> getRequiredModels() {
+        return this.requiredModels;
+    }
+
+    /**
+     * Returns configurators which provide the given models via
+     * {@link InitializationContext#getModels(Class)}. The models are referenced until the
+     * synchronization completes, so they can't be evicted from the model cache meanwhile.
+     *
+     * @param models the models fetched for the synchronization, mapped by model type
+     * @return the new instance
+     */
+    public ProjectConfigurators withModels(Map<Class<?>, Map<String, ?>> models) {
+        return new ProjectConfigurators(this.gradleBuild, this.contributions, ImmutableMap.copyOf(models));
+    }
+
+    List<SynchronizationProblem> initConfigurators(EclipseProjectIndex projectIndex, IProgressMonitor monitor) {
         List<SynchronizationProblem> result = new ArrayList<>();
 
         SubMonitor progress = SubMonitor.convert(monitor);
         progress.setWorkRemaining(this.contributions.size());
         for (InternalProjectConfigurator contribution : this.contributions) {
-            DefaultInitializationContext context = newInitializationContext(this.gradleBuild);
-            try {
+            DefaultInitializationContext context = newInitializationContext(this.gradleBuild, contribution.getRequiredModels(), this.models, projectIndex);
+            try (Scope scope = SynchronizationMetrics.span("Configurator " + contribution.getId())) {
                 contribution.init(context, progress.newChild(1));
                 context.getErrors().forEach(e -> result.add(SynchronizationProblem.newError(contribution.getContributorPluginId(), markerLocation(), e.getFirst(), e.getSecond())));
                 context.getWarnings().forEach(e -> result.add(SynchronizationProblem.newWarning(contribution.getContributorPluginId(), markerLocation(), e.getFirst(), e.getSecond())));
@@ -59,15 +90,54 @@ public final class ProjectConfigurators {
         return result;
     }
 
+    List<SynchronizationProblem> finishConfigurators(EclipseProjectIndex projectIndex, IProgressMonitor monitor) {
+        List<SynchronizationProblem> result = new ArrayList<>();
+
+        SubMonitor progress = SubMonitor.convert(monitor);
+        progress.setWorkRemaining(this.contributions.size());
+        for (InternalProjectConfigurator contribution : this.contributions) {
+            DefaultInitializationContext context = newInitializationContext(this.gradleBuild, contribution.getRequiredModels(), this.models, projectIndex);
+            try (Scope scope = SynchronizationMetrics.span("Configurator " + contribution.getId())) {
+                contribution.finish(context, progress.newChild(1));
+                context.getErrors().forEach(e -> result.add(SynchronizationProblem.newError(contribution.getContributorPluginId(), markerLocation(), e.getFirst(), e.getSecond())));
+                context.getWarnings().forEach(e -> result.add(SynchronizationProblem.newWarning(contribution.getContributorPluginId(), markerLocation(), e.getFirst(), e.getSecond())));
+            } catch (Exception e) {
+                result.add(SynchronizationProblem.newError(contribution.getContributorPluginId(), markerLocation(), configuratorFailedMessage(contribution, e, "finish"), e));
+            }
+        }
+
+        return result;
+    }
+
     List<SynchronizationProblem> configureConfigurators(IProject project, IProgressMonitor monitor) {
+        return configureConfigurators(project, InternalProjectConfigurator::configure, monitor);
+    }
+
+    /**
+     * Executes the part of the project configuration that may run concurrently for different
+     * projects. The configuration has to be completed by calling
+     * {@link #configureConfiguratorsSerially(IProject, IProgressMonitor)} for the same project.
+     */
+    List<SynchronizationProblem> configureConfiguratorsConcurrently(IProject project, IProgressMonitor monitor) {
+        return configureConfigurators(project, InternalProjectConfigurator::configureConcurrently, monitor);
+    }
+
+    /**
+     * Executes the part of the project configuration that has to run for one project at a time.
+     */
+    List<SynchronizationProblem> configureConfiguratorsSerially(IProject project, IProgressMonitor monitor) {
+        return configureConfigurators(project, InternalProjectConfigurator::configureSerially, monitor);
+    }
+
+    private List<SynchronizationProblem> configureConfigurators(IProject project, ConfiguratorAction action, IProgressMonitor monitor) {
         List<SynchronizationProblem> result = new ArrayList<>();
 
         SubMonitor progress = SubMonitor.convert(monitor);
         progress.setWorkRemaining(this.contributions.size());
         for (InternalProjectConfigurator contribution : this.contributions) {
             DefaultProjectContext context = newProjectContext(project);
-            try {
-                contribution.configure(context, progress.newChild(1));
+            try (Scope scope = SynchronizationMetrics.span("Configurator " + contribution.getId())) {
+                action.execute(contribution, context, progress.newChild(1));
                 context.getErrors().forEach(e -> result.add(SynchronizationProblem.newError(contribution.getContributorPluginId(), markerLocation(), e.getFirst(), e.getSecond())));
                 context.getWarnings().forEach(e -> result.add(SynchronizationProblem.newWarning(contribution.getContributorPluginId(), markerLocation(), e.getFirst(), e.getSecond())));
             } catch (Exception e) {
@@ -85,7 +155,7 @@ public final class ProjectConfigurators {
         progress.setWorkRemaining(this.contributions.size());
         for (InternalProjectConfigurator contribution : this.contributions) {
             DefaultProjectContext context = newProjectContext(project);
-            try {
+            try (Scope scope = SynchronizationMetrics.span("Configurator " + contribution.getId())) {
                 contribution.unconfigure(context, progress.newChild(1));
                 context.getErrors().forEach(e -> result.add(SynchronizationProblem.newError(contribution.getContributorPluginId(), markerLocation(), e.getFirst(), e.getSecond())));
                 context.getWarnings().forEach(e -> result.add(SynchronizationProblem.newWarning(contribution.getContributorPluginId(), markerLocation(), e.getFirst(), e.getSecond())));
@@ -98,11 +168,21 @@ public final class ProjectConfigurators {
     }
 
     public static ProjectConfigurators create(InternalGradleBuild gradleBuild, List<ProjectConfiguratorContribution> configurators) {
-        return new ProjectConfigurators(gradleBuild, InternalProjectConfigurator.from(configurators));
+        return new ProjectConfigurators(gradleBuild, InternalProjectConfigurator.from(configurators), ImmutableMap.<Class<?>, Map<String, ?>>of());
     }
 
-    private static DefaultInitializationContext newInitializationContext(InternalGradleBuild gradleBuild) {
-        return new DefaultInitializationContext(gradleBuild);
+    /**
+     * Returns the project index of the synchronization executing the configurator.
+     *
+     * @param context the context passed to the configurator
+     * @return the index or {@code null} if the configurator is not executed by a synchronization
+     */
+    static EclipseProjectIndex getProjectIndex(InitializationContext context) {
+        return context instanceof DefaultInitializationContext ? ((DefaultInitializationContext) context).projectIndex : null;
+    }
+
+    private static DefaultInitializationContext newInitializationContext(InternalGradleBuild gradleBuild, List<Class<?>> requiredModels, Map<Class<?>, Map<String, ?>> models, EclipseProjectIndex projectIndex) {
+        return new DefaultInitializationContext(gradleBuild, requiredModels, models, projectIndex);
     }
 
     private static DefaultProjectContext newProjectContext(IProject project) {
@@ -132,6 +212,11 @@ public final class ProjectConfigurators {
         return buildScript;
     }
 
+    @FunctionalInterface
+    private interface ConfiguratorAction {
+        void execute(InternalProjectConfigurator configurator, ProjectContext context, IProgressMonitor monitor);
+    }
+
     private static class BaseContext {
         protected final List<Pair<String, Exception>> errors = new ArrayList<>();
         protected final List<Pair<String, Exception>> warnings = new ArrayList<>();
@@ -157,15 +242,31 @@ public final class ProjectConfigurators {
     private static class DefaultInitializationContext extends BaseContext implements InitializationContext {
 
         private final InternalGradleBuild gradleBuild;
+        private final List<Class<?>> requiredModels;
+        private final Map<Class<?>, Map<String, ?>> models;
+        private final EclipseProjectIndex projectIndex;
 
-        DefaultInitializationContext(InternalGradleBuild gradleBuild) {
+        DefaultInitializationContext(InternalGradleBuild gradleBuild, List<Class<?>> requiredModels, Map<Class<?>, Map<String, ?>> models, EclipseProjectIndex projectIndex) {
             this.gradleBuild = gradleBuild;
+            this.requiredModels = requiredModels;
+            this.models = models;
+            this.projectIndex = projectIndex;
         }
 
         @Override
         public GradleBuild getGradleBuild() {
             return this.gradleBuild;
         }
+
+        @Override
+        public <T> Map<String, T> getModels(Class<T> modelType) {
+            if (!this.requiredModels.contains(modelType)) {
+                return Collections.emptyMap();
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, T> models = (Map<String, T>) this.models.get(modelType);
+            return models != null ? models : Collections.<String, T>emptyMap();
+        }
     }
 
     private static class DefaultProjectContext extends BaseContext implements ProjectContext {
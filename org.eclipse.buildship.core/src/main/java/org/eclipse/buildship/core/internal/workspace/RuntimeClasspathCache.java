@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.launching.IRuntimeClasspathEntry;
+
+import org.eclipse.buildship.core.internal.launch.LaunchConfigurationScope;
+
+/**
+ * Caches the runtime classpath resolved for the Gradle classpath container of a project.
+ * <p/>
+ * The resolved classpath contains the entries of the dependency projects too, hence the whole
+ * cache is invalidated whenever the classpath of any Java project changes, including classpath
+ * container updates, or a Java project is added, removed, opened or closed.
+ */
+final class RuntimeClasspathCache implements IElementChangedListener {
+
+    private static final int MAX_SIZE = 256;
+    private static final int INVALIDATING_FLAGS = IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_OPENED
+            | IJavaElementDelta.F_CLOSED;
+
+    private final Cache<Key, IRuntimeClasspathEntry[]> cache = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build();
+    private final Object lock = new Object();
+    private long generation = 0;
+    private boolean registered = false;
+
+    /**
+     * Returns the cached runtime classpath or computes and caches it.
+     *
+     * @param project the project whose classpath container is resolved
+     * @param scopes the scopes of the launch configuration
+     * @param excludeTestCode whether the test code is excluded from the runtime classpath
+     * @param moduleSupport whether module path entries are created
+     * @param loader computes the runtime classpath if it is not cached
+     * @return the runtime classpath entries
+     * @throws CoreException if the runtime classpath cannot be computed
+     */
+    IRuntimeClasspathEntry[] get(IJavaProject project, LaunchConfigurationScope scopes, boolean excludeTestCode, boolean moduleSupport, Callable<IRuntimeClasspathEntry[]> loader)
+            throws CoreException {
+        Key key = new Key(project, scopes, excludeTestCode, moduleSupport);
+        long loadedGeneration;
+        synchronized (this.lock) {
+            ensureRegistered();
+            loadedGeneration = this.generation;
+        }
+
+        IRuntimeClasspathEntry[] result = this.cache.getIfPresent(key);
+        if (result == null) {
+            result = load(loader);
+            synchronized (this.lock) {
+                // don't store the result if the classpath changed during the computation
+                if (loadedGeneration == this.generation) {
+                    this.cache.put(key, result);
+                }
+            }
+        }
+        // callers may modify the returned array
+        return result.clone();
+    }
+
+    @Override
+    public void elementChanged(ElementChangedEvent event) {
+        if (affectsRuntimeClasspath(event.getDelta())) {
+            invalidate();
+        }
+    }
+
+    void invalidate() {
+        synchronized (this.lock) {
+            this.generation++;
+            this.cache.invalidateAll();
+        }
+    }
+
+    void close() {
+        synchronized (this.lock) {
+            if (this.registered) {
+                JavaCore.removeElementChangedListener(this);
+                this.registered = false;
+            }
+            this.generation++;
+            this.cache.invalidateAll();
+        }
+    }
+
+    private void ensureRegistered() {
+        if (!this.registered) {
+            JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+            this.registered = true;
+        }
+    }
+
+    private static IRuntimeClasspathEntry[] load(Callable<IRuntimeClasspathEntry[]> loader) throws CoreException {
+        try {
+            return loader.call();
+        } catch (CoreException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean affectsRuntimeClasspath(IJavaElementDelta delta) {
+        if (delta == null) {
+            return false;
+        }
+
+        if (delta.getElement().getElementType() == IJavaElement.JAVA_PROJECT) {
+            return delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & INVALIDATING_FLAGS) != 0;
+        }
+
+        for (IJavaElementDelta child : delta.getAffectedChildren()) {
+            if (affectsRuntimeClasspath(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cache key.
+     */
+    private static final class Key {
+
+        private final IJavaProject project;
+        private final LaunchConfigurationScope scopes;
+        private final boolean excludeTestCode;
+        private final boolean moduleSupport;
+
+        Key(IJavaProject project, LaunchConfigurationScope scopes, boolean excludeTestCode, boolean moduleSupport) {
+            this.project = project;
+            this.scopes = scopes;
+            this.excludeTestCode = excludeTestCode;
+            this.moduleSupport = moduleSupport;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return this.project.equals(other.project) && this.scopes.equals(other.scopes) && this.excludeTestCode == other.excludeTestCode
+                    && this.moduleSupport == other.moduleSupport;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.project, this.scopes, this.excludeTestCode, this.moduleSupport);
+        }
+    }
+}
@@ -68,6 +68,7 @@ final class SourceFolderUpdater {
         List<IClasspathEntry> classpath = Lists.newArrayList(this.project.getRawClasspath());
         updateExistingSourceFolders(classpath);
         addNewSourceFolders(classpath);
+        SynchronizationMetrics.classpathUpdate();
         this.project.setRawClasspath(classpath.toArray(new IClasspathEntry[0]), monitor);
     }
 
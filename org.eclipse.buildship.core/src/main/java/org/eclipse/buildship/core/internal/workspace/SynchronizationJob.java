@@ -9,12 +9,14 @@
  ******************************************************************************/
 package org.eclipse.buildship.core.internal.workspace;
 
+import java.util.Map;
 
 import org.gradle.tooling.CancellationTokenSource;
 
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
@@ -25,6 +27,7 @@ import org.eclipse.buildship.core.GradleBuild;
 import org.eclipse.buildship.core.SynchronizationResult;
 import org.eclipse.buildship.core.internal.CorePlugin;
 import org.eclipse.buildship.core.internal.DefaultGradleBuild;
+import org.eclipse.buildship.core.internal.TuningOptions;
 import org.eclipse.buildship.core.internal.operation.ToolingApiJob;
 
 public final class SynchronizationJob extends ToolingApiJob<Void> {
@@ -57,19 +60,43 @@ public final class SynchronizationJob extends ToolingApiJob<Void> {
     public Void runInToolingApi(CancellationTokenSource tokenSource, IProgressMonitor monitor) throws Exception {
         final SubMonitor progress = SubMonitor.convert(monitor, ImmutableSet.copyOf(SynchronizationJob.this.gradleBuilds).size() + 1);
 
+        if (TuningOptions.getBuildSynchronizationThreads() > 1 && Iterables.size(this.gradleBuilds) > 1) {
+            // independent builds are fetched concurrently; all builds are synchronized before the failures are reported together
+            Map<GradleBuild, SynchronizationResult> results = new ParallelBuildSynchronization(this.newProjectHandler, ImmutableList.copyOf(this.gradleBuilds)).run(tokenSource, progress.newChild(Iterables.size(this.gradleBuilds)));
+            Exception failure = null;
+            for (SynchronizationResult result : results.values()) {
+                Throwable exception = result.getStatus().getException();
+                if (exception instanceof Exception) {
+                    if (failure == null) {
+                        failure = (Exception) exception;
+                    } else {
+                        failure.addSuppressed(exception);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return null;
+        }
+
         for (GradleBuild build : SynchronizationJob.this.gradleBuilds) {
             if (monitor.isCanceled()) {
                 throw new OperationCanceledException();
             }
             SynchronizationResult result = ((DefaultGradleBuild)build).synchronize(SynchronizationJob.this.newProjectHandler, tokenSource, progress.newChild(1));
-            if (result.getStatus().getException() instanceof Exception) {
-                throw (Exception) result.getStatus().getException();
-            }
+            throwIfFailed(result);
         }
 
         return null;
     }
 
+    private static void throwIfFailed(SynchronizationResult result) throws Exception {
+        if (result.getStatus().getException() instanceof Exception) {
+            throw (Exception) result.getStatus().getException();
+        }
+    }
+
     /**
      * A {@link SynchronizationJob} is only scheduled if there is not already another one that
      * fully covers it.
@@ -0,0 +1,444 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.gradle.tooling.model.eclipse.EclipseProject;
+
+import com.google.common.base.StandardSystemProperty;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.CoreTraceScopes;
+import org.eclipse.buildship.core.internal.Logger;
+import org.eclipse.buildship.core.internal.TuningOptions;
+
+/**
+ * Records where the time of a project synchronization is spent.
+ * <p/>
+ * The synchronization installs an instance on the current thread with {@link #start(String)}. The
+ * synchronization steps report to the active instance through the static methods of this class,
+ * which do nothing if no synchronization is recorded on the current thread. The time is recorded
+ * in nested spans: the synchronization phases, the project configurators and the updaters applied
+ * to each project. Spans with the same name and parent are merged, and unless the
+ * {@link CoreTraceScopes#SYNCHRONIZATION_TIMINGS} trace scope is enabled, the spans of all projects
+ * are merged into one to keep the report small. Besides the timings, the number of workspace
+ * operations, the number of classpath updates, the number of reconfigured and up-to-date projects,
+ * the size of the Gradle model and the peak heap usage are recorded.
+ * <p/>
+ * The peak heap usage is the sum of the peak usages of the heap memory pools, which are reset when
+ * a synchronization starts. The pools can reach their peaks at different times, hence the value is
+ * an upper bound. As the pools are shared by the whole JVM, the value includes the memory used by
+ * concurrent synchronizations, and a synchronization starting concurrently resets the pools; the
+ * value is therefore also sampled at the end of each phase and the maximum is reported.
+ * <p/>
+ * When the synchronization finishes, a summary is printed to the Gradle console and a JSON report
+ * is written to the {@value #REPORT_FOLDER} folder of the plug-in state location. The number of
+ * kept reports is set by {@link TuningOptions#getSynchronizationReportCount()}.
+ */
+public final class SynchronizationMetrics {
+
+    private static final String REPORT_FOLDER = "sync-reports";
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+    private static final Scope NO_OP = () -> {
+    };
+
+    private final String buildName;
+    private final long startTime = System.currentTimeMillis();
+    private final boolean detailed = CorePlugin.logger().isScopeEnabled(CoreTraceScopes.SYNCHRONIZATION_TIMINGS);
+    private final Span root;
+    private final Span previous;
+    private final long startNanos;
+    private final AtomicInteger workspaceOperations = new AtomicInteger();
+    private final AtomicInteger classpathUpdates = new AtomicInteger();
+    private final AtomicInteger reconfiguredProjects = new AtomicInteger();
+    private final AtomicInteger upToDateProjects = new AtomicInteger();
+    private final AtomicLong peakUsedHeap = new AtomicLong();
+    private volatile int projects;
+    private volatile int externalDependencies;
+    private volatile int projectDependencies;
+    private volatile int sourceFolders;
+    private boolean successful;
+
+    private SynchronizationMetrics(String buildName) {
+        this.buildName = buildName;
+        this.root = new Span(this, "Synchronization");
+        this.previous = CURRENT.get();
+        CURRENT.set(this.root);
+        resetHeapPeak();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts recording a synchronization on the current thread.
+     *
+     * @param buildName the name of the synchronized build in the summary and in the report
+     * @return the new instance, must be finished on the same thread
+     */
+    public static SynchronizationMetrics start(String buildName) {
+        return new SynchronizationMetrics(buildName);
+    }
+
+    /**
+     * Opens a new span under the current span of the current thread.
+     *
+     * @param name the name of the span, e.g. the name of the synchronization phase
+     * @return the scope closing the span
+     */
+    public static Scope span(String name) {
+        Span current = CURRENT.get();
+        return current == null ? NO_OP : current.open(name);
+    }
+
+    /**
+     * Opens a new span covering the synchronization of a single project.
+     *
+     * @param projectName the name of the project
+     * @return the scope closing the span
+     */
+    public static Scope projectSpan(String projectName) {
+        Span current = CURRENT.get();
+        if (current == null) {
+            return NO_OP;
+        }
+        return current.open(current.metrics.detailed ? "Project " + projectName : "Projects");
+    }
+
+    /**
+     * Wraps a task to be executed on a worker thread such that its spans are recorded under the
+     * current span of the calling thread.
+     *
+     * @param task the task to wrap
+     * @return the wrapped task
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        Span parent = CURRENT.get();
+        if (parent == null) {
+            return task;
+        }
+        return () -> {
+            Span previous = CURRENT.get();
+            CURRENT.set(parent);
+            try {
+                return task.call();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Counts a workspace operation, i.e. an {@code IWorkspace.run()} call.
+     */
+    public static void workspaceOperation() {
+        Span current = CURRENT.get();
+        if (current != null) {
+            current.metrics.workspaceOperations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Counts an update of the raw classpath or of a classpath container of a Java project.
+     */
+    public static void classpathUpdate() {
+        Span current = CURRENT.get();
+        if (current != null) {
+            current.metrics.classpathUpdates.incrementAndGet();
+        }
+    }
+
+    /**
+     * Counts a project whose Java configuration was updated.
+     */
+    public static void projectReconfigured() {
+        Span current = CURRENT.get();
+        if (current != null) {
+            current.metrics.reconfiguredProjects.incrementAndGet();
+        }
+    }
+
+    /**
+     * Counts a project whose Java configuration was skipped as up-to-date.
+     */
+    public static void projectUpToDate() {
+        Span current = CURRENT.get();
+        if (current != null) {
+            current.metrics.upToDateProjects.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records the size of the loaded Gradle model.
+     *
+     * @param eclipseProjects all projects of the synchronized build
+     */
+    public static void modelLoaded(Collection<EclipseProject> eclipseProjects) {
+        Span current = CURRENT.get();
+        if (current == null) {
+            return;
+        }
+
+        int externalDependencies = 0;
+        int projectDependencies = 0;
+        int sourceFolders = 0;
+        for (EclipseProject project : eclipseProjects) {
+            externalDependencies += project.getClasspath().size();
+            projectDependencies += project.getProjectDependencies().size();
+            sourceFolders += project.getSourceDirectories().size();
+        }
+
+        SynchronizationMetrics metrics = current.metrics;
+        metrics.projects = eclipseProjects.size();
+        metrics.externalDependencies = externalDependencies;
+        metrics.projectDependencies = projectDependencies;
+        metrics.sourceFolders = sourceFolders;
+        metrics.sampleHeap();
+    }
+
+    /**
+     * Marks the synchronization as successful.
+     */
+    public void succeeded() {
+        this.successful = true;
+    }
+
+    /**
+     * Stops recording and reports the results.
+     */
+    public void finish() {
+        this.root.record(System.nanoTime() - this.startNanos);
+        CURRENT.set(this.previous);
+        sampleHeap();
+
+        String summary = summary();
+        printToConsole(summary);
+        trace(summary);
+        writeReport();
+    }
+
+    String summary() {
+        String phases = this.root.getChildren().stream().map(s -> s.name + " " + formatNanos(s.totalNanos)).collect(Collectors.joining(", "));
+        return String.format("Synchronization of %s %s in %s (%s); %d projects (%d reconfigured, %d up-to-date), %d dependencies, %d workspace operations, %d classpath updates, %d MB peak heap",
+                this.buildName, this.successful ? "finished" : "failed", formatNanos(this.root.totalNanos), phases, this.projects, this.reconfiguredProjects.get(),
+                this.upToDateProjects.get(), this.externalDependencies + this.projectDependencies, this.workspaceOperations.get(), this.classpathUpdates.get(),
+                this.peakUsedHeap.get() >> 20);
+    }
+
+    JsonObject toJson() {
+        JsonObject model = new JsonObject();
+        model.addProperty("projects", this.projects);
+        model.addProperty("externalDependencies", this.externalDependencies);
+        model.addProperty("projectDependencies", this.projectDependencies);
+        model.addProperty("sourceFolders", this.sourceFolders);
+
+        JsonObject result = new JsonObject();
+        result.addProperty("build", this.buildName);
+        result.addProperty("startTime", this.startTime);
+        result.addProperty("successful", this.successful);
+        result.addProperty("durationMillis", TimeUnit.NANOSECONDS.toMillis(this.root.totalNanos));
+        result.addProperty("workspaceOperations", this.workspaceOperations.get());
+        result.addProperty("classpathUpdates", this.classpathUpdates.get());
+        result.addProperty("reconfiguredProjects", this.reconfiguredProjects.get());
+        result.addProperty("upToDateProjects", this.upToDateProjects.get());
+        result.addProperty("peakUsedHeapBytes", this.peakUsedHeap.get());
+        result.add("model", model);
+        result.add("spans", this.root.childrenToJson());
+        return result;
+    }
+
+    private static void resetHeapPeak() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private void sampleHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        this.peakUsedHeap.accumulateAndGet(peak, Math::max);
+    }
+
+    private static void printToConsole(String summary) {
+        try {
+            OutputStream output = CorePlugin.processStreamsProvider().getBackgroundJobProcessStreams().getOutput();
+            output.write((summary + StandardSystemProperty.LINE_SEPARATOR.value()).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            CorePlugin.logger().trace(CoreTraceScopes.SYNCHRONIZATION_TIMINGS, "Cannot print synchronization summary to the console", e);
+        }
+    }
+
+    private void trace(String summary) {
+        Logger logger = CorePlugin.logger();
+        if (logger.isScopeEnabled(CoreTraceScopes.SYNCHRONIZATION_TIMINGS)) {
+            StringBuilder message = new StringBuilder(summary);
+            this.root.getChildren().forEach(s -> s.appendTo(message, 1));
+            logger.trace(CoreTraceScopes.SYNCHRONIZATION_TIMINGS, message.toString());
+        }
+    }
+
+    private void writeReport() {
+        int reportCount = TuningOptions.getSynchronizationReportCount();
+        if (reportCount == 0) {
+            return;
+        }
+
+        File reportFolder = getReportFolder();
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss-SSS", Locale.ROOT).format(new Date(this.startTime));
+        File reportFile = new File(reportFolder, "sync-" + timestamp + "-" + this.buildName.replaceAll("[^\\w.-]", "_") + ".json");
+        try {
+            Files.createDirectories(reportFolder.toPath());
+            Files.write(reportFile.toPath(), new GsonBuilder().setPrettyPrinting().create().toJson(toJson()).getBytes(StandardCharsets.UTF_8));
+            deleteOldReports(reportFolder, reportCount);
+        } catch (IOException | RuntimeException e) {
+            // the report is a diagnostic aid, it must not fail the synchronization
+            CorePlugin.logger().warn("Cannot write synchronization report " + reportFile, e);
+        }
+    }
+
+    private static void deleteOldReports(File reportFolder, int reportCount) throws IOException {
+        File[] reports = reportFolder.listFiles((dir, name) -> name.startsWith("sync-") && name.endsWith(".json"));
+        if (reports == null || reports.length <= reportCount) {
+            return;
+        }
+
+        // the file names start with the timestamp of the synchronization
+        Arrays.sort(reports, Comparator.comparing(File::getName));
+        for (int i = 0; i < reports.length - reportCount; i++) {
+            Files.deleteIfExists(reports[i].toPath());
+        }
+    }
+
+    /**
+     * Returns the folder containing the synchronization reports.
+     */
+    public static File getReportFolder() {
+        return CorePlugin.getInstance().getStateLocation().append(REPORT_FOLDER).toFile();
+    }
+
+    private static String formatNanos(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        return millis < 1000 ? millis + " ms" : String.format(Locale.ROOT, "%.1f s", millis / 1000.0);
+    }
+
+    /**
+     * Closes a span opened by {@link SynchronizationMetrics#span(String)}.
+     */
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     * A timed section of the synchronization. Spans are shared by the concurrently configured
+     * projects, hence the recorded values are guarded by the span instance.
+     */
+    private static final class Span {
+
+        private final SynchronizationMetrics metrics;
+        private final String name;
+        private final Map<String, Span> children = new LinkedHashMap<>();
+        private int count;
+        private long totalNanos;
+        private long maxNanos;
+
+        Span(SynchronizationMetrics metrics, String name) {
+            this.metrics = metrics;
+            this.name = name;
+        }
+
+        Scope open(String name) {
+            Span child;
+            synchronized (this) {
+                child = this.children.computeIfAbsent(name, n -> new Span(this.metrics, n));
+            }
+            CURRENT.set(child);
+            long start = System.nanoTime();
+            return () -> {
+                child.record(System.nanoTime() - start);
+                CURRENT.set(this);
+                if (this == this.metrics.root) {
+                    this.metrics.sampleHeap();
+                }
+            };
+        }
+
+        synchronized void record(long nanos) {
+            this.count++;
+            this.totalNanos += nanos;
+            this.maxNanos = Math.max(this.maxNanos, nanos);
+        }
+
+        synchronized List<Span> getChildren() {
+            return new ArrayList<>(this.children.values());
+        }
+
+        synchronized JsonObject toJson() {
+            JsonObject result = new JsonObject();
+            result.addProperty("name", this.name);
+            result.addProperty("count", this.count);
+            result.addProperty("totalMillis", TimeUnit.NANOSECONDS.toMillis(this.totalNanos));
+            result.addProperty("maxMillis", TimeUnit.NANOSECONDS.toMillis(this.maxNanos));
+            if (!this.children.isEmpty()) {
+                result.add("children", childrenToJson());
+            }
+            return result;
+        }
+
+        JsonArray childrenToJson() {
+            JsonArray result = new JsonArray();
+            getChildren().forEach(s -> result.add(s.toJson()));
+            return result;
+        }
+
+        synchronized void appendTo(StringBuilder message, int depth) {
+            message.append(StandardSystemProperty.LINE_SEPARATOR.value());
+            for (int i = 0; i < depth; i++) {
+                message.append("  ");
+            }
+            message.append(String.format("%s: %s", this.name, formatNanos(this.totalNanos)));
+            if (this.count > 1) {
+                message.append(String.format(" (%d times, max %s)", this.count, formatNanos(this.maxNanos)));
+            }
+            this.children.values().forEach(s -> s.appendTo(message, depth + 1));
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.gradle.tooling.model.eclipse.EclipseProject;
+import org.gradle.tooling.model.eclipse.EclipseProjectNature;
+
+import com.google.common.base.Stopwatch;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceRuleFactory;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.MultiRule;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.CoreTraceScopes;
+import org.eclipse.buildship.core.internal.Logger;
+
+/**
+ * Computes the scheduling rules required to apply the synchronization changes to the workspace
+ * and runs the changes while holding them.
+ * <p/>
+ * The rules are obtained from the workspace's rule factory. Depending on the factory they can be
+ * as wide as the workspace root.
+ */
+final class SynchronizationRules {
+
+    // see org.eclipse.jdt.internal.core.ExternalFoldersManager.EXTERNAL_PROJECT_NAME
+    private static final String EXTERNAL_FOLDERS_PROJECT_NAME = ".org.eclipse.jdt.core.external.folders"; //$NON-NLS-1$
+
+    private SynchronizationRules() {
+    }
+
+    /**
+     * Returns the rule required for refreshing and configuring the given projects.
+     *
+     * @param projects the projects to modify
+     * @return the combined rule or {@code null} if no project is affected
+     */
+    static ISchedulingRule forProjects(Collection<IProject> projects) {
+        return forProjects(projects, Collections.<EclipseProject>emptyList());
+    }
+
+    /**
+     * Returns the rule required for refreshing the given projects and configuring them from the
+     * given Gradle models.
+     * <p/>
+     * JDT doesn't lock the workspace root when it changes the classpath of a project, it only
+     * locks its external folders project, see {@link #forJavaProject(IProject)}. If one of the
+     * projects is or becomes a Java project, the rule therefore contains the external folders
+     * project besides the given projects. The projects becoming Java projects are determined from
+     * the models, as their Java nature is only added during the configuration.
+     *
+     * @param projects the projects to modify
+     * @param models the Gradle models the projects are configured from
+     * @return the combined rule or {@code null} if no project is affected
+     */
+    static ISchedulingRule forProjects(Collection<IProject> projects, Collection<EclipseProject> models) {
+        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        IResourceRuleFactory ruleFactory = workspace.getRuleFactory();
+        List<ISchedulingRule> rules = new ArrayList<>();
+        boolean javaProjects = false;
+        for (EclipseProject model : models) {
+            javaProjects |= isJavaProject(model);
+        }
+        for (IProject project : projects) {
+            rules.add(ruleFactory.refreshRule(project));
+            rules.add(ruleFactory.modifyRule(project));
+            // unconfiguring existing Java projects changes their classpath as well
+            javaProjects |= isJavaProject(project);
+        }
+        if (javaProjects && !rules.isEmpty()) {
+            rules.add(ruleFactory.modifyRule(workspace.getRoot().getProject(EXTERNAL_FOLDERS_PROJECT_NAME)));
+        }
+        return MultiRule.combine(rules.toArray(new ISchedulingRule[0]));
+    }
+
+    /**
+     * Returns the rule required for executing the concurrent part of the configurators for a single
+     * project on a worker thread.
+     * <p/>
+     * The rule doesn't contain JDT's external folders project, hence the workers never wait for
+     * each other. The Java model changes are applied afterwards by the serial part of the
+     * configurators.
+     *
+     * @param project the project to configure
+     * @return the rule to hold while configuring the project
+     */
+    static ISchedulingRule forProjectConfiguration(IProject project) {
+        IResourceRuleFactory ruleFactory = ResourcesPlugin.getWorkspace().getRuleFactory();
+        return MultiRule.combine(ruleFactory.refreshRule(project), ruleFactory.modifyRule(project));
+    }
+
+    /**
+     * Returns the rule required by JDT for changing the classpath of the given project.
+     *
+     * @param project the Java project to modify
+     * @return the rule of the project combined with the rule of JDT's external folders project
+     */
+    static ISchedulingRule forJavaProject(IProject project) {
+        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        IResourceRuleFactory ruleFactory = workspace.getRuleFactory();
+        IProject externalFoldersProject = workspace.getRoot().getProject(EXTERNAL_FOLDERS_PROJECT_NAME);
+        return MultiRule.combine(ruleFactory.modifyRule(project), ruleFactory.modifyRule(externalFoldersProject));
+    }
+
+    /**
+     * Runs the given operation in the workspace while holding the rule computed by the given
+     * function.
+     * <p/>
+     * The rule is computed from the workspace state, which can change until the rule is acquired.
+     * Therefore, the rule is computed again while it is held. If the held rule doesn't contain the
+     * recomputed one, the rule is released and the operation is executed while holding the
+     * workspace root.
+     *
+     * @param name the name of the operation in the trace output
+     * @param runnable the operation to execute
+     * @param rule the function computing the rule from the current workspace state
+     * @param monitor the monitor to report the progress on
+     * @throws CoreException if the operation fails
+     */
+    static void run(String name, IWorkspaceRunnable runnable, Supplier<ISchedulingRule> rule, IProgressMonitor monitor) throws CoreException {
+        SubMonitor progress = SubMonitor.convert(monitor, 1);
+        ISchedulingRule expectedRule = rule.get();
+        AtomicBoolean executed = new AtomicBoolean();
+        run(name, m -> {
+            if (contains(expectedRule, rule.get())) {
+                executed.set(true);
+                runnable.run(m);
+            }
+        }, expectedRule, progress.newChild(1));
+
+        if (!executed.get()) {
+            Logger logger = CorePlugin.logger();
+            if (logger.isScopeEnabled(CoreTraceScopes.SYNCHRONIZATION)) {
+                logger.trace(CoreTraceScopes.SYNCHRONIZATION, String.format("%s: workspace changed while acquiring %s, retrying with the workspace root", name, describe(expectedRule)));
+            }
+            progress.setWorkRemaining(1);
+            run(name, runnable, ResourcesPlugin.getWorkspace().getRoot(), progress.newChild(1));
+        }
+    }
+
+    private static boolean contains(ISchedulingRule heldRule, ISchedulingRule requiredRule) {
+        if (requiredRule == null) {
+            return true;
+        } else {
+            return heldRule != null && heldRule.contains(requiredRule);
+        }
+    }
+
+    /**
+     * Runs the given operation in the workspace while holding the given rule and reports the time
+     * spent waiting for and holding the rule in the {@link CoreTraceScopes#SYNCHRONIZATION} trace
+     * scope.
+     *
+     * @param name the name of the operation in the trace output
+     * @param runnable the operation to execute
+     * @param rule the scheduling rule to hold
+     * @param monitor the monitor to report the progress on
+     * @throws CoreException if the operation fails
+     */
+    static void run(String name, IWorkspaceRunnable runnable, ISchedulingRule rule, IProgressMonitor monitor) throws CoreException {
+        Stopwatch waiting = Stopwatch.createStarted();
+        Stopwatch holding = Stopwatch.createUnstarted();
+        SynchronizationMetrics.workspaceOperation();
+        try {
+            ResourcesPlugin.getWorkspace().run(m -> {
+                waiting.stop();
+                holding.start();
+                runnable.run(m);
+            }, rule, IWorkspace.AVOID_UPDATE, monitor);
+        } finally {
+            if (holding.isRunning()) {
+                holding.stop();
+            }
+            trace(name, rule, waiting, holding);
+        }
+    }
+
+    private static void trace(String name, ISchedulingRule rule, Stopwatch waiting, Stopwatch holding) {
+        Logger logger = CorePlugin.logger();
+        if (logger.isScopeEnabled(CoreTraceScopes.SYNCHRONIZATION)) {
+            logger.trace(CoreTraceScopes.SYNCHRONIZATION, String.format("%s: waited %d ms for and held %s for %d ms",
+                    name, waiting.elapsed(TimeUnit.MILLISECONDS), describe(rule), holding.elapsed(TimeUnit.MILLISECONDS)));
+        }
+    }
+
+    private static String describe(ISchedulingRule rule) {
+        if (rule == null) {
+            return "no scheduling rule";
+        } else if (rule.equals(ResourcesPlugin.getWorkspace().getRoot())) {
+            return "the workspace root";
+        } else if (rule instanceof MultiRule) {
+            return ((MultiRule) rule).getChildren().length + " scheduling rules";
+        } else {
+            return "scheduling rule " + rule;
+        }
+    }
+
+    private static boolean isJavaProject(EclipseProject model) {
+        if (model.getJavaSourceSettings() != null) {
+            return true;
+        }
+        for (EclipseProjectNature nature : model.getProjectNatures()) {
+            if (nature.getId().equals(JavaCore.NATURE_ID)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isJavaProject(IProject project) {
+        try {
+            return project.isAccessible() && project.hasNature(JavaCore.NATURE_ID);
+        } catch (CoreException e) {
+            return false;
+        }
+    }
+}
@@ -11,7 +11,10 @@ package org.eclipse.buildship.core.internal.workspace;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.gradle.tooling.model.eclipse.EclipseProject;
@@ -24,33 +27,42 @@ import com.google.common.collect.ImmutableList;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 
 import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.TuningOptions;
 import org.eclipse.buildship.core.internal.configuration.BuildConfiguration;
 import org.eclipse.buildship.core.internal.configuration.ConfigurationManager;
 import org.eclipse.buildship.core.internal.configuration.GradleProjectNature;
 import org.eclipse.buildship.core.internal.configuration.ProjectConfiguration;
+import org.eclipse.buildship.core.internal.workspace.SynchronizationMetrics.Scope;
 
 /**
  * Synchronizes the given Gradle build with the Eclipse workspace.
  */
 public final class SynchronizeGradleBuildOperation {
 
+    private final EclipseProjectIndex projectIndex;
     private final Set<EclipseProject> allProjects;
     private final InternalGradleBuild gradleBuild;
     private final NewProjectHandler newProjectHandler;
     private final ProjectConfigurators configurators;
 
     private List<SynchronizationProblem> failures;
+    private Set<IProject> importedProjects;
+    // the workspace projects found while computing the scheduling rule, reused by the synchronization
+    private Map<EclipseProject, Optional<IProject>> workspaceProjects;
 
 
-    public SynchronizeGradleBuildOperation(Set<EclipseProject> allProjects, InternalGradleBuild gradleBuild, NewProjectHandler newProjectHandler, ProjectConfigurators configurators) {
-        this.allProjects = allProjects;
+    public SynchronizeGradleBuildOperation(EclipseProjectIndex projectIndex, InternalGradleBuild gradleBuild, NewProjectHandler newProjectHandler, ProjectConfigurators configurators) {
+        this.projectIndex = projectIndex;
+        this.allProjects = projectIndex.getAll();
         this.gradleBuild = gradleBuild;
         this.newProjectHandler = newProjectHandler;
         this.configurators = configurators;
@@ -61,30 +73,130 @@ public final class SynchronizeGradleBuildOperation {
         progress.setTaskName(String.format("Synchronizing Gradle build at %s", this.gradleBuild.getBuildConfig().getRootProjectDirectory()));
 
         this.failures = new ArrayList<>();
-        synchronizeProjectsWithWorkspace(progress);
+        this.importedProjects = new HashSet<>();
+        this.workspaceProjects = new HashMap<>();
+
+        if (TuningOptions.isParallelSynchronizationEnabled()) {
+            // the parallel synchronization acquires the rules itself to let worker threads lock individual projects
+            synchronizeProjectsWithWorkspace(progress);
+        } else {
+            // the rule depends on the workspace projects, hence the workspace projects to sync are collected while holding it
+            SynchronizationRules.run(getOperationName(), m -> synchronizeProjectsWithWorkspace(SubMonitor.convert(m)), this::getSchedulingRule, progress);
+        }
         return this.failures;
     }
 
     private void synchronizeProjectsWithWorkspace(SubMonitor progress) throws CoreException {
+        progress.setWorkRemaining(this.allProjects.size() + 3);
+
+        try (Scope scope = SynchronizationMetrics.span("Initialize configurators")) {
+            this.failures.addAll(this.configurators.initConfigurators(this.projectIndex, progress.newChild(1)));
+        }
+
+        try {
+            if (TuningOptions.isParallelSynchronizationEnabled()) {
+                synchronizeProjectsWithWorkspaceInParallel(progress);
+            } else {
+                synchronizeProjectsWithWorkspaceSerially(progress);
+            }
+        } finally {
+            // the configurators may defer changes for the projects configured so far, apply them even if the synchronization was interrupted
+            try (Scope scope = SynchronizationMetrics.span("Finish configurators")) {
+                this.failures.addAll(this.configurators.finishConfigurators(this.projectIndex, progress.newChild(1)));
+            }
+        }
+    }
+
+    private void synchronizeProjectsWithWorkspaceSerially(SubMonitor progress) throws CoreException {
         // collect Gradle projects and Eclipse workspace projects to sync
         List<IProject> decoupledWorkspaceProjects = getOpenWorkspaceProjectsRemovedFromGradleBuild();
         progress.setWorkRemaining(decoupledWorkspaceProjects.size() + this.allProjects.size() + 1);
 
-        this.failures.addAll(this.configurators.initConfigurators(progress.newChild(1)));
-
         // uncouple the open workspace projects that do not have a corresponding Gradle project anymore
-        for (IProject project : decoupledWorkspaceProjects) {
-            uncoupleWorkspaceProjectFromGradle(project, progress.newChild(1));
+        try (Scope scope = SynchronizationMetrics.span("Uncouple removed projects")) {
+            for (IProject project : decoupledWorkspaceProjects) {
+                uncoupleWorkspaceProjectFromGradle(project, progress.newChild(1));
+            }
+        }
+
+        // synchronize the Gradle projects with their corresponding workspace projects; the projects are covered by the rule held by the caller
+        try (Scope scope = SynchronizationMetrics.span("Configure projects")) {
+            for (final EclipseProject gradleProject : this.allProjects) {
+                SynchronizationMetrics.workspaceOperation();
+                ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
+                    @Override
+                    public void run(IProgressMonitor monitor) throws CoreException {
+                        SubMonitor progress = SubMonitor.convert(monitor, 2);
+                        try (Scope projectScope = SynchronizationMetrics.projectSpan(gradleProject.getName())) {
+                            Optional<IProject> workspaceProject;
+                            try (Scope updateScope = SynchronizationMetrics.span("Update workspace project")) {
+                                workspaceProject = synchronizeGradleProjectWithWorkspaceProject(gradleProject, progress.newChild(1));
+                            }
+                            if (workspaceProject.isPresent()) {
+                                SynchronizeGradleBuildOperation.this.failures.addAll(SynchronizeGradleBuildOperation.this.configurators.configureConfigurators(workspaceProject.get(), progress.newChild(1)));
+                                afterProjectConfigured(workspaceProject.get());
+                            }
+                        }
+                    }
+                }, null, IWorkspace.AVOID_UPDATE, progress.newChild(1));
+            }
+        }
+    }
+
+    private void synchronizeProjectsWithWorkspaceInParallel(SubMonitor progress) throws CoreException {
+        // one unit for updating and two for configuring each project, plus one for finishing the configurators
+        progress.setWorkRemaining(3 * this.allProjects.size() + 1);
+
+        // creating, renaming and uncoupling projects changes the workspace structure, hence it is done serially
+        final List<IProject> projectsToConfigure = new ArrayList<>();
+        try (Scope scope = SynchronizationMetrics.span("Update workspace projects")) {
+            SynchronizationRules.run(getOperationName(), new IWorkspaceRunnable() {
+
+                @Override
+                public void run(IProgressMonitor monitor) throws CoreException {
+                    List<IProject> decoupledWorkspaceProjects = getOpenWorkspaceProjectsRemovedFromGradleBuild();
+                    SubMonitor progress = SubMonitor.convert(monitor, decoupledWorkspaceProjects.size() + SynchronizeGradleBuildOperation.this.allProjects.size());
+                    for (IProject project : decoupledWorkspaceProjects) {
+                        uncoupleWorkspaceProjectFromGradle(project, progress.newChild(1));
+                    }
+                    for (EclipseProject gradleProject : SynchronizeGradleBuildOperation.this.allProjects) {
+                        Optional<IProject> workspaceProject = synchronizeGradleProjectWithWorkspaceProject(gradleProject, progress.newChild(1));
+                        if (workspaceProject.isPresent()) {
+                            projectsToConfigure.add(workspaceProject.get());
+                        }
+                    }
+                }
+            }, this::getSchedulingRule, progress.newChild(this.allProjects.size()));
+        }
+
+        // the resource changes of the configurators only modify the project they configure, so they are applied on worker threads holding
+        // only the project's rule
+        try (Scope scope = SynchronizationMetrics.span("Configure projects")) {
+            new ParallelProjectConfiguration(this.configurators, projectsToConfigure).run(this.failures, progress.newChild(this.allProjects.size()));
         }
 
-        // synchronize the Gradle projects with their corresponding workspace projects
-        for (final EclipseProject gradleProject : this.allProjects) {
-            ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
+        // JDT locks its external folders project for every classpath change, hence the Java model changes are applied one project after the
+        // other in a single workspace operation
+        try (Scope scope = SynchronizationMetrics.span("Configure Java model")) {
+            SynchronizationRules.run(getOperationName(), new IWorkspaceRunnable() {
+
                 @Override
                 public void run(IProgressMonitor monitor) throws CoreException {
-                    synchronizeGradleProjectWithWorkspaceProject(gradleProject, SubMonitor.convert(monitor));
+                    SubMonitor progress = SubMonitor.convert(monitor, projectsToConfigure.size());
+                    for (IProject project : projectsToConfigure) {
+                        try (Scope projectScope = SynchronizationMetrics.projectSpan(project.getName())) {
+                            SynchronizeGradleBuildOperation.this.failures.addAll(SynchronizeGradleBuildOperation.this.configurators.configureConfiguratorsSerially(project, progress.newChild(1)));
+                        }
+                        afterProjectConfigured(project);
+                    }
                 }
-            }, progress.newChild(1));
+            }, () -> SynchronizationRules.forProjects(projectsToConfigure, this.allProjects), progress.newChild(this.allProjects.size()));
+        }
+    }
+
+    private void afterProjectConfigured(IProject project) {
+        if (this.importedProjects.remove(project)) {
+            this.newProjectHandler.afterProjectImported(project);
         }
     }
 
@@ -117,31 +229,67 @@ public final class SynchronizeGradleBuildOperation {
         }).toList();
     }
 
-    private void synchronizeGradleProjectWithWorkspaceProject(EclipseProject project, SubMonitor progress) throws CoreException {
+    private ISchedulingRule getSchedulingRule() {
+        List<IProject> affectedProjects = new ArrayList<>(getOpenWorkspaceProjectsRemovedFromGradleBuild());
+        Map<EclipseProject, Optional<IProject>> workspaceProjects = new HashMap<>();
+        boolean structureChanges = false;
+        for (EclipseProject project : this.allProjects) {
+            Optional<IProject> workspaceProject = CorePlugin.workspaceOperations().findProjectByLocation(project.getProjectDirectory());
+            workspaceProjects.put(project, workspaceProject);
+            if (!workspaceProject.isPresent() || !workspaceProject.get().getName().equals(project.getName())) {
+                // creating and renaming projects changes the workspace structure
+                structureChanges = true;
+            } else {
+                affectedProjects.add(workspaceProject.get());
+            }
+        }
+        this.workspaceProjects = workspaceProjects;
+        return structureChanges ? ResourcesPlugin.getWorkspace().getRoot() : SynchronizationRules.forProjects(affectedProjects, this.allProjects);
+    }
+
+    private String getOperationName() {
+        return "Apply synchronization of " + this.gradleBuild.getBuildConfig().getRootProjectDirectory().getName();
+    }
+
+    private Optional<IProject> synchronizeGradleProjectWithWorkspaceProject(EclipseProject project, SubMonitor progress) throws CoreException {
         progress.setWorkRemaining(1);
         progress.subTask(String.format("Synchronize Gradle project %s with workspace project", project.getName()));
         // check if a project already exists in the workspace at the location of the Gradle project to import
-        Optional<IProject> workspaceProject = CorePlugin.workspaceOperations().findProjectByLocation(project.getProjectDirectory());
+        Optional<IProject> workspaceProject = findWorkspaceProject(project);
         SubMonitor childProgress = progress.newChild(1, SubMonitor.SUPPRESS_ALL_LABELS);
         if (workspaceProject.isPresent()) {
-            synchronizeWorkspaceProject(project, workspaceProject.get(), childProgress);
+            return synchronizeWorkspaceProject(project, workspaceProject.get(), childProgress);
+        } else if (project.getProjectDirectory().exists() && this.newProjectHandler.shouldImportNewProjects()) {
+            return Optional.of(synchronizeNonWorkspaceProject(project, childProgress));
         } else {
-            if (project.getProjectDirectory().exists() && this.newProjectHandler.shouldImportNewProjects()) {
-                synchronizeNonWorkspaceProject(project, childProgress);
-            }
+            return Optional.absent();
+        }
+    }
+
+    private Optional<IProject> findWorkspaceProject(EclipseProject project) {
+        // the rule is computed while holding it, so the project found there is still current unless the synchronization of another project renamed it
+        Optional<IProject> workspaceProject = this.workspaceProjects.remove(project);
+        if (workspaceProject != null && (!workspaceProject.isPresent() || workspaceProject.get().exists())) {
+            return workspaceProject;
         }
+        return CorePlugin.workspaceOperations().findProjectByLocation(project.getProjectDirectory());
     }
 
-    private void synchronizeWorkspaceProject(EclipseProject project, IProject workspaceProject, SubMonitor progress) throws CoreException {
+    private Optional<IProject> synchronizeWorkspaceProject(EclipseProject project, IProject workspaceProject, SubMonitor progress) throws CoreException {
         if (workspaceProject.isAccessible()) {
-            synchronizeOpenWorkspaceProject(project, workspaceProject, true, progress);
+            return Optional.of(synchronizeOpenWorkspaceProject(project, workspaceProject, true, progress));
         } else {
             synchronizeClosedWorkspaceProject(progress);
+            return Optional.absent();
         }
     }
 
-    private void synchronizeOpenWorkspaceProject(EclipseProject project, IProject workspaceProject, boolean refreshNeeded, SubMonitor progress) throws CoreException {
-        progress.setWorkRemaining(10);
+    /**
+     * Prepares the workspace project for the configuration and returns it. The project
+     * configurators are not executed by this method.
+     */
+    private IProject synchronizeOpenWorkspaceProject(EclipseProject project, IProject workspaceProject, boolean refreshNeeded, SubMonitor progress) throws CoreException {
+        progress.setWorkRemaining(3);
 
         //currently lots of our synchronization logic assumes that the whole resource tree is readable.
         if (refreshNeeded) {
@@ -159,15 +307,14 @@ public final class SynchronizeGradleBuildOperation {
         workspaceProject = ProjectNameUpdater.updateProjectName(workspaceProject, project, this.allProjects, progress.newChild(1));
 
         CorePlugin.workspaceOperations().addNature(workspaceProject, GradleProjectNature.ID, progress.newChild(1));
-
-        this.failures.addAll(this.configurators.configureConfigurators(workspaceProject, progress.newChild(1)));
+        return workspaceProject;
     }
 
     private void synchronizeClosedWorkspaceProject(SubMonitor childProgress) {
         // do not modify closed projects
     }
 
-    private void synchronizeNonWorkspaceProject(EclipseProject project, SubMonitor progress) throws CoreException {
+    private IProject synchronizeNonWorkspaceProject(EclipseProject project, SubMonitor progress) throws CoreException {
         progress.setWorkRemaining(2);
         IProject workspaceProject;
 
@@ -179,23 +326,23 @@ public final class SynchronizeGradleBuildOperation {
             workspaceProject = addNewEclipseProjectToWorkspace(project, progress.newChild(1));
         }
 
-        this.newProjectHandler.afterProjectImported(workspaceProject);
+        // the new project handler is notified once the project is configured
+        this.importedProjects.add(workspaceProject);
+        return workspaceProject;
     }
 
     private IProject addExistingEclipseProjectToWorkspace(EclipseProject project, IProjectDescription projectDescription, SubMonitor progress) throws CoreException {
         progress.setWorkRemaining(3);
         ProjectNameUpdater.ensureProjectNameIsFree(project, this.allProjects, progress.newChild(1));
         IProject workspaceProject = CorePlugin.workspaceOperations().includeProject(projectDescription, ImmutableList.<String>of(), progress.newChild(1));
-        synchronizeOpenWorkspaceProject(project, workspaceProject, false, progress.newChild(1));
-        return workspaceProject;
+        return synchronizeOpenWorkspaceProject(project, workspaceProject, false, progress.newChild(1));
     }
 
     private IProject addNewEclipseProjectToWorkspace(EclipseProject project, SubMonitor progress) throws CoreException {
         progress.setWorkRemaining(3);
         ProjectNameUpdater.ensureProjectNameIsFree(project, this.allProjects, progress.newChild(1));
         IProject workspaceProject = CorePlugin.workspaceOperations().createProject(project.getName(), project.getProjectDirectory(), ImmutableList.<String>of(), progress.newChild(1));
-        synchronizeOpenWorkspaceProject(project, workspaceProject, false, progress.newChild(1));
-        return workspaceProject;
+        return synchronizeOpenWorkspaceProject(project, workspaceProject, false, progress.newChild(1));
     }
 
     private void uncoupleWorkspaceProjectFromGradle(IProject workspaceProject, SubMonitor monitor) {
@@ -9,9 +9,11 @@
  ******************************************************************************/
 package org.eclipse.buildship.core.internal.workspace;
 
-import java.util.Set;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import com.google.common.collect.Sets;
+import com.google.common.collect.ImmutableList;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -24,6 +26,7 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
 
 import org.eclipse.buildship.core.GradleBuild;
@@ -31,18 +34,27 @@ import org.eclipse.buildship.core.GradleCore;
 import org.eclipse.buildship.core.internal.CorePlugin;
 import org.eclipse.buildship.core.internal.configuration.GradleProjectNature;
 import org.eclipse.buildship.core.internal.configuration.ProjectConfiguration;
-import org.eclipse.buildship.core.internal.operation.ToolingApiJobResultHandler;
-import org.eclipse.buildship.core.internal.operation.ToolingApiStatus;
 import org.eclipse.buildship.core.internal.preferences.PersistentModel;
 
 /**
  * Executes project synchronization if the corresponding preference is enabled and the user changes
- * the build script.
+ * the build configuration: the build script, the settings script, the Gradle properties or a
+ * version catalog.
+ * <p/>
+ * The changed builds are passed to an {@link AutoSyncScheduler} which synchronizes them after a
+ * quiet period.
  *
  * @author Donat Csikos
  */
 public final class SynchronizingBuildScriptUpdateListener implements IResourceChangeListener {
 
+    private static final List<IPath> BUILD_CONFIGURATION_FILES = ImmutableList.of(new Path("settings.gradle"), new Path("settings.gradle.kts"), new Path("gradle.properties"));
+    private static final IPath VERSION_CATALOG_FOLDER = new Path("gradle");
+    private static final String VERSION_CATALOG_EXTENSION = ".versions.toml";
+
+    private final AutoSyncScheduler scheduler = new AutoSyncScheduler();
+    private final Map<IProject, WatchedFiles> watchedFiles = new ConcurrentHashMap<>();
+
     private SynchronizingBuildScriptUpdateListener() {
     }
 
@@ -82,8 +94,12 @@ public final class SynchronizingBuildScriptUpdateListener implements IResourceCh
         IResource resource = delta.getResource();
         if (resource instanceof IProject) {
             IProject project = (IProject) resource;
-            if (GradleProjectNature.isPresentOn(project) && isEnabledInPreferences(project)) {
-                executeSyncIfBuildScriptChanged(project, delta);
+            if (delta.getKind() == IResourceDelta.REMOVED) {
+                this.watchedFiles.remove(project);
+            } else if (GradleProjectNature.isPresentOn(project) && hasBuildConfigurationChanged(project, delta) && isEnabledInPreferences(project)) {
+                // the configuration is only loaded for projects with relevant changes
+                GradleBuild gradleBuild = GradleCore.getWorkspace().getBuild(project).get();
+                this.scheduler.requestSynchronization(gradleBuild);
             }
             return false;
         } else {
@@ -91,37 +107,47 @@ public final class SynchronizingBuildScriptUpdateListener implements IResourceCh
         }
     }
 
-    private void executeSyncIfBuildScriptChanged(final IProject project, IResourceDelta delta) {
-        if (hasBuildScriptFileChanged(project, delta.getAffectedChildren())) {
-            GradleBuild gradleBuild = GradleCore.getWorkspace().getBuild(project).get();
-            SynchronizationJob job = new SynchronizationJob(gradleBuild);
-            job.setResultHandler(new ResultHander());
-            job.schedule();
-        }
-    }
-
-    private boolean hasBuildScriptFileChanged(IProject project, IResourceDelta[] deltas) {
+    private boolean hasBuildConfigurationChanged(IProject project, IResourceDelta projectDelta) {
         PersistentModel model = CorePlugin.modelPersistence().loadModel(project);
         if (!model.isPresent())  {
             return false;
-        } else {
-            IPath buildScriptPath = model.getbuildScriptPath();
-            Set<IPath> affectedResourcePaths  = collectAffectedResourcePaths(deltas);
-            return affectedResourcePaths.contains(buildScriptPath);
         }
-    }
 
-    private Set<IPath> collectAffectedResourcePaths(IResourceDelta[] children) {
-        Set<IPath> result = Sets.newHashSet();
-        collectAffectedResourcePaths(result, children);
-        return result;
+        for (IPath path : getWatchedFiles(project, model)) {
+            IResourceDelta delta = projectDelta.findMember(path);
+            if (delta != null && isContentChange(delta)) {
+                return true;
+            }
+        }
+
+        IResourceDelta versionCatalogFolder = projectDelta.findMember(VERSION_CATALOG_FOLDER);
+        if (versionCatalogFolder != null) {
+            for (IResourceDelta delta : versionCatalogFolder.getAffectedChildren()) {
+                if (delta.getResource().getName().endsWith(VERSION_CATALOG_EXTENSION) && isContentChange(delta)) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
-    private void  collectAffectedResourcePaths(Set<IPath> result, IResourceDelta[] deltas) {
-        for (IResourceDelta delta : deltas) {
-            result.add(delta.getResource().getProjectRelativePath());
-            collectAffectedResourcePaths(result, delta.getAffectedChildren());
+    private List<IPath> getWatchedFiles(IProject project, PersistentModel model) {
+        WatchedFiles watchedFiles = this.watchedFiles.get(project);
+        if (watchedFiles == null || watchedFiles.model != model) {
+            ImmutableList.Builder<IPath> paths = ImmutableList.builder();
+            if (model.getbuildScriptPath() != null) {
+                paths.add(model.getbuildScriptPath());
+            }
+            paths.addAll(BUILD_CONFIGURATION_FILES);
+            watchedFiles = new WatchedFiles(model, paths.build());
+            this.watchedFiles.put(project, watchedFiles);
         }
+        return watchedFiles.paths;
+    }
+
+    private static boolean isContentChange(IResourceDelta delta) {
+        // ignore marker and other metadata-only updates
+        return delta.getKind() != IResourceDelta.CHANGED || (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0;
     }
 
     public static SynchronizingBuildScriptUpdateListener createAndRegister() {
@@ -132,20 +158,20 @@ public final class SynchronizingBuildScriptUpdateListener implements IResourceCh
 
     public void close() {
         ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+        this.scheduler.cancel();
     }
 
     /**
-     * Custom result handler that only logs the failure.
+     * The build configuration files of a project, derived from its persistent model.
      */
-    private static final class ResultHander implements ToolingApiJobResultHandler<Void> {
+    private static final class WatchedFiles {
 
-        @Override
-        public void onSuccess(Void result) {
-        }
+        private final PersistentModel model;
+        private final List<IPath> paths;
 
-        @Override
-        public void onFailure(ToolingApiStatus status) {
-            CorePlugin.getInstance().getLog().log(status);
+        WatchedFiles(PersistentModel model, List<IPath> paths) {
+            this.model = model;
+            this.paths = paths;
         }
     }
 }
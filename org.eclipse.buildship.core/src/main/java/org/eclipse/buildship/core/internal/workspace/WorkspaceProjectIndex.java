@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.core.internal.workspace;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Indexes the workspace projects by name and by location.
+ * <p/>
+ * The index is built on the first lookup and is kept up-to-date by a resource change listener,
+ * which also re-indexes the projects that are opened, closed or whose description changed. As
+ * resource change events are only fired after a workspace operation completes, the changes done by
+ * {@link DefaultWorkspaceOperations} are recorded immediately via {@link #add(IProject)} and
+ * {@link #remove(IProject)}. Index hits are verified against the workspace and the stale entries
+ * are updated. A miss means that the project is not present; projects created by other clients
+ * within a running workspace operation are found once the operation completes.
+ */
+final class WorkspaceProjectIndex implements IResourceChangeListener {
+
+    private final Map<String, IProject> projectsByName = new HashMap<>();
+    // multiple projects can share a location, the first indexed one is returned
+    private final SetMultimap<File, IProject> projectsByLocation = LinkedHashMultimap.create();
+    private final Map<IProject, File> locations = new HashMap<>();
+    private boolean initialized = false;
+    private boolean registered = false;
+
+    synchronized Optional<IProject> findByName(String name) {
+        ensureInitialized();
+        IProject project = this.projectsByName.get(name);
+        if (project != null && !project.exists()) {
+            // deleted by a workspace operation that is still running
+            remove(project);
+            project = null;
+        }
+        return Optional.fromNullable(project);
+    }
+
+    synchronized Optional<IProject> findByLocation(File location) {
+        ensureInitialized();
+        for (IProject project : new ArrayList<>(this.projectsByLocation.get(location))) {
+            if (!project.exists()) {
+                // deleted by a workspace operation that is still running
+                remove(project);
+            } else if (location.equals(locationOf(project))) {
+                return Optional.of(project);
+            } else {
+                // moved by a workspace operation that is still running
+                add(project);
+            }
+        }
+        return Optional.absent();
+    }
+
+    synchronized void add(IProject project) {
+        if (this.initialized) {
+            remove(project);
+            index(project);
+        }
+    }
+
+    synchronized void remove(IProject project) {
+        if (this.initialized) {
+            this.projectsByName.remove(project.getName(), project);
+            File location = this.locations.remove(project);
+            if (location != null) {
+                this.projectsByLocation.remove(location, project);
+            }
+        }
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null) {
+            return;
+        }
+
+        for (IResourceDelta projectDelta : delta.getAffectedChildren(IResourceDelta.ADDED | IResourceDelta.REMOVED | IResourceDelta.CHANGED)) {
+            IProject project = (IProject) projectDelta.getResource();
+            switch (projectDelta.getKind()) {
+                case IResourceDelta.ADDED:
+                    add(project);
+                    break;
+                case IResourceDelta.REMOVED:
+                    remove(project);
+                    break;
+                default:
+                    // the location is part of the project description
+                    if ((projectDelta.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION)) != 0) {
+                        add(project);
+                    }
+            }
+        }
+    }
+
+    synchronized void close() {
+        if (this.registered) {
+            ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+            this.registered = false;
+        }
+        clear();
+    }
+
+    private void ensureInitialized() {
+        if (!this.registered) {
+            ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+            this.registered = true;
+        }
+        if (!this.initialized) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        clear();
+        for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+            index(project);
+        }
+        this.initialized = true;
+    }
+
+    private void clear() {
+        this.projectsByName.clear();
+        this.projectsByLocation.clear();
+        this.locations.clear();
+        this.initialized = false;
+    }
+
+    private void index(IProject project) {
+        if (!project.exists()) {
+            return;
+        }
+
+        this.projectsByName.put(project.getName(), project);
+        File location = locationOf(project);
+        if (location != null) {
+            this.locations.put(project, location);
+            this.projectsByLocation.put(location, project);
+        }
+    }
+
+    private static File locationOf(IProject project) {
+        // since Eclipse 3.4 projects can be non-local and they could return null locations
+        // for Buildship this is not the case, Gradle projects are always available on the
+        // local file system
+        IPath location = project.getLocation();
+        return location != null ? location.toFile() : null;
+    }
+}
@@ -9,12 +9,8 @@
  ******************************************************************************/
 package org.eclipse.buildship.core.internal.workspace;
 
-import java.io.File;
-import java.util.Collection;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.gradle.tooling.model.eclipse.ClasspathAttribute;
 import org.gradle.tooling.model.eclipse.EclipseExternalDependency;
@@ -32,7 +28,6 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 
-import org.eclipse.buildship.core.GradleBuild;
 import org.eclipse.buildship.core.InitializationContext;
 import org.eclipse.buildship.core.ProjectConfigurator;
 import org.eclipse.buildship.core.ProjectContext;
@@ -40,7 +35,6 @@ import org.eclipse.buildship.core.internal.CorePlugin;
 import org.eclipse.buildship.core.internal.DefaultGradleBuild;
 import org.eclipse.buildship.core.internal.UnsupportedConfigurationException;
 import org.eclipse.buildship.core.internal.marker.GradleErrorMarker;
-import org.eclipse.buildship.core.internal.util.gradle.HierarchicalElementUtils;
 
 /**
  * Updates the Gradle classpath container to have the correct deployment attribute if any of its
@@ -56,17 +50,12 @@ public class WtpConfigurator implements ProjectConfigurator {
     private static final String NON_DEPLOYMENT_ATTRIBUTE = "org.eclipse.jst.component.nondependency";
 
     private DefaultGradleBuild gradleBuild;
-    private Map<File, EclipseProject> locationToProject;
+    private EclipseProjectIndex projectIndex;
 
     @Override
     public void init(InitializationContext context, IProgressMonitor monitor) {
-        // TODO (donat) add required model declarations to the project configurator extension point
-        GradleBuild gradleBuild = context.getGradleBuild();
         try {
-            Collection<EclipseProject> rootModels = gradleBuild.withConnection(connection -> EclipseModelUtils.queryModels(connection).values(), monitor);
-            this.locationToProject = rootModels.stream()
-                .flatMap(p -> HierarchicalElementUtils.getAll(p).stream())
-                .collect(Collectors.toMap(p -> p.getProjectDirectory(), p -> p));
+            this.projectIndex = EclipseProjectIndex.from(context, monitor);
         } catch (Exception e) {
             context.error("Cannot Query Eclipse model", e);
         }
@@ -89,7 +78,7 @@ public class WtpConfigurator implements ProjectConfigurator {
         if (path == null) {
             return null;
         }
-        return this.locationToProject.get(path.toFile());
+        return this.projectIndex.findByLocation(path.toFile());
     }
 
     @Override
@@ -160,6 +149,7 @@ public class WtpConfigurator implements ProjectConfigurator {
                 newClasspath[i] = entry;
             }
         }
+        SynchronizationMetrics.classpathUpdate();
         project.setRawClasspath(newClasspath, monitor);
     }
 
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.ui.internal.console
+
+import org.eclipse.buildship.ui.internal.test.fixtures.WorkspaceSpecification
+
+class ConsoleOutputFileTest extends WorkspaceSpecification {
+
+    def "Output file is truncated once it exceeds the maximum size"() {
+        setup:
+        File directory = dir('console')
+        ConsoleOutputFile outputFile = new ConsoleOutputFile(directory, 10)
+
+        when:
+        outputFile.write('12345678'.bytes, 0, 8)
+        outputFile.write('abcd'.bytes, 0, 4)
+        File file = outputFile.getFile()
+
+        then:
+        file.parentFile == directory
+        file.text == 'abcd'
+        outputFile.size() == 4
+
+        cleanup:
+        outputFile.delete()
+    }
+
+    def "Stale output files are deleted"() {
+        setup:
+        File directory = dir('console')
+        File stale = new File(directory, 'gradle-console-123.log')
+        stale.text = 'output'
+        File other = new File(directory, 'other.txt')
+        other.text = 'other'
+
+        when:
+        ConsoleOutputFile.deleteStaleFiles(directory)
+
+        then:
+        !stale.exists()
+        other.exists()
+    }
+}
@@ -9,10 +9,11 @@
  ******************************************************************************/
 package org.eclipse.buildship.ui.internal.view.execution
 
-import org.gradle.tooling.LongRunningOperation
+import org.gradle.tooling.events.FinishEvent
 import org.gradle.tooling.events.OperationDescriptor
 import org.gradle.tooling.events.ProgressEvent
 import org.gradle.tooling.events.StartEvent
+import org.gradle.tooling.events.SuccessResult
 
 import org.eclipse.core.runtime.IProgressMonitor
 import org.eclipse.core.runtime.IStatus
@@ -26,8 +27,10 @@ import org.eclipse.ui.IWorkbenchPage
 import org.eclipse.ui.PlatformUI
 
 import org.eclipse.buildship.core.internal.console.ProcessDescription
+import org.eclipse.buildship.core.internal.launch.ExecuteLaunchRequestEvent
 import org.eclipse.buildship.core.internal.launch.GradleRunConfigurationAttributes
 import org.eclipse.buildship.core.internal.launch.GradleRunConfigurationDelegate
+import org.eclipse.buildship.ui.internal.UiTuningOptions
 import org.eclipse.buildship.ui.internal.test.fixtures.ProjectSynchronizationSpecification
 import org.eclipse.buildship.ui.internal.util.workbench.WorkbenchUtils
 import org.eclipse.buildship.ui.internal.view.execution.ExecutionsView
@@ -37,17 +40,20 @@ class ExecutionsViewPerformanceTest extends ProjectSynchronizationSpecification
     ExecutionsView view
 
     def setup() {
+        // the test runs below produce events faster than the page is updated
+        System.setProperty(UiTuningOptions.EXECUTION_VIEW_EVENT_BUFFER_KEY, '100000')
         runOnUiThread {
             view = WorkbenchUtils.showView(ExecutionsView.ID, null, IWorkbenchPage.VIEW_ACTIVATE)
         }
     }
 
-    def "Executions view can efficiently present large number of items"() {
-            setup:
-            LongRunningOperation operation = Mock(LongRunningOperation)
+    def cleanup() {
+        System.clearProperty(UiTuningOptions.EXECUTION_VIEW_EVENT_BUFFER_KEY)
+    }
 
+    def "Executions view can efficiently present large number of items"() {
             when:
-            runOnUiThread { view.addExecutionPage(processDescription(), operation) }
+            runOnUiThread { view.addExecutionPage(launchRequest()) }
             long start = System.currentTimeMillis()
             1000.times {  view.pages[0].progressListener.statusChanged(progressEvent()) }
             runOnUiThread { }
@@ -61,6 +67,170 @@ class ExecutionsViewPerformanceTest extends ProjectSynchronizationSpecification
             runOnUiThread { view.removeAllPages() }
         }
 
+    def "Executions view can efficiently present a large test run"() {
+        setup:
+        OperationDescriptor taskDescriptor = descriptor()
+        List<OperationDescriptor> testDescriptors = (1..20000).collect { descriptor(taskDescriptor) }
+
+        when:
+        runOnUiThread { view.addExecutionPage(launchRequest()) }
+        def listener = view.pages[0].progressListener
+        listener.statusChanged(startEvent(taskDescriptor))
+        testDescriptors.each { listener.statusChanged(startEvent(it)) }
+        testDescriptors.each { listener.statusChanged(finishEvent(it)) }
+        listener.statusChanged(finishEvent(taskDescriptor))
+        // the events are applied in order, hence all events are applied once the task is finished
+        waitFor(60000) { taskItem()?.finishEvent != null }
+
+        then:
+        runOnUiThread {
+            OperationItem taskItem = taskItem()
+            assert taskItem.children.size() == 20000
+            assert taskItem.children.every { it.finishEvent != null && it.startEvent == null }
+            assert view.pages[0].addedItems.isEmpty()
+            assert view.pages[0].finishedItems.isEmpty()
+        }
+
+        cleanup:
+        runOnUiThread { view.removeAllPages() }
+    }
+
+    def "Events received after the parent operation finished are attached to the parent"() {
+        setup:
+        OperationDescriptor taskDescriptor = descriptor()
+        OperationDescriptor lateDescriptor = descriptor(taskDescriptor)
+
+        when:
+        runOnUiThread { view.addExecutionPage(launchRequest()) }
+        def listener = view.pages[0].progressListener
+        listener.statusChanged(startEvent(taskDescriptor))
+        listener.statusChanged(finishEvent(taskDescriptor))
+        waitFor { taskItem()?.finishEvent != null }
+        listener.statusChanged(startEvent(lateDescriptor))
+        listener.statusChanged(finishEvent(lateDescriptor))
+        waitFor { taskItem()?.children?.size() == 1 && taskItem().children[0].finishEvent != null }
+
+        then:
+        runOnUiThread {
+            assert view.pages[0].pageControl.viewer.input.children.size() == 1
+            assert taskItem().children[0].descriptor.is(lateDescriptor)
+        }
+
+        cleanup:
+        runOnUiThread { view.removeAllPages() }
+    }
+
+    def "Events dropped from the full event buffer are reported in the page"() {
+        setup:
+        OperationDescriptor taskDescriptor = descriptor()
+
+        when:
+        runOnUiThread {
+            view.addExecutionPage(launchRequest())
+            ExecutionPage page = view.pages[0]
+            page.onProgress(startEvent(taskDescriptor))
+            page.onTestOutputDropped(taskDescriptor, 2)
+            page.refreshChangedItems()
+            page.onTestOutputDropped(taskDescriptor, 3)
+            page.onOperationsDropped(4)
+            page.refreshChangedItems()
+        }
+
+        then:
+        runOnUiThread {
+            OperationItem taskItem = taskItem()
+            assert taskItem.children.size() == 1
+            assert taskItem.children[0].message
+            assert taskItem.children[0].name.startsWith('5 ')
+            OperationItem root = view.pages[0].pageControl.viewer.input
+            assert root.children.findAll { it.message }*.name.every { it.startsWith('4 ') }
+            assert root.children.count { it.message } == 1
+        }
+
+        cleanup:
+        runOnUiThread { view.removeAllPages() }
+    }
+
+    def "Finished subtrees are summarized and recreated when expanded"() {
+        setup:
+        OperationDescriptor taskDescriptor = descriptor()
+        OperationDescriptor classDescriptor = descriptor(taskDescriptor)
+        List<OperationDescriptor> testDescriptors = (1..3).collect { descriptor(classDescriptor) }
+
+        when:
+        runOnUiThread {
+            view.addExecutionPage(launchRequest())
+            ExecutionPage page = view.pages[0]
+            ([taskDescriptor, classDescriptor] + testDescriptors).each { page.onProgress(startEvent(it)) }
+            (testDescriptors + [classDescriptor, taskDescriptor]).each { page.onProgress(finishEvent(it)) }
+            page.refreshChangedItems()
+        }
+
+        then:
+        runOnUiThread {
+            OperationItem classItem = taskItem().children[0]
+            assert classItem.summarized
+            assert classItem.hasChildren()
+            assert testDescriptors.every { !view.pages[0].allItems.containsKey(it) }
+
+            view.pages[0].pageControl.viewer.expandToLevel(classItem, 1)
+            assert !classItem.summarized
+            assert classItem.children*.descriptor == testDescriptors
+            assert classItem.children.every { it.result instanceof SuccessResult && it.finishEvent == null }
+        }
+
+        cleanup:
+        runOnUiThread { view.removeAllPages() }
+    }
+
+    def "Events received for a summarized subtree are attached to the recreated items"() {
+        setup:
+        OperationDescriptor taskDescriptor = descriptor()
+        OperationDescriptor classDescriptor = descriptor(taskDescriptor)
+        OperationDescriptor testDescriptor = descriptor(classDescriptor)
+        OperationDescriptor lateDescriptor = descriptor(testDescriptor)
+
+        when:
+        runOnUiThread {
+            view.addExecutionPage(launchRequest())
+            ExecutionPage page = view.pages[0]
+            [taskDescriptor, classDescriptor, testDescriptor].each { page.onProgress(startEvent(it)) }
+            [testDescriptor, classDescriptor, taskDescriptor].each { page.onProgress(finishEvent(it)) }
+            page.refreshChangedItems()
+            page.onProgress(startEvent(lateDescriptor))
+            page.onProgress(finishEvent(lateDescriptor))
+            page.refreshChangedItems()
+        }
+
+        then:
+        runOnUiThread {
+            OperationItem classItem = taskItem().children[0]
+            assert !classItem.summarized
+            assert classItem.children.size() == 1
+            assert classItem.children[0].descriptor.is(testDescriptor)
+            assert classItem.children[0].children*.descriptor == [lateDescriptor]
+        }
+
+        cleanup:
+        runOnUiThread { view.removeAllPages() }
+    }
+
+    private OperationItem taskItem() {
+        OperationItem result = null
+        runOnUiThread {
+            List<OperationItem> children = view.pages[0].pageControl.viewer.input.children
+            result = children.isEmpty() ? null : children[0]
+        }
+        result
+    }
+
+    private ExecuteLaunchRequestEvent launchRequest() {
+        ProcessDescription processDescription = processDescription()
+        Stub(ExecuteLaunchRequestEvent) {
+            getProcessDescription() >> processDescription
+        }
+    }
+
     private ProcessDescription processDescription() {
         Stub(ProcessDescription) {
             getName() >> 'test-process-description-name'
@@ -78,13 +248,30 @@ class ExecutionsViewPerformanceTest extends ProjectSynchronizationSpecification
         event
     }
 
-    private OperationDescriptor descriptor() {
+    private OperationDescriptor descriptor(OperationDescriptor parent = null) {
         OperationDescriptor descriptor = Mock(OperationDescriptor)
         descriptor.name >> 'operation name'
         descriptor.displayName >> 'operation display name'
+        descriptor.parent >> parent
         descriptor
     }
 
+    private StartEvent startEvent(OperationDescriptor descriptor) {
+        StartEvent event = Mock(StartEvent)
+        event.eventTime >> System.currentTimeMillis()
+        event.descriptor >> descriptor
+        event
+    }
+
+    private FinishEvent finishEvent(OperationDescriptor descriptor) {
+        SuccessResult result = Mock(SuccessResult)
+        FinishEvent event = Mock(FinishEvent)
+        event.eventTime >> System.currentTimeMillis()
+        event.descriptor >> descriptor
+        event.result >> result
+        event
+    }
+
     class EmptyJob extends Job {
 
         EmptyJob() {
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.ui.internal.view.execution
+
+import spock.lang.Specification
+
+import org.gradle.tooling.events.FinishEvent
+import org.gradle.tooling.events.OperationDescriptor
+import org.gradle.tooling.events.ProgressEvent
+import org.gradle.tooling.events.StartEvent
+import org.gradle.tooling.events.StatusEvent
+import org.gradle.tooling.events.test.TestOutputEvent
+
+class ProgressEventBufferTest extends Specification {
+
+    def "Events are drained in the order they were added"() {
+        setup:
+        ProgressEventBuffer buffer = new ProgressEventBuffer(16)
+        List<ProgressEvent> events = [event(StartEvent, Mock(OperationDescriptor)), event(StartEvent, Mock(OperationDescriptor))]
+        List<ProgressEvent> drained = []
+
+        when:
+        events.each { buffer.put(it) }
+        int count = buffer.drainTo(drained)
+
+        then:
+        count == 2
+        drained == events
+        buffer.empty
+    }
+
+    def "Finish event replaces the pending start event of the same operation"() {
+        setup:
+        ProgressEventBuffer buffer = new ProgressEventBuffer(16)
+        OperationDescriptor first = Mock(OperationDescriptor)
+        OperationDescriptor second = Mock(OperationDescriptor)
+        ProgressEvent secondStart = event(StartEvent, second)
+        ProgressEvent firstFinish = event(FinishEvent, first)
+        List<ProgressEvent> drained = []
+
+        when:
+        [event(StartEvent, first), secondStart, firstFinish].each { buffer.put(it) }
+        buffer.drainTo(drained)
+
+        then:
+        drained == [firstFinish, secondStart]
+        buffer.mergedEvents == 1
+    }
+
+    def "Superseded status events are skipped"() {
+        setup:
+        ProgressEventBuffer buffer = new ProgressEventBuffer(16)
+        OperationDescriptor first = Mock(OperationDescriptor)
+        OperationDescriptor second = Mock(OperationDescriptor)
+        ProgressEvent start = event(StartEvent, first)
+        ProgressEvent secondStatus = event(StatusEvent, second)
+        ProgressEvent lastStatus = event(StatusEvent, first)
+        List<ProgressEvent> drained = []
+
+        when:
+        [start, event(StatusEvent, first), secondStatus, event(StatusEvent, first), lastStatus].each { buffer.put(it) }
+        buffer.drainTo(drained)
+
+        then:
+        drained == [start, lastStatus, secondStatus]
+        buffer.mergedEvents == 2
+    }
+
+    def "Buffer never holds more events than its capacity"() {
+        setup:
+        ProgressEventBuffer buffer = new ProgressEventBuffer(4)
+        List<ProgressEvent> drained = []
+
+        when:
+        100.times { buffer.put(event(StartEvent, Mock(OperationDescriptor))) }
+        buffer.drainTo(drained)
+
+        then:
+        drained.size() == 4
+        buffer.droppedEvents == 96
+        buffer.drainDroppedOperations() == 96
+        buffer.drainDroppedOperations() == 0
+    }
+
+    def "Dropped test output is counted per test"() {
+        setup:
+        ProgressEventBuffer buffer = new ProgressEventBuffer(1)
+        OperationDescriptor test = Mock(OperationDescriptor)
+        OperationDescriptor output = Mock(OperationDescriptor) { getParent() >> test }
+
+        when:
+        buffer.put(event(StartEvent, test))
+        boolean outputAdded = buffer.put(event(TestOutputEvent, output))
+        buffer.put(event(TestOutputEvent, output))
+
+        then:
+        !outputAdded
+        buffer.drainDroppedOutput() == [(test): 2]
+        buffer.drainDroppedOutput().isEmpty()
+    }
+
+    def "Events of dropped operations and their descendants are dropped until the operation finishes"() {
+        setup:
+        ProgressEventBuffer buffer = new ProgressEventBuffer(1)
+        OperationDescriptor first = Mock(OperationDescriptor)
+        OperationDescriptor second = Mock(OperationDescriptor)
+        OperationDescriptor child = Mock(OperationDescriptor) { getParent() >> second }
+        List<ProgressEvent> drained = []
+
+        when:
+        buffer.put(event(StartEvent, first))
+        buffer.put(event(StartEvent, second))
+        buffer.drainTo(drained)
+        boolean childAdded = buffer.put(event(StartEvent, child))
+        boolean finishAdded = buffer.put(event(FinishEvent, second))
+        ProgressEvent secondStart = event(StartEvent, second)
+        boolean restartAdded = buffer.put(secondStart)
+
+        then:
+        !childAdded
+        !finishAdded
+        restartAdded
+        buffer.droppedEvents == 3
+        buffer.drainDroppedOperations() == 1
+    }
+
+    def "Closed buffer discards events"() {
+        setup:
+        ProgressEventBuffer buffer = new ProgressEventBuffer(2)
+        OperationDescriptor descriptor = Mock(OperationDescriptor)
+        2.times { buffer.put(event(StartEvent, descriptor)) }
+
+        when:
+        buffer.close()
+
+        then:
+        !buffer.put(event(StartEvent, descriptor))
+    }
+
+    private ProgressEvent event(Class<? extends ProgressEvent> type, OperationDescriptor descriptor) {
+        ProgressEvent event = Mock(type)
+        event.descriptor >> descriptor
+        event
+    }
+}
@@ -168,6 +168,24 @@ class TaskViewContentTest extends BaseTaskViewTest {
         waitFor { taskTree.collect { k, v -> k } == ['a'] }
     }
 
+    def "The nodes of other builds keep their state when a project is closed"() {
+        given:
+        def first = dir("a") { file 'build.gradle' }
+        def second = dir("b") { file 'build.gradle' }
+        importAndWait(first)
+        importAndWait(second)
+        waitForTaskView()
+        tree.getTreeItem('a').expand()
+
+        when:
+        findProject("b").close(null)
+        waitForTaskView()
+
+        then:
+        waitFor { tree.allItems.collect { it.text } == ['a'] }
+        tree.getTreeItem('a').expanded
+    }
+
     def "Subprojects should be under the parent project's folder when not showing flatten project hierarchy"() {
         given:
         view.state.projectHierarchyFlattened = false
@@ -9,6 +9,7 @@
  ******************************************************************************/
 package org.eclipse.buildship.ui.internal;
 
+import java.util.Arrays;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.Map;
@@ -18,6 +19,8 @@ import org.osgi.framework.Constants;
 import org.osgi.framework.ServiceReference;
 import org.osgi.framework.ServiceRegistration;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 
 import org.eclipse.core.runtime.Platform;
@@ -31,9 +34,11 @@ import org.eclipse.buildship.core.internal.CoreTraceScopes;
 import org.eclipse.buildship.core.internal.Logger;
 import org.eclipse.buildship.core.internal.TraceScope;
 import org.eclipse.buildship.core.internal.console.ProcessStreamsProvider;
+import org.eclipse.buildship.core.internal.launch.ExecuteLaunchRequestEvent;
 import org.eclipse.buildship.core.internal.launch.GradleLaunchConfigurationManager;
 import org.eclipse.buildship.core.internal.util.logging.EclipseLogger;
 import org.eclipse.buildship.ui.internal.console.ConsoleProcessStreamsProvider;
+import org.eclipse.buildship.ui.internal.console.GradleConsole;
 import org.eclipse.buildship.ui.internal.launch.ConsoleShowingLaunchListener;
 import org.eclipse.buildship.ui.internal.launch.UiGradleLaunchConfigurationManager;
 import org.eclipse.buildship.ui.internal.view.execution.ExecutionShowingLaunchRequestListener;
@@ -67,6 +72,7 @@ public final class UiPlugin extends AbstractUIPlugin {
         super.start(context);
         plugin = this;
         registerServices(context);
+        GradleConsole.deleteStaleOutputFiles();
         registerListeners();
     }
 
@@ -99,7 +105,7 @@ public final class UiPlugin extends AbstractUIPlugin {
 
     private EclipseLogger createLogger() {
         Map<TraceScope, Boolean> tracingEnablement = Maps.newHashMap();
-        for (TraceScope scope : CoreTraceScopes.values()) {
+        for (TraceScope scope : Iterables.<TraceScope>concat(Arrays.asList(CoreTraceScopes.values()), Arrays.asList(UiTraceScopes.values()))) {
             String option = Platform.getDebugOption("org.eclipse.buildship.ui/trace/" + scope.getScopeKey());
             tracingEnablement.put(scope, "true".equalsIgnoreCase(option));
         }
@@ -127,7 +133,7 @@ public final class UiPlugin extends AbstractUIPlugin {
         DebugPlugin.getDefault().getLaunchManager().addLaunchListener(this.consoleShowingLaunchListener);
 
         this.executionShowingLaunchRequestListener = new ExecutionShowingLaunchRequestListener();
-        CorePlugin.listenerRegistry().addEventListener(this.executionShowingLaunchRequestListener);
+        CorePlugin.listenerRegistry().addEventListener(this.executionShowingLaunchRequestListener, ImmutableSet.of(ExecuteLaunchRequestEvent.class));
 
         PlatformUI.getWorkbench().addWorkbenchListener(this.shutdownListener = new ShutdownListener());
     }
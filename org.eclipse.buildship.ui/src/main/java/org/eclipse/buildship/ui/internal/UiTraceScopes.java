@@ -15,7 +15,8 @@ import org.eclipse.buildship.core.internal.TraceScope;
  * Available tracing scopes for the UI plug-in.
  */
 public enum UiTraceScopes implements TraceScope {
-    NAVIGATOR("navigator");
+    NAVIGATOR("navigator"),
+    EXECUTION_VIEW("executionView");
 
     private final String scopeKey;
 
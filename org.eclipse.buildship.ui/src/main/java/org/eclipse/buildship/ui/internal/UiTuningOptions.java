@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.ui.internal;
+
+/**
+ * Performance-related options of the UI plug-in that can be set via system properties, e.g. in the
+ * {@code eclipse.ini} file.
+ * <p/>
+ * The options complement the core {@code TuningOptions} and are likewise read on each access.
+ */
+public final class UiTuningOptions {
+
+    public static final String EXECUTION_VIEW_EVENT_BUFFER_KEY = "org.eclipse.buildship.ui.executionViewEventBuffer";
+    public static final String TASK_VIEW_LOADING_THREADS_KEY = "org.eclipse.buildship.ui.taskViewLoadingThreads";
+    public static final String CONSOLE_BUFFER_SIZE_KEY = "org.eclipse.buildship.ui.consoleBufferSize";
+    public static final String CONSOLE_OUTPUT_FILE_SIZE_KEY = "org.eclipse.buildship.ui.consoleOutputFileSize";
+
+    private static final int DEFAULT_EXECUTION_VIEW_EVENT_BUFFER = 8192;
+    private static final int DEFAULT_TASK_VIEW_LOADING_THREADS = Math.min(Runtime.getRuntime().availableProcessors(), 4);
+    private static final int DEFAULT_CONSOLE_BUFFER_SIZE = 1000000;
+    private static final int DEFAULT_CONSOLE_OUTPUT_FILE_SIZE = 64 * 1024 * 1024;
+
+    private UiTuningOptions() {
+    }
+
+    /**
+     * Returns the number of progress events buffered for an execution page of the Executions view.
+     * If the buffer is full, further status and test output events are dropped until the view
+     * processes the buffered ones.
+     */
+    public static int getExecutionViewEventBufferSize() {
+        Integer value = Integer.getInteger(EXECUTION_VIEW_EVENT_BUFFER_KEY);
+        return value != null && value > 0 ? value : DEFAULT_EXECUTION_VIEW_EVENT_BUFFER;
+    }
+
+    /**
+     * Returns the maximum number of Gradle builds the Gradle Tasks view loads concurrently.
+     * Defaults to the number of available processors, but at most 4.
+     */
+    public static int getTaskViewLoadingThreads() {
+        Integer value = Integer.getInteger(TASK_VIEW_LOADING_THREADS_KEY);
+        return value != null && value > 0 ? value : DEFAULT_TASK_VIEW_LOADING_THREADS;
+    }
+
+    /**
+     * Returns the maximum number of characters a Gradle console keeps in memory. Older output is
+     * discarded from the console and remains available in a temporary file. Setting the value to 0
+     * keeps the complete output in the console.
+     */
+    public static int getConsoleBufferSize() {
+        Integer value = Integer.getInteger(CONSOLE_BUFFER_SIZE_KEY);
+        return value != null && value >= 0 ? value : DEFAULT_CONSOLE_BUFFER_SIZE;
+    }
+
+    /**
+     * Returns the maximum size in bytes of the temporary file receiving the output of a Gradle
+     * console. Once the file exceeds the size, it is restarted with the latest output, which bounds
+     * the disk usage of long-living consoles like the one of the background jobs.
+     */
+    public static int getConsoleOutputFileSize() {
+        Integer value = Integer.getInteger(CONSOLE_OUTPUT_FILE_SIZE_KEY);
+        return value != null && value > 0 ? value : DEFAULT_CONSOLE_OUTPUT_FILE_SIZE;
+    }
+}
@@ -69,6 +69,7 @@ public final class BuildScanPatternMatchListener implements IPatternMatchListene
 
     @Override
     public String getLineQualifier() {
-        return null;
+        // the pattern is matched starting from the qualified line, hence the URL may be on a subsequent line
+        return "Publishing build "; //$NON-NLS-1$
     }
 }
@@ -22,6 +22,10 @@ public final class ConsoleMessages extends NLS {
 
     public static String Action_RemoveTerminatedConsole_Tooltip;
     public static String Action_RemoveAllTerminatedConsoles_Tooltip;
+    public static String Action_ShowConsoleOutputFile_Tooltip;
+
+    public static String Dialog_ConsoleOutputFileTooLarge_Title;
+    public static String Dialog_ConsoleOutputFileTooLarge_Message;
 
     static {
         // initialize resource bundle
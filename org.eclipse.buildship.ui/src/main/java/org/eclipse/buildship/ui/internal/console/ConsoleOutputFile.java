@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.ui.internal.console;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.eclipse.buildship.ui.internal.UiPlugin;
+
+/**
+ * Temporary file receiving the output of a {@link GradleConsole}.
+ * <p/>
+ * The console only keeps the most recent output in memory; the file allows the user to inspect
+ * the output discarded from the console document. The file is created upon the first write and
+ * deleted when {@link #delete()} is called, i.e. when the console is disposed. Once the file
+ * exceeds its maximum size, it is truncated and continues with the latest output.
+ * <p/>
+ * The files are created in a directory of the plug-in state location. The files left behind by a
+ * workbench that was not shut down properly are removed via {@link #deleteStaleFiles(File)}.
+ */
+final class ConsoleOutputFile {
+
+    private static final String PREFIX = "gradle-console-"; //$NON-NLS-1$
+    private static final String SUFFIX = ".log"; //$NON-NLS-1$
+
+    private final File directory;
+    private final long maxSize;
+    private File file;
+    private OutputStream stream;
+    private long size;
+    private boolean deleted;
+
+    ConsoleOutputFile(File directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    synchronized void write(byte[] bytes, int offset, int length) throws IOException {
+        if (this.deleted || length == 0) {
+            return;
+        }
+        if (this.stream == null) {
+            if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+                throw new IOException("Cannot create " + this.directory);
+            }
+            this.file = File.createTempFile(PREFIX, SUFFIX, this.directory);
+            this.stream = new BufferedOutputStream(new FileOutputStream(this.file));
+        } else if (this.size > 0 && this.size + length > this.maxSize) {
+            // the file of a long-living console would grow indefinitely otherwise
+            this.stream.close();
+            this.stream = new BufferedOutputStream(new FileOutputStream(this.file, false));
+            this.size = 0;
+        }
+        this.stream.write(bytes, offset, length);
+        this.size += length;
+    }
+
+    synchronized void flush() throws IOException {
+        if (this.stream != null) {
+            this.stream.flush();
+        }
+    }
+
+    /**
+     * Returns the number of bytes written to the file since it was created or last truncated.
+     */
+    synchronized long size() {
+        return this.size;
+    }
+
+    /**
+     * Flushes the pending output and returns the file, or {@code null} if nothing was written yet.
+     */
+    synchronized File getFile() throws IOException {
+        flush();
+        return this.file;
+    }
+
+    synchronized void delete() throws IOException {
+        this.deleted = true;
+        try {
+            if (this.stream != null) {
+                this.stream.close();
+            }
+        } finally {
+            this.stream = null;
+            if (this.file != null && !this.file.delete() && this.file.exists()) {
+                throw new IOException("Cannot delete " + this.file);
+            }
+        }
+    }
+
+    /**
+     * Returns the directory containing the output files of the consoles.
+     */
+    static File directory() {
+        return UiPlugin.getInstance().getStateLocation().append("console").toFile(); //$NON-NLS-1$
+    }
+
+    /**
+     * Deletes the output files left behind in the given directory. Must be called before the first
+     * console is created, since the files of the current session are deleted as well.
+     */
+    static void deleteStaleFiles(File directory) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (name.startsWith(PREFIX) && name.endsWith(SUFFIX) && !file.delete()) {
+                UiPlugin.logger().warn("Cannot delete stale console output file " + file); //$NON-NLS-1$
+            }
+        }
+    }
+
+    /**
+     * Output stream writing both to a console stream and to the output file.
+     */
+    static final class TeeOutputStream extends OutputStream {
+
+        private final OutputStream consoleStream;
+        private final ConsoleOutputFile outputFile;
+
+        TeeOutputStream(OutputStream consoleStream, ConsoleOutputFile outputFile) {
+            this.consoleStream = consoleStream;
+            this.outputFile = outputFile;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            this.outputFile.write(bytes, offset, length);
+            this.consoleStream.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.outputFile.flush();
+            this.consoleStream.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // the output file is shared between the streams of the console and is deleted with the console
+            this.consoleStream.close();
+        }
+    }
+}
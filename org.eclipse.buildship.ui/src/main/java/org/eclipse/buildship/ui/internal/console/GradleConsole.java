@@ -9,6 +9,7 @@
  ******************************************************************************/
 package org.eclipse.buildship.ui.internal.console;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -33,12 +34,18 @@ import org.eclipse.buildship.core.internal.console.ProcessDescription;
 import org.eclipse.buildship.core.internal.console.ProcessStreams;
 import org.eclipse.buildship.ui.internal.PluginImages;
 import org.eclipse.buildship.ui.internal.UiPlugin;
+import org.eclipse.buildship.ui.internal.UiTuningOptions;
 
 /**
  * Provides a console to display the output of interacting with Gradle.
  *
  * Note that once a console is removed, all open streams managed by the console will be closed
  * automatically, thus there is no need for us to close these streams explicitly here.
+ * <p/>
+ * Unless disabled via {@link UiTuningOptions#getConsoleBufferSize()}, the console document only
+ * keeps the most recent output. The output is additionally written to a temporary file that is
+ * deleted together with the console, and whose size is limited by
+ * {@link UiTuningOptions#getConsoleOutputFileSize()}.
  */
 public final class GradleConsole extends IOConsole implements ProcessStreams {
 
@@ -47,6 +54,10 @@ public final class GradleConsole extends IOConsole implements ProcessStreams {
     private final IOConsoleOutputStream outputStream;
     private final IOConsoleOutputStream errorStream;
     private final IOConsoleInputStream inputStream;
+    private final ConsoleOutputFile outputFile;
+    private final OutputStream configuration;
+    private final OutputStream output;
+    private final OutputStream error;
 
     public GradleConsole(String name) {
         this(name, Optional.<ProcessDescription>absent());
@@ -65,6 +76,21 @@ public final class GradleConsole extends IOConsole implements ProcessStreams {
         this.errorStream = newOutputStream();
         this.inputStream = super.getInputStream();
 
+        int bufferSize = UiTuningOptions.getConsoleBufferSize();
+        if (bufferSize > 0) {
+            // discard the oldest output once the document exceeds the buffer size, keeping 80% of it
+            setWaterMarks(bufferSize - Math.max(bufferSize / 5, 1), bufferSize);
+            this.outputFile = new ConsoleOutputFile(ConsoleOutputFile.directory(), UiTuningOptions.getConsoleOutputFileSize());
+            this.configuration = new ConsoleOutputFile.TeeOutputStream(this.configurationStream, this.outputFile);
+            this.output = new ConsoleOutputFile.TeeOutputStream(this.outputStream, this.outputFile);
+            this.error = new ConsoleOutputFile.TeeOutputStream(this.errorStream, this.outputFile);
+        } else {
+            this.outputFile = null;
+            this.configuration = this.configurationStream;
+            this.output = this.outputStream;
+            this.error = this.errorStream;
+        }
+
         // decorate console output such that URLs are presented as clickable links
         addPatternMatchListener(new UrlPatternMatchListener());
 
@@ -111,19 +137,53 @@ public final class GradleConsole extends IOConsole implements ProcessStreams {
         return this.processDescription.isPresent();
     }
 
+    /**
+     * Returns {@code true} if the console keeps a limited amount of output in memory and writes the
+     * complete output to a temporary file.
+     */
+    public boolean hasOutputFile() {
+        return this.outputFile != null;
+    }
+
+    /**
+     * Returns the file containing the complete output of the console, if any output was written.
+     *
+     * @return the output file or {@link Optional#absent()} if the output is not written to a file
+     */
+    public Optional<File> getOutputFile() {
+        if (this.outputFile == null) {
+            return Optional.absent();
+        }
+        try {
+            return Optional.fromNullable(this.outputFile.getFile());
+        } catch (IOException e) {
+            String message = String.format("Cannot write output file of console %s.", getName()); //$NON-NLS-1$
+            UiPlugin.logger().error(message, e);
+            throw new GradlePluginsRuntimeException(message, e);
+        }
+    }
+
+    /**
+     * Deletes the output files left behind by consoles of a previous session, e.g. after the
+     * workbench crashed. Must be called before the first console is created.
+     */
+    public static void deleteStaleOutputFiles() {
+        ConsoleOutputFile.deleteStaleFiles(ConsoleOutputFile.directory());
+    }
+
     @Override
     public OutputStream getConfiguration() {
-        return this.configurationStream;
+        return this.configuration;
     }
 
     @Override
     public OutputStream getOutput() {
-        return this.outputStream;
+        return this.output;
     }
 
     @Override
     public OutputStream getError() {
-        return this.errorStream;
+        return this.error;
     }
 
     @Override
@@ -158,6 +218,13 @@ public final class GradleConsole extends IOConsole implements ProcessStreams {
         } catch (IOException ioe) {
             e = ioe;
         }
+        try {
+            if (this.outputFile != null) {
+                this.outputFile.flush();
+            }
+        } catch (IOException ioe) {
+            e = ioe;
+        }
 
         if (e != null) {
             String message = String.format("Cannot close streams of console %s.", getName()); //$NON-NLS-1$
@@ -165,4 +232,16 @@ public final class GradleConsole extends IOConsole implements ProcessStreams {
             throw new GradlePluginsRuntimeException(message, e);
         }
     }
+
+    @Override
+    protected void dispose() {
+        super.dispose();
+        if (this.outputFile != null) {
+            try {
+                this.outputFile.delete();
+            } catch (IOException e) {
+                UiPlugin.logger().warn(String.format("Cannot delete output file of console %s.", getName()), e); //$NON-NLS-1$
+            }
+        }
+    }
 }
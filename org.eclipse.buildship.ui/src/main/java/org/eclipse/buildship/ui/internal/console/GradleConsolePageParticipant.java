@@ -25,6 +25,7 @@ public final class GradleConsolePageParticipant implements IConsolePageParticipa
     private RerunBuildExecutionAction rerunBuildExecutionAction;
     private RemoveTerminatedGradleConsoleAction removeConsoleAction;
     private RemoveAllTerminatedGradleConsolesAction removeAllConsolesAction;
+    private ShowConsoleOutputFileAction showOutputFileAction;
 
     /**
      * {@inheritDoc}
@@ -35,8 +36,13 @@ public final class GradleConsolePageParticipant implements IConsolePageParticipa
     public void init(IPageBookViewPage page, IConsole console) {
         if (console instanceof GradleConsole) {
             GradleConsole gradleConsole = (GradleConsole) console;
+            IToolBarManager toolBarManager = page.getSite().getActionBars().getToolBarManager();
             if (gradleConsole.isCloseable()) {
-                addActionsToToolbar(page.getSite().getActionBars().getToolBarManager(), gradleConsole);
+                addActionsToToolbar(toolBarManager, gradleConsole);
+            }
+            if (gradleConsole.hasOutputFile()) {
+                this.showOutputFileAction = new ShowConsoleOutputFileAction(gradleConsole);
+                toolBarManager.appendToGroup(IConsoleConstants.OUTPUT_GROUP, this.showOutputFileAction);
             }
         }
     }
@@ -87,6 +93,10 @@ public final class GradleConsolePageParticipant implements IConsolePageParticipa
             this.removeAllConsolesAction.dispose();
             this.removeAllConsolesAction = null;
         }
+        if (this.showOutputFileAction != null) {
+            this.showOutputFileAction.dispose();
+            this.showOutputFileAction = null;
+        }
     }
 
 }
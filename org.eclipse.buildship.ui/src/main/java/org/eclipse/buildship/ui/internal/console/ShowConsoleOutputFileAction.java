@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.ui.internal.console;
+
+import java.io.File;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.ISharedImages;
+import org.eclipse.ui.PlatformUI;
+
+import org.eclipse.buildship.ui.internal.util.editor.EditorUtils;
+
+/**
+ * Opens the complete output of a {@link GradleConsole} in an editor. The console document only
+ * keeps the most recent output, the complete output is available in the console's output file.
+ * <p/>
+ * The internal editors load the whole file into memory, hence large files are opened with the
+ * system editor instead. If that's not possible, the location of the file is shown.
+ */
+public final class ShowConsoleOutputFileAction extends Action {
+
+    private static final long MAX_INTERNAL_EDITOR_FILE_SIZE = 16 * 1024 * 1024;
+
+    private final GradleConsole gradleConsole;
+
+    public ShowConsoleOutputFileAction(GradleConsole gradleConsole) {
+        this.gradleConsole = Preconditions.checkNotNull(gradleConsole);
+
+        setToolTipText(ConsoleMessages.Action_ShowConsoleOutputFile_Tooltip);
+        setImageDescriptor(PlatformUI.getWorkbench().getSharedImages().getImageDescriptor(ISharedImages.IMG_OBJ_FILE));
+    }
+
+    @Override
+    public void run() {
+        Optional<File> outputFile = this.gradleConsole.getOutputFile();
+        if (!outputFile.isPresent()) {
+            return;
+        }
+
+        File file = outputFile.get();
+        if (file.length() <= MAX_INTERNAL_EDITOR_FILE_SIZE) {
+            EditorUtils.openInInternalEditor(file, true);
+        } else if (!EditorUtils.openInSystemEditor(file)) {
+            MessageDialog.openInformation(PlatformUI.getWorkbench().getActiveWorkbenchWindow().getShell(), ConsoleMessages.Dialog_ConsoleOutputFileTooLarge_Title,
+                    NLS.bind(ConsoleMessages.Dialog_ConsoleOutputFileTooLarge_Message, file.getAbsolutePath()));
+        }
+    }
+
+    public void dispose() {
+    }
+
+}
@@ -65,7 +65,8 @@ public final class UrlPatternMatchListener implements IPatternMatchListener {
 
     @Override
     public String getLineQualifier() {
-        return null;
+        // only run the URL pattern on the lines containing a protocol
+        return "(?i:http|https)://"; //$NON-NLS-1$
     }
 
     /**
@@ -76,6 +76,23 @@ public final class EditorUtils {
         }
     }
 
+    /**
+     * Opens the file with the editor the operating system associates with its type.
+     *
+     * @param file the file to open
+     * @return {@code true} if the file was opened
+     */
+    public static boolean openInSystemEditor(File file) {
+        try {
+            IWorkbenchPage activePage = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+            IDE.openEditor(activePage, file.toURI(), IEditorRegistry.SYSTEM_EXTERNAL_EDITOR_ID, true);
+            return true;
+        } catch (PartInitException e) {
+            UiPlugin.logger().warn(String.format("Cannot open file %s in system editor.", file.getAbsolutePath()), e); //$NON-NLS-1$
+            return false;
+        }
+    }
+
     private static String getInternalEditorId(IEditorDescriptor desc) {
         String editorId;
         if (desc == null || !desc.isInternal()) {
@@ -13,7 +13,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.gradle.tooling.LongRunningOperation;
 import org.gradle.tooling.events.FailureResult;
 import org.gradle.tooling.events.FinishEvent;
 import org.gradle.tooling.events.OperationDescriptor;
@@ -25,6 +24,9 @@ import org.gradle.tooling.events.test.JvmTestOperationDescriptor;
 
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
@@ -41,6 +43,7 @@ import org.eclipse.jface.viewers.IDoubleClickListener;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.TreeViewerColumn;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.ControlAdapter;
 import org.eclipse.swt.events.ControlEvent;
@@ -50,6 +53,7 @@ import org.eclipse.swt.widgets.TreeColumn;
 import org.eclipse.ui.IActionBars;
 
 import org.eclipse.buildship.core.internal.console.ProcessDescription;
+import org.eclipse.buildship.core.internal.launch.ExecuteLaunchRequestEvent;
 import org.eclipse.buildship.ui.internal.util.nodeselection.ActionShowingContextMenuListener;
 import org.eclipse.buildship.ui.internal.util.nodeselection.NodeSelection;
 import org.eclipse.buildship.ui.internal.util.nodeselection.NodeSelectionProvider;
@@ -71,11 +75,21 @@ import org.eclipse.buildship.ui.internal.view.ShowFilterAction;
 public final class ExecutionPage extends BasePage<FilteredTree> implements NodeSelectionProvider {
 
     private final ProcessDescription processDescription;
-    private final LongRunningOperation operation;
+    private final ExecuteLaunchRequestEvent launchRequest;
     private final ExecutionViewState state;
+    // finished items are kept, the events of their children can arrive after their finish event
+    // the items of summarized subtrees are removed, they are looked up through their ancestors
     private final Map<OperationDescriptor, OperationItem> allItems;
     private final Set<OperationItem> activeItems;
+    private final Set<OperationItem> finishedItems;
+    private final ListMultimap<OperationItem, OperationItem> addedItems;
     private final Set<OperationItem> removedItems;
+    // test suites are only displayed if they have children, which can be received after the suite finished
+    private final Set<OperationItem> finishedTestSuites;
+    // the items reporting the events dropped by the UpdateExecutionPageJob, keyed by their parent
+    private final Map<OperationItem, OperationItem> droppedEventItems;
+    private final Map<OperationItem, Integer> droppedEventCounts;
+    private final Set<OperationItem> changedMessageItems;
 
     private FilteredTree filteredTree;
     private SelectionHistoryManager selectionHistoryManager;
@@ -85,13 +99,19 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
 
     private OpenBuildScanAction openBuildScanAction;
 
-    public ExecutionPage(ProcessDescription processDescription, LongRunningOperation operation, ExecutionViewState state) {
-        this.processDescription = processDescription;
-        this.operation = operation;
+    public ExecutionPage(ExecuteLaunchRequestEvent launchRequest, ExecutionViewState state) {
+        this.processDescription = launchRequest.getProcessDescription();
+        this.launchRequest = launchRequest;
         this.state = state;
         this.allItems = Maps.newHashMap();
-        this.activeItems = Sets.newHashSet();
+        this.activeItems = Sets.newLinkedHashSet();
+        this.finishedItems = Sets.newLinkedHashSet();
+        this.addedItems = LinkedListMultimap.create();
         this.removedItems = Sets.newHashSet();
+        this.finishedTestSuites = Sets.newLinkedHashSet();
+        this.droppedEventItems = Maps.newHashMap();
+        this.droppedEventCounts = Maps.newHashMap();
+        this.changedMessageItems = Sets.newLinkedHashSet();
     }
 
     public ProcessDescription getProcessDescription() {
@@ -106,7 +126,8 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
     @Override
     public FilteredTree createPageWithResult(Composite parent) {
         // configure tree
-        this.filteredTree = new FilteredTree(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL, new PatternFilter(true));
+        // virtual: test runs can produce tens of thousands of nodes, only create the visible ones
+        this.filteredTree = new FilteredTree(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.VIRTUAL, new PatternFilter(true));
         this.filteredTree.setShowFilterControls(false);
         this.filteredTree.getViewer().getTree().setHeaderVisible(true);
         this.filteredTree.getViewer().setContentProvider(new ExecutionPageContentProvider());
@@ -171,7 +192,7 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
         this.allItems.put(null, root);
 
         this.progressListener = new ExecutionProgressListener(this, this.processDescription.getJob());
-        this.operation.addProgressListener(this.progressListener);
+        this.launchRequest.addProgressListener(this.progressListener);
 
         // return the tree as the outermost page control
         return this.filteredTree;
@@ -189,22 +210,75 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
             if (progressEvent instanceof StartEvent) {
                 this.activeItems.add(operationItem);
             }
+        }
+        if (progressEvent instanceof FinishEvent) {
+            // the event buffer replaces the start event with the finish event if the operation finished before the page was updated
+            operationItem.setFinishEvent((FinishEvent) progressEvent);
+            this.finishedItems.add(operationItem);
+            if (isJvmTestSuite(descriptor)) {
+                this.finishedTestSuites.add(operationItem);
+            }
+        }
+
+        // attach to (first displayed) parent, if this is a new operation (in case of StartEvent)
+        OperationItem parentItem = findParentItem(descriptor);
+        if (parentItem.addChild(operationItem)) {
+            this.addedItems.put(parentItem, operationItem);
+        }
+    }
+
+    /**
+     * Shows that output of the given test was dropped because the events were received faster
+     * than the page could be updated.
+     *
+     * @param test the test whose output was dropped
+     * @param count the number of dropped output events
+     */
+    public void onTestOutputDropped(OperationDescriptor test, int count) {
+        OperationItem testItem = findItem(test);
+        addDroppedEvents(testItem != null ? testItem : findParentItem(test), count, ExecutionViewMessages.Tree_Item_Test_Output_Dropped_0_Text);
+    }
+
+    /**
+     * Shows that operations were dropped because the events were received faster than the page
+     * could be updated.
+     *
+     * @param count the number of dropped operations
+     */
+    public void onOperationsDropped(int count) {
+        addDroppedEvents(this.allItems.get(null), count, ExecutionViewMessages.Tree_Item_Operations_Dropped_0_Text);
+    }
+
+    private void addDroppedEvents(OperationItem parentItem, int count, String message) {
+        OperationItem messageItem = this.droppedEventItems.get(parentItem);
+        if (messageItem == null) {
+            messageItem = OperationItem.newMessageItem(message);
+            this.droppedEventItems.put(parentItem, messageItem);
+            parentItem.addChild(messageItem);
+            this.addedItems.put(parentItem, messageItem);
         } else {
-            if (progressEvent instanceof FinishEvent) {
-                operationItem.setFinishEvent((FinishEvent) progressEvent);
-                this.removedItems.add(operationItem);
-                if (isJvmTestSuite(descriptor) && operationItem.getChildren().isEmpty()) {
-                    // do not display test suite nodes that have no children (unwanted artifacts from Gradle)
-                    OperationItem parentOperationItem = this.allItems.get(findFirstNonExcludedParent(descriptor));
-                    parentOperationItem.removeChild(operationItem);
-                    return;
+            this.changedMessageItems.add(messageItem);
+        }
+        int total = this.droppedEventCounts.getOrDefault(messageItem, 0) + count;
+        this.droppedEventCounts.put(messageItem, total);
+        messageItem.setMessage(NLS.bind(message, total));
+    }
+
+    private void removeEmptyTestSuites() {
+        for (OperationItem suite : this.finishedTestSuites) {
+            if (!suite.hasChildren()) {
+                // do not display test suite nodes that have no children (unwanted artifacts from Gradle)
+                OperationItem parentItem = suite.getParent();
+                parentItem.removeChild(suite);
+                if (!this.addedItems.remove(parentItem, suite)) {
+                    this.removedItems.add(suite);
                 }
+                this.activeItems.remove(suite);
+                this.finishedItems.remove(suite);
+                this.allItems.remove(suite.getDescriptor());
             }
         }
-
-        // attach to (first non-excluded) parent, if this is a new operation (in case of StartEvent)
-        OperationItem parentExecutionItem = this.allItems.get(findFirstNonExcludedParent(descriptor));
-        parentExecutionItem.addChild(operationItem);
+        this.finishedTestSuites.clear();
     }
 
     private boolean isExcluded(OperationDescriptor descriptor) {
@@ -218,28 +292,93 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
         }
     }
 
-    private OperationDescriptor findFirstNonExcludedParent(OperationDescriptor descriptor) {
-        while (isExcluded(descriptor.getParent())) {
-            descriptor = descriptor.getParent();
+    private OperationItem findParentItem(OperationDescriptor descriptor) {
+        // excluded operations and the operation types the listener is not subscribed to have no
+        // items, hence the children are attached to their closest displayed ancestor
+        OperationDescriptor parent = descriptor.getParent();
+        while (parent != null) {
+            OperationItem parentItem = findItem(parent);
+            if (parentItem != null) {
+                return parentItem;
+            }
+            parent = parent.getParent();
         }
-        return descriptor.getParent();
+        return this.allItems.get(null);
     }
 
+    private OperationItem findItem(OperationDescriptor descriptor) {
+        OperationItem item = this.allItems.get(descriptor);
+        if (item == null && descriptor.getParent() != null) {
+            // the item can be part of a summarized subtree, which is recreated on demand
+            item = findParentItem(descriptor).findChild(descriptor);
+        }
+        return item;
+    }
+
+    /**
+     * Applies the changes received since the last invocation to the tree viewer. Only the new and
+     * removed items are added and removed from the parent nodes, and only the labels of the running
+     * and the finished items are updated, the rest of the tree is left untouched. The collapsed
+     * subtrees which finished without failures are replaced by a summary, the content provider
+     * recreates their items when they are expanded.
+     */
     public void refreshChangedItems() {
+        // the children of a test suite received in the same update as its finish event are already attached
+        removeEmptyTestSuites();
+
         TreeViewer viewer = this.filteredTree.getViewer();
-        for (OperationItem item : Sets.union(this.activeItems, this.removedItems)) {
-            viewer.update(item, null);
+        if (!this.removedItems.isEmpty()) {
+            viewer.remove(this.removedItems.toArray());
+        }
+        // the multimap keys are in insertion order, hence new parents are added before their children
+        for (OperationItem parent : this.addedItems.keySet()) {
+            List<OperationItem> children = this.addedItems.get(parent);
+            viewer.add(parent, children.toArray());
+        }
+
+        this.activeItems.removeAll(this.finishedItems);
+        if (!this.activeItems.isEmpty()) {
+            // update the duration of the running operations
+            viewer.update(this.activeItems.toArray(), null);
+        }
+        if (!this.finishedItems.isEmpty()) {
+            viewer.update(this.finishedItems.toArray(), null);
+        }
+        if (!this.changedMessageItems.isEmpty()) {
+            viewer.update(this.changedMessageItems.toArray(), null);
+        }
+
+        for (OperationItem item : Iterables.concat(this.addedItems.values(), this.finishedItems)) {
             if (shouldBeVisible(item)) {
                 viewer.expandToLevel(item, 0);
             }
         }
-        viewer.refresh(false);
 
-        this.activeItems.removeAll(this.removedItems);
+        // the children finish before their parents, hence the subtrees are summarized bottom-up
+        for (OperationItem item : this.finishedItems) {
+            summarizeIfCollapsed(viewer, item);
+        }
+
+        this.addedItems.clear();
         this.removedItems.clear();
+        this.finishedItems.clear();
+        this.changedMessageItems.clear();
+    }
+
+    private void summarizeIfCollapsed(TreeViewer viewer, OperationItem item) {
+        if (item.getParent() == null || viewer.getExpandedState(item)) {
+            return;
+        }
+        Object[] children = item.getChildrenArray();
+        if (item.summarize()) {
+            viewer.remove(children);
+            for (Object child : children) {
+                this.allItems.remove(((OperationItem) child).getDescriptor());
+            }
+        }
     }
 
-    private boolean shouldBeVisible(OperationItem item) {
+        private boolean shouldBeVisible(OperationItem item) {
         return isOnMax2ndLevel(item) || isTaskOperation(item) || isFailedOperation(item);
     }
 
@@ -261,8 +400,7 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
     }
 
     private boolean isFailedOperation(OperationItem item) {
-        FinishEvent finishEvent = item.getFinishEvent();
-        return finishEvent != null ? finishEvent.getResult() instanceof FailureResult : false;
+        return item.getResult() instanceof FailureResult;
     }
 
     private boolean isJvmTestSuite(OperationDescriptor descriptor) {
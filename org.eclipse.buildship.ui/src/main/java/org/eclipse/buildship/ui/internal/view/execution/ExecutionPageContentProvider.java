@@ -14,6 +14,9 @@ import org.eclipse.jface.viewers.Viewer;
 
 /**
  * Content provider for {@link ExecutionPage}.
+ * <p/>
+ * The items of summarized subtrees are only recreated when their children are requested, i.e.
+ * when the subtree is expanded.
  */
 public class ExecutionPageContentProvider implements ITreeContentProvider {
 
@@ -24,7 +27,7 @@ public class ExecutionPageContentProvider implements ITreeContentProvider {
 
     @Override
     public Object[] getChildren(Object parent) {
-        return parent instanceof OperationItem ? ((OperationItem)parent).getChildren().toArray() : new Object[0];
+        return parent instanceof OperationItem ? ((OperationItem)parent).getChildrenArray() : new Object[0];
     }
 
     @Override
@@ -34,7 +37,7 @@ public class ExecutionPageContentProvider implements ITreeContentProvider {
 
     @Override
     public boolean hasChildren(Object element) {
-        return element instanceof OperationItem ? !((OperationItem)element).getChildren().isEmpty() : false;
+        return element instanceof OperationItem ? ((OperationItem)element).hasChildren() : false;
     }
 
     @Override
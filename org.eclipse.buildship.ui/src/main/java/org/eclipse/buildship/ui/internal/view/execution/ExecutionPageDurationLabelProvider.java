@@ -38,8 +38,10 @@ public final class ExecutionPageDurationLabelProvider extends LabelProvider impl
     }
 
     private String calculateDuration(OperationItem operationItem) {
-        if (operationItem.getFinishEvent() != null) {
-            OperationResult result = operationItem.getFinishEvent().getResult();
+        if (operationItem.isMessage()) {
+            return "";
+        } else if (operationItem.getResult() != null) {
+            OperationResult result = operationItem.getResult();
             String duration = formatDuration(result.getStartTime(), result.getEndTime());
             return NLS.bind(ExecutionViewMessages.Tree_Item_Operation_Finished_In_0_Sec_Text, duration);
         } else if (operationItem.getStartEvent() != null) {
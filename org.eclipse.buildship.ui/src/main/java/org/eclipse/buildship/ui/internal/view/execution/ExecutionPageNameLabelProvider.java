@@ -15,7 +15,6 @@ import org.gradle.tooling.events.OperationDescriptor;
 import org.gradle.tooling.events.OperationResult;
 import org.gradle.tooling.events.SkippedResult;
 import org.gradle.tooling.events.SuccessResult;
-import org.gradle.tooling.events.task.TaskFinishEvent;
 import org.gradle.tooling.events.task.TaskOperationDescriptor;
 import org.gradle.tooling.events.task.TaskSuccessResult;
 import org.gradle.tooling.events.test.Destination;
@@ -87,18 +86,20 @@ public final class ExecutionPageNameLabelProvider extends LabelProvider implemen
 
     public static String renderVerbose(FinishEvent finishEvent) {
         OperationDescriptor descriptor = finishEvent.getDescriptor();
-        return render(descriptor, finishEvent, true);
+        return render(descriptor, finishEvent.getResult(), true);
     }
 
     public static String renderCompact(OperationItem operationItem) {
+        if (operationItem.isMessage()) {
+            return operationItem.getName();
+        }
         OperationDescriptor descriptor = operationItem.getDescriptor();
-        FinishEvent finishEvent = operationItem.getFinishEvent();
-        return render(descriptor, finishEvent, false);
+        return render(descriptor, operationItem.getResult(), false);
     }
 
-    private static String render(OperationDescriptor descriptor, FinishEvent finishEvent, boolean verbose) {
+    private static String render(OperationDescriptor descriptor, OperationResult result, boolean verbose) {
         if (descriptor instanceof TaskOperationDescriptor) {
-            return renderTask(finishEvent, ((TaskOperationDescriptor) descriptor), verbose);
+            return renderTask(result, ((TaskOperationDescriptor) descriptor), verbose);
         } else if (descriptor instanceof TestOperationDescriptor) {
             return renderTest(descriptor, verbose);
         } else if (descriptor instanceof TestOutputDescriptor) {
@@ -108,7 +109,7 @@ public final class ExecutionPageNameLabelProvider extends LabelProvider implemen
         }
     }
 
-    private static String renderTask(FinishEvent finishEvent, TaskOperationDescriptor descriptor, boolean verbose) {
+    private static String renderTask(OperationResult result, TaskOperationDescriptor descriptor, boolean verbose) {
         StringBuilder task = new StringBuilder();
 
         if (verbose) {
@@ -117,14 +118,12 @@ public final class ExecutionPageNameLabelProvider extends LabelProvider implemen
 
         task.append(descriptor.getTaskPath());
 
-        if (finishEvent instanceof TaskFinishEvent) {
-            if (finishEvent.getResult() instanceof TaskSuccessResult) {
-                TaskSuccessResult taskResult = (TaskSuccessResult) finishEvent.getResult();
-                if (taskResult.isFromCache()) {
-                    task.append(" FROM-CACHE");
-                } else if (taskResult.isUpToDate()) {
-                    task.append(" UP-TO-DATE");
-                }
+        if (result instanceof TaskSuccessResult) {
+            TaskSuccessResult taskResult = (TaskSuccessResult) result;
+            if (taskResult.isFromCache()) {
+                task.append(" FROM-CACHE");
+            } else if (taskResult.isUpToDate()) {
+                task.append(" UP-TO-DATE");
             }
         }
         return task.toString();
@@ -167,6 +166,10 @@ public final class ExecutionPageNameLabelProvider extends LabelProvider implemen
     }
 
     private Image calculateImage(OperationItem operationItem) {
+        if (operationItem.isMessage()) {
+            return PluginImages.OPERATION_SKIPPED.withState(PluginImage.ImageState.ENABLED).getImage();
+        }
+
         if (operationItem.getDescriptor() instanceof TestOutputDescriptor) {
             TestOutputDescriptor descriptor = (TestOutputDescriptor) operationItem.getDescriptor();
             if (descriptor.getDestination() == Destination.StdOut) {
@@ -176,8 +179,8 @@ public final class ExecutionPageNameLabelProvider extends LabelProvider implemen
             }
         }
 
-        if (operationItem.getFinishEvent() != null) {
-            OperationResult result = operationItem.getFinishEvent().getResult();
+        if (operationItem.getResult() != null) {
+            OperationResult result = operationItem.getResult();
             if (result instanceof FailureResult) {
                 return PluginImages.OPERATION_FAILURE.withState(PluginImage.ImageState.ENABLED).getImage();
             } else if (result instanceof SkippedResult) {
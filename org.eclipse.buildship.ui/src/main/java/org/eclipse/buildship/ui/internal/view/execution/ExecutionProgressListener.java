@@ -9,16 +9,29 @@
  ******************************************************************************/
 package org.eclipse.buildship.ui.internal.view.execution;
 
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.gradle.tooling.events.OperationType;
 import org.gradle.tooling.events.ProgressEvent;
 
 import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 
+import org.eclipse.buildship.core.internal.util.progress.TypedProgressListener;
+
 /**
  * Buffers {@link ProgressEvent}s for asynchronous UI updates in the {@link ExecutionPage}.
+ * <p/>
+ * Only the operations displayed in the execution tree are requested; file downloads, transforms,
+ * work items and problems are not sent by the Gradle daemon.
  */
-public final class ExecutionProgressListener implements org.gradle.tooling.events.ProgressListener {
+public final class ExecutionProgressListener implements TypedProgressListener {
+
+    private static final Set<OperationType> OPERATION_TYPES = EnumSet.of(OperationType.GENERIC, OperationType.BUILD_PHASE, OperationType.PROJECT_CONFIGURATION,
+            OperationType.TASK, OperationType.TEST, OperationType.TEST_OUTPUT);
+
     private UpdateExecutionPageJob updateExecutionPageJob;
     private final ExecutionPage page;
 
@@ -34,6 +47,11 @@ public final class ExecutionProgressListener implements org.gradle.tooling.event
         });
     }
 
+    @Override
+    public Set<OperationType> getOperationTypes() {
+        return OPERATION_TYPES;
+    }
+
     @Override
     public void statusChanged(ProgressEvent progressEvent) {
         initUpdaterJob();
@@ -14,7 +14,6 @@ import java.util.Optional;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.PlatformUI;
 
-import org.eclipse.buildship.core.internal.console.ProcessDescription;
 import org.eclipse.buildship.core.internal.event.Event;
 import org.eclipse.buildship.core.internal.event.EventListener;
 import org.eclipse.buildship.core.internal.launch.ExecuteLaunchRequestEvent;
@@ -49,8 +48,7 @@ public final class ExecutionShowingLaunchRequestListener implements EventListene
                         WorkbenchUtils.findView(ExecutionsView.ID);
                     if (view.isPresent()) {
                         // show the launched build in a new page of the Executions View
-                        ProcessDescription processDescription = event.getProcessDescription();
-                        view.get().addExecutionPage(processDescription, event.getOperation());
+                        view.get().addExecutionPage(event);
                     }
                 }
             });
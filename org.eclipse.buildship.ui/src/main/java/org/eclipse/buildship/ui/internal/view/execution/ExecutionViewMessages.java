@@ -25,6 +25,8 @@ public final class ExecutionViewMessages extends NLS {
 
     public static String Tree_Item_Operation_Running_For_0_Sec_Text;
     public static String Tree_Item_Operation_Finished_In_0_Sec_Text;
+    public static String Tree_Item_Test_Output_Dropped_0_Text;
+    public static String Tree_Item_Operations_Dropped_0_Text;
 
     public static String Action_RunTest_Text;
     public static String Action_ShowFailure_Text;
@@ -9,15 +9,13 @@
  ******************************************************************************/
 package org.eclipse.buildship.ui.internal.view.execution;
 
-import org.gradle.tooling.LongRunningOperation;
-
 import org.eclipse.jface.action.ActionContributionItem;
 import org.eclipse.jface.action.IContributionItem;
 import org.eclipse.jface.action.IToolBarManager;
 import org.eclipse.ui.IViewSite;
 import org.eclipse.ui.PartInitException;
 
-import org.eclipse.buildship.core.internal.console.ProcessDescription;
+import org.eclipse.buildship.core.internal.launch.ExecuteLaunchRequestEvent;
 import org.eclipse.buildship.ui.internal.view.MessagePage;
 import org.eclipse.buildship.ui.internal.view.MultiPageView;
 import org.eclipse.buildship.ui.internal.view.Page;
@@ -62,8 +60,8 @@ public final class ExecutionsView extends MultiPageView {
         return new MessagePage(ExecutionViewMessages.Label_No_Execution);
     }
 
-    public void addExecutionPage(ProcessDescription processDescription, LongRunningOperation operation) {
-        ExecutionPage executionPage = new ExecutionPage(processDescription, operation, this.state);
+    public void addExecutionPage(ExecuteLaunchRequestEvent launchRequest) {
+        ExecutionPage executionPage = new ExecutionPage(launchRequest, this.state);
         addPage(executionPage);
         switchToPage(executionPage);
     }
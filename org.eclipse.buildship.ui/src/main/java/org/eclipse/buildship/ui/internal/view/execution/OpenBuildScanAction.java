@@ -12,6 +12,7 @@ package org.eclipse.buildship.ui.internal.view.execution;
 import java.net.URL;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 
 import org.eclipse.jface.action.Action;
 import org.eclipse.ui.PlatformUI;
@@ -38,7 +39,7 @@ public final class OpenBuildScanAction extends Action implements EventListener {
         setImageDescriptor(PluginImages.BUILD_SCAN.withState(ImageState.ENABLED).getImageDescriptor());
         setDisabledImageDescriptor(PluginImages.BUILD_SCAN.withState(ImageState.DISABLED).getImageDescriptor());
         setEnabled(false);
-        CorePlugin.listenerRegistry().addEventListener(this);
+        CorePlugin.listenerRegistry().addEventListener(this, ImmutableSet.of(BuildScanCreatedEvent.class));
     }
 
     @Override
@@ -169,7 +169,7 @@ public final class OpenTestSourceFileJob extends ToolingApiJob<Void> {
 
         BuildConfiguration buildConfig = CorePlugin.configurationManager().loadProjectConfiguration(project.get()).getBuildConfiguration();
         ModelProvider modelProvider = CorePlugin.internalGradleWorkspace().getGradleBuild(buildConfig).getModelProvider();
-        Collection<EclipseProject> eclipseProjects = collectAll(modelProvider.fetchModels(EclipseProject.class, FetchStrategy.LOAD_IF_NOT_CACHED, tokenSource, monitor).values());
+        Collection<EclipseProject> eclipseProjects = collectAll(modelProvider.fetchModelSnapshot(FetchStrategy.LOAD_IF_NOT_CACHED, tokenSource, monitor).getEclipseProjects().values());
 
         List<IProject> result = new ArrayList<>();
         for (EclipseProject eclipseProject : eclipseProjects) {
@@ -9,21 +9,23 @@
  ******************************************************************************/
 package org.eclipse.buildship.ui.internal.view.execution;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
+import org.gradle.tooling.events.FailureResult;
 import org.gradle.tooling.events.FinishEvent;
 import org.gradle.tooling.events.OperationDescriptor;
+import org.gradle.tooling.events.OperationResult;
 import org.gradle.tooling.events.ProgressEvent;
 import org.gradle.tooling.events.StartEvent;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
 
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.Platform;
 
-import org.eclipse.buildship.ui.internal.view.ObservableItem;
-
 /**
  * <p>
  * {@code OperationItem} instances are the nodes added to the trees of the
@@ -41,22 +43,47 @@ import org.eclipse.buildship.ui.internal.view.ObservableItem;
  *     }
  * }
  * </pre>
+ * <p>
+ * Test runs can produce tens of thousands of operations. Once a subtree finished without failures,
+ * its items are replaced by a compact {@link Summary} keeping only the descriptors and results,
+ * and the items are recreated when the subtree is expanded.
+ * </p>
  */
-public final class OperationItem extends ObservableItem implements IAdaptable {
+public final class OperationItem implements IAdaptable {
+
+    private static final Object[] NO_CHILDREN = new Object[0];
 
-    private final StartEvent startEvent;
+    private StartEvent startEvent;
     private final OperationDescriptor descriptor;
     private FinishEvent finishEvent;
+    // the result of an item recreated from a summary, which does not keep the finish events
+    private OperationResult result;
     private String name;
+    private final boolean message;
     private OperationItem parent;
-    private List<OperationItem> children;
+    // insertion-ordered set: large test runs add tens of thousands of children to a single item
+    private Set<OperationItem> children;
+    private Object[] childrenArray;
+    private Summary summary;
+    // true if the children were replaced by a summary, the recreated children are not known to the page
+    private boolean summarizedChildren;
 
     public OperationItem() {
         this.startEvent = null;
         this.descriptor = null;
         this.finishEvent = null;
         this.name = null;
-        this.children = Lists.newArrayList();
+        this.message = false;
+        this.children = Collections.emptySet();
+    }
+
+    private OperationItem(String message) {
+        this.startEvent = null;
+        this.descriptor = null;
+        this.finishEvent = null;
+        this.name = message;
+        this.message = true;
+        this.children = Collections.emptySet();
     }
 
     public OperationItem(ProgressEvent event) {
@@ -64,7 +91,30 @@ public final class OperationItem extends ObservableItem implements IAdaptable {
         this.descriptor = event.getDescriptor();
         this.finishEvent = null;
         this.name = event.getDescriptor().getDisplayName();
-        this.children = Lists.newArrayList();
+        this.message = false;
+        this.children = Collections.emptySet();
+    }
+
+    private OperationItem(OperationDescriptor descriptor, OperationResult result, Summary summary) {
+        this.startEvent = null;
+        this.descriptor = descriptor;
+        this.finishEvent = null;
+        this.result = result;
+        this.name = descriptor.getDisplayName();
+        this.message = false;
+        this.children = Collections.emptySet();
+        this.summary = summary;
+        this.summarizedChildren = summary != null;
+    }
+
+    /**
+     * Creates an item displaying a message instead of a build operation.
+     *
+     * @param message the message to display
+     * @return the new item
+     */
+    public static OperationItem newMessageItem(String message) {
+        return new OperationItem(message);
     }
 
     public StartEvent getStartEvent() {
@@ -81,41 +131,162 @@ public final class OperationItem extends ObservableItem implements IAdaptable {
 
     public void setFinishEvent(FinishEvent finishEvent) {
         this.finishEvent = finishEvent;
+        // the finish event contains the start time, the start event is no longer needed
+        this.startEvent = null;
+    }
+
+    /**
+     * Returns the result of the operation.
+     *
+     * @return the result or {@code null} if the operation is not finished yet
+     */
+    public OperationResult getResult() {
+        return this.finishEvent != null ? this.finishEvent.getResult() : this.result;
     }
 
     public String getName() {
         return this.name;
     }
 
+    void setMessage(String message) {
+        this.name = message;
+    }
+
+    /**
+     * Returns {@code true} if this item displays a message instead of a build operation.
+     *
+     * @return {@code true} for message items
+     */
+    public boolean isMessage() {
+        return this.message;
+    }
+
     public List<OperationItem> getChildren() {
+        expandSummary();
         return ImmutableList.copyOf(this.children);
     }
 
-    public OperationItem getParent() {
-        return this.parent;
+    /**
+     * Returns the children of this item. The returned array is shared between the calls as long as
+     * the children don't change, and must not be modified.
+     *
+     * @return the children
+     */
+    Object[] getChildrenArray() {
+        expandSummary();
+        if (this.childrenArray == null) {
+            this.childrenArray = this.children.isEmpty() ? NO_CHILDREN : this.children.toArray();
+        }
+        return this.childrenArray;
     }
 
-    public void addChild(OperationItem operationItem) {
-        if (!this.children.contains(operationItem)) {
-            List<OperationItem> children = Lists.newArrayList(this.children);
-            children.add(operationItem);
-            setChildren(children);
+    public boolean hasChildren() {
+        return !this.children.isEmpty() || this.summary != null;
+    }
+
+    /**
+     * Returns {@code true} if the children of this item are currently replaced by a summary. Such
+     * a subtree contains no failed operations.
+     *
+     * @return {@code true} for summarized subtrees
+     */
+    public boolean isSummarized() {
+        return this.summary != null;
+    }
+
+    /**
+     * Returns the child with the given descriptor if the children of this item were replaced by a
+     * summary, recreating the children if necessary.
+     *
+     * @param descriptor the descriptor of the child
+     * @return the child or {@code null} if the children were never summarized or there is no such child
+     */
+    OperationItem findChild(OperationDescriptor descriptor) {
+        if (!this.summarizedChildren) {
+            return null;
+        }
+        expandSummary();
+        for (OperationItem child : this.children) {
+            if (descriptor.equals(child.descriptor)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the children of this item with a summary if the operation and all of its
+     * descendants finished without failures. The children must either have no children or have
+     * been summarized already.
+     *
+     * @return {@code true} if the children were replaced
+     */
+    boolean summarize() {
+        if (this.children.isEmpty() || !isSuccessfullyFinished()) {
+            return false;
+        }
+        for (OperationItem child : this.children) {
+            if (!child.isSuccessfullyFinished() || !(child.children.isEmpty() || child.summary != null)) {
+                return false;
+            }
+        }
+        this.summary = new Summary(this.children);
+        this.summarizedChildren = true;
+        this.children = Collections.emptySet();
+        this.childrenArray = null;
+        return true;
+    }
+
+    private boolean isSuccessfullyFinished() {
+        OperationResult operationResult = getResult();
+        return !this.message && operationResult != null && !(operationResult instanceof FailureResult);
+    }
+
+    private void expandSummary() {
+        if (this.summary != null) {
+            Summary items = this.summary;
+            this.summary = null;
+            for (int i = 0; i < items.descriptors.length; i++) {
+                addChild(new OperationItem(items.descriptors[i], items.results[i], items.children[i]));
+            }
         }
     }
 
-    public void removeChild(OperationItem operationItem) {
-        if (this.children.contains(operationItem)) {
-            List<OperationItem> children = Lists.newArrayList(this.children);
-            children.remove(operationItem);
-            setChildren(children);
+    public OperationItem getParent() {
+        return this.parent;
+    }
+
+    /**
+     * Adds a child to this item.
+     *
+     * @param operationItem the child to add
+     * @return {@code true} if the item was not yet a child of this item
+     */
+    public boolean addChild(OperationItem operationItem) {
+        expandSummary();
+        if (this.children.isEmpty()) {
+            this.children = new LinkedHashSet<>();
         }
+        if (this.children.add(operationItem)) {
+            operationItem.parent = this;
+            this.childrenArray = null;
+            return true;
+        }
+        return false;
     }
 
-    private void setChildren(List<OperationItem> children) {
-        for (OperationItem child : children) {
-            child.parent = this;
+    /**
+     * Removes a child from this item.
+     *
+     * @param operationItem the child to remove
+     * @return {@code true} if the item was a child of this item
+     */
+    public boolean removeChild(OperationItem operationItem) {
+        if (this.children.remove(operationItem)) {
+            this.childrenArray = null;
+            return true;
         }
-        this.children = children;
+        return false;
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -128,4 +299,29 @@ public final class OperationItem extends ObservableItem implements IAdaptable {
         }
     }
 
+    /**
+     * Compact representation of a finished subtree, keeping only the descriptor, the result and
+     * the summarized children of each item.
+     */
+    private static final class Summary {
+
+        private final OperationDescriptor[] descriptors;
+        private final OperationResult[] results;
+        private final Summary[] children;
+
+        private Summary(Set<OperationItem> items) {
+            int size = items.size();
+            this.descriptors = new OperationDescriptor[size];
+            this.results = new OperationResult[size];
+            this.children = new Summary[size];
+            int i = 0;
+            for (OperationItem item : items) {
+                this.descriptors[i] = item.descriptor;
+                this.results[i] = item.getResult();
+                this.children[i] = item.summary;
+                i++;
+            }
+        }
+    }
+
 }
@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Gradle Inc. and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+package org.eclipse.buildship.ui.internal.view.execution;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.gradle.tooling.events.FinishEvent;
+import org.gradle.tooling.events.OperationDescriptor;
+import org.gradle.tooling.events.ProgressEvent;
+import org.gradle.tooling.events.StartEvent;
+import org.gradle.tooling.events.StatusEvent;
+import org.gradle.tooling.events.test.TestOutputEvent;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Buffer of {@link ProgressEvent}s passed from the thread delivering the Tooling API events to the
+ * {@link UpdateExecutionPageJob}.
+ * <p/>
+ * Adding an event never waits for the consumer, so a slow UI thread does not slow down the build,
+ * and the buffer never holds more events than its capacity:
+ * <ul>
+ * <li>A {@link FinishEvent} replaces the pending {@link StartEvent} of the same operation, and a
+ * {@link StatusEvent} replaces the pending status event of the same operation. The replacing event
+ * takes the position of the replaced one.</li>
+ * <li>If the buffer is full, the other events are dropped. The number of dropped
+ * {@link TestOutputEvent}s is recorded per test, and if a start event is dropped, the events of the
+ * operation and its descendants are dropped as well until the operation finishes. The dropped
+ * output and operations are reported to the consumer along with the next events.</li>
+ * </ul>
+ * Once the buffer is closed, all events are discarded.
+ */
+final class ProgressEventBuffer {
+
+    // the pending events in the order they were added, keyed by operation for the replaceable events
+    private final Map<Object, ProgressEvent> events = new LinkedHashMap<>();
+    // the operations whose start event was dropped and which did not yet finish
+    private final Set<OperationDescriptor> droppedOperations = new HashSet<>();
+    private final Map<OperationDescriptor, Integer> droppedOutput = new LinkedHashMap<>();
+    private final int capacity;
+    private boolean closed;
+
+    private int pendingDroppedOperations;
+    private long droppedEvents;
+    private long mergedEvents;
+
+    ProgressEventBuffer(int capacity) {
+        Preconditions.checkArgument(capacity > 0, "Capacity must be positive");
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds an event without waiting for the consumer.
+     *
+     * @param event the event to add
+     * @return {@code false} if the event was dropped because the buffer is full or closed
+     */
+    synchronized boolean put(ProgressEvent event) {
+        if (this.closed) {
+            return false;
+        }
+
+        OperationDescriptor descriptor = event.getDescriptor();
+        if (isDropped(descriptor)) {
+            if (event instanceof FinishEvent) {
+                this.droppedOperations.remove(descriptor);
+            }
+            this.droppedEvents++;
+            return false;
+        }
+
+        Object key = keyOf(event);
+        if (this.events.containsKey(key)) {
+            this.events.put(key, event);
+            this.mergedEvents++;
+            return true;
+        } else if (this.events.size() < this.capacity) {
+            this.events.put(key, event);
+            return true;
+        }
+
+        this.droppedEvents++;
+        if (event instanceof StartEvent) {
+            this.droppedOperations.add(descriptor);
+            this.pendingDroppedOperations++;
+        } else if (event instanceof TestOutputEvent && descriptor.getParent() != null) {
+            this.droppedOutput.merge(descriptor.getParent(), 1, Integer::sum);
+        }
+        return false;
+    }
+
+    private static Object keyOf(ProgressEvent event) {
+        if (event instanceof StartEvent || event instanceof FinishEvent) {
+            return event.getDescriptor();
+        } else if (event instanceof StatusEvent) {
+            return new StatusKey(event.getDescriptor());
+        } else {
+            // test output events are never replaced
+            return event;
+        }
+    }
+
+    private boolean isDropped(OperationDescriptor descriptor) {
+        if (this.droppedOperations.isEmpty()) {
+            return false;
+        }
+        for (OperationDescriptor d = descriptor; d != null; d = d.getParent()) {
+            if (this.droppedOperations.contains(d)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the pending events to the target list. Must only be called by the consumer thread.
+     *
+     * @param target the list to add the events to
+     * @return the number of events added
+     */
+    synchronized int drainTo(List<ProgressEvent> target) {
+        int count = this.events.size();
+        target.addAll(this.events.values());
+        this.events.clear();
+        return count;
+    }
+
+    /**
+     * Returns the number of {@link TestOutputEvent}s dropped per test since the last call.
+     *
+     * @return the dropped output event count per test operation
+     */
+    synchronized Map<OperationDescriptor, Integer> drainDroppedOutput() {
+        if (this.droppedOutput.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<OperationDescriptor, Integer> result = new LinkedHashMap<>(this.droppedOutput);
+        this.droppedOutput.clear();
+        return result;
+    }
+
+    /**
+     * Returns the number of operations dropped since the last call.
+     *
+     * @return the number of operations whose start event was dropped
+     */
+    synchronized int drainDroppedOperations() {
+        int result = this.pendingDroppedOperations;
+        this.pendingDroppedOperations = 0;
+        return result;
+    }
+
+    synchronized boolean isEmpty() {
+        return this.events.isEmpty() && this.droppedOutput.isEmpty() && this.pendingDroppedOperations == 0;
+    }
+
+    /**
+     * Discards the events added from now on.
+     */
+    synchronized void close() {
+        this.closed = true;
+    }
+
+    int capacity() {
+        return this.capacity;
+    }
+
+    synchronized long getDroppedEvents() {
+        return this.droppedEvents;
+    }
+
+    synchronized long getMergedEvents() {
+        return this.mergedEvents;
+    }
+
+    /**
+     * Key of the pending status event of an operation, distinct from the key of its start and
+     * finish events.
+     */
+    private static final class StatusKey {
+
+        private final OperationDescriptor descriptor;
+
+        StatusKey(OperationDescriptor descriptor) {
+            this.descriptor = descriptor;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof StatusKey && ((StatusKey) obj).descriptor.equals(this.descriptor);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.descriptor.hashCode();
+        }
+    }
+}
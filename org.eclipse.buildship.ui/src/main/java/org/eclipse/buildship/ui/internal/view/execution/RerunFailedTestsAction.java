@@ -88,7 +88,9 @@ public final class RerunFailedTestsAction extends Action {
         }
 
         Builder<TestOperationDescriptor> result = ImmutableList.builder();
-        for (OperationItem item : Traverser.forTree(OperationItem::getChildren).breadthFirst(root)) {
+        // summarized subtrees contain no failures, hence they are not expanded
+        Traverser<OperationItem> traverser = Traverser.forTree(item -> item.isSummarized() ? ImmutableList.<OperationItem>of() : item.getChildren());
+        for (OperationItem item : traverser.breadthFirst(root)) {
             if (isFailedJvmTest(item)) {
                 result.add((JvmTestOperationDescriptor) item.getFinishEvent().getDescriptor());
             }
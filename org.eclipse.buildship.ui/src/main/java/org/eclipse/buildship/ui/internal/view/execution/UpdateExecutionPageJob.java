@@ -10,13 +10,13 @@
 package org.eclipse.buildship.ui.internal.view.execution;
 
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import org.gradle.tooling.events.OperationDescriptor;
 import org.gradle.tooling.events.ProgressEvent;
 
 import com.google.common.collect.Lists;
-import com.google.common.util.concurrent.RateLimiter;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -25,18 +25,42 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.PlatformUI;
 
+import org.eclipse.buildship.core.internal.Logger;
+import org.eclipse.buildship.ui.internal.UiPlugin;
+import org.eclipse.buildship.ui.internal.UiTraceScopes;
+import org.eclipse.buildship.ui.internal.UiTuningOptions;
+
 /**
  * Updates the duration of the registered {@link OperationItem} instances in the
  * {@link ExecutionsView} in regular intervals.
+ * <p/>
+ * The received events are buffered in a bounded {@link ProgressEventBuffer} and handed to the UI
+ * thread asynchronously, with at most one batch being processed by the UI thread at a time. While
+ * a batch is pending, the events stay in the buffer; if the buffer is full, the events are dropped
+ * and the page shows how much output and how many operations are missing. The update interval
+ * adapts to the time the UI thread needs to apply a batch.
  */
 public final class UpdateExecutionPageJob extends Job {
 
-    private static final double MAX_UPDATES_PER_SECOND = 10.0;
+    private static final long MIN_UPDATE_INTERVAL_MILLIS = 100;
+    private static final long MAX_UPDATE_INTERVAL_MILLIS = 2000;
+    // the UI thread should spend at most 1/UI_LOAD_FACTOR of its time updating the page
+    private static final int UI_LOAD_FACTOR = 5;
 
     private final ExecutionPage page;
-    private final BlockingQueue<ProgressEvent> queue = new LinkedBlockingQueue<>();
+    private final ProgressEventBuffer buffer = new ProgressEventBuffer(UiTuningOptions.getExecutionViewEventBufferSize());
     private volatile boolean running;
 
+    // the fields below are written by the UI thread and read by the job
+    private volatile boolean updatePending;
+    private volatile long averageUpdateNanos;
+    private volatile long maxUpdateNanos;
+
+    private long receivedEvents;
+    private long deliveredBatches;
+    private long skippedUpdates;
+    private int maxBatchSize;
+
     public UpdateExecutionPageJob(ExecutionPage page) {
         super("Updating duration of non-finished operations");
         this.page = page;
@@ -45,27 +69,79 @@ public final class UpdateExecutionPageJob extends Job {
     }
 
     public void addEvent(ProgressEvent event) {
-        this.queue.add(event);
+        this.buffer.put(event);
     }
 
     @Override
     protected IStatus run(IProgressMonitor monitor) {
-        RateLimiter rateLimiter = RateLimiter.create(MAX_UPDATES_PER_SECOND);
-        while(this.running || !this.queue.isEmpty()) {
-            rateLimiter.acquire();
-
-            List<ProgressEvent> events = Lists.newArrayList();
-            this.queue.drainTo(events);
+        Display display = PlatformUI.getWorkbench().getDisplay();
+        try {
+            while (this.running || !this.buffer.isEmpty() || this.updatePending) {
+                if (!sleep(updateInterval()) || display.isDisposed()) {
+                    break;
+                }
+                if (this.updatePending) {
+                    // the UI thread did not yet process the previous batch
+                    this.skippedUpdates++;
+                    continue;
+                }
 
-            Display display = PlatformUI.getWorkbench().getDisplay();
-            if (!display.isDisposed()) {
-                display.syncExec(new UpdateExecutionPageContent(this.page, events));
+                List<ProgressEvent> events = Lists.newArrayList();
+                this.receivedEvents += this.buffer.drainTo(events);
+                Map<OperationDescriptor, Integer> droppedOutput = this.buffer.drainDroppedOutput();
+                int droppedOperations = this.buffer.drainDroppedOperations();
+                this.maxBatchSize = Math.max(this.maxBatchSize, events.size());
+                this.deliveredBatches++;
+                this.updatePending = true;
+                try {
+                    display.asyncExec(new UpdateExecutionPageContent(events, droppedOutput, droppedOperations));
+                } catch (RuntimeException e) {
+                    // the display was disposed in the meantime
+                    break;
+                }
             }
+        } finally {
+            this.buffer.close();
+            traceStatistics();
         }
 
         return Status.OK_STATUS;
     }
 
+    private long updateInterval() {
+        long interval = TimeUnit.NANOSECONDS.toMillis(this.averageUpdateNanos * UI_LOAD_FACTOR);
+        return Math.max(MIN_UPDATE_INTERVAL_MILLIS, Math.min(interval, MAX_UPDATE_INTERVAL_MILLIS));
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void recordUpdate(long nanos) {
+        // exponential moving average, a single slow update should not throttle the page for long
+        long average = this.averageUpdateNanos;
+        this.averageUpdateNanos = average == 0 ? nanos : (average * 7 + nanos * 3) / 10;
+        this.maxUpdateNanos = Math.max(this.maxUpdateNanos, nanos);
+    }
+
+    private void traceStatistics() {
+        Logger logger = UiPlugin.logger();
+        if (logger.isScopeEnabled(UiTraceScopes.EXECUTION_VIEW)) {
+            logger.trace(UiTraceScopes.EXECUTION_VIEW, String.format(
+                    "Execution page '%s': %d events in %d updates (max %d per update), %d events merged with a pending event of the same operation, "
+                            + "%d updates postponed while the UI was busy, average update %d ms (max %d ms), %d events dropped from the full buffer of %d events",
+                    this.page.getDisplayName(), this.receivedEvents, this.deliveredBatches, this.maxBatchSize, this.buffer.getMergedEvents(), this.skippedUpdates,
+                    TimeUnit.NANOSECONDS.toMillis(this.averageUpdateNanos), TimeUnit.NANOSECONDS.toMillis(this.maxUpdateNanos), this.buffer.getDroppedEvents(),
+                    this.buffer.capacity()));
+        }
+    }
+
     public void stop() {
         this.running = false;
     }
@@ -73,22 +149,35 @@ public final class UpdateExecutionPageJob extends Job {
     /**
      * UI job to refresh active items in the viewer.
      */
-    private static class UpdateExecutionPageContent implements Runnable {
-        private final ExecutionPage page;
+    private class UpdateExecutionPageContent implements Runnable {
         private final List<ProgressEvent> events;
+        private final Map<OperationDescriptor, Integer> droppedOutput;
+        private final int droppedOperations;
 
-        public UpdateExecutionPageContent(ExecutionPage page, List<ProgressEvent> events) {
-            this.page = page;
+        public UpdateExecutionPageContent(List<ProgressEvent> events, Map<OperationDescriptor, Integer> droppedOutput, int droppedOperations) {
             this.events = events;
+            this.droppedOutput = droppedOutput;
+            this.droppedOperations = droppedOperations;
         }
 
         @Override
         public void run() {
-            if (!this.page.getPageControl().isDisposed()) {
-                for(ProgressEvent event : this.events) {
-                    this.page.onProgress(event);
+            long start = System.nanoTime();
+            try {
+                ExecutionPage page = UpdateExecutionPageJob.this.page;
+                if (!page.getPageControl().isDisposed()) {
+                    for(ProgressEvent event : this.events) {
+                        page.onProgress(event);
+                    }
+                    this.droppedOutput.forEach(page::onTestOutputDropped);
+                    if (this.droppedOperations > 0) {
+                        page.onOperationsDropped(this.droppedOperations);
+                    }
+                    page.refreshChangedItems();
                 }
-                this.page.refreshChangedItems();
+            } finally {
+                recordUpdate(System.nanoTime() - start);
+                UpdateExecutionPageJob.this.updatePending = false;
             }
         }
     }
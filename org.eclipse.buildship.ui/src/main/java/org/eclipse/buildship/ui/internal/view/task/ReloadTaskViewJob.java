@@ -14,88 +14,191 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.gradle.tooling.CancellationTokenSource;
 import org.gradle.tooling.model.build.BuildEnvironment;
 import org.gradle.tooling.model.eclipse.EclipseProject;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
-import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.ui.PlatformUI;
 
 import org.eclipse.buildship.core.internal.CorePlugin;
+import org.eclipse.buildship.core.internal.GradlePluginsRuntimeException;
 import org.eclipse.buildship.core.internal.operation.ToolingApiJob;
 import org.eclipse.buildship.core.internal.operation.ToolingApiJobResultHandler;
 import org.eclipse.buildship.core.internal.operation.ToolingApiStatus;
+import org.eclipse.buildship.core.internal.util.gradle.ModelSnapshot;
 import org.eclipse.buildship.core.internal.workspace.FetchStrategy;
 import org.eclipse.buildship.core.internal.workspace.InternalGradleBuild;
+import org.eclipse.buildship.ui.internal.UiTuningOptions;
 
 /**
- * Loads the tasks for all projects into the cache and refreshes the task view afterwards.
+ * Loads the tasks of the requested builds into the cache and refreshes the task view afterwards.
+ * <p/>
+ * The job processes the reload requests collected by the {@link TaskView} until the job starts.
+ * If only some builds are requested, the other builds are neither loaded nor changed in the view.
+ * <p/>
+ * The builds are loaded concurrently on a bounded thread pool, the size of which is determined by
+ * {@link UiTuningOptions#getTaskViewLoadingThreads()}. Each build is shown in the view as soon as
+ * it is loaded; a build failing to load is shown as faulty without delaying the other builds. If
+ * the job is canceled or fails, the builds still loading are canceled through the job's
+ * cancellation token.
  */
 final class ReloadTaskViewJob extends ToolingApiJob<TaskViewContent> {
 
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
     private final TaskView taskView;
-    private final FetchStrategy modelFetchStrategy;
+    private Request request;
 
-    public ReloadTaskViewJob(TaskView taskView, FetchStrategy modelFetchStrategy) {
+    public ReloadTaskViewJob(TaskView taskView) {
         super("Loading tasks of all Gradle projects");
         this.taskView = Preconditions.checkNotNull(taskView);
-        this.modelFetchStrategy = Preconditions.checkNotNull(modelFetchStrategy);
         setResultHandler(new ResultHandler());
-        setRule(ResourcesPlugin.getWorkspace().getRoot());
     }
 
     @Override
     public TaskViewContent runInToolingApi(CancellationTokenSource tokenSource, IProgressMonitor monitor) throws Exception {
-        return loadContent(tokenSource, monitor);
+        this.request = this.taskView.takePendingReload();
+        return this.request != null ? loadContent(tokenSource, monitor) : null;
     }
 
     private TaskViewContent loadContent(CancellationTokenSource tokenSource, IProgressMonitor monitor) {
-        Map<File, Map<String, EclipseProject>> allModels = new LinkedHashMap<>();
-        Map<File, BuildEnvironment> environments = new LinkedHashMap<>();
-        List<InternalGradleBuild> faultyBuilds = new ArrayList<>();
+        Map<InternalGradleBuild, FetchStrategy> gradleBuilds = new LinkedHashMap<>();
         for (InternalGradleBuild gradleBuild : CorePlugin.internalGradleWorkspace().getGradleBuilds()) {
+            FetchStrategy modelFetchStrategy = this.request.getFetchStrategy(gradleBuild.getBuildConfig().getRootProjectDirectory());
+            if (modelFetchStrategy != null) {
+                gradleBuilds.put(gradleBuild, modelFetchStrategy);
+            }
+        }
+        if (gradleBuilds.size() <= 1) {
+            TaskViewContent content = TaskViewContent.empty();
+            for (Map.Entry<InternalGradleBuild, FetchStrategy> entry : gradleBuilds.entrySet()) {
+                content = loadBuild(entry.getKey(), entry.getValue(), tokenSource, monitor);
+            }
+            return content;
+        }
+
+        SubMonitor progress = SubMonitor.convert(monitor, gradleBuilds.size());
+        // the progress monitor of the job is not thread-safe, hence the builds only check the cancellation
+        IProgressMonitor buildMonitor = new NullProgressMonitor() {
+
+            @Override
+            public boolean isCanceled() {
+                return progress.isCanceled();
+            }
+        };
+
+        int threads = Math.min(UiTuningOptions.getTaskViewLoadingThreads(), gradleBuilds.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("Gradle task view loading %d").setDaemon(true).build());
+        boolean loaded = false;
+        try {
+            CompletionService<TaskViewContent> completionService = new ExecutorCompletionService<>(executor);
+            for (Map.Entry<InternalGradleBuild, FetchStrategy> entry : gradleBuilds.entrySet()) {
+                completionService.submit(() -> loadBuild(entry.getKey(), entry.getValue(), tokenSource, buildMonitor));
+            }
+
+            // collect the builds in the order they are loaded and show each of them right away
+            TaskViewContent content = TaskViewContent.empty();
+            for (int i = 0; i < gradleBuilds.size(); i++) {
+                TaskViewContent buildContent = await(completionService, progress);
+                content = content.update(ImmutableSet.<File>of(), buildContent);
+                showLoadedBuild(buildContent);
+                progress.worked(1);
+            }
+            loaded = true;
+            return content;
+        } finally {
+            // interrupting the workers would leave the Tooling API connections in an undefined state, the token stops the running builds instead
+            if (!loaded) {
+                tokenSource.cancel();
+            }
+            executor.shutdown();
+        }
+    }
+
+    private static TaskViewContent loadBuild(InternalGradleBuild gradleBuild, FetchStrategy modelFetchStrategy, CancellationTokenSource tokenSource, IProgressMonitor monitor) {
+        File rootProjectDirectory = gradleBuild.getBuildConfig().getRootProjectDirectory();
+        try {
+            ModelSnapshot snapshot = gradleBuild.getModelProvider().fetchModelSnapshot(modelFetchStrategy, tokenSource, monitor);
+            if (snapshot != null) {
+                return TaskViewContent.from(ImmutableMap.of(rootProjectDirectory, snapshot.getEclipseProjects()), ImmutableMap.of(rootProjectDirectory, snapshot.getBuildEnvironment()), ImmutableList.<InternalGradleBuild>of());
+            }
+        } catch (RuntimeException e) {
+            CorePlugin.logger().warn("Tasks can't be loaded for project located at " + rootProjectDirectory.getAbsolutePath(), e);
+        }
+        return TaskViewContent.from(ImmutableMap.<File, Map<String, EclipseProject>>of(), ImmutableMap.<File, BuildEnvironment>of(), ImmutableList.of(gradleBuild));
+    }
+
+    private static TaskViewContent await(CompletionService<TaskViewContent> completionService, SubMonitor progress) {
+        while (true) {
+            if (progress.isCanceled()) {
+                throw new OperationCanceledException();
+            }
+
             try {
-                BuildEnvironment buildEnvironment = gradleBuild.getModelProvider().fetchModel(BuildEnvironment.class, this.modelFetchStrategy, tokenSource, monitor);
-                Map<String, EclipseProject> models = gradleBuild.getModelProvider().fetchModels(EclipseProject.class, this.modelFetchStrategy, tokenSource, monitor);
-                if (buildEnvironment != null && models != null) {
-                    allModels.put(gradleBuild.getBuildConfig().getRootProjectDirectory(), models);
-                    environments.put(gradleBuild.getBuildConfig().getRootProjectDirectory(), buildEnvironment);
+                Future<TaskViewContent> result = completionService.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (result != null) {
+                    return result.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OperationCanceledException();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
                 } else {
-                    faultyBuilds.add(gradleBuild);
+                    throw new GradlePluginsRuntimeException(cause);
                 }
-            } catch (RuntimeException e) {
-                CorePlugin.logger().warn("Tasks can't be loaded for project located at " + gradleBuild.getBuildConfig().getRootProjectDirectory().getAbsolutePath(), e);
-                faultyBuilds.add(gradleBuild);
             }
         }
-
-        return TaskViewContent.from(allModels, environments, faultyBuilds);
     }
 
-    private void refreshTaskView(final TaskViewContent content) {
-        PlatformUI.getWorkbench().getDisplay().syncExec(new Runnable() {
+    private void showLoadedBuild(final TaskViewContent buildContent) {
+        final Set<File> rootProjectDirs = buildContent.getRootProjectDirs();
+        PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
 
             @Override
             public void run() {
-                ReloadTaskViewJob.this.taskView.setContent(content);
+                TaskView taskView = ReloadTaskViewJob.this.taskView;
+                taskView.setContent(taskView.getContent().update(rootProjectDirs, buildContent));
             }
         });
     }
 
-    @Override
-    public boolean shouldSchedule() {
-        Job[] jobs = Job.getJobManager().find(CorePlugin.GRADLE_JOB_FAMILY);
-        for (Job job : jobs) {
-            if (job instanceof ReloadTaskViewJob) {
-                return false;
+    private void refreshTaskView(final TaskViewContent content) {
+        final Request request = this.request;
+        PlatformUI.getWorkbench().getDisplay().syncExec(new Runnable() {
+
+            @Override
+            public void run() {
+                TaskView taskView = ReloadTaskViewJob.this.taskView;
+                if (request.isAllBuilds()) {
+                    taskView.setContent(content);
+                } else {
+                    // builds not contained in the loaded content no longer exist in the workspace
+                    taskView.setContent(taskView.getContent().update(request.getRootProjectDirs(), content));
+                }
             }
-        }
-        return true;
+        });
     }
 
     /**
@@ -105,7 +208,9 @@ final class ReloadTaskViewJob extends ToolingApiJob<TaskViewContent> {
 
         @Override
         public void onSuccess(TaskViewContent content) {
-            refreshTaskView(content);
+            if (content != null) {
+                refreshTaskView(content);
+            }
         }
 
         @Override
@@ -113,4 +218,66 @@ final class ReloadTaskViewJob extends ToolingApiJob<TaskViewContent> {
             CorePlugin.getInstance().getLog().log(status);
         }
     }
+
+    /**
+     * Describes which builds should be reloaded with which fetch strategy. Requests issued while a
+     * reload is pending are merged, using the strongest fetch strategy requested for each build.
+     */
+    static final class Request {
+
+        private final FetchStrategy allBuildsStrategy;
+        private final ImmutableMap<File, FetchStrategy> buildStrategies;
+
+        private Request(FetchStrategy allBuildsStrategy, ImmutableMap<File, FetchStrategy> buildStrategies) {
+            this.allBuildsStrategy = allBuildsStrategy;
+            this.buildStrategies = buildStrategies;
+        }
+
+        static Request allBuilds(FetchStrategy fetchStrategy) {
+            return new Request(Preconditions.checkNotNull(fetchStrategy), ImmutableMap.<File, FetchStrategy>of());
+        }
+
+        static Request builds(Set<File> rootProjectDirs, FetchStrategy fetchStrategy) {
+            Preconditions.checkNotNull(fetchStrategy);
+            ImmutableMap.Builder<File, FetchStrategy> buildStrategies = ImmutableMap.builder();
+            for (File rootProjectDir : ImmutableSet.copyOf(rootProjectDirs)) {
+                buildStrategies.put(rootProjectDir, fetchStrategy);
+            }
+            return new Request(null, buildStrategies.build());
+        }
+
+        Request merge(Request other) {
+            Map<File, FetchStrategy> buildStrategies = new LinkedHashMap<>(this.buildStrategies);
+            for (Map.Entry<File, FetchStrategy> entry : other.buildStrategies.entrySet()) {
+                buildStrategies.put(entry.getKey(), stronger(buildStrategies.get(entry.getKey()), entry.getValue()));
+            }
+            return new Request(stronger(this.allBuildsStrategy, other.allBuildsStrategy), ImmutableMap.copyOf(buildStrategies));
+        }
+
+        boolean isAllBuilds() {
+            return this.allBuildsStrategy != null;
+        }
+
+        Set<File> getRootProjectDirs() {
+            return this.buildStrategies.keySet();
+        }
+
+        /**
+         * Returns the fetch strategy for the build located in the given directory or {@code null} if
+         * the build should not be reloaded.
+         */
+        FetchStrategy getFetchStrategy(File rootProjectDir) {
+            return stronger(this.allBuildsStrategy, this.buildStrategies.get(rootProjectDir));
+        }
+
+        private static FetchStrategy stronger(FetchStrategy first, FetchStrategy second) {
+            if (first == null) {
+                return second;
+            } else if (second == null) {
+                return first;
+            } else {
+                return first.compareTo(second) >= 0 ? first : second;
+            }
+        }
+    }
 }
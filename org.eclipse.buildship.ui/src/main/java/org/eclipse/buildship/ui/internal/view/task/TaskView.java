@@ -9,7 +9,11 @@
  ******************************************************************************/
 package org.eclipse.buildship.ui.internal.view.task;
 
+import java.io.File;
+import java.util.Set;
+
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.jobs.JobChangeAdapter;
@@ -54,6 +58,9 @@ public final class TaskView extends ViewPart implements NodeSelectionProvider {
     // view id declared in the plugin.xml
     public static final String ID = "org.eclipse.buildship.ui.views.taskview"; //$NON-NLS-1$
 
+    // reload requests arriving within this period are processed by a single reload job
+    private static final long RELOAD_DELAY_MILLIS = 100;
+
     private TaskViewState state;
     private UiContributionManager uiContributionManager;
     private SelectionHistoryManager selectionHistoryManager;
@@ -65,6 +72,11 @@ public final class TaskView extends ViewPart implements NodeSelectionProvider {
     private TreeViewer treeViewer;
     private FilteredTree filteredTree;
 
+    private volatile TaskViewContent content = TaskViewContent.empty();
+    private final Object reloadLock = new Object();
+    private ReloadTaskViewJob.Request pendingReload;
+    private boolean reloadScheduled;
+
     @Override
     public void init(IViewSite site) throws PartInitException {
         super.init(site);
@@ -185,22 +197,98 @@ public final class TaskView extends ViewPart implements NodeSelectionProvider {
 
     /**
      * Updates the view to display the given content.
+     * <p/>
+     * The existing tree items are refreshed rather than recreated, hence the nodes which did not
+     * change retain their expansion and selection state.
+     *
      * @param content the content, never null
      */
     public void setContent(TaskViewContent content) {
         if (!this.pages.isDisposed() && !this.treeViewer.getControl().isDisposed()) {
+            this.content = content;
             this.pages.showPage(content.isEmpty() ? this.emptyInputPage : this.nonEmptyInputPage);
-            this.treeViewer.setInput(content);
+            if (this.treeViewer.getInput() == null) {
+                // the content provider obtains the content from the view
+                this.treeViewer.setInput(this);
+            } else {
+                this.treeViewer.refresh();
+            }
         }
     }
 
+    /**
+     * Returns the content currently displayed by the view.
+     *
+     * @return the content, never null
+     */
+    public TaskViewContent getContent() {
+        return this.content;
+    }
+
     /**
      * Reloads the task model in the background and updates this view once the reload is complete.
      * Can be safely called outside the UI thread.
      * @param fetchStrategy determines how to get the model being visualized from the cache
      */
     public void reload(FetchStrategy fetchStrategy) {
-        new ReloadTaskViewJob(this, fetchStrategy).schedule();
+        scheduleReload(ReloadTaskViewJob.Request.allBuilds(fetchStrategy));
+    }
+
+    /**
+     * Reloads the task model of the builds located in the given root project directories and
+     * updates their nodes once the reload is complete. The nodes of the other builds remain
+     * unchanged. Can be safely called outside the UI thread.
+     *
+     * @param fetchStrategy determines how to get the model being visualized from the cache
+     * @param rootProjectDirs the root project directories of the builds to reload
+     */
+    public void reload(FetchStrategy fetchStrategy, Set<File> rootProjectDirs) {
+        if (!rootProjectDirs.isEmpty()) {
+            scheduleReload(ReloadTaskViewJob.Request.builds(rootProjectDirs, fetchStrategy));
+        }
+    }
+
+    private void scheduleReload(ReloadTaskViewJob.Request request) {
+        synchronized (this.reloadLock) {
+            this.pendingReload = this.pendingReload == null ? request : this.pendingReload.merge(request);
+            if (this.reloadScheduled) {
+                // the scheduled job picks up the request once it starts or schedules a new job when done
+                return;
+            }
+            this.reloadScheduled = true;
+        }
+
+        ReloadTaskViewJob job = new ReloadTaskViewJob(this);
+        job.addJobChangeListener(new JobChangeAdapter() {
+
+            @Override
+            public void done(IJobChangeEvent event) {
+                reloadDone(event.getResult());
+            }
+        });
+        job.schedule(RELOAD_DELAY_MILLIS);
+    }
+
+    ReloadTaskViewJob.Request takePendingReload() {
+        synchronized (this.reloadLock) {
+            ReloadTaskViewJob.Request request = this.pendingReload;
+            this.pendingReload = null;
+            return request;
+        }
+    }
+
+    private void reloadDone(IStatus result) {
+        ReloadTaskViewJob.Request request;
+        synchronized (this.reloadLock) {
+            this.reloadScheduled = false;
+            request = this.pendingReload;
+            this.pendingReload = null;
+        }
+
+        // process the requests which arrived while the job was running, unless the job was canceled
+        if (request != null && (result == null || result.getSeverity() != IStatus.CANCEL)) {
+            scheduleReload(request);
+        }
     }
 
     @Override
@@ -12,14 +12,20 @@ package org.eclipse.buildship.ui.internal.view.task;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.gradle.tooling.model.build.BuildEnvironment;
 import org.gradle.tooling.model.eclipse.EclipseProject;
 
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
 import org.eclipse.buildship.core.internal.workspace.InternalGradleBuild;
 
 /**
@@ -47,6 +53,87 @@ public final class TaskViewContent {
         return this.allBuilds;
     }
 
+    /**
+     * Returns the root project directories of the builds in this content, including the faulty ones.
+     */
+    public Set<File> getRootProjectDirs() {
+        Set<File> result = new LinkedHashSet<>();
+        for (BuildNode build : this.allBuilds) {
+            result.add(build.getBuildTreeNode().getRootProjectDir());
+        }
+        for (FaultyBuildTreeNode faultyBuild : this.fauiltyBuilds) {
+            result.add(faultyBuild.getBuildConfiguration().getRootProjectDirectory());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the root project directory of the build containing an Eclipse project with the given
+     * name or location.
+     *
+     * @param projectName the name of the Eclipse project
+     * @param projectLocation the location of the Eclipse project, can be null
+     * @return the root project directory or {@link Optional#absent()} if no build contains the project
+     */
+    public Optional<File> findRootProjectDir(String projectName, File projectLocation) {
+        for (BuildNode build : this.allBuilds) {
+            if (containsProject(build.getRootEclipseProject(), projectName, projectLocation)) {
+                return Optional.of(build.getBuildTreeNode().getRootProjectDir());
+            }
+        }
+        for (FaultyBuildTreeNode faultyBuild : this.fauiltyBuilds) {
+            File rootProjectDir = faultyBuild.getBuildConfiguration().getRootProjectDirectory();
+            if (rootProjectDir.equals(projectLocation)) {
+                return Optional.of(rootProjectDir);
+            }
+        }
+        return Optional.absent();
+    }
+
+    private static boolean containsProject(EclipseProject eclipseProject, String projectName, File projectLocation) {
+        if (eclipseProject.getName().equals(projectName) || eclipseProject.getProjectDirectory().equals(projectLocation)) {
+            return true;
+        }
+        for (EclipseProject child : eclipseProject.getChildren()) {
+            if (containsProject(child, projectName, projectLocation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a new content where the builds located in the given root project directories are
+     * replaced with the builds from the reloaded content. The other builds are retained as is.
+     *
+     * @param rootProjectDirs the root project directories of the reloaded builds
+     * @param reloaded the content loaded for the builds, not containing the builds which no longer exist
+     * @return the updated content
+     */
+    public TaskViewContent update(Set<File> rootProjectDirs, TaskViewContent reloaded) {
+        List<BuildNode> builds = new ArrayList<>();
+        for (BuildNode build : this.allBuilds) {
+            if (!rootProjectDirs.contains(build.getBuildTreeNode().getRootProjectDir())) {
+                builds.add(build);
+            }
+        }
+        builds.addAll(reloaded.allBuilds);
+
+        List<FaultyBuildTreeNode> faultyBuilds = new ArrayList<>();
+        for (FaultyBuildTreeNode faultyBuild : this.fauiltyBuilds) {
+            if (!rootProjectDirs.contains(faultyBuild.getBuildConfiguration().getRootProjectDirectory())) {
+                faultyBuilds.add(faultyBuild);
+            }
+        }
+        faultyBuilds.addAll(reloaded.fauiltyBuilds);
+
+        return new TaskViewContent(builds, faultyBuilds);
+    }
+
+    public static TaskViewContent empty() {
+        return from(ImmutableMap.<File, Map<String, EclipseProject>>of(), ImmutableMap.<File, BuildEnvironment>of(), ImmutableList.<InternalGradleBuild>of());
+    }
+
     public static TaskViewContent from(Map<File, Map<String, EclipseProject>> allModels, Map<File, BuildEnvironment> environments,
             List<InternalGradleBuild> faultyBuilds) {
         List<BuildNode> builds = new ArrayList<>();
@@ -51,8 +51,9 @@ public final class TaskViewContentProvider implements ITreeContentProvider {
     @Override
     public Object[] getElements(Object input) {
         ImmutableList.Builder<Object> result = ImmutableList.builder();
-        if (input instanceof TaskViewContent) {
-            TaskViewContent taskViewContent = (TaskViewContent) input;
+        if (input instanceof TaskView) {
+            // the view is the input of the viewer such that the content can be updated without resetting the tree
+            TaskViewContent taskViewContent = ((TaskView) input).getContent();
             result.addAll(createTopLevelProjectNodes(taskViewContent));
             result.addAll(taskViewContent.getFaultyBuilds());
         }
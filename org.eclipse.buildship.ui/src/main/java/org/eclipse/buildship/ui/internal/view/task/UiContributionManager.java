@@ -133,7 +133,7 @@ public final class UiContributionManager {
         this.taskView.getTreeViewer().addDoubleClickListener(this.treeViewerDoubleClickListener);
         this.taskView.getSite().getPage().addPartListener(this.contextActivatingViewPartListener);
         this.taskView.getSite().getWorkbenchWindow().getSelectionService().addSelectionListener(this.workbenchSelectionListener);
-        CorePlugin.listenerRegistry().addEventListener(this.workspaceProjectsChangeListener);
+        CorePlugin.listenerRegistry().addEventListener(this.workspaceProjectsChangeListener, WorkspaceProjectsChangeListener.EVENT_TYPES);
     }
 
     public void dispose() {
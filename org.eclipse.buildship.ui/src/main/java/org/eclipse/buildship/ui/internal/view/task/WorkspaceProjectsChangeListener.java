@@ -9,12 +9,22 @@
  ******************************************************************************/
 package org.eclipse.buildship.ui.internal.view.task;
 
+import java.io.File;
+import java.util.Set;
+
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
 
+import org.eclipse.buildship.core.internal.CorePlugin;
 import org.eclipse.buildship.core.internal.event.Event;
 import org.eclipse.buildship.core.internal.event.EventListener;
+import org.eclipse.buildship.core.internal.workspace.BaseProjectChangedEvent;
 import org.eclipse.buildship.core.internal.workspace.FetchStrategy;
 import org.eclipse.buildship.core.internal.workspace.GradleNatureAddedEvent;
+import org.eclipse.buildship.core.internal.workspace.InternalGradleBuild;
 import org.eclipse.buildship.core.internal.workspace.ProjectClosedEvent;
 import org.eclipse.buildship.core.internal.workspace.ProjectCreatedEvent;
 import org.eclipse.buildship.core.internal.workspace.ProjectDeletedEvent;
@@ -26,10 +36,15 @@ import org.eclipse.buildship.core.internal.workspace.ProjectOpenedEvent;
  * accordingly.
  * <p>
  * Every time a project is added or removed from the workspace or change the state of the project to open or
- * closed, the listener updates the content of the task view.
+ * closed, the listener reloads the Gradle build the project belongs to. The build is determined from the
+ * project configuration or, if the project is no longer accessible, from the content of the task view.
+ * Projects not belonging to any displayed or configured Gradle build do not affect the task view.
  */
 public final class WorkspaceProjectsChangeListener implements EventListener {
 
+    public static final Set<Class<? extends Event>> EVENT_TYPES = ImmutableSet.of(GradleNatureAddedEvent.class, ProjectCreatedEvent.class, ProjectDeletedEvent.class,
+            ProjectClosedEvent.class, ProjectOpenedEvent.class, ProjectMovedEvent.class);
+
     private final TaskView taskView;
 
     public WorkspaceProjectsChangeListener(TaskView taskView) {
@@ -38,13 +53,36 @@ public final class WorkspaceProjectsChangeListener implements EventListener {
 
     @Override
     public void onEvent(Event event) {
-        if (event instanceof GradleNatureAddedEvent
-                || event instanceof ProjectCreatedEvent
+        if (event instanceof GradleNatureAddedEvent) {
+            onProjectChanged(((GradleNatureAddedEvent) event).getProject(), null);
+        } else if (event instanceof ProjectMovedEvent) {
+            ProjectMovedEvent movedEvent = (ProjectMovedEvent) event;
+            onProjectChanged(movedEvent.getProject(), movedEvent.getPreviousName());
+        } else if (event instanceof ProjectCreatedEvent
                 || event instanceof ProjectDeletedEvent
                 || event instanceof ProjectClosedEvent
-                || event instanceof ProjectOpenedEvent
-                || event instanceof ProjectMovedEvent) {
-            this.taskView.reload(FetchStrategy.LOAD_IF_NOT_CACHED);
+                || event instanceof ProjectOpenedEvent) {
+            onProjectChanged(((BaseProjectChangedEvent) event).getProject(), null);
         }
     }
+
+    private void onProjectChanged(IProject project, String previousName) {
+        ImmutableSet.Builder<File> rootProjectDirs = ImmutableSet.builder();
+        if (project.isAccessible()) {
+            CorePlugin.internalGradleWorkspace()
+                .getBuild(project)
+                .map(InternalGradleBuild.class::cast)
+                .ifPresent(build -> rootProjectDirs.add(build.getBuildConfig().getRootProjectDirectory()));
+        }
+
+        // the project might have been part of a different build before the change
+        IPath location = project.getLocation();
+        TaskViewContent content = this.taskView.getContent();
+        rootProjectDirs.addAll(content.findRootProjectDir(project.getName(), location != null ? location.toFile() : null).asSet());
+        if (previousName != null) {
+            rootProjectDirs.addAll(content.findRootProjectDir(previousName, null).asSet());
+        }
+
+        this.taskView.reload(FetchStrategy.LOAD_IF_NOT_CACHED, rootProjectDirs.build());
+    }
 }